@@ -1,5 +1,9 @@
 import controller.GameController;
+import metrics.MetricsExporter;
+import metrics.StartupReport;
+import model.ConfigReloader;
 import model.GameModel;
+import ratings.RatingLedger;
 import view.MainView;
 
 import javax.swing.SwingUtilities;
@@ -61,6 +65,16 @@ public class RockPaperScissorsGame {
                 // Print message to console indicating model creation
                 System.out.println("GameModel created successfully");
                 
+                // Watch gameconfig.csv so edits apply to the next match without a restart
+                // The watcher parses on its own thread, never on the Event Dispatch Thread
+                ConfigReloader.startWatching();
+                
+                // Load the rating ledger in the background so the first game over does not wait
+                RatingLedger.preload();
+                
+                // Write protocol latency and match timings to data/metrics.csv in the background
+                MetricsExporter.startDefault();
+                
                 // Create the View component
                 // The MainView handles all UI panels and display management
                 MainView mainView = new MainView(gameModel, null);
@@ -86,6 +100,9 @@ public class RockPaperScissorsGame {
                 // This displays the game to the user
                 mainView.setVisible(true);
                 
+                // Report startup cost, to compare with the headless server
+                StartupReport.print("Game window");
+                
                 // Print message to console indicating application launch
                 System.out.println("Rock-Paper-Scissors game launched successfully");
                 System.out.println("===========================================");
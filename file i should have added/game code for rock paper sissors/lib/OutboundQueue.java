@@ -0,0 +1,160 @@
+package lib;
+
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * OutboundQueue - bounded queue of lines waiting to be written to one socket.
+ * A writer thread owned by the queue does the blocking writes, so sendText
+ * never waits on a slow peer. When the queue is full the overflow policy
+ * decides what gives. SuperSocketMaster makes one per connection; the mux
+ * hub reuses it for its own connections.
+ */
+public class OutboundQueue implements Runnable {
+    private final ArrayDeque<String> queue = new ArrayDeque<String>();
+    private final int intCapacity;
+    private final SuperSocketMaster.OverflowPolicy policy;
+    private final String strCoalescePrefix;
+    private PrintWriter outBuffer = null;
+    private Runnable onClosed = null;
+    private boolean blnClosed = false;
+    private boolean blnOverflowed = false;
+    private Thread writerThread = null;
+    private long lngDropped = 0;
+    private long lngCoalesced = 0;
+
+    public OutboundQueue(PrintWriter outBuffer, int intCapacity, SuperSocketMaster.OverflowPolicy policy,
+                  String strCoalescePrefix, Runnable onClosed) {
+        this.outBuffer = outBuffer;
+        this.intCapacity = Math.max(1, intCapacity);
+        this.policy = policy;
+        this.strCoalescePrefix = strCoalescePrefix;
+        this.onClosed = onClosed;
+    }
+
+    public void start(String strName) {
+        writerThread = new Thread(this, strName);
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues a line without blocking.
+     * @return false if the connection is closed or the policy disconnected it
+     */
+    public boolean offer(String strText) {
+        boolean blnDisconnect = false;
+        synchronized (this) {
+            if (blnClosed) {
+                return false;
+            }
+            // A newer countdown makes any queued one useless
+            if (policy == SuperSocketMaster.OverflowPolicy.COALESCE_COUNTDOWN && isCoalescable(strText)) {
+                Iterator<String> it = queue.iterator();
+                while (it.hasNext()) {
+                    if (isCoalescable(it.next())) {
+                        it.remove();
+                        lngCoalesced++;
+                    }
+                }
+            }
+            if (queue.size() >= intCapacity) {
+                if (policy == SuperSocketMaster.OverflowPolicy.DISCONNECT) {
+                    blnClosed = true;
+                    blnOverflowed = true;
+                    queue.clear();
+                    blnDisconnect = true;
+                } else {
+                    queue.pollFirst();
+                    lngDropped++;
+                }
+            }
+            if (!blnDisconnect) {
+                queue.addLast(strText);
+                notifyAll();
+                return true;
+            }
+            notifyAll();
+        }
+        System.err.println("Outbound queue full (" + intCapacity + " lines) - disconnecting slow peer");
+        if (onClosed != null) {
+            onClosed.run();
+        }
+        return false;
+    }
+
+    /**
+     * Stops accepting lines and gives the writer a short time to send what is queued.
+     */
+    public void close(long lngDrainMillis) {
+        boolean blnDrain;
+        synchronized (this) {
+            blnClosed = true;
+            // A peer cut off for being too slow is not waited for
+            blnDrain = !blnOverflowed;
+            notifyAll();
+        }
+        Thread writer = writerThread;
+        if (blnDrain && writer != null && writer != Thread.currentThread()) {
+            try {
+                writer.join(lngDrainMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public synchronized long getDroppedCount() {
+        return lngDropped;
+    }
+
+    public synchronized long getCoalescedCount() {
+        return lngCoalesced;
+    }
+
+    public synchronized int size() {
+        return queue.size();
+    }
+
+    private boolean isCoalescable(String strText) {
+        return strCoalescePrefix != null && strText.startsWith(strCoalescePrefix);
+    }
+
+    public void run() {
+        ArrayDeque<String> batch = new ArrayDeque<String>();
+        while (true) {
+            synchronized (this) {
+                while (queue.isEmpty() && !blnClosed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (queue.isEmpty()) {
+                    return;
+                }
+                // Take everything queued so one flush covers the whole batch
+                batch.addAll(queue);
+                queue.clear();
+            }
+            while (!batch.isEmpty()) {
+                outBuffer.println(batch.pollFirst());
+            }
+            outBuffer.flush();
+            if (outBuffer.checkError()) {
+                boolean blnWasClosed;
+                synchronized (this) {
+                    blnWasClosed = blnClosed;
+                    blnClosed = true;
+                    queue.clear();
+                }
+                if (!blnWasClosed && onClosed != null) {
+                    onClosed.run();
+                }
+                return;
+            }
+        }
+    }
+}
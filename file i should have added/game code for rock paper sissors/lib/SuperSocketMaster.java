@@ -27,8 +27,32 @@ public class SuperSocketMaster {
     private String strServerIP = null;
     private String strIncomingText = null;
     private SocketConnection soccon = null;
+    private int intQueueCapacity = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.COALESCE_COUNTDOWN;
+    private long lngClosedDropped = 0;
     transient ActionListener actionListener = null;
 
+    /** How long disconnect() waits for queued messages to be written */
+    private static final long DRAIN_MILLIS = 500;
+
+    /** Messages that COALESCE_COUNTDOWN replaces with newer ones */
+    private static final String COALESCE_PREFIX = "COUNTDOWN:";
+
+    /**
+     * What to do when a connection's outbound queue is full.
+     * Messages are written by a thread per connection, so sendText never
+     * blocks on a slow peer; the queue limit stops a stalled peer from
+     * using unbounded memory instead.
+     */
+    public enum OverflowPolicy {
+        /** Throw away the oldest queued message */
+        DROP_OLDEST,
+        /** Close the connection to the slow peer */
+        DISCONNECT,
+        /** Replace queued countdowns with the newest one, then drop the oldest if still full */
+        COALESCE_COUNTDOWN
+    }
+
     public SuperSocketMaster(int intPort, ActionListener listener) {
         this.addActionListener(listener);
         this.intPort = intPort;
@@ -47,6 +71,58 @@ public class SuperSocketMaster {
         return false;
     }
 
+    /**
+     * Sets the outbound queue size and overflow policy. Call before connect().
+     * @param intCapacity Messages each connection may have waiting (default 256)
+     * @param policy What to do when a queue is full (default COALESCE_COUNTDOWN)
+     */
+    public void setOutboundQueue(int intCapacity, OverflowPolicy policy) {
+        this.intQueueCapacity = intCapacity;
+        this.overflowPolicy = policy;
+    }
+
+    /**
+     * Gets how many outbound messages were dropped because a queue was full.
+     * @return The dropped message count over all connections
+     */
+    public synchronized long getDroppedCount() {
+        long lngTotal = lngClosedDropped;
+        if (soccon != null) {
+            lngTotal += soccon.getDroppedCount();
+        }
+        return lngTotal;
+    }
+
+    /**
+     * Gets how many peers are connected: clients for a server, 0 or 1 for a client.
+     * @return The connection count
+     */
+    public synchronized int getConnectionCount() {
+        if (soccon != null) {
+            return soccon.getQueueDepths().length;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets how many messages are waiting in each connection's outbound queue.
+     * @return One queue depth per connection
+     */
+    public synchronized int[] getQueueDepths() {
+        if (soccon != null) {
+            return soccon.getQueueDepths();
+        }
+        return new int[0];
+    }
+
+    private OutboundQueue createQueue(PrintWriter outBuffer, Runnable onClosed) {
+        return new OutboundQueue(outBuffer, intQueueCapacity, overflowPolicy, COALESCE_PREFIX, onClosed);
+    }
+
+    private synchronized void addClosedDropped(long lngDropped) {
+        lngClosedDropped += lngDropped;
+    }
+
     public String readText() {
         if (soccon != null) {
             return strIncomingText;
@@ -124,9 +200,11 @@ public class SuperSocketMaster {
         ServerSocket serverSocketObject = null;
         Socket socketObject = null;
         PrintWriter outBuffer = null;
+        OutboundQueue outQueue = null;
         BufferedReader inBuffer = null;
         Vector<ClientConnection> clientconnections = new Vector<ClientConnection>();
         boolean blnListenForClients = true;
+        Thread listenThread = null;
 
         public SocketConnection(String strServerIP, int intPort, SuperSocketMaster parentssm) {
             this.strServerIP = strServerIP;
@@ -136,41 +214,94 @@ public class SuperSocketMaster {
 
         public boolean sendText(String strText) {
             if (strServerIP == null || strServerIP.equals("")) {
-                for (int intCounter = 0; intCounter < clientconnections.size(); intCounter++) {
-                    clientconnections.get(intCounter).sendText(strText);
+                // Copy first: a queue that overflows with DISCONNECT removes its client
+                Object[] connections = clientconnections.toArray();
+                for (int intCounter = 0; intCounter < connections.length; intCounter++) {
+                    ((ClientConnection) connections[intCounter]).sendText(strText);
                 }
                 return true;
             } else {
-                if (socketObject != null) {
-                    if (outBuffer.checkError()) {
-                        closeConnection();
-                        return false;
-                    } else {
-                        outBuffer.println(strText);
-                        return true;
-                    }
+                if (socketObject != null && outQueue != null) {
+                    return outQueue.offer(strText);
                 }
                 return false;
             }
         }
 
+        public long getDroppedCount() {
+            long lngTotal = 0;
+            if (outQueue != null) {
+                lngTotal += outQueue.getDroppedCount();
+            }
+            Vector<ClientConnection> connections = clientconnections;
+            if (connections != null) {
+                for (int intCounter = 0; intCounter < connections.size(); intCounter++) {
+                    lngTotal += connections.get(intCounter).outQueue.getDroppedCount();
+                }
+            }
+            return lngTotal;
+        }
+
+        public int[] getQueueDepths() {
+            if (strServerIP == null || strServerIP.equals("")) {
+                Object[] connections = clientconnections.toArray();
+                int[] intDepths = new int[connections.length];
+                for (int intCounter = 0; intCounter < connections.length; intCounter++) {
+                    OutboundQueue queue = ((ClientConnection) connections[intCounter]).outQueue;
+                    intDepths[intCounter] = queue != null ? queue.size() : 0;
+                }
+                return intDepths;
+            }
+            OutboundQueue queue = outQueue;
+            if (socketObject != null && queue != null) {
+                return new int[] {queue.size()};
+            }
+            return new int[0];
+        }
+
+        // Called from the reader, the writer and closeConnection, possibly at once:
+        // only the first call for a client closes it, and it always leaves the list
         public void removeClient(ClientConnection clientConnection) {
-            if (clientConnection.socketObject != null) {
+            Socket socket;
+            PrintWriter out;
+            BufferedReader in;
+            synchronized (this) {
+                Vector<ClientConnection> connections = clientconnections;
+                if (connections != null) {
+                    connections.remove(clientConnection);
+                }
+                if (clientConnection.socketObject == null) {
+                    return;
+                }
+                socket = clientConnection.socketObject;
+                out = clientConnection.outBuffer;
+                in = clientConnection.inBuffer;
+                clientConnection.socketObject = null;
+                clientConnection.inBuffer = null;
+                clientConnection.outBuffer = null;
+                clientConnection.strIncomingText = null;
+            }
+            // Drain outside the lock: the writer may be waiting to call removeClient itself
+            clientConnection.outQueue.close(DRAIN_MILLIS);
+            parentssm.addClosedDropped(clientConnection.outQueue.getDroppedCount());
+            try {
+                socket.shutdownInput();
+            } catch (IOException e) {
+            }
+            try {
+                socket.shutdownOutput();
+            } catch (IOException e) {
+            }
+            try {
+                socket.close();
+            } catch (IOException e) {
+            }
+            if (out != null) {
+                out.close();
+            }
+            if (in != null) {
                 try {
-                    try {
-                        clientConnection.socketObject.shutdownInput();
-                        clientConnection.socketObject.shutdownOutput();
-                        clientConnection.socketObject.close();
-                        clientConnection.outBuffer.close();
-                        clientConnection.inBuffer.close();
-                        clientConnection.socketObject = null;
-                        clientConnection.inBuffer = null;
-                        clientConnection.outBuffer = null;
-                        clientConnection.strIncomingText = null;
-                        clientconnections.remove(clientConnection);
-                        clientConnection = null;
-                    } catch (NullPointerException e) {
-                    }
+                    in.close();
                 } catch (IOException e) {
                 }
             }
@@ -181,12 +312,20 @@ public class SuperSocketMaster {
                 while (blnListenForClients) {
                     try {
                         socketObject = serverSocketObject.accept();
+                    } catch (IOException e) {
+                        blnListenForClients = false;
+                        continue;
+                    }
+                    try {
                         ClientConnection singleconnection = new ClientConnection(this.parentssm, this.socketObject, this);
                         clientconnections.addElement(singleconnection);
                         Thread t1 = new Thread(singleconnection);
                         t1.start();
                     } catch (IOException e) {
-                        blnListenForClients = false;
+                        try {
+                            socketObject.close();
+                        } catch (IOException e2) {
+                        }
                     }
                 }
             } else {
@@ -207,17 +346,31 @@ public class SuperSocketMaster {
         public void closeConnection() {
             if (strServerIP == null || strServerIP.equals("")) {
                 blnListenForClients = false;
-                while (clientconnections.size() > 0) {
-                    removeClient(clientconnections.get(0));
-                }
+                // Stop accepting first, so no client joins while the others are dropped
                 try {
                     if (serverSocketObject != null) serverSocketObject.close();
                 } catch (IOException e) {
                 }
+                // The port is only freed once the thread blocked in accept() lets go of it
+                if (listenThread != null && listenThread != Thread.currentThread()) {
+                    try {
+                        listenThread.join(DRAIN_MILLIS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
                 serverSocketObject = null;
+                while (clientconnections.size() > 0) {
+                    removeClient(clientconnections.get(0));
+                }
                 clientconnections = null;
             } else {
                 if (socketObject != null) {
+                    if (outQueue != null) {
+                        outQueue.close(DRAIN_MILLIS);
+                        parentssm.addClosedDropped(outQueue.getDroppedCount());
+                        outQueue = null;
+                    }
                     try {
                         try {
                             socketObject.shutdownInput();
@@ -244,14 +397,20 @@ public class SuperSocketMaster {
                 } catch (IOException e) {
                     return false;
                 }
-                Thread t1 = new Thread(this);
-                t1.start();
+                listenThread = new Thread(this);
+                listenThread.start();
                 return true;
             } else {
                 try {
                     socketObject = new Socket(strServerIP, intPort);
-                    outBuffer = new PrintWriter(socketObject.getOutputStream(), true);
+                    outBuffer = new PrintWriter(socketObject.getOutputStream(), false);
                     inBuffer = new BufferedReader(new InputStreamReader(socketObject.getInputStream()));
+                    outQueue = parentssm.createQueue(outBuffer, new Runnable() {
+                        public void run() {
+                            closeConnection();
+                        }
+                    });
+                    outQueue.start("SuperSocketMaster-Writer");
                 } catch (IOException e) {
                     return false;
                 }
@@ -268,42 +427,62 @@ public class SuperSocketMaster {
         String strIncomingText = "";
         Socket socketObject = null;
         PrintWriter outBuffer = null;
+        OutboundQueue outQueue = null;
         BufferedReader inBuffer = null;
 
-        public ClientConnection(SuperSocketMaster parentssm, Socket socketObject, SocketConnection socketConnection) {
+        public ClientConnection(SuperSocketMaster parentssm, Socket socketObject, SocketConnection socketConnection) throws IOException {
             this.parentssm = parentssm;
             this.socketObject = socketObject;
             this.socketConnection = socketConnection;
+            // The writer thread starts here so messages can be queued before run() begins
+            this.outBuffer = new PrintWriter(socketObject.getOutputStream(), false);
+            final ClientConnection self = this;
+            this.outQueue = parentssm.createQueue(outBuffer, new Runnable() {
+                public void run() {
+                    self.socketConnection.removeClient(self);
+                }
+            });
+            this.outQueue.start("SuperSocketMaster-Writer");
         }
 
         public void run() {
-            try {
-                inBuffer = new BufferedReader(new InputStreamReader(socketObject.getInputStream()));
-                outBuffer = new PrintWriter(socketObject.getOutputStream(), true);
-            } catch (IOException e) {
+            BufferedReader reader = null;
+            synchronized (socketConnection) {
+                // The writer may already have removed this client
+                if (socketObject != null) {
+                    try {
+                        inBuffer = new BufferedReader(new InputStreamReader(socketObject.getInputStream()));
+                        reader = inBuffer;
+                    } catch (IOException e) {
+                    }
+                }
             }
-            while (strIncomingText != null) {
+            while (reader != null && strIncomingText != null) {
                 try {
-                    strIncomingText = inBuffer.readLine();
+                    strIncomingText = reader.readLine();
                     if (strIncomingText != null) {
-                        for (int intCounter = 0; intCounter < socketConnection.clientconnections.size(); intCounter++) {
-                            if (socketConnection.clientconnections.get(intCounter) != this) {
-                                socketConnection.clientconnections.get(intCounter).sendText(strIncomingText);
+                        // Relaying only queues the line, so a slow client cannot stall this reader
+                        Vector<ClientConnection> clients = socketConnection.clientconnections;
+                        Object[] connections = clients != null ? clients.toArray() : new Object[0];
+                        for (int intCounter = 0; intCounter < connections.length; intCounter++) {
+                            if (connections[intCounter] != this) {
+                                ((ClientConnection) connections[intCounter]).sendText(strIncomingText);
                             }
                         }
                         this.parentssm.strIncomingText = strIncomingText;
                         this.parentssm.postActionEvent();
                     }
                 } catch (IOException e) {
+                    // A closed socket keeps throwing - stop reading
+                    strIncomingText = null;
                 }
             }
             socketConnection.removeClient(this);
         }
 
         public boolean sendText(String strText) {
-            if (outBuffer != null) {
-                outBuffer.println(strText);
-                return true;
+            if (outQueue != null) {
+                return outQueue.offer(strText);
             }
             return false;
         }
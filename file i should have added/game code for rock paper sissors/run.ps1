@@ -1,18 +1,66 @@
-﻿Param()
+﻿Param(
+    # Recompile and record a new class data sharing archive even if nothing changed
+    [switch]$Rebuild
+)
 
-Write-Host "Compiling project..."
+$classes = ".\out\classes"
+$jar = ".\out\rps.jar"
+$archive = ".\out\rps.jsa"
 
-# Create output directory
-mkdir -Force .\out | Out-Null
+# Only compile when a source file is newer than the jar (or with -Rebuild)
+$needsBuild = $Rebuild -or -not (Test-Path $jar)
+if (-not $needsBuild) {
+    $jarTime = (Get-Item $jar).LastWriteTime
+    $newer = Get-ChildItem -Path . -Recurse -Filter *.java |
+        Where-Object { $_.FullName -notlike "*\out\*" -and $_.LastWriteTime -gt $jarTime } |
+        Select-Object -First 1
+    $needsBuild = $null -ne $newer
+}
+
+if ($needsBuild) {
+    Write-Host "Compiling project..."
+
+    # Start from an empty output directory so deleted classes do not linger
+    if (Test-Path $classes) { Remove-Item -Recurse -Force $classes }
+    mkdir -Force $classes | Out-Null
+
+    # Compile sources (include project root for lib package and src for package sources)
+    javac -d $classes -sourcepath ".;src" .\RockPaperScissorsGame.java
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host "Compilation failed with exit code $LASTEXITCODE"
+        exit $LASTEXITCODE
+    }
+
+    # Class data sharing only archives classes loaded from a jar, not a directory
+    jar --create --file $jar --main-class RockPaperScissorsGame -C $classes .
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host "Packaging failed with exit code $LASTEXITCODE"
+        exit $LASTEXITCODE
+    }
 
-# Compile sources (include project root for lib package and src for package sources)
-javac -d out -sourcepath ".;src" .\RockPaperScissorsGame.java
-if ($LASTEXITCODE -ne 0) {
-    Write-Host "Compilation failed with exit code $LASTEXITCODE"
-    exit $LASTEXITCODE
+    # The old archive no longer matches the jar
+    if (Test-Path $archive) { Remove-Item -Force $archive }
+
+    Write-Host "Compilation succeeded."
+} else {
+    Write-Host "Sources unchanged - skipping compilation."
+}
+
+# Record the archive with a training run: the game opens, builds every panel
+# after its first frame and exits, dumping every class it loaded into the archive
+if (-not (Test-Path $archive)) {
+    Write-Host "Recording class data sharing archive (the window opens briefly)..."
+    java "-XX:ArchiveClassesAtExit=$archive" "-Drps.startup.training=true" -jar $jar
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host "Training run failed with exit code $LASTEXITCODE - launching without the archive"
+    }
 }
 
-Write-Host "Compilation succeeded. Launching application..."
+Write-Host "Launching application..."
 
-# Run the app
-java -cp out RockPaperScissorsGame
+# Run the app, mapping the archive if it is there (auto falls back to a normal start)
+if (Test-Path $archive) {
+    java "-XX:SharedArchiveFile=$archive" -Xshare:auto -jar $jar
+} else {
+    java -jar $jar
+}
@@ -0,0 +1,365 @@
+package admin;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import lib.SuperSocketMaster;
+import metrics.MetricsRegistry;
+import metrics.PrometheusFormat;
+import model.GameCodeRegistry;
+import model.GameModel;
+import model.GameModel.Player;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * AdminHttpServer - A small HTTP endpoint for watching a server process.
+ * Listens on the loopback address only, on the game port plus PORT_OFFSET,
+ * and answers:
+ *
+ * <ul>
+ *   <li>/status - connections, each room's match state and queue depths,
+ *       garbage collection and thread counts, as JSON</li>
+ *   <li>/metrics - the MetricsRegistry and the same live numbers in the
+ *       Prometheus text format</li>
+ * </ul>
+ *
+ * <p>Anything hosting games registers each one as a room with
+ * registerRoom(). Requests only read the rooms, so a request never waits on
+ * the game; a reading may be a moment out of date.</p>
+ *
+ * <p>Requests are handled on virtual threads when the Java version has
+ * them, and otherwise on two low priority daemon threads, so the endpoint
+ * never competes with the game's socket threads for more than that.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class AdminHttpServer {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** The admin endpoint listens on the game port plus this offset */
+    public static final int PORT_OFFSET = 3;
+
+    /** Threads used when virtual threads are not available */
+    private static final int FALLBACK_THREADS = 2;
+
+    /** Rooms by name, shared by every server in the process */
+    private static final Map<String, Room> ROOMS = new ConcurrentHashMap<>();
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The JDK HTTP server */
+    private final HttpServer server;
+
+    /** Runs the request handlers */
+    private final ExecutorService executor;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - use start() to open a server.
+     * @param port The port to listen on
+     * @throws IOException if the port cannot be opened
+     */
+    private AdminHttpServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = createExecutor();
+        this.server.setExecutor(executor);
+        this.server.createContext("/status", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                respond(exchange, "application/json; charset=utf-8", statusJson());
+            }
+        });
+        this.server.createContext("/metrics", new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                respond(exchange, PrometheusFormat.CONTENT_TYPE, prometheusText());
+            }
+        });
+        this.server.start();
+    }
+
+    /**
+     * Opens an admin server.
+     *
+     * @param port The port to listen on (0 picks a free port)
+     * @return The server, or null if the port could not be opened
+     */
+    public static AdminHttpServer start(int port) {
+        try {
+            AdminHttpServer admin = new AdminHttpServer(port);
+            // Print message to console
+            System.out.println("Admin endpoint on http://localhost:" + admin.getPort() + "/status and /metrics");
+            return admin;
+        } catch (IOException e) {
+            // Print error message - the game works without the admin endpoint
+            System.err.println("Could not open admin port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ========================
+    // ROOM REGISTRY
+    // ========================
+
+    /**
+     * Registers a hosted game so /status and /metrics report it.
+     * A room registered under a name already in use replaces the old one.
+     *
+     * @param name The room name (e.g. "game-1337")
+     * @param model The room's match state
+     * @param socketMaster The room's server socket
+     */
+    public static void registerRoom(String name, GameModel model, SuperSocketMaster socketMaster) {
+        ROOMS.put(name, new Room(model, socketMaster));
+    }
+
+    /**
+     * Stops reporting a room.
+     * @param name The room name
+     */
+    public static void unregisterRoom(String name) {
+        ROOMS.remove(name);
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Gets the port the endpoint listens on.
+     * @return The listening port
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the endpoint.
+     */
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    // ========================
+    // RESPONSES
+    // ========================
+
+    /**
+     * Builds the /status document.
+     * @return The JSON text
+     */
+    static String statusJson() {
+        StringBuilder json = new StringBuilder("{\n  \"rooms\": [");
+        int connections = 0;
+        String separator = "\n";
+        for (Map.Entry<String, Room> entry : new TreeMap<>(ROOMS).entrySet()) {
+            Room room = entry.getValue();
+            GameModel model = room.model;
+            int[] depths = room.socketMaster.getQueueDepths();
+            connections += depths.length;
+            json.append(separator).append("    {\"name\": ").append(quote(entry.getKey()))
+                .append(", \"phase\": ").append(quote(String.valueOf(model.getCurrentPhase())))
+                .append(", \"round\": ").append(model.getCurrentRound())
+                .append(", \"red\": ").append(quote(model.getPlayerName(Player.RED)))
+                .append(", \"blue\": ").append(quote(model.getPlayerName(Player.BLUE)))
+                .append(", \"red_score\": ").append(model.getRedScore())
+                .append(", \"blue_score\": ").append(model.getBlueScore())
+                .append(", \"connections\": ").append(depths.length)
+                .append(", \"queue_depths\": ").append(Arrays.toString(depths))
+                .append(", \"dropped\": ").append(room.socketMaster.getDroppedCount()).append("}");
+            separator = ",\n";
+        }
+        json.append("\n  ],\n  \"connections\": ").append(connections);
+
+        // Garbage collection since the process started
+        json.append(",\n  \"gc\": [");
+        separator = "\n";
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            json.append(separator).append("    {\"name\": ").append(quote(gc.getName()))
+                .append(", \"count\": ").append(gc.getCollectionCount())
+                .append(", \"time_ms\": ").append(gc.getCollectionTime()).append("}");
+            separator = ",\n";
+        }
+
+        // Threads and heap
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        json.append("\n  ],\n  \"threads\": {\"live\": ").append(threads.getThreadCount())
+            .append(", \"daemon\": ").append(threads.getDaemonThreadCount())
+            .append(", \"peak\": ").append(threads.getPeakThreadCount()).append("}")
+            .append(",\n  \"heap\": {\"used\": ").append(heap.getUsed())
+            .append(", \"committed\": ").append(heap.getCommitted()).append("}\n}\n");
+        return json.toString();
+    }
+
+    /**
+     * Builds the /metrics document.
+     * @return The Prometheus text
+     */
+    static String prometheusText() {
+        StringWriter text = new StringWriter();
+        PrintWriter out = new PrintWriter(text);
+
+        // Live numbers over every room
+        int connections = 0;
+        int queued = 0;
+        int deepest = 0;
+        long dropped = 0;
+        int playing = 0;
+        for (Room room : ROOMS.values()) {
+            int[] depths = room.socketMaster.getQueueDepths();
+            connections += depths.length;
+            for (int depth : depths) {
+                queued += depth;
+                deepest = Math.max(deepest, depth);
+            }
+            dropped += room.socketMaster.getDroppedCount();
+            GameModel.GamePhase phase = room.model.getCurrentPhase();
+            if (phase != GameModel.GamePhase.WAITING && phase != GameModel.GamePhase.GAME_OVER) {
+                playing++;
+            }
+        }
+        PrometheusFormat.writeGauge(out, "rps_rooms", "Rooms registered", ROOMS.size());
+        PrometheusFormat.writeGauge(out, "rps_rooms_playing", "Rooms with a match in progress", playing);
+        PrometheusFormat.writeGauge(out, "rps_connections", "Connected peers", connections);
+        PrometheusFormat.writeGauge(out, "rps_outbound_queued", "Messages waiting in outbound queues", queued);
+        PrometheusFormat.writeGauge(out, "rps_outbound_queue_max", "Deepest outbound queue", deepest);
+        PrometheusFormat.writeGauge(out, "rps_outbound_dropped", "Outbound messages dropped by full queues", dropped);
+        PrometheusFormat.writeGauge(out, "rps_game_codes_live", "Game codes in use",
+                                    GameCodeRegistry.getDefault().getLiveCount());
+
+        // JVM numbers
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        PrometheusFormat.writeGauge(out, "jvm_threads_live", "Live threads", threads.getThreadCount());
+        PrometheusFormat.writeGauge(out, "jvm_threads_peak", "Peak live threads", threads.getPeakThreadCount());
+        PrometheusFormat.writeGauge(out, "jvm_heap_used_bytes", "Heap in use", heap.getUsed());
+        PrometheusFormat.writeGauge(out, "jvm_heap_committed_bytes", "Heap committed", heap.getCommitted());
+        out.println("# TYPE jvm_gc_collections_total counter");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.println("jvm_gc_collections_total{gc=" + quote(gc.getName()) + "} " + gc.getCollectionCount());
+        }
+        out.println("# TYPE jvm_gc_seconds_total counter");
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            out.println("jvm_gc_seconds_total{gc=" + quote(gc.getName()) + "} " + gc.getCollectionTime() / 1000.0);
+        }
+
+        // Everything the game recorded
+        PrometheusFormat.write(MetricsRegistry.getDefault(), out);
+        return text.toString();
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Sends a 200 response.
+     *
+     * @param exchange The request
+     * @param contentType The response content type
+     * @param body The response text
+     * @throws IOException if the response cannot be written
+     */
+    private static void respond(HttpExchange exchange, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Quotes a string for JSON or a Prometheus label.
+     * @param text The text (null becomes an empty string)
+     * @return The quoted text
+     */
+    private static String quote(String text) {
+        if (text == null) {
+            return "\"\"";
+        }
+        return "\"" + text.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    /**
+     * Creates the request executor.
+     * Uses a virtual thread per request when the running Java has them.
+     *
+     * @return The executor
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method virtual = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) virtual.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            // Older Java - a couple of background threads are plenty for an admin page
+            return Executors.newFixedThreadPool(FALLBACK_THREADS, new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable task) {
+                    Thread thread = new Thread(task, "Admin-HTTP");
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                }
+            });
+        }
+    }
+
+    // ========================
+    // ROOM CLASS
+    // ========================
+
+    /**
+     * One hosted game.
+     */
+    private static class Room {
+
+        /** The match state */
+        final GameModel model;
+
+        /** The server socket */
+        final SuperSocketMaster socketMaster;
+
+        /**
+         * Constructor for Room.
+         *
+         * @param model The match state
+         * @param socketMaster The server socket
+         */
+        Room(GameModel model, SuperSocketMaster socketMaster) {
+            this.model = model;
+            this.socketMaster = socketMaster;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ai;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * ArenaResult - Win/draw/loss counts for every pairing in a strategy arena run.
+ * Scores count a win as 1 and a draw as a half, from the row strategy's view.
+ * Each score comes with a 95% Wilson confidence interval.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class ArenaResult {
+
+    /** z value for a 95% confidence interval */
+    private static final double Z_95 = 1.96;
+
+    /** Strategy names in row/column order */
+    private final String[] names;
+
+    /** Rounds the row strategy won against the column strategy */
+    private final long[][] wins;
+
+    /** Rounds drawn between the row and column strategies */
+    private final long[][] draws;
+
+    /** Rounds the row strategy lost against the column strategy */
+    private final long[][] losses;
+
+    /**
+     * Constructor for ArenaResult.
+     * @param names Strategy names in row/column order
+     */
+    ArenaResult(List<String> names) {
+        int n = names.size();
+        this.names = names.toArray(new String[0]);
+        this.wins = new long[n][n];
+        this.draws = new long[n][n];
+        this.losses = new long[n][n];
+    }
+
+    /**
+     * Stores the counts for one pairing and its mirror.
+     *
+     * @param row Index of the first strategy
+     * @param column Index of the second strategy
+     * @param counts Wins, draws and losses of the first strategy
+     */
+    void set(int row, int column, long[] counts) {
+        wins[row][column] = counts[0];
+        draws[row][column] = counts[1];
+        losses[row][column] = counts[2];
+        wins[column][row] = counts[2];
+        draws[column][row] = counts[1];
+        losses[column][row] = counts[0];
+    }
+
+    /**
+     * Gets the number of strategies.
+     * @return The matrix size
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * Gets a strategy name.
+     * @param index The row/column index
+     * @return The name
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    /**
+     * Gets the rounds played between two strategies.
+     *
+     * @param row Index of the first strategy
+     * @param column Index of the second strategy
+     * @return The round count
+     */
+    public long getRounds(int row, int column) {
+        return wins[row][column] + draws[row][column] + losses[row][column];
+    }
+
+    /**
+     * Gets the row strategy's score against the column strategy.
+     *
+     * @param row Index of the first strategy
+     * @param column Index of the second strategy
+     * @return The score from 0 to 1 (win = 1, draw = 0.5), or NaN if they did not play
+     */
+    public double getScore(int row, int column) {
+        long rounds = getRounds(row, column);
+        if (rounds == 0) {
+            return Double.NaN;
+        }
+        return (wins[row][column] + 0.5 * draws[row][column]) / rounds;
+    }
+
+    /**
+     * Gets the 95% Wilson confidence interval of a score.
+     *
+     * @param row Index of the first strategy
+     * @param column Index of the second strategy
+     * @return Lower and upper bounds of the score, or NaNs if they did not play
+     */
+    public double[] getConfidenceInterval(int row, int column) {
+        long rounds = getRounds(row, column);
+        if (rounds == 0) {
+            return new double[] {Double.NaN, Double.NaN};
+        }
+        double p = getScore(row, column);
+        double z2 = Z_95 * Z_95;
+        double centre = (p + z2 / (2.0 * rounds)) / (1.0 + z2 / rounds);
+        double margin = Z_95 * Math.sqrt(p * (1.0 - p) / rounds + z2 / (4.0 * rounds * rounds))
+                        / (1.0 + z2 / rounds);
+        return new double[] {centre - margin, centre + margin};
+    }
+
+    /**
+     * Prints the score matrix with the half-width of each confidence interval.
+     * @param writer Where to print the table
+     */
+    public void print(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.print(String.format("%-12s", ""));
+        for (String name : names) {
+            out.print(String.format("%17s", name));
+        }
+        out.println();
+        for (int row = 0; row < names.length; row++) {
+            out.print(String.format("%-12s", names[row]));
+            for (int column = 0; column < names.length; column++) {
+                if (getRounds(row, column) == 0) {
+                    out.print(String.format("%17s", "-"));
+                } else {
+                    double[] interval = getConfidenceInterval(row, column);
+                    out.print(String.format("%9.2f%% +-%.2f", 100 * getScore(row, column),
+                                            50 * (interval[1] - interval[0])));
+                }
+            }
+            out.println();
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes every pairing as CSV.
+     * Columns: strategy,opponent,rounds,wins,draws,losses,score,ci_low,ci_high
+     *
+     * @param writer Where to write the CSV text
+     */
+    public void writeCsv(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("strategy,opponent,rounds,wins,draws,losses,score,ci_low,ci_high");
+        for (int row = 0; row < names.length; row++) {
+            for (int column = 0; column < names.length; column++) {
+                if (getRounds(row, column) == 0) {
+                    continue;
+                }
+                double[] interval = getConfidenceInterval(row, column);
+                out.println(names[row] + "," + names[column] + "," + getRounds(row, column) + ","
+                            + wins[row][column] + "," + draws[row][column] + "," + losses[row][column] + ","
+                            + String.format("%.5f,%.5f,%.5f", getScore(row, column), interval[0], interval[1]));
+            }
+        }
+        out.flush();
+    }
+}
@@ -0,0 +1,113 @@
+package ai;
+
+import model.GameModel.Choice;
+
+import java.util.Random;
+
+/**
+ * BotBenchmark - Measures how fast the bot decides and how well it learns.
+ * Plays the bot against a few simple human-like patterns and prints its win,
+ * draw and loss rates along with the average time per round.
+ *
+ * <p>Usage: java ai.BotBenchmark [rounds]</p>
+ * <ul>
+ *   <li>rounds: rounds played against each pattern (default 1000000)</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class BotBenchmark {
+
+    /** Patterns the simulated human can follow */
+    private static final String[] PATTERNS = {"random", "always_rock", "cycle", "copy_bot", "beat_last"};
+
+    /** All choices by ordinal */
+    private static final Choice[] CHOICES = Choice.values();
+
+    /**
+     * Runs the benchmark.
+     * @param args Optional number of rounds per pattern
+     */
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        // Warm up so the timings are for compiled code
+        for (String pattern : PATTERNS) {
+            play(pattern, rounds / 10, false);
+        }
+        for (String pattern : PATTERNS) {
+            play(pattern, rounds, true);
+        }
+    }
+
+    /**
+     * Plays the bot against one pattern.
+     *
+     * @param pattern The human pattern name
+     * @param rounds Number of rounds to play
+     * @param report Flag indicating if the results should be printed
+     */
+    private static void play(String pattern, int rounds, boolean report) {
+        BotOpponent bot = new BotOpponent(7);
+        Random random = new Random(11);
+        int wins = 0;
+        int draws = 0;
+        Choice lastBot = Choice.ROCK;
+
+        long start = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            Choice botChoice = bot.chooseMove();
+            Choice human = humanMove(pattern, round, lastBot, random);
+            bot.observeOpponent(human);
+
+            if (botChoice == human) {
+                draws++;
+            } else if (botChoice.beats(human)) {
+                wins++;
+            }
+            lastBot = botChoice;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        if (report) {
+            System.out.println(String.format("%-12s win %5.1f%%  draw %5.1f%%  loss %5.1f%%  %4d ns/round",
+                                             pattern,
+                                             100.0 * wins / rounds,
+                                             100.0 * draws / rounds,
+                                             100.0 * (rounds - wins - draws) / rounds,
+                                             elapsed / rounds));
+        }
+    }
+
+    /**
+     * Gets the simulated human's throw.
+     *
+     * @param pattern The pattern name
+     * @param round The round number
+     * @param lastBot The bot's previous throw
+     * @param random Random source
+     * @return The human's choice
+     */
+    private static Choice humanMove(String pattern, int round, Choice lastBot, Random random) {
+        switch (pattern) {
+            case "always_rock":
+                return Choice.ROCK;
+            case "cycle":
+                return CHOICES[round % CHOICES.length];
+            case "copy_bot":
+                return lastBot;
+            case "beat_last":
+                // Throw whatever beats the bot's previous throw
+                for (Choice choice : CHOICES) {
+                    if (choice.beats(lastBot)) {
+                        return choice;
+                    }
+                }
+                return lastBot;
+            default:
+                return CHOICES[random.nextInt(CHOICES.length)];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package ai;
+
+import model.GameModel.Choice;
+
+/**
+ * BotOpponent - A computer opponent that learns how a human plays.
+ * The bot keeps the match history from its own side and asks a Strategy for
+ * each throw. By default it uses the Markov strategy, which predicts the
+ * human's next throw and plays the throw that beats it, with a small share of
+ * random throws so a human who works out its logic cannot beat it every round.
+ *
+ * <p>Choosing and observing never allocate, so one server can run thousands
+ * of bot matches side by side. One BotOpponent belongs to one match and is
+ * not thread-safe.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class BotOpponent {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Name used for the bot in player name fields */
+    public static final String BOT_NAME = "Computer";
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Chooses the bot's throws */
+    private final Strategy strategy;
+
+    /** Rounds played so far, from the bot's side */
+    private final MoveHistory history = new MoveHistory();
+
+    /** The bot's throw for the round in progress (null before the first choice) */
+    private Choice pendingMove;
+
+    // ========================
+    // CONSTRUCTORS
+    // ========================
+
+    /**
+     * Constructor for BotOpponent using the Markov strategy with a random seed.
+     */
+    public BotOpponent() {
+        this(System.nanoTime());
+    }
+
+    /**
+     * Constructor for BotOpponent using the Markov strategy.
+     * @param seed Seed for the strategy's randomness (fix it for repeatable matches)
+     */
+    public BotOpponent(long seed) {
+        this(Strategies.markov().create(seed));
+    }
+
+    /**
+     * Constructor for BotOpponent.
+     * @param strategy The strategy that chooses the bot's throws
+     */
+    public BotOpponent(Strategy strategy) {
+        this.strategy = strategy;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Chooses the bot's throw for the current round.
+     * Must be called before the human's throw for the round is observed.
+     *
+     * @return The bot's choice
+     */
+    public Choice chooseMove() {
+        pendingMove = strategy.choose(history);
+        return pendingMove;
+    }
+
+    /**
+     * Records the human's throw once the round is over.
+     * @param choice The human's choice
+     */
+    public void observeOpponent(Choice choice) {
+        history.record(pendingMove, choice);
+    }
+
+    /**
+     * Forgets the match history (for a new opponent).
+     * Learning strategies keep what they learned; create a new bot to start fresh.
+     */
+    public void reset() {
+        history.clear();
+        pendingMove = null;
+    }
+}
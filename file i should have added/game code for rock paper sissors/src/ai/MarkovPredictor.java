@@ -0,0 +1,163 @@
+package ai;
+
+import java.util.Arrays;
+
+/**
+ * MarkovPredictor - Predicts an opponent's next throw from their recent throws.
+ * Keeps counts of what the opponent threw after each one-throw and two-throw
+ * history and predicts the most common follow-up. When the two-throw history
+ * has not been seen often enough it falls back to the one-throw history, then
+ * to the opponent's overall favourite.
+ *
+ * <p>Throws are the ordinals of GameModel.Choice (0, 1, 2). All counts live in
+ * fixed arrays created with the predictor, so observe() and predict() never
+ * allocate and take well under a microsecond.</p>
+ *
+ * <p>Counts are halved once any of them reaches COUNT_LIMIT, so old habits
+ * fade and the predictor follows an opponent who changes strategy.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MarkovPredictor {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Number of possible throws */
+    private static final int MOVES = 3;
+
+    /** Observations needed before a history is trusted for a prediction */
+    private static final int MIN_EVIDENCE = 3;
+
+    /** Count at which all counts in a table are halved */
+    private static final int COUNT_LIMIT = 64;
+
+    /** Value used for "no throw yet" in the history */
+    private static final int NONE = -1;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Counts after each two-throw history: [(older * 3 + newer) * 3 + next] */
+    private final int[] order2 = new int[MOVES * MOVES * MOVES];
+
+    /** Counts after each one-throw history: [previous * 3 + next] */
+    private final int[] order1 = new int[MOVES * MOVES];
+
+    /** Overall counts of each throw */
+    private final int[] order0 = new int[MOVES];
+
+    /** The opponent's throw before last (NONE if not yet seen) */
+    private int older = NONE;
+
+    /** The opponent's last throw (NONE if not yet seen) */
+    private int newer = NONE;
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Records the opponent's latest throw.
+     * @param move The throw's Choice ordinal (0, 1 or 2)
+     */
+    public void observe(int move) {
+        if (older != NONE) {
+            count(order2, (older * MOVES + newer) * MOVES, move);
+        }
+        if (newer != NONE) {
+            count(order1, newer * MOVES, move);
+        }
+        count(order0, 0, move);
+
+        // Shift the history
+        older = newer;
+        newer = move;
+    }
+
+    /**
+     * Predicts the opponent's next throw.
+     * @return The predicted Choice ordinal, or -1 if nothing has been observed
+     */
+    public int predict() {
+        // Longest history with enough evidence wins
+        if (older != NONE) {
+            int base = (older * MOVES + newer) * MOVES;
+            if (total(order2, base) >= MIN_EVIDENCE) {
+                return mostLikely(order2, base);
+            }
+        }
+        if (newer != NONE) {
+            int base = newer * MOVES;
+            if (total(order1, base) >= MIN_EVIDENCE) {
+                return mostLikely(order1, base);
+            }
+        }
+        if (total(order0, 0) > 0) {
+            return mostLikely(order0, 0);
+        }
+        return NONE;
+    }
+
+    /**
+     * Forgets everything observed so far.
+     */
+    public void reset() {
+        Arrays.fill(order2, 0);
+        Arrays.fill(order1, 0);
+        Arrays.fill(order0, 0);
+        older = NONE;
+        newer = NONE;
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Adds one to a count, halving its row if it reaches the limit.
+     *
+     * @param table The count table
+     * @param base Index of the row's first count
+     * @param move The throw to count
+     */
+    private static void count(int[] table, int base, int move) {
+        if (++table[base + move] >= COUNT_LIMIT) {
+            for (int i = 0; i < MOVES; i++) {
+                table[base + i] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Adds up a row of counts.
+     *
+     * @param table The count table
+     * @param base Index of the row's first count
+     * @return The row total
+     */
+    private static int total(int[] table, int base) {
+        return table[base] + table[base + 1] + table[base + 2];
+    }
+
+    /**
+     * Finds the most common throw in a row of counts (lowest ordinal on a tie).
+     *
+     * @param table The count table
+     * @param base Index of the row's first count
+     * @return The throw with the highest count
+     */
+    private static int mostLikely(int[] table, int base) {
+        int best = 0;
+        for (int i = 1; i < MOVES; i++) {
+            if (table[base + i] > table[base + best]) {
+                best = i;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,145 @@
+package ai;
+
+import model.GameModel.Choice;
+
+/**
+ * MoveHistory - The recent throws of both sides of a match, from one side's view.
+ * Stored in a fixed ring buffer so recording a round never allocates; once the
+ * buffer is full the oldest rounds are overwritten.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MoveHistory {
+
+    /** Default number of rounds kept */
+    public static final int DEFAULT_CAPACITY = 256;
+
+    /** All choices by ordinal (cached because Choice.values() copies the array) */
+    private static final Choice[] CHOICES = Choice.values();
+
+    /** For each choice ordinal, the choice that beats it (taken from Choice.beats) */
+    private static final Choice[] COUNTER = new Choice[CHOICES.length];
+
+    static {
+        for (Choice target : CHOICES) {
+            for (Choice candidate : CHOICES) {
+                if (candidate.beats(target)) {
+                    COUNTER[target.ordinal()] = candidate;
+                }
+            }
+        }
+    }
+
+    /** This side's throws by slot */
+    private final Choice[] mine;
+
+    /** The opponent's throws by slot */
+    private final Choice[] theirs;
+
+    /** Slot mask (capacity is a power of two) */
+    private final int mask;
+
+    /** Total number of rounds recorded (not limited to the capacity) */
+    private long rounds;
+
+    /**
+     * Constructor for MoveHistory with the default capacity.
+     */
+    public MoveHistory() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor for MoveHistory.
+     * @param capacity Rounds to keep, rounded up to a power of two
+     */
+    public MoveHistory(int capacity) {
+        int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+        this.mine = new Choice[size];
+        this.theirs = new Choice[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Records a finished round.
+     *
+     * @param myChoice This side's throw
+     * @param theirChoice The opponent's throw
+     */
+    public void record(Choice myChoice, Choice theirChoice) {
+        int slot = (int) (rounds & mask);
+        mine[slot] = myChoice;
+        theirs[slot] = theirChoice;
+        rounds++;
+    }
+
+    /**
+     * Gets this side's throw from an earlier round.
+     * @param back 1 for the last round, 2 for the one before, and so on
+     * @return The throw, or null if that round is not in the history
+     */
+    public Choice myMove(int back) {
+        return available(back) ? mine[(int) ((rounds - back) & mask)] : null;
+    }
+
+    /**
+     * Gets the opponent's throw from an earlier round.
+     * @param back 1 for the last round, 2 for the one before, and so on
+     * @return The throw, or null if that round is not in the history
+     */
+    public Choice opponentMove(int back) {
+        return available(back) ? theirs[(int) ((rounds - back) & mask)] : null;
+    }
+
+    /**
+     * Gets the total number of rounds recorded.
+     * @return The round count (may be more than the rounds still kept)
+     */
+    public long getRounds() {
+        return this.rounds;
+    }
+
+    /**
+     * Gets the number of rounds that can still be looked up.
+     * @return The smaller of the round count and the capacity
+     */
+    public int size() {
+        return (int) Math.min(rounds, mask + 1);
+    }
+
+    /**
+     * Clears the history.
+     */
+    public void clear() {
+        rounds = 0;
+    }
+
+    /**
+     * Gets the choice that beats another.
+     * @param choice The choice to beat
+     * @return The counter choice
+     */
+    public static Choice counter(Choice choice) {
+        return COUNTER[choice.ordinal()];
+    }
+
+    /**
+     * Gets a choice by ordinal.
+     * @param ordinal 0, 1 or 2
+     * @return The choice
+     */
+    public static Choice choice(int ordinal) {
+        return CHOICES[ordinal];
+    }
+
+    /**
+     * Checks if an earlier round is still in the history.
+     * @param back How many rounds back
+     * @return true if the round can be looked up
+     */
+    private boolean available(int back) {
+        return back >= 1 && back <= size();
+    }
+}
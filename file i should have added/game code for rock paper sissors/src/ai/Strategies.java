@@ -0,0 +1,269 @@
+package ai;
+
+import model.GameModel.Choice;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Strategies - The built-in strategies and their factories.
+ *
+ * <ul>
+ *   <li>random - uniformly random throws</li>
+ *   <li>rock - always Rock</li>
+ *   <li>cycle - Rock, Paper, Scissors in turn</li>
+ *   <li>beat_last - beats the opponent's last throw</li>
+ *   <li>frequency - beats the opponent's most common recent throw</li>
+ *   <li>markov - beats the MarkovPredictor's prediction, with some random throws</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class Strategies {
+
+    /** Rounds the frequency strategy looks back over */
+    private static final int FREQUENCY_WINDOW = 20;
+
+    /** Chance of the Markov strategy throwing randomly */
+    private static final double MARKOV_RANDOM_CHANCE = 0.1;
+
+    /**
+     * Private constructor - this class only has static methods.
+     */
+    private Strategies() {
+    }
+
+    /**
+     * Gets factories for every built-in strategy.
+     * @return The factories in a fixed order
+     */
+    public static List<StrategyFactory> all() {
+        List<StrategyFactory> factories = new ArrayList<>();
+        factories.add(random());
+        factories.add(constant(Choice.ROCK));
+        factories.add(cycle());
+        factories.add(beatLast());
+        factories.add(frequency());
+        factories.add(markov());
+        return factories;
+    }
+
+    /**
+     * Gets a factory by strategy name.
+     * @param name The strategy name
+     * @return The factory
+     * @throws IllegalArgumentException if there is no strategy with that name
+     */
+    public static StrategyFactory byName(String name) {
+        for (StrategyFactory factory : all()) {
+            if (factory.getName().equals(name)) {
+                return factory;
+            }
+        }
+        throw new IllegalArgumentException("Unknown strategy: " + name);
+    }
+
+    /**
+     * Random throws.
+     * @return The factory
+     */
+    public static StrategyFactory random() {
+        return new StrategyFactory() {
+            @Override
+            public String getName() {
+                return "random";
+            }
+
+            @Override
+            public Strategy create(long seed) {
+                final SplittableRandom random = new SplittableRandom(seed);
+                return new Strategy() {
+                    @Override
+                    public Choice choose(MoveHistory history) {
+                        return MoveHistory.choice(random.nextInt(3));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * The same throw every round.
+     * @param choice The throw
+     * @return The factory
+     */
+    public static StrategyFactory constant(final Choice choice) {
+        return new StrategyFactory() {
+            @Override
+            public String getName() {
+                return choice.name().toLowerCase();
+            }
+
+            @Override
+            public Strategy create(long seed) {
+                return new Strategy() {
+                    @Override
+                    public Choice choose(MoveHistory history) {
+                        return choice;
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Rock, Paper, Scissors in turn.
+     * @return The factory
+     */
+    public static StrategyFactory cycle() {
+        return new StrategyFactory() {
+            @Override
+            public String getName() {
+                return "cycle";
+            }
+
+            @Override
+            public Strategy create(long seed) {
+                return new Strategy() {
+                    @Override
+                    public Choice choose(MoveHistory history) {
+                        return MoveHistory.choice((int) (history.getRounds() % 3));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Beats whatever the opponent threw last round.
+     * @return The factory
+     */
+    public static StrategyFactory beatLast() {
+        return new StrategyFactory() {
+            @Override
+            public String getName() {
+                return "beat_last";
+            }
+
+            @Override
+            public Strategy create(long seed) {
+                return new Strategy() {
+                    @Override
+                    public Choice choose(MoveHistory history) {
+                        Choice last = history.opponentMove(1);
+                        return (last == null) ? Choice.ROCK : MoveHistory.counter(last);
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Beats the opponent's most common throw over the last FREQUENCY_WINDOW rounds.
+     * @return The factory
+     */
+    public static StrategyFactory frequency() {
+        return new StrategyFactory() {
+            @Override
+            public String getName() {
+                return "frequency";
+            }
+
+            @Override
+            public Strategy create(long seed) {
+                return new Strategy() {
+                    /** Throw counts over the window (reused every round) */
+                    private final int[] counts = new int[3];
+
+                    @Override
+                    public Choice choose(MoveHistory history) {
+                        int window = Math.min(FREQUENCY_WINDOW, history.size());
+                        if (window == 0) {
+                            return Choice.PAPER;
+                        }
+                        counts[0] = 0;
+                        counts[1] = 0;
+                        counts[2] = 0;
+                        for (int back = 1; back <= window; back++) {
+                            counts[history.opponentMove(back).ordinal()]++;
+                        }
+                        int best = 0;
+                        for (int i = 1; i < 3; i++) {
+                            if (counts[i] > counts[best]) {
+                                best = i;
+                            }
+                        }
+                        return MoveHistory.counter(MoveHistory.choice(best));
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * Beats the MarkovPredictor's prediction of the opponent, with a few random throws.
+     * @return The factory
+     */
+    public static StrategyFactory markov() {
+        return new StrategyFactory() {
+            @Override
+            public String getName() {
+                return "markov";
+            }
+
+            @Override
+            public Strategy create(long seed) {
+                return new MarkovStrategy(new SplittableRandom(seed), MARKOV_RANDOM_CHANCE);
+            }
+        };
+    }
+
+    /**
+     * MarkovStrategy - Feeds each new opponent throw to a MarkovPredictor and counters its prediction.
+     */
+    static final class MarkovStrategy implements Strategy {
+
+        /** Learns the opponent's pattern */
+        private final MarkovPredictor predictor = new MarkovPredictor();
+
+        /** Random source for exploration and opening throws */
+        private final SplittableRandom random;
+
+        /** Chance of a random throw instead of a counter */
+        private final double randomChance;
+
+        /** Rounds already fed to the predictor */
+        private long observed;
+
+        /**
+         * Constructor for MarkovStrategy.
+         *
+         * @param random Random source
+         * @param randomChance Chance of a random throw instead of a counter
+         */
+        MarkovStrategy(SplittableRandom random, double randomChance) {
+            this.random = random;
+            this.randomChance = randomChance;
+        }
+
+        @Override
+        public Choice choose(MoveHistory history) {
+            // Catch up on rounds played since the last call (normally exactly one)
+            long rounds = history.getRounds();
+            long missed = Math.min(rounds - observed, history.size());
+            for (long back = missed; back >= 1; back--) {
+                predictor.observe(history.opponentMove((int) back).ordinal());
+            }
+            observed = rounds;
+
+            int predicted = predictor.predict();
+            if (predicted < 0 || random.nextDouble() < randomChance) {
+                return MoveHistory.choice(random.nextInt(3));
+            }
+            return MoveHistory.counter(MoveHistory.choice(predicted));
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package ai;
+
+import model.GameModel.Choice;
+
+/**
+ * Strategy - A way of choosing throws, used by bots and the strategy arena.
+ * A strategy sees the match so far from its own side and returns its next
+ * throw. One instance plays one match; a StrategyFactory makes a fresh one
+ * for each match so learning strategies start clean.
+ *
+ * <p>Implementations should not allocate in choose(), because the arena
+ * calls it millions of times.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface Strategy {
+
+    /**
+     * Chooses the next throw.
+     * @param history The rounds played so far, from this strategy's side
+     * @return The throw for the next round
+     */
+    Choice choose(MoveHistory history);
+}
@@ -0,0 +1,261 @@
+package ai;
+
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.Player;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * StrategyArena - Plays every strategy against every other on a fork/join pool.
+ * Each pairing is split into matches of a fixed length; every match starts
+ * with fresh strategies so learning strategies cannot carry knowledge over.
+ * Matches are split recursively into tasks so all pairings run in parallel
+ * and idle workers steal the remaining work.
+ *
+ * <p>Rounds are decided by GameModel.resolveRound, the same rule the real
+ * game uses, so arena results match what players would see.</p>
+ *
+ * <p>Usage: java ai.StrategyArena [rounds per pairing] [threads] [match length]</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class StrategyArena {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Default rounds in one match */
+    public static final int DEFAULT_MATCH_LENGTH = 1000;
+
+    /** Path of the CSV results file written by main */
+    public static final String RESULTS_FILE = "data/arena_results.csv";
+
+    /** Matches a task plays itself instead of splitting further */
+    private static final int MATCHES_PER_TASK = 16;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Strategies taking part */
+    private final List<StrategyFactory> factories;
+
+    /** Pool the matches run on */
+    private final ForkJoinPool pool;
+
+    /** Rounds in one match */
+    private final int matchLength;
+
+    /** Base seed, so a run can be repeated exactly */
+    private final long seed;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for StrategyArena.
+     *
+     * @param factories Strategies taking part
+     * @param pool Pool the matches run on
+     * @param matchLength Rounds in one match
+     * @param seed Base seed for the strategies' randomness
+     */
+    public StrategyArena(List<StrategyFactory> factories, ForkJoinPool pool, int matchLength, long seed) {
+        if (matchLength < 1) {
+            throw new IllegalArgumentException("Match length must be at least 1");
+        }
+        this.factories = new ArrayList<>(factories);
+        this.pool = pool;
+        this.matchLength = matchLength;
+        this.seed = seed;
+    }
+
+    // ========================
+    // RUN METHODS
+    // ========================
+
+    /**
+     * Plays every pairing of different strategies.
+     *
+     * @param roundsPerPairing Rounds to play for each pairing (rounded up to whole matches)
+     * @return The win/draw/loss counts for every pairing
+     */
+    public ArenaResult run(long roundsPerPairing) {
+        int matches = (int) Math.max(1, (roundsPerPairing + matchLength - 1) / matchLength);
+        List<String> names = new ArrayList<>();
+        for (StrategyFactory factory : factories) {
+            names.add(factory.getName());
+        }
+        ArenaResult result = new ArenaResult(names);
+
+        // Submit every pairing at once so the pool can balance them
+        List<ForkJoinTask<long[]>> tasks = new ArrayList<>();
+        List<int[]> pairings = new ArrayList<>();
+        for (int row = 0; row < factories.size(); row++) {
+            for (int column = row + 1; column < factories.size(); column++) {
+                long pairingSeed = seed + 0x9E3779B97F4A7C15L * (pairings.size() + 1);
+                tasks.add(pool.submit(new MatchRange(factories.get(row), factories.get(column),
+                                                     pairingSeed, 0, matches)));
+                pairings.add(new int[] {row, column});
+            }
+        }
+
+        for (int i = 0; i < tasks.size(); i++) {
+            int[] pairing = pairings.get(i);
+            result.set(pairing[0], pairing[1], tasks.get(i).join());
+        }
+        return result;
+    }
+
+    /**
+     * Plays one match between fresh strategies.
+     *
+     * @param first Factory for the first strategy (plays Red)
+     * @param second Factory for the second strategy (plays Blue)
+     * @param matchSeed Seed for this match
+     * @param counts Wins, draws and losses of the first strategy, added to in place
+     */
+    private void playMatch(StrategyFactory first, StrategyFactory second, long matchSeed, long[] counts) {
+        Strategy red = first.create(matchSeed);
+        Strategy blue = second.create(~matchSeed);
+        MoveHistory redHistory = new MoveHistory();
+        MoveHistory blueHistory = new MoveHistory();
+
+        for (int round = 0; round < matchLength; round++) {
+            Choice redChoice = red.choose(redHistory);
+            Choice blueChoice = blue.choose(blueHistory);
+
+            // Same rules as the real game
+            Player winner = GameModel.resolveRound(redChoice, blueChoice);
+            if (winner == Player.RED) {
+                counts[0]++;
+            } else if (winner == null) {
+                counts[1]++;
+            } else {
+                counts[2]++;
+            }
+
+            redHistory.record(redChoice, blueChoice);
+            blueHistory.record(blueChoice, redChoice);
+        }
+    }
+
+    // ========================
+    // INNER CLASS: MATCH RANGE
+    // ========================
+
+    /**
+     * MatchRange - A fork/join task that plays a range of matches of one pairing.
+     * Large ranges are split in half; small ones are played directly.
+     */
+    private final class MatchRange extends RecursiveTask<long[]> {
+
+        /** Factory for the first strategy */
+        private final StrategyFactory first;
+
+        /** Factory for the second strategy */
+        private final StrategyFactory second;
+
+        /** Seed for the pairing */
+        private final long pairingSeed;
+
+        /** First match index (inclusive) */
+        private final int from;
+
+        /** Last match index (exclusive) */
+        private final int to;
+
+        /**
+         * Constructor for MatchRange.
+         *
+         * @param first Factory for the first strategy
+         * @param second Factory for the second strategy
+         * @param pairingSeed Seed for the pairing
+         * @param from First match index (inclusive)
+         * @param to Last match index (exclusive)
+         */
+        MatchRange(StrategyFactory first, StrategyFactory second, long pairingSeed, int from, int to) {
+            this.first = first;
+            this.second = second;
+            this.pairingSeed = pairingSeed;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (to - from <= MATCHES_PER_TASK) {
+                long[] counts = new long[3];
+                for (int match = from; match < to; match++) {
+                    playMatch(first, second, pairingSeed * 31 + match, counts);
+                }
+                return counts;
+            }
+
+            // Split in half: fork one side and compute the other here
+            int middle = (from + to) >>> 1;
+            MatchRange left = new MatchRange(first, second, pairingSeed, from, middle);
+            MatchRange right = new MatchRange(first, second, pairingSeed, middle, to);
+            left.fork();
+            long[] counts = right.compute();
+            long[] leftCounts = left.join();
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] += leftCounts[i];
+            }
+            return counts;
+        }
+    }
+
+    // ========================
+    // MAIN METHOD
+    // ========================
+
+    /**
+     * Runs the arena with every built-in strategy and prints the score matrix.
+     *
+     * @param args Optional rounds per pairing, thread count and match length
+     */
+    public static void main(String[] args) {
+        long rounds = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int threads = args.length > 1 ? Integer.parseInt(args[1])
+                                       : Runtime.getRuntime().availableProcessors();
+        int matchLength = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_MATCH_LENGTH;
+
+        List<StrategyFactory> factories = Strategies.all();
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        StrategyArena arena = new StrategyArena(factories, pool, matchLength, 42);
+
+        long start = System.nanoTime();
+        ArenaResult result = arena.run(rounds);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        pool.shutdown();
+
+        int pairings = factories.size() * (factories.size() - 1) / 2;
+        long totalRounds = result.getRounds(0, 1) * pairings;
+        System.out.println(factories.size() + " strategies, " + result.getRounds(0, 1)
+                           + " rounds per pairing, " + threads + " threads");
+        System.out.println("Time: " + elapsedMillis + " ms ("
+                           + (totalRounds * 1000 / Math.max(1, elapsedMillis)) + " rounds/s)");
+        System.out.println("Score of row strategy against column strategy (95% interval half-width):");
+        result.print(new OutputStreamWriter(System.out));
+
+        try (FileWriter writer = new FileWriter(RESULTS_FILE)) {
+            result.writeCsv(writer);
+            System.out.println("Arena results written to " + RESULTS_FILE);
+        } catch (IOException e) {
+            System.err.println("Error writing arena results: " + e.getMessage());
+        }
+    }
+}
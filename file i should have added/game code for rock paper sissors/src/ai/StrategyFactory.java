@@ -0,0 +1,24 @@
+package ai;
+
+/**
+ * StrategyFactory - Makes fresh Strategy instances for matches.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface StrategyFactory {
+
+    /**
+     * Gets the strategy's display name.
+     * @return The name used in arena results
+     */
+    String getName();
+
+    /**
+     * Makes a new strategy for one match.
+     * @param seed Seed for any randomness, so arena runs can be repeated
+     * @return The new strategy
+     */
+    Strategy create(long seed);
+}
@@ -0,0 +1,197 @@
+package controller;
+
+/**
+ * ClockSync - Estimates the offset between this player's clock and the opponent's.
+ * Works like NTP: Blue sends CLOCK_PING with its send time t0, Red answers
+ * CLOCK_PONG with t0, the time it received the ping (t1) and the time it
+ * sent the answer (t2), and Blue notes when the answer arrived (t3).
+ *
+ * <pre>
+ *   offset     = ((t1 - t0) + (t2 - t3)) / 2
+ *   round trip = (t3 - t0) - (t2 - t1)
+ * </pre>
+ *
+ * <p>The formula assumes the trip out took as long as the trip back, so the
+ * error is at most half the round trip. Of all samples the one with the
+ * shortest round trip is kept, since it had the least time to go wrong.</p>
+ *
+ * <p>Times come from now(), a monotonic millisecond clock, so changes to
+ * the computer's wall clock during a match do not move the countdown.</p>
+ *
+ * <p>Blue's later pings carry its current estimate, so Red can take the
+ * opposite offset and convert Blue's send times to its own clock too.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class ClockSync {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Message sent by Blue to measure the clock offset */
+    public static final String MSG_CLOCK_PING = "CLOCK_PING:";
+
+    /** Red's answer to a CLOCK_PING */
+    public static final String MSG_CLOCK_PONG = "CLOCK_PONG:";
+
+    /** Number of pings sent when joining a game */
+    public static final int SAMPLES = 5;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Best estimate of the opponent's clock minus ours */
+    private long offset;
+
+    /** Round trip of the sample the offset came from */
+    private long roundTrip = Long.MAX_VALUE;
+
+    /** Number of samples taken */
+    private int sampleCount;
+
+    // ========================
+    // STATIC METHODS
+    // ========================
+
+    /**
+     * Gets the current time on the clock used for synchronization.
+     * Only differences between readings mean anything.
+     *
+     * @return The time in milliseconds
+     */
+    public static long now() {
+        return System.nanoTime() / 1_000_000L;
+    }
+
+    /**
+     * Gets the current time on the same clock as now(), in microseconds.
+     * Used to time messages, which can take well under a millisecond.
+     *
+     * @return The time in microseconds
+     */
+    public static long nowMicros() {
+        return System.nanoTime() / 1_000L;
+    }
+
+    /**
+     * Builds a ping message.
+     * Once the sender has an estimate it is included for the opponent.
+     *
+     * @param sentAt The time the ping is sent (t0)
+     * @param estimate The sender's clock sync so far
+     * @return The CLOCK_PING message
+     */
+    public static String formatPing(long sentAt, ClockSync estimate) {
+        String message = MSG_CLOCK_PING + "t0=" + sentAt;
+        if (estimate.isSynchronized()) {
+            message += ",offset=" + estimate.getOffset() + ",rtt=" + estimate.getRoundTrip();
+        }
+        return message;
+    }
+
+    /**
+     * Builds the answer to a ping.
+     *
+     * @param pingSentAt The t0 from the ping
+     * @param receivedAt When the ping arrived (t1)
+     * @param sentAt When the answer is sent (t2)
+     * @return The CLOCK_PONG message
+     */
+    public static String formatPong(long pingSentAt, long receivedAt, long sentAt) {
+        return MSG_CLOCK_PONG + "t0=" + pingSentAt + ",t1=" + receivedAt + ",t2=" + sentAt;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Adds one ping and pong exchange.
+     *
+     * @param t0 When the ping was sent, on our clock
+     * @param t1 When the opponent received it, on its clock
+     * @param t2 When the opponent answered, on its clock
+     * @param t3 When the answer arrived, on our clock
+     * @return true if this sample became the best estimate
+     */
+    public boolean addSample(long t0, long t1, long t2, long t3) {
+        sampleCount++;
+        long sampleRoundTrip = (t3 - t0) - (t2 - t1);
+        if (sampleRoundTrip < 0 || sampleRoundTrip >= roundTrip) {
+            return false;
+        }
+        roundTrip = sampleRoundTrip;
+        offset = ((t1 - t0) + (t2 - t3)) / 2;
+        return true;
+    }
+
+    /**
+     * Takes the opponent's estimate of its offset to us.
+     * Our offset is the same size the other way round.
+     *
+     * @param peerOffset Our clock minus the opponent's, as the opponent measured it
+     * @param peerRoundTrip The round trip of the opponent's best sample
+     */
+    public void adoptPeerEstimate(long peerOffset, long peerRoundTrip) {
+        if (peerRoundTrip < 0 || peerRoundTrip >= roundTrip) {
+            return;
+        }
+        roundTrip = peerRoundTrip;
+        offset = -peerOffset;
+    }
+
+    /**
+     * Forgets every sample, for a new opponent.
+     */
+    public void reset() {
+        offset = 0;
+        roundTrip = Long.MAX_VALUE;
+        sampleCount = 0;
+    }
+
+    /**
+     * Checks if there is an offset estimate yet.
+     * @return true once at least one usable sample has been added
+     */
+    public boolean isSynchronized() {
+        return roundTrip != Long.MAX_VALUE;
+    }
+
+    /**
+     * Converts a time on the opponent's clock to ours.
+     *
+     * @param remoteMillis A time on the opponent's clock
+     * @return The same moment on our clock
+     */
+    public long toLocal(long remoteMillis) {
+        return remoteMillis - offset;
+    }
+
+    /**
+     * Gets the estimated offset.
+     * @return The opponent's clock minus ours, in milliseconds
+     */
+    public long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Gets the round trip of the best sample, which bounds the offset error.
+     * @return The round trip in milliseconds, or -1 if there is no estimate
+     */
+    public long getRoundTrip() {
+        return isSynchronized() ? roundTrip : -1;
+    }
+
+    /**
+     * Gets the number of samples taken.
+     * @return The sample count
+     */
+    public int getSampleCount() {
+        return sampleCount;
+    }
+}
@@ -2,24 +2,34 @@ package controller;
 
 import lib.SuperSocketMaster;
 
-import view.MainView;
-import view.MainMenuPanel;
-import view.GamePanel;
-import view.ResultPanel;
-import view.FinalResultPanel;
-import view.CreateGamePanel;
-import view.JoinGamePanel;
-import view.HelpPanel;
-
 import model.GameModel;
 import model.GameModel.GamePhase;
 import model.GameModel.Player;
 import model.GameModel.Choice;
 
+import admin.AdminHttpServer;
+import ai.BotOpponent;
+import discovery.DiscoveryListener;
+import discovery.HostedGame;
+import discovery.LanDiscovery;
+import fastpath.FastPathListener;
+import fastpath.UdpChannel;
+import matchmaking.EloRating;
+import metrics.MetricsRegistry;
+import profiling.MatchEvent;
+import profiling.NetworkDispatchEvent;
+import profiling.NetworkReceiveEvent;
+import profiling.RoundEvent;
+import replay.ReplayRecorder;
+import ratings.PlayerRating;
+import ratings.RatingLedger;
+import spectator.SpectatorServer;
+import spectator.SpectatorState;
+
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import javax.swing.SwingUtilities;
 import javax.swing.Timer;
-import javax.swing.JOptionPane;
 
 /**
  * GameController - The main controller class for the Rock-Paper-Scissors game.
@@ -36,13 +46,32 @@ import javax.swing.JOptionPane;
  *   <li>Coordinating between Red (server) and Blue (client) players</li>
  *   <li>Handling round resolution and scoring</li>
  *   <li>Managing game completion and restart</li>
+ *   <li>Keeping Blue's model in lockstep with Red's</li>
  * </ul>
  * 
+ * <p>Red is the authority for the countdown, round results and scores. Every
+ * message carries a sequence number and a hash of the sender's state (see
+ * MessageEnvelope). When Blue misses a message or its state hash stops
+ * matching Red's, it asks for a STATE_SNAPSHOT and carries on from there.</p>
+ * 
+ * <p>When both players allow it, countdown ticks and choices are also sent
+ * over a UdpChannel so a lost TCP segment cannot hold them up. TCP still
+ * carries every message; whichever copy arrives second is ignored.</p>
+ * 
+ * <p>The screen is reached only through the GameView interface, so the same
+ * controller runs the game in the MainView window or on a HeadlessServer.</p>
+ * 
+ * <p>Blue measures its clock offset to Red when it joins (see ClockSync).
+ * Red sends each round's reveal time once in REVEAL_AT, and both players
+ * count down to it on their own clocks, so choosing opens for both at the
+ * same moment however slow the link is. Red's COUNTDOWN ticks still go
+ * out as a fallback.</p>
+ * 
  * @author ICS4U1 Student
  * @version 1.0
  * @since 2024
  */
-public class GameController implements ActionListener {
+public class GameController implements ActionListener, FastPathListener, DiscoveryListener {
     
     // ========================
     // INSTANCE VARIABLES
@@ -51,40 +80,112 @@ public class GameController implements ActionListener {
     /** The game model containing all game state and logic */
     private GameModel gameModel;
     
-    /** The main view handling all UI components and panel swapping */
-    private MainView mainView;
+    /** The view showing the game (a MainView window, or none on a headless server) */
+    private GameView mainView;
     
     /** SuperSocketMaster instance for network communication (server mode for Red) */
     private SuperSocketMaster socketMaster;
     
+    /** Host Blue connected to (Red's fast path is on the same host) */
+    private String serverHost = DEFAULT_HOST;
+    
+    /** Announces Red's open game and lists games for Blue (null if unavailable) */
+    private LanDiscovery lanDiscovery;
+    
+    /** Flag indicating LAN discovery has been opened (or failed to open) */
+    private boolean lanDiscoveryOpened;
+    
     /** Timer for handling the countdown during gameplay */
     private Timer countdownTimer;
     
     /** Timer for handling round transitions */
     private Timer roundTimer;
     
+    /** Timer that keeps Red's game code alive while the game is offered on the LAN */
+    private Timer codeRefreshTimer;
+    
     /** Flag indicating if this player is the Red player (server) */
     private boolean isRedPlayer;
     
     /** Flag indicating if connected to opponent */
     private boolean isConnected;
     
+    /** Computer opponent playing Blue (null when playing a human) */
+    private BotOpponent botOpponent;
+    
+    /** Records the current match to a replay file (null when not recording) */
+    private ReplayRecorder replayRecorder;
+    
+    /** Sequence number for the next message this player sends */
+    private long nextSendSequence;
+    
+    /** Sequence number expected on the next message from the opponent */
+    private long expectedReceiveSequence;
+    
+    /** Flag indicating a snapshot has been requested and has not arrived yet */
+    private boolean resyncPending;
+    
+    /** Streams the match to spectators (Red player only, null if not running) */
+    private SpectatorServer spectatorServer;
+    
+    /** Admin endpoint for the hosted game (Red player only, null if not running) */
+    private AdminHttpServer adminServer;
+    
+    /** UDP fast path for countdown ticks and choices (null if not in use) */
+    private UdpChannel fastPath;
+    
+    /** Clock offset to the opponent, measured by Blue when joining and passed on to Red */
+    private ClockSync clockSync;
+    
+    /** When choosing opens this round, on this player's clock (Event Dispatch Thread only) */
+    private long revealDeadline;
+    
+    /** Red's reveal time for revealRound, on Red's clock (Blue player only, Event Dispatch Thread only) */
+    private long remoteRevealDeadline;
+    
+    /** The round remoteRevealDeadline belongs to, 0 if none (Event Dispatch Thread only) */
+    private int revealRound;
+    
+    /** Latency, countdown and match timings for data/metrics.csv */
+    private ProtocolMetrics protocolMetrics;
+    
+    /** When choosing opened this round, in microseconds (NOT_TIMED if not yet) */
+    private long choosingOpenedAt = NOT_TIMED;
+    
+    /** When the current match started, in microseconds (NOT_TIMED if none) */
+    private long matchStartedAt = NOT_TIMED;
+    
+    /** Flight Recorder event for the current match (null if none) */
+    private MatchEvent matchEvent;
+    
+    /** Flight Recorder event for the round being resolved (null if choosing has not opened) */
+    private RoundEvent roundEvent;
+    
     // ========================
     // CONSTANTS
     // ========================
     
-    /** Delay for countdown timer ticks in milliseconds (1 second) */
+    /** Length of one countdown second in milliseconds */
     private static final int COUNTDOWN_DELAY = 1000;
     
     /** Delay for round transition in milliseconds (3 seconds to show results) */
     private static final int ROUND_DELAY = 3000;
     
+    /** Time between game code refreshes while Red waits in the lobby (well inside the code's time to live) */
+    private static final int CODE_REFRESH_DELAY = 60 * 1000;
+    
+    /** Host used when a game code was not announced on the LAN */
+    private static final String DEFAULT_HOST = "localhost";
+    
     /** Action command for create game button */
-    private static final String ACTION_CREATE_GAME = "create_game";
+    public static final String ACTION_CREATE_GAME = "create_game";
     
     /** Action command for join game button */
     private static final String ACTION_JOIN_GAME = "join_game";
     
+    /** Action command for play vs computer button */
+    private static final String ACTION_PLAY_COMPUTER = "play_computer";
+    
     /** Action command for connect button */
     private static final String ACTION_CONNECT = "connect_game";
     
@@ -95,22 +196,22 @@ public class GameController implements ActionListener {
     private static final String ACTION_BACK_TO_MENU = "back_to_menu";
     
     /** Action command for Rock choice button */
-    private static final String ACTION_CHOOSE_ROCK = "choose_rock";
+    public static final String ACTION_CHOOSE_ROCK = "choose_rock";
     
     /** Action command for Paper choice button */
-    private static final String ACTION_CHOOSE_PAPER = "choose_paper";
+    public static final String ACTION_CHOOSE_PAPER = "choose_paper";
     
     /** Action command for Scissors choice button */
-    private static final String ACTION_CHOOSE_SCISSORS = "choose_scissors";
+    public static final String ACTION_CHOOSE_SCISSORS = "choose_scissors";
     
     /** Action command for next round timer */
-    private static final String ACTION_NEXT_ROUND = "next_round";
+    public static final String ACTION_NEXT_ROUND = "next_round";
     
     /** Action command for finish game button */
     private static final String ACTION_FINISH_GAME = "finish_game";
     
     /** Action command for keep going button */
-    private static final String ACTION_KEEP_GOING = "keep_going";
+    public static final String ACTION_KEEP_GOING = "keep_going";
     
     /** Action command for Rock demo button in help */
     private static final String ACTION_DEMO_ROCK = "demo_rock";
@@ -121,6 +222,9 @@ public class GameController implements ActionListener {
     /** Action command for Scissors demo button in help */
     private static final String ACTION_DEMO_SCISSORS = "demo_scissors";
     
+    /** System property holding this player's name for the rating ledger */
+    private static final String PLAYER_NAME_PROPERTY = "rps.player.name";
+    
     /** Action command for network message events */
     private static final String ACTION_NETWORK_MESSAGE = "Network Message";
     
@@ -149,6 +253,22 @@ public class GameController implements ActionListener {
     /** Prefix for player quit messages */
     private static final String MSG_PLAYER_QUIT = "PLAYER_QUIT:";
     
+    /** Message type: Blue asks Red for a state snapshot */
+    private static final String MSG_RESYNC_REQUEST = "RESYNC_REQUEST:";
+    
+    /** Message type: when choosing opens this round, on Red's clock */
+    private static final String MSG_REVEAL_AT = "REVEAL_AT:";
+    
+    /** Message types with their own latency histogram */
+    private static final String[] MEASURED_MESSAGES = {
+        MSG_JOIN_REQUEST, MSG_JOIN_ACCEPTED, MSG_GAME_START, MSG_COUNTDOWN, MSG_PLAYER_CHOICE,
+        MSG_ROUND_RESULT, MSG_GAME_OVER, MSG_PLAYER_QUIT, MSG_RESYNC_REQUEST, MSG_REVEAL_AT,
+        StateSnapshot.MSG_STATE_SNAPSHOT, ClockSync.MSG_CLOCK_PING, ClockSync.MSG_CLOCK_PONG
+    };
+    
+    /** Marks a timing that has not started */
+    private static final long NOT_TIMED = Long.MIN_VALUE;
+    
     // ========================
     // CONSTRUCTOR
     // ========================
@@ -159,9 +279,9 @@ public class GameController implements ActionListener {
      * Sets up timers and prepares for user interaction.
      * 
      * @param gameModel The game model containing game state
-     * @param mainView The main view handling UI components
+     * @param mainView The view showing the game
      */
-    public GameController(GameModel gameModel, MainView mainView) {
+    public GameController(GameModel gameModel, GameView mainView) {
         // Store the game model reference
         this.gameModel = gameModel;
         
@@ -171,6 +291,12 @@ public class GameController implements ActionListener {
         // Initialize the connected flag to false
         this.isConnected = false;
         
+        // No clock offset is known until Blue joins a game
+        this.clockSync = new ClockSync();
+        
+        // Look up every metric now so recording never allocates
+        this.protocolMetrics = new ProtocolMetrics(MetricsRegistry.getDefault(), MEASURED_MESSAGES);
+        
         // Initialize timers
         initializeTimers();
         
@@ -187,8 +313,9 @@ public class GameController implements ActionListener {
      * Creates countdown timer and round transition timer.
      */
     private void initializeTimers() {
-        // Create countdown timer (fires every second)
+        // Create countdown timer (set to fire as each second of the countdown ends)
         this.countdownTimer = new Timer(COUNTDOWN_DELAY, this);
+        this.countdownTimer.setRepeats(false);
         this.countdownTimer.setActionCommand("countdown_tick");
         
         // Create round transition timer
@@ -196,6 +323,10 @@ public class GameController implements ActionListener {
         this.roundTimer.setRepeats(false); // Only fire once
         this.roundTimer.setActionCommand("round_transition");
         
+        // Create game code refresh timer (repeats while the game is offered)
+        this.codeRefreshTimer = new Timer(CODE_REFRESH_DELAY, this);
+        this.codeRefreshTimer.setActionCommand("code_refresh");
+        
         // Print message to console
         System.out.println("Timers initialized successfully");
     }
@@ -228,6 +359,9 @@ public class GameController implements ActionListener {
         } else if (command.equals(ACTION_BACK_TO_MENU)) {
             // Handle back to menu button click
             handleBackToMenu();
+        } else if (command.equals(ACTION_PLAY_COMPUTER)) {
+            // Handle play vs computer button click
+            handlePlayComputer();
         }
         
         // Handle connect button click (Blue player joining)
@@ -258,6 +392,9 @@ public class GameController implements ActionListener {
         } else if (command.equals(ACTION_NEXT_ROUND)) {
             // Handle next round from result panel timer
             handleNextRound();
+        } else if (command.equals("code_refresh")) {
+            // Handle game code refresh timer
+            handleCodeRefresh();
         }
         
         // Handle game end buttons
@@ -283,8 +420,14 @@ public class GameController implements ActionListener {
         
         // Handle network messages
         else if (command.equals(ACTION_NETWORK_MESSAGE)) {
-            // Handle incoming network message
-            handleNetworkMessage();
+            // Arrives on the socket's reader thread - hand it to the Event Dispatch Thread
+            receiveNetworkMessage();
+            return;
+        }
+        
+        // Let spectators see whatever this action changed
+        if (spectatorServer != null) {
+            spectatorServer.publish(SpectatorState.capture(gameModel));
         }
     }
     
@@ -297,9 +440,14 @@ public class GameController implements ActionListener {
      * Sets up this player as Red (server) and shows create game screen.
      */
     private void handleCreateGame() {
+        // Start the match with the latest configuration snapshot
+        this.gameModel.refreshConfiguration();
+        
         // Set this player as Red
         this.gameModel.setMyPlayer(Player.RED);
         this.isRedPlayer = true;
+        this.gameModel.setPlayerName(Player.RED, localPlayerName(Player.RED));
+        this.botOpponent = null;
         
         // Show the create game panel
         this.mainView.showCreateGame();
@@ -316,13 +464,24 @@ public class GameController implements ActionListener {
      * Sets up this player as Blue (client) and shows join game screen.
      */
     private void handleJoinGame() {
+        // Start the match with the latest configuration snapshot
+        this.gameModel.refreshConfiguration();
+        
         // Set this player as Blue
         this.gameModel.setMyPlayer(Player.BLUE);
         this.isRedPlayer = false;
+        this.gameModel.setPlayerName(Player.BLUE, localPlayerName(Player.BLUE));
         
         // Show the join game panel
         this.mainView.showJoinGame();
         
+        // List the games already heard on the LAN and ask hosts to announce now
+        LanDiscovery discovery = lanDiscovery();
+        if (discovery != null) {
+            this.mainView.showLanGames(discovery.getGames());
+            discovery.browse();
+        }
+        
         // Print message to console
         System.out.println("Blue player joining game");
     }
@@ -351,6 +510,35 @@ public class GameController implements ActionListener {
         System.out.println("Returning to main menu");
     }
     
+    /**
+     * Handles the "Play vs Computer" button click (Red player only).
+     * Starts a game straight away with a bot playing Blue instead of waiting.
+     */
+    private void handlePlayComputer() {
+        // Only the player who created the game can start a computer game
+        if (!isRedPlayer) {
+            return;
+        }
+        
+        // The game is no longer open to other players
+        withdrawLanGame();
+        
+        // The bot plays Blue; computer games are not rated
+        this.isConnected = false;
+        this.botOpponent = new BotOpponent();
+        this.gameModel.setPlayerName(Player.BLUE, BotOpponent.BOT_NAME);
+        
+        // Record the match so it can be replayed later
+        startReplay();
+        
+        // Show the game panel and start the countdown as if Blue had joined
+        this.mainView.showGame();
+        startCountdown();
+        
+        // Print message to console
+        System.out.println("Playing against the computer");
+    }
+    
     // ========================
     // CONNECTION HANDLERS
     // ========================
@@ -361,6 +549,14 @@ public class GameController implements ActionListener {
      */
     private void initializeServer() {
         try {
+            // Let go of the port if an earlier game is still listening on it
+            if (this.socketMaster != null) {
+                this.socketMaster.disconnect();
+            }
+            
+            // Whoever joins next starts from nothing
+            resetConnection();
+            
             // Create SuperSocketMaster in server mode
             this.socketMaster = new SuperSocketMaster(gameModel.getPort(), this);
             
@@ -371,6 +567,31 @@ public class GameController implements ActionListener {
             if (connected) {
                 // Print success message
                 System.out.println("Server initialized on port: " + gameModel.getPort());
+                
+                // Let spectators watch on the next port
+                stopSpectators();
+                this.spectatorServer = SpectatorServer.start(gameModel.getPort() + SpectatorServer.PORT_OFFSET);
+                
+                // Report this game on the admin endpoint, opened once for the whole session
+                if (this.adminServer == null) {
+                    this.adminServer = AdminHttpServer.start(gameModel.getPort() + AdminHttpServer.PORT_OFFSET);
+                }
+                AdminHttpServer.registerRoom("game-" + gameModel.getPort(), gameModel, socketMaster);
+                
+                // Record where the game is for the admin endpoint and games hosted in this
+                // process (the registry is per process - other machines find it over the LAN)
+                String address = socketMaster.getMyAddress();
+                gameModel.bindGameCode("game-" + gameModel.getPort(), address, gameModel.getPort());
+                
+                // Tell other machines on the LAN the game is open
+                LanDiscovery discovery = lanDiscovery();
+                if (discovery != null) {
+                    discovery.announce(gameModel.getGameCode(), gameModel.getPlayerName(Player.RED),
+                                       address, gameModel.getPort());
+                }
+                
+                // Keep the code reserved for as long as the game waits for Blue
+                this.codeRefreshTimer.restart();
             } else {
                 // Print error message
                 System.err.println("Failed to initialize server");
@@ -387,12 +608,12 @@ public class GameController implements ActionListener {
      */
     private void handleConnect() {
         // Get the entered game code from the join panel
-        String code = mainView.getJoinGamePanel().getEnteredCode();
+        String code = mainView.getEnteredCode();
         
         // Validate the game code (should be 5 digits)
         if (code == null || code.length() != 5 || !code.matches("\\d+")) {
             // Show error message for invalid code
-            mainView.getJoinGamePanel().showInvalidCodeError();
+            mainView.showInvalidCodeError();
             // Print error message to console
             System.err.println("Invalid game code entered: " + code);
             return; // Exit method early
@@ -402,31 +623,56 @@ public class GameController implements ActionListener {
         this.gameModel.setGameCode(code);
         
         // Hide any previous error messages
-        mainView.getJoinGamePanel().hideError();
+        mainView.hideJoinError();
+        
+        // Find the game by its code among the games announced on the LAN, otherwise
+        // localhost on the configured port. Red is always another process, so the
+        // game code registry (which only knows this process's games) cannot help here.
+        HostedGame lanGame = lanDiscovery != null ? lanDiscovery.find(code) : null;
+        int serverPort;
+        if (lanGame != null) {
+            this.serverHost = lanGame.getAddress();
+            serverPort = lanGame.getPort();
+        } else {
+            this.serverHost = DEFAULT_HOST;
+            serverPort = gameModel.getPort();
+        }
         
-        // Connect to the server (localhost for now, in production would use IP)
         try {
             // Create SuperSocketMaster in client mode
-            this.socketMaster = new SuperSocketMaster("localhost", gameModel.getPort(), this);
+            this.socketMaster = new SuperSocketMaster(serverHost, serverPort, this);
             
             // Attempt to connect
             boolean connected = this.socketMaster.connect();
             
             // Check if connection was successful
             if (connected) {
+                // A new connection starts a new message sequence and clock offset
+                resetConnection();
+                
+                // Open our end of the fast path - Red says in JOIN_ACCEPTED if it has one
+                stopFastPath();
+                if (gameModel.getConfig().isUdpFastPath()) {
+                    this.fastPath = UdpChannel.open(0, fastPathToken(), this);
+                }
+                
                 // Send join request to server
                 sendJoinRequest();
+                
+                // Measure the clock offset to Red for the countdown
+                this.revealRound = 0;
+                sendClockPing();
                 // Print success message
                 System.out.println("Connected to server with code: " + code);
             } else {
                 // Show connection error
-                mainView.getJoinGamePanel().showConnectionError();
+                mainView.showConnectionError();
                 // Print error message
                 System.err.println("Failed to connect to server");
             }
         } catch (Exception e) {
             // Show connection error
-            mainView.getJoinGamePanel().showConnectionError();
+            mainView.showConnectionError();
             // Print error message
             System.err.println("Error connecting to server: " + e.getMessage());
         }
@@ -438,10 +684,15 @@ public class GameController implements ActionListener {
      */
     private void sendJoinRequest() {
         // Create the join request message
-        String message = MSG_JOIN_REQUEST + "player_name=Blue";
+        String message = MSG_JOIN_REQUEST + "player_name=" + gameModel.getPlayerName(Player.BLUE);
+        
+        // Ask for the UDP fast path if ours is open
+        if (this.fastPath != null) {
+            message += ",udp=1";
+        }
         
         // Send the message via socket
-        boolean sent = this.socketMaster.sendText(message);
+        boolean sent = sendMessage(message);
         
         // Check if message was sent successfully
         if (sent) {
@@ -498,16 +749,20 @@ public class GameController implements ActionListener {
      */
     private void sendPlayerChoice(Player player, Choice choice) {
         // Create the player choice message
-        String message = MSG_PLAYER_CHOICE + "player=" + player.name() + ",choice=" + choice.name();
+        String message = MSG_PLAYER_CHOICE + "player=" + player.name() + ",choice=" + choice.name() +
+                        ",round_number=" + gameModel.getCurrentRound();
         
         // Send the message via socket
-        boolean sent = this.socketMaster.sendText(message);
+        boolean sent = sendMessage(message);
         
         // Check if message was sent successfully
         if (!sent) {
             // Print error message
             System.err.println("Failed to send player choice");
         }
+        
+        // Race it over the fast path too
+        sendFastPath(message);
     }
     
     /**
@@ -518,32 +773,156 @@ public class GameController implements ActionListener {
         // Start the countdown in the game model
         gameModel.startCountdown();
         
-        // Start the countdown timer
-        this.countdownTimer.start();
+        // A game in progress keeps its code
+        gameModel.refreshGameCode();
+        
+        if (isRedPlayer) {
+            // Red decides when choosing opens and tells Blue once
+            this.revealDeadline = ClockSync.now() + (long) gameModel.getCountdownValue() * COUNTDOWN_DELAY;
+            sendRevealAt();
+            scheduleCountdownTick();
+        } else {
+            // Blue counts down on its own clock once it knows Red's reveal time
+            startLocalCountdown();
+        }
         
         // Print message to console
         System.out.println("Countdown started");
     }
     
+    /**
+     * Starts counting down to Red's reveal time (Blue player only).
+     * Does nothing until both the clock offset and this round's REVEAL_AT
+     * are known; until then Red's COUNTDOWN messages drive the countdown.
+     * The countdown timer ticks on the Event Dispatch Thread, so a call from
+     * any other thread is passed there rather than ticking alongside it.
+     */
+    private void startLocalCountdown() {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    startLocalCountdown();
+                }
+            });
+            return;
+        }
+        if (isRedPlayer || !clockSync.isSynchronized() || revealRound != gameModel.getCurrentRound()
+            || gameModel.getCurrentPhase() != GamePhase.COUNTDOWN) {
+            return;
+        }
+        
+        // Catch up straight away in case the offset arrived part way through
+        handleCountdownTick();
+    }
+    
     /**
      * Handles the countdown timer tick.
-     * Decrements the countdown value and checks if countdown is complete.
+     * Works out the seconds left from the reveal time rather than counting
+     * ticks, so a late timer cannot make the countdown drift.
      */
     private void handleCountdownTick() {
-        // Decrement the countdown
-        int remaining = gameModel.decrementCountdown();
+        // Blue converts Red's time each tick so a better offset estimate applies at once
+        if (!isRedPlayer) {
+            if (revealRound != gameModel.getCurrentRound()) {
+                return;
+            }
+            this.revealDeadline = clockSync.toLocal(remoteRevealDeadline);
+        }
         
-        // Send countdown update to opponent
-        sendCountdown(remaining);
+        // Nothing to do once the countdown is over
+        if (gameModel.getCurrentPhase() != GamePhase.COUNTDOWN) {
+            return;
+        }
         
-        // Check if countdown has ended
-        if (remaining <= 0) {
-            // Stop the countdown timer
-            this.countdownTimer.stop();
+        // Only change the countdown when a new second has started
+        int remaining = secondsUntilReveal();
+        if (remaining < gameModel.getCountdownValue()) {
+            // Measure how late the timer woke up for this second (not when catching up)
+            if (remaining == gameModel.getCountdownValue() - 1) {
+                long boundary = (revealDeadline - (long) remaining * COUNTDOWN_DELAY) * 1000;
+                protocolMetrics.countdownTick(ClockSync.nowMicros() - boundary);
+            }
+            gameModel.setCountdownValue(remaining);
             
-            // Print message to console
-            System.out.println("Countdown ended - players can now choose");
+            // Send countdown update to opponent
+            sendCountdown(remaining);
+            
+            // Check if countdown has ended
+            if (remaining <= 0) {
+                // Start timing how long the round takes to resolve
+                startRoundTiming();
+                
+                // Print message to console
+                System.out.println("Countdown ended - players can now choose");
+                this.mainView.choosingOpened();
+                
+                // The computer throws as soon as choosing opens
+                if (botOpponent != null) {
+                    playBotChoice();
+                }
+                return;
+            }
         }
+        
+        // Wake up again when the next second starts
+        scheduleCountdownTick();
+    }
+    
+    /**
+     * Works out how many countdown seconds are left before the reveal.
+     * 
+     * @return The seconds left, rounded up (0 once the reveal time has passed)
+     */
+    private int secondsUntilReveal() {
+        long left = revealDeadline - ClockSync.now();
+        if (left <= 0) {
+            return 0;
+        }
+        return (int) ((left + COUNTDOWN_DELAY - 1) / COUNTDOWN_DELAY);
+    }
+    
+    /**
+     * Sets the countdown timer to fire when the next countdown second starts.
+     */
+    private void scheduleCountdownTick() {
+        long left = revealDeadline - ClockSync.now();
+        long wait = left - (long) (secondsUntilReveal() - 1) * COUNTDOWN_DELAY;
+        this.countdownTimer.setInitialDelay((int) Math.max(1, Math.min(wait, COUNTDOWN_DELAY)));
+        this.countdownTimer.restart();
+    }
+    
+    /**
+     * Tells Blue when choosing opens this round (Red player only).
+     * The time is on Red's clock; Blue converts it with its clock offset.
+     */
+    private void sendRevealAt() {
+        // Create the reveal message
+        String message = MSG_REVEAL_AT + "round_number=" + gameModel.getCurrentRound() +
+                        ",deadline=" + revealDeadline;
+        
+        // Send the message via socket
+        if (!sendMessage(message)) {
+            // Print error message
+            System.err.println("Failed to send reveal time");
+        }
+    }
+    
+    /**
+     * Makes the computer's choice for the current round.
+     * The choice goes through the same path as a PLAYER_CHOICE from a remote Blue.
+     */
+    private void playBotChoice() {
+        // Decide before seeing this round's human choice
+        Choice choice = botOpponent.chooseMove();
+        
+        // Hand it over exactly as the network would (and record it the same way)
+        String message = MSG_PLAYER_CHOICE + "player=" + Player.BLUE.name() + ",choice=" + choice.name() +
+                        ",round_number=" + gameModel.getCurrentRound();
+        if (replayRecorder != null) {
+            replayRecorder.messageReceived(message);
+        }
+        handleOpponentChoice(message);
     }
     
     /**
@@ -559,16 +938,20 @@ public class GameController implements ActionListener {
         }
         
         // Create the countdown message
-        String message = MSG_COUNTDOWN + "seconds_remaining=" + seconds;
+        String message = MSG_COUNTDOWN + "seconds_remaining=" + seconds +
+                        ",round_number=" + gameModel.getCurrentRound();
         
         // Send the message via socket
-        boolean sent = this.socketMaster.sendText(message);
+        boolean sent = sendMessage(message);
         
         // Check if message was sent successfully
         if (!sent) {
             // Print error message
             System.err.println("Failed to send countdown update");
         }
+        
+        // Race it over the fast path too
+        sendFastPath(message);
     }
     
     /**
@@ -579,17 +962,23 @@ public class GameController implements ActionListener {
         // Get the round winner
         Player winner = gameModel.getRoundWinner();
         
+        // Let the computer learn from the human's throw now that the round is over
+        if (botOpponent != null && gameModel.getRedChoice() != null) {
+            botOpponent.observeOpponent(gameModel.getRedChoice());
+        }
+        
         // If this is Red player, send round results to Blue
         if (isRedPlayer) {
             // Send round result message
             sendRoundResult();
         }
+        recordRoundResolved();
         
         // Show the result panel
         this.mainView.showResult();
         
         // Start the transition timer to show results for a few seconds
-        this.mainView.getResultPanel().startTransitionTimer();
+        this.mainView.startResultTimer();
         
         // Print message to console
         System.out.println("Showing round results. Winner: " + winner);
@@ -610,7 +999,7 @@ public class GameController implements ActionListener {
                         ",blue_score=" + gameModel.getBlueScore();
         
         // Send the message via socket
-        boolean sent = this.socketMaster.sendText(message);
+        boolean sent = sendMessage(message);
         
         // Check if message was sent successfully
         if (!sent) {
@@ -625,7 +1014,13 @@ public class GameController implements ActionListener {
      */
     private void handleNextRound() {
         // Stop the result panel timer
-        this.mainView.getResultPanel().stopTransitionTimer();
+        this.mainView.stopResultTimer();
+        
+        // Blue waits for Red's next countdown instead of starting a round itself
+        if (!isRedPlayer) {
+            System.out.println("Waiting for Red to start the next round");
+            return;
+        }
         
         // Check if there are more rounds to play
         if (gameModel.getCurrentRound() < gameModel.getMaxRounds()) {
@@ -660,6 +1055,18 @@ public class GameController implements ActionListener {
         if (isRedPlayer) {
             // Send game over message
             sendGameOver();
+            
+            // Update the rating ledger from the final scores
+            recordRatings(gameModel.getRedScore(), gameModel.getBlueScore());
+        }
+        
+        // The match is over - finish the replay file
+        stopReplay();
+        recordMatchFinished();
+        
+        // Report how much the spectator feed cost
+        if (spectatorServer != null) {
+            spectatorServer.printStats();
         }
         
         // Show the final result panel
@@ -682,7 +1089,7 @@ public class GameController implements ActionListener {
                         ",winner=" + (gameModel.getGameWinner() != null ? gameModel.getGameWinner().name() : "Tie");
         
         // Send the message via socket
-        boolean sent = this.socketMaster.sendText(message);
+        boolean sent = sendMessage(message);
         
         // Check if message was sent successfully
         if (!sent) {
@@ -703,6 +1110,12 @@ public class GameController implements ActionListener {
         // Send quit message to opponent
         sendPlayerQuit();
         
+        // Finish the replay file before exiting
+        stopReplay();
+        stopSpectators();
+        stopFastPath();
+        withdrawLanGame();
+        
         // Disconnect from network
         if (this.socketMaster != null) {
             this.socketMaster.disconnect();
@@ -720,6 +1133,9 @@ public class GameController implements ActionListener {
         // Reset the game for new session (scores maintained)
         gameModel.resetForNewGame();
         
+        // The next game starts without a computer opponent
+        this.botOpponent = null;
+        
         // Show main menu to start new game
         this.mainView.showMainMenu();
         
@@ -741,7 +1157,7 @@ public class GameController implements ActionListener {
         String message = MSG_PLAYER_QUIT + "player=" + gameModel.getMyPlayer().name();
         
         // Send the message via socket
-        boolean sent = this.socketMaster.sendText(message);
+        boolean sent = sendMessage(message);
         
         // Check if message was sent successfully
         if (sent) {
@@ -760,7 +1176,7 @@ public class GameController implements ActionListener {
      */
     private void handleDemoRock() {
         // Update the demo result to show what Rock beats
-        mainView.getHelpPanel().updateDemoResult("ROCK (○) beats SCISSORS (▲)");
+        mainView.showDemoResult("ROCK (○) beats SCISSORS (▲)");
         
         // Print message to console
         System.out.println("Rock demo shown");
@@ -772,7 +1188,7 @@ public class GameController implements ActionListener {
      */
     private void handleDemoPaper() {
         // Update the demo result to show what Paper beats
-        mainView.getHelpPanel().updateDemoResult("PAPER (■) beats ROCK (○)");
+        mainView.showDemoResult("PAPER (■) beats ROCK (○)");
         
         // Print message to console
         System.out.println("Paper demo shown");
@@ -784,7 +1200,7 @@ public class GameController implements ActionListener {
      */
     private void handleDemoScissors() {
         // Update the demo result to show what Scissors beats
-        mainView.getHelpPanel().updateDemoResult("SCISSORS (▲) beats PAPER (■)");
+        mainView.showDemoResult("SCISSORS (▲) beats PAPER (■)");
         
         // Print message to console
         System.out.println("Scissors demo shown");
@@ -795,24 +1211,109 @@ public class GameController implements ActionListener {
     // ========================
     
     /**
-     * Handles incoming network messages.
+     * Takes an incoming network message off the socket's reader thread.
+     * The text and arrival time are read here, since the next line replaces
+     * the text and the clock offset needs the real arrival time. Everything
+     * else runs on the Event Dispatch Thread with the timers and buttons, so
+     * only one thread ever changes the game.
+     */
+    private void receiveNetworkMessage() {
+        // Note the arrival time first, for the clock offset and latency
+        final long receivedMicros = ClockSync.nowMicros();
+        final String message = this.socketMaster.readText();
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                handleNetworkMessage(message, receivedMicros);
+                
+                // Let spectators see whatever the message changed
+                if (spectatorServer != null) {
+                    spectatorServer.publish(SpectatorState.capture(gameModel));
+                }
+            }
+        });
+    }
+    
+    /**
+     * Handles incoming network messages (Event Dispatch Thread).
      * Processes messages from the opponent and updates game state accordingly.
+     * 
+     * @param message The message as read from the socket
+     * @param receivedMicros When it arrived (from ClockSync.nowMicros())
      */
-    private void handleNetworkMessage() {
-        // Read the incoming message from the socket
-        String message = this.socketMaster.readText();
+    private void handleNetworkMessage(String message, long receivedMicros) {
+        long receivedAt = receivedMicros / 1000;
+        NetworkReceiveEvent receiveEvent = new NetworkReceiveEvent();
+        receiveEvent.begin();
         
         // Check if message is empty
         if (message == null || message.isEmpty()) {
             // Print error message
             System.err.println("Received empty network message");
+            receiveEvent.setDropped();
+            receiveEvent.commit();
             return; // Exit method early
         }
         
         // Print received message to console for debugging
         System.out.println("Received network message: " + message);
         
+        // Split off the sequence number and state hash
+        MessageEnvelope envelope = MessageEnvelope.parse(message);
+        message = envelope.getBody();
+        
+        // A join request from a new opponent starts a new message sequence
+        if (message.startsWith(MSG_JOIN_REQUEST) && isRedPlayer) {
+            resetSequences();
+            clockSync.reset();
+        }
+        
+        // Time the trip once the clocks are in step (Red learns Blue's offset from its pings)
+        long latency = -1;
+        if (envelope.hasSentTime() && clockSync.isSynchronized()) {
+            // The offset is only good to a millisecond, so a fast trip can come out just below zero
+            latency = Math.max(0, receivedMicros - (envelope.getSentAtMicros() - clockSync.getOffset() * 1000));
+        }
+        protocolMetrics.messageReceived(message, latency);
+        if (receiveEvent.shouldCommit()) {
+            receiveEvent.setMessage(message, envelope.getSequence());
+            receiveEvent.setLatency(latency);
+        }
+        
+        // Drop repeats and notice gaps before acting on the message (a countdown
+        // the socket may have coalesced has no sequence number of its own)
+        if (envelope.hasSequence() && !envelope.isReplaceable()) {
+            long sequence = envelope.getSequence();
+            if (sequence < expectedReceiveSequence) {
+                // Print message to console
+                System.out.println("Ignoring repeated message #" + sequence);
+                protocolMetrics.repeat();
+                receiveEvent.setDropped();
+                receiveEvent.commit();
+                return;
+            }
+            if (sequence > expectedReceiveSequence) {
+                // Print error message
+                System.err.println("Missed messages #" + expectedReceiveSequence + " to #" + (sequence - 1));
+                protocolMetrics.gap();
+                // The missing messages may have changed state - get back in step
+                handleMessageGap();
+            }
+            expectedReceiveSequence = sequence + 1;
+        }
+        
+        // Record the message for the replay
+        if (replayRecorder != null) {
+            replayRecorder.messageReceived(message);
+        }
+        
+        // Reading is done - time the handler separately
+        receiveEvent.commit();
+        NetworkDispatchEvent dispatchEvent = new NetworkDispatchEvent();
+        dispatchEvent.begin();
+        
         // Parse the message based on its type
+        boolean checkHash = true;
         if (message.startsWith(MSG_JOIN_REQUEST)) {
             // Handle join request from Blue player
             handleJoinRequest(message);
@@ -823,8 +1324,8 @@ public class GameController implements ActionListener {
             // Handle game start message
             handleGameStart(message);
         } else if (message.startsWith(MSG_COUNTDOWN)) {
-            // Handle countdown update
-            handleCountdownUpdate(message);
+            // Handle countdown update - a copy the fast path already delivered changes nothing to check
+            checkHash = handleCountdownUpdate(message);
         } else if (message.startsWith(MSG_PLAYER_CHOICE)) {
             // Handle opponent's choice
             handleOpponentChoice(message);
@@ -837,10 +1338,35 @@ public class GameController implements ActionListener {
         } else if (message.startsWith(MSG_PLAYER_QUIT)) {
             // Handle opponent quit
             handleOpponentQuit(message);
+        } else if (message.startsWith(MSG_RESYNC_REQUEST)) {
+            // Handle snapshot request from Blue
+            handleResyncRequest();
+        } else if (message.startsWith(StateSnapshot.MSG_STATE_SNAPSHOT)) {
+            // Handle snapshot from Red
+            handleStateSnapshot(message);
+        } else if (message.startsWith(ClockSync.MSG_CLOCK_PING)) {
+            // Handle clock offset request from Blue
+            handleClockPing(message, receivedAt);
+        } else if (message.startsWith(ClockSync.MSG_CLOCK_PONG)) {
+            // Handle clock offset answer from Red
+            handleClockPong(message, receivedAt);
+        } else if (message.startsWith(MSG_REVEAL_AT)) {
+            // Handle this round's reveal time from Red
+            handleRevealAt(message);
         } else {
             // Unknown message type
             System.err.println("Unknown message type: " + message);
         }
+        
+        // Check that Red's authoritative messages left us in the same state as Red
+        if (checkHash && envelope.hasSequence() && isAuthoritative(message)) {
+            verifyStateHash(envelope.getStateHash());
+        }
+        
+        if (dispatchEvent.shouldCommit()) {
+            dispatchEvent.setMessage(message, isRedPlayer);
+            dispatchEvent.commit();
+        }
     }
     
     /**
@@ -855,15 +1381,46 @@ public class GameController implements ActionListener {
             return; // Blue player ignores join requests
         }
         
+        // Ignore humans joining while a computer game is in progress
+        if (botOpponent != null) {
+            System.out.println("Ignoring join request during computer game");
+            return;
+        }
+        
+        // The game is full, so stop offering it on the LAN
+        withdrawLanGame();
+        
+        // Remember Blue's name for the rating ledger
+        String blueName = parseField(message, "player_name");
+        if (blueName != null) {
+            gameModel.setPlayerName(Player.BLUE, cleanPlayerName(blueName, Player.BLUE));
+        }
+        
         // Send join accepted message to Blue player
-        String acceptMessage = MSG_JOIN_ACCEPTED + "red_player_name=Red";
-        boolean sent = this.socketMaster.sendText(acceptMessage);
+        String acceptMessage = MSG_JOIN_ACCEPTED + "red_player_name=" + gameModel.getPlayerName(Player.RED);
+        
+        // Open the fast path if Blue asked for it
+        stopFastPath();
+        if ("1".equals(parseField(message, "udp")) && gameModel.getConfig().isUdpFastPath()) {
+            this.fastPath = UdpChannel.open(gameModel.getPort() + UdpChannel.PORT_OFFSET, fastPathToken(), this);
+            if (this.fastPath != null) {
+                acceptMessage += ",udp_port=" + this.fastPath.getLocalPort();
+            }
+        }
+        boolean sent = sendMessage(acceptMessage);
         
         // Check if message was sent successfully
         if (sent) {
             // Mark as connected
             this.isConnected = true;
             
+            // Record the match so it can be replayed later
+            startReplay();
+            
+            // Red drives the countdown, so start it before telling Blue
+            this.mainView.showGame();
+            startCountdown();
+            
             // Send game start message
             sendGameStart();
             
@@ -890,6 +1447,25 @@ public class GameController implements ActionListener {
         // Mark as connected
         this.isConnected = true;
         
+        // Remember Red's name for the rating ledger
+        String redName = parseField(message, "red_player_name");
+        if (redName != null) {
+            gameModel.setPlayerName(Player.RED, cleanPlayerName(redName, Player.RED));
+        }
+        
+        // Point the fast path at Red's, or close ours if Red has none
+        String udpPort = parseField(message, "udp_port");
+        if (this.fastPath != null && udpPort != null) {
+            // Same host as the TCP connection
+            this.fastPath.setPeer(serverHost, Integer.parseInt(udpPort));
+            this.fastPath.sendHello();
+        } else {
+            stopFastPath();
+        }
+        
+        // Record the match so it can be replayed later
+        startReplay();
+        
         // Print message to console
         System.out.println("Join accepted by Red player");
     }
@@ -925,7 +1501,7 @@ public class GameController implements ActionListener {
         String message = MSG_GAME_START + "round_number=1";
         
         // Send the message via socket
-        boolean sent = this.socketMaster.sendText(message);
+        boolean sent = sendMessage(message);
         
         // Check if message was sent successfully
         if (sent) {
@@ -939,33 +1515,54 @@ public class GameController implements ActionListener {
     
     /**
      * Handles countdown update from Red player (Blue player only).
-     * Updates the countdown value to stay synchronized.
+     * Updates the countdown value to stay synchronized. Each tick arrives
+     * twice when the fast path is in use, so a value that is not newer than
+     * the current one is ignored.
      * 
      * @param message The countdown update message
+     * @return true if the update was applied
      */
-    private void handleCountdownUpdate(String message) {
+    private boolean handleCountdownUpdate(String message) {
         // Only Blue player needs to sync countdown
         if (isRedPlayer) {
-            return; // Red player sends countdown, doesn't receive
+            return false; // Red player sends countdown, doesn't receive
         }
         
         // Parse the countdown value from the message
         try {
-            // Extract the value after "seconds_remaining="
-            String valueStr = message.substring(message.indexOf("=") + 1);
-            int seconds = Integer.parseInt(valueStr);
+            int seconds = Integer.parseInt(parseField(message, "seconds_remaining"));
+            String roundStr = parseField(message, "round_number");
             
-            // Update the countdown in the game model
-            gameModel.decrementCountdown();
+            // Red has started the next round while we were showing results
+            if (roundStr != null && Integer.parseInt(roundStr) == gameModel.getCurrentRound() + 1
+                && gameModel.getCurrentPhase() == GamePhase.RESULTS) {
+                followRedToNextRound();
+            }
+            
+            // Ignore the second copy of a tick, or one overtaken by a newer tick
+            if ((roundStr != null && Integer.parseInt(roundStr) != gameModel.getCurrentRound())
+                || gameModel.getCurrentPhase() != GamePhase.COUNTDOWN
+                || seconds >= gameModel.getCountdownValue()) {
+                return false;
+            }
+            
+            // Take Red's value rather than counting down locally
+            gameModel.setCountdownValue(seconds);
             
             // Check if countdown has ended
             if (seconds <= 0) {
+                // Start timing how long the round takes to resolve
+                startRoundTiming();
+                
                 // Print message to console
                 System.out.println("Countdown ended - players can now choose");
+                this.mainView.choosingOpened();
             }
+            return true;
         } catch (Exception e) {
             // Print error message
             System.err.println("Error parsing countdown update: " + e.getMessage());
+            return false;
         }
     }
     
@@ -978,15 +1575,17 @@ public class GameController implements ActionListener {
     private void handleOpponentChoice(String message) {
         // Parse the player and choice from the message
         try {
-            // Extract player name
-            String playerStr = message.substring(message.indexOf("player=") + 7, 
-                                                  message.indexOf(","));
-            // Extract choice
-            String choiceStr = message.substring(message.indexOf("choice=") + 7);
-            
             // Convert to enum values
-            Player player = Player.valueOf(playerStr);
-            Choice choice = Choice.valueOf(choiceStr);
+            Player player = Player.valueOf(parseField(message, "player"));
+            Choice choice = Choice.valueOf(parseField(message, "choice"));
+            
+            // Ignore the second copy of a choice (fast path and TCP) or one from another round
+            String roundStr = parseField(message, "round_number");
+            boolean alreadyChosen = player == Player.RED ? gameModel.isRedChosen() : gameModel.isBlueChosen();
+            if (alreadyChosen
+                || (roundStr != null && Integer.parseInt(roundStr) != gameModel.getCurrentRound())) {
+                return;
+            }
             
             // Record the opponent's choice in the game model
             gameModel.makeChoice(player, choice);
@@ -1019,15 +1618,20 @@ public class GameController implements ActionListener {
         
         // Parse the round result from the message
         try {
-            // Extract values from message
-            // Note: In a full implementation, we would parse all values
-            // For now, the game model already has the correct state
+            // Red decided the round - take its choices, winner and scores
+            Choice redChoice = StateSnapshot.parseChoice(parseField(message, "red_choice"));
+            Choice blueChoice = StateSnapshot.parseChoice(parseField(message, "blue_choice"));
+            Player winner = StateSnapshot.parsePlayer(parseField(message, "winner"));
+            int redScore = Integer.parseInt(parseField(message, "red_score"));
+            int blueScore = Integer.parseInt(parseField(message, "blue_score"));
+            gameModel.applyRoundResult(redChoice, blueChoice, winner, redScore, blueScore);
+            recordRoundResolved();
             
             // Show the result panel
             this.mainView.showResult();
             
             // Start the transition timer
-            this.mainView.getResultPanel().startTransitionTimer();
+            this.mainView.startResultTimer();
             
             // Print message to console
             System.out.println("Received round result");
@@ -1049,6 +1653,21 @@ public class GameController implements ActionListener {
             return; // Red player sends game over, doesn't receive
         }
         
+        // Update the model from the final scores Red sent (Red records the ratings)
+        try {
+            int redScore = Integer.parseInt(parseField(message, "final_red_score"));
+            int blueScore = Integer.parseInt(parseField(message, "final_blue_score"));
+            gameModel.applySnapshot(GamePhase.GAME_OVER, gameModel.getCurrentRound(), redScore, blueScore, 0,
+                                    gameModel.getRedChoice(), gameModel.getBlueChoice(), gameModel.getRoundWinner());
+        } catch (NumberFormatException e) {
+            // Print error message
+            System.err.println("Error parsing game over scores: " + e.getMessage());
+        }
+        
+        // The match is over - finish the replay file
+        stopReplay();
+        recordMatchFinished();
+        
         // Show the final result panel
         this.mainView.showFinalResult();
         
@@ -1063,16 +1682,23 @@ public class GameController implements ActionListener {
      * @param message The player quit message
      */
     private void handleOpponentQuit(String message) {
+        // Finish the replay file and stop the spectator feed
+        endMatchEvent(false);
+        stopReplay();
+        stopSpectators();
+        stopFastPath();
+        
         // Disconnect from network
         if (this.socketMaster != null) {
             this.socketMaster.disconnect();
         }
+        resetConnection();
         
-        // Show message to user (using JOptionPane for simplicity)
-        JOptionPane.showMessageDialog(this.mainView, 
-                                      "Opponent has disconnected.", 
-                                      "Game Ended", 
-                                      JOptionPane.INFORMATION_MESSAGE);
+        // A round result still on screen must not start another round
+        this.mainView.stopResultTimer();
+        
+        // Tell the player before going back to the menu
+        this.mainView.showOpponentLeft();
         
         // Return to main menu
         this.mainView.showMainMenu();
@@ -1081,6 +1707,648 @@ public class GameController implements ActionListener {
         System.out.println("Opponent quit - returned to main menu");
     }
     
+    // ========================
+    // MESSAGE AND REPLAY HELPERS
+    // ========================
+    
+    /**
+     * Sends a message to the opponent and records it for the replay.
+     * The message gets this player's next sequence number and current state hash.
+     * A countdown does not use the number up, because the socket replaces a
+     * queued countdown with the newer one when the link is backed up.
+     * 
+     * @param message The message to send
+     * @return true if the message was sent, false otherwise
+     */
+    private boolean sendMessage(String message) {
+        // Record the message for the replay
+        if (replayRecorder != null) {
+            replayRecorder.messageSent(message);
+        }
+        
+        // Add the envelope and send time, then send the message via socket
+        protocolMetrics.messageSent(message);
+        String wrapped;
+        if (message.startsWith(MSG_COUNTDOWN)) {
+            wrapped = MessageEnvelope.wrapReplaceable(message, nextSendSequence, gameModel.stateHash(),
+                                                      ClockSync.nowMicros());
+        } else {
+            wrapped = MessageEnvelope.wrap(message, nextSendSequence++, gameModel.stateHash(),
+                                           ClockSync.nowMicros());
+        }
+        return this.socketMaster.sendText(wrapped);
+    }
+    
+    /**
+     * Starts recording the match to a new replay file.
+     * Any recording still open from an earlier match is finished first.
+     */
+    private void startReplay() {
+        stopReplay();
+        this.replayRecorder = ReplayRecorder.start(gameModel);
+        
+        // Every match starts with a new recording, so start timing it here too
+        this.matchStartedAt = ClockSync.nowMicros();
+        this.matchEvent = new MatchEvent();
+        this.matchEvent.setPlayers(isRedPlayer ? "RED" : "BLUE", gameModel.getPlayerName(Player.RED),
+                                   gameModel.getPlayerName(Player.BLUE));
+        this.matchEvent.begin();
+    }
+    
+    /**
+     * Finishes the replay file for the current match, if one is being recorded.
+     */
+    private void stopReplay() {
+        if (this.replayRecorder != null) {
+            this.replayRecorder.close();
+            this.replayRecorder = null;
+        }
+    }
+    
+    /**
+     * Starts timing the round when choosing opens.
+     */
+    private void startRoundTiming() {
+        this.choosingOpenedAt = ClockSync.nowMicros();
+        this.roundEvent = new RoundEvent();
+        this.roundEvent.begin();
+    }
+    
+    /**
+     * Records how long the round took from choosing opening to its result.
+     */
+    private void recordRoundResolved() {
+        if (choosingOpenedAt != NOT_TIMED) {
+            protocolMetrics.roundResolved(ClockSync.nowMicros() - choosingOpenedAt);
+            this.choosingOpenedAt = NOT_TIMED;
+        }
+        if (roundEvent != null) {
+            roundEvent.setOutcome(gameModel.getCurrentRound(), gameModel.getRedChoice(),
+                                  gameModel.getBlueChoice(), gameModel.getRoundWinner());
+            roundEvent.commit();
+            this.roundEvent = null;
+        }
+    }
+    
+    /**
+     * Records how long the match lasted.
+     */
+    private void recordMatchFinished() {
+        if (matchStartedAt != NOT_TIMED) {
+            protocolMetrics.matchFinished(ClockSync.nowMicros() - matchStartedAt);
+            this.matchStartedAt = NOT_TIMED;
+        }
+        endMatchEvent(true);
+    }
+    
+    /**
+     * Commits the Flight Recorder event for the current match.
+     * @param completed true if the match reached game over
+     */
+    private void endMatchEvent(boolean completed) {
+        if (matchEvent != null) {
+            matchEvent.setOutcome(gameModel.getCurrentRound(), gameModel.getRedScore(),
+                                  gameModel.getBlueScore(), completed);
+            matchEvent.commit();
+            this.matchEvent = null;
+        }
+    }
+    
+    /**
+     * Stops the spectator feed, if one is running.
+     */
+    private void stopSpectators() {
+        if (this.spectatorServer != null) {
+            this.spectatorServer.close();
+            this.spectatorServer = null;
+        }
+    }
+    
+    // ========================
+    // CLOCK SYNC HELPERS
+    // ========================
+    
+    /**
+     * Sends a clock ping to Red (Blue player only).
+     */
+    private void sendClockPing() {
+        if (!sendMessage(ClockSync.formatPing(ClockSync.now(), clockSync))) {
+            // Print error message
+            System.err.println("Failed to send clock ping");
+        }
+    }
+    
+    /**
+     * Answers a clock ping from Blue (Red player only).
+     * 
+     * @param message The CLOCK_PING message
+     * @param receivedAt When the ping arrived, on this player's clock
+     */
+    private void handleClockPing(String message, long receivedAt) {
+        if (!isRedPlayer) {
+            return;
+        }
+        try {
+            long pingSentAt = Long.parseLong(parseField(message, "t0"));
+            sendMessage(ClockSync.formatPong(pingSentAt, receivedAt, ClockSync.now()));
+            
+            // Later pings carry Blue's estimate, which lets Red time Blue's messages
+            String peerOffset = parseField(message, "offset");
+            String peerRoundTrip = parseField(message, "rtt");
+            if (peerOffset != null && peerRoundTrip != null) {
+                clockSync.adoptPeerEstimate(Long.parseLong(peerOffset), Long.parseLong(peerRoundTrip));
+            }
+        } catch (NumberFormatException e) {
+            // Print error message
+            System.err.println("Error parsing clock ping: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Handles Red's answer to a clock ping (Blue player only).
+     * Sends the next ping until ClockSync.SAMPLES have been taken.
+     * 
+     * @param message The CLOCK_PONG message
+     * @param receivedAt When the answer arrived, on this player's clock
+     */
+    private void handleClockPong(String message, long receivedAt) {
+        if (isRedPlayer) {
+            return;
+        }
+        try {
+            long t0 = Long.parseLong(parseField(message, "t0"));
+            long t1 = Long.parseLong(parseField(message, "t1"));
+            long t2 = Long.parseLong(parseField(message, "t2"));
+            if (clockSync.addSample(t0, t1, t2, receivedAt)) {
+                // Print message to console
+                System.out.println("Clock offset to Red: " + clockSync.getOffset() + " ms (+-" +
+                                  (clockSync.getRoundTrip() + 1) / 2 + " ms)");
+            }
+        } catch (NumberFormatException e) {
+            // Print error message
+            System.err.println("Error parsing clock pong: " + e.getMessage());
+            return;
+        }
+        
+        // Take a few samples and keep the best
+        if (clockSync.getSampleCount() < ClockSync.SAMPLES) {
+            sendClockPing();
+        }
+        
+        // The countdown may already be running on Red's ticks
+        startLocalCountdown();
+    }
+    
+    /**
+     * Handles the reveal time for a round from Red (Blue player only).
+     * Runs on the Event Dispatch Thread like every network message, so the
+     * reveal fields are only ever touched by the thread the countdown ticks on.
+     * 
+     * @param message The REVEAL_AT message
+     */
+    private void handleRevealAt(String message) {
+        if (isRedPlayer) {
+            return;
+        }
+        try {
+            int round = Integer.parseInt(parseField(message, "round_number"));
+            this.remoteRevealDeadline = Long.parseLong(parseField(message, "deadline"));
+            this.revealRound = round;
+            
+            // Red has started the next round while we were showing results
+            if (round == gameModel.getCurrentRound() + 1 && gameModel.getCurrentPhase() == GamePhase.RESULTS) {
+                followRedToNextRound();
+            } else {
+                startLocalCountdown();
+            }
+        } catch (NumberFormatException e) {
+            // Print error message
+            System.err.println("Error parsing reveal time: " + e.getMessage());
+        }
+    }
+    
+    /**
+     * Leaves the result screen and starts the round Red has moved on to (Blue player only).
+     */
+    private void followRedToNextRound() {
+        this.mainView.stopResultTimer();
+        gameModel.nextRound();
+        startCountdown();
+        this.mainView.showGame();
+        System.out.println("Starting round " + gameModel.getCurrentRound());
+    }
+    
+    // ========================
+    // UDP FAST PATH HELPERS
+    // ========================
+    
+    /**
+     * Handles a message that arrived over the UDP fast path.
+     * Called on the channel's receive thread, so like TCP messages it is
+     * handed to the Event Dispatch Thread that owns the game.
+     * 
+     * <p>The fast path copy skips the envelope: it is not sequence checked,
+     * recorded for the replay or hash checked here. The replay still matches
+     * because the TCP copy is recorded when it arrives, even though it then
+     * changes nothing. A countdown tick the fast path already applied is not
+     * hash checked at all, since its TCP copy reports no change.</p>
+     * 
+     * <p>Ordering is enforced by UdpChannel, which only hands on messages
+     * with a sequence number above the last one it delivered, in order, on
+     * its one receive thread (invokeLater keeps that order). A tick that is
+     * still stale compared with the TCP path - from another round, or not
+     * below the countdown already shown - is dropped by handleCountdownUpdate,
+     * and a choice already made or from another round by handleOpponentChoice.</p>
+     * 
+     * @param channel The channel the message arrived on
+     * @param message The message text
+     */
+    @Override
+    public void fastPathMessage(final UdpChannel channel, final String message) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                handleFastPathMessage(channel, message);
+            }
+        });
+    }
+    
+    /**
+     * Acts on a fast path message (Event Dispatch Thread).
+     * 
+     * @param channel The channel the message arrived on
+     * @param message The message text
+     */
+    private void handleFastPathMessage(UdpChannel channel, String message) {
+        // Ignore a channel that has since been replaced
+        if (channel != this.fastPath) {
+            return;
+        }
+        
+        // Only timing-critical messages travel this way
+        if (message.startsWith(MSG_COUNTDOWN)) {
+            handleCountdownUpdate(message);
+        } else if (message.startsWith(MSG_PLAYER_CHOICE)) {
+            handleOpponentChoice(message);
+        } else {
+            // Print error message
+            System.err.println("Unexpected fast path message: " + message);
+            return;
+        }
+        
+        // Let spectators see the change straight away too
+        if (spectatorServer != null) {
+            spectatorServer.publish(SpectatorState.capture(gameModel));
+        }
+    }
+    
+    /**
+     * Sends a copy of a message over the fast path, if one is open.
+     * Sent without the envelope - the TCP copy carries the sequence number.
+     * 
+     * @param message The message to send
+     */
+    private void sendFastPath(String message) {
+        // Called on the Event Dispatch Thread (countdown ticks included), which
+        // is also the only thread that opens or closes the fast path
+        if (this.fastPath != null) {
+            this.fastPath.send(message);
+        }
+    }
+    
+    /**
+     * Gets the token both fast path ends check, taken from the game code.
+     * 
+     * @return The session token
+     */
+    private int fastPathToken() {
+        try {
+            return Integer.parseInt(gameModel.getGameCode());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+    
+    /**
+     * Closes the fast path, if one is open.
+     */
+    private void stopFastPath() {
+        if (this.fastPath != null) {
+            // Print message to console
+            System.out.println("UDP fast path closed (" + this.fastPath.getMessagesDelivered() + " received, " +
+                              this.fastPath.getMessagesLost() + " lost)");
+            this.fastPath.close();
+            this.fastPath = null;
+        }
+    }
+    
+    // ========================
+    // LAN DISCOVERY HELPERS
+    // ========================
+    
+    /**
+     * Gets LAN discovery, opening it the first time it is needed.
+     * Every program uses the same discovery port, the game port plus
+     * LanDiscovery.PORT_OFFSET.
+     * 
+     * @return The discovery, or null if multicast is not available
+     */
+    private LanDiscovery lanDiscovery() {
+        if (!this.lanDiscoveryOpened) {
+            this.lanDiscoveryOpened = true;
+            this.lanDiscovery = LanDiscovery.open(gameModel.getPort() + LanDiscovery.PORT_OFFSET, this);
+        }
+        return this.lanDiscovery;
+    }
+    
+    /**
+     * Refreshes Red's game code while the game waits for Blue.
+     * If the code expired anyway, the registry may hand it to another game,
+     * so the game stops being announced under it.
+     */
+    private void handleCodeRefresh() {
+        if (!gameModel.refreshGameCode()) {
+            withdrawLanGame();
+        }
+    }
+    
+    /**
+     * Stops announcing Red's game, if it is being announced.
+     * Its code no longer needs refreshing from the lobby; a game in
+     * progress refreshes it as each round starts.
+     */
+    private void withdrawLanGame() {
+        this.codeRefreshTimer.stop();
+        if (this.lanDiscovery != null) {
+            this.lanDiscovery.withdraw();
+        }
+    }
+    
+    /**
+     * Called on the discovery thread when the games heard on the LAN change.
+     * Passes the new list to the join screen.
+     * 
+     * @param discovery The discovery whose list changed
+     */
+    @Override
+    public void lanGamesChanged(LanDiscovery discovery) {
+        this.mainView.showLanGames(discovery.getGames());
+    }
+    
+    // ========================
+    // LOCKSTEP SYNC HELPERS
+    // ========================
+    
+    /**
+     * Forgets the opponent once the connection is gone, so the next game
+     * (networked or against the computer) starts unconnected, with new
+     * message sequences and an unmeasured clock offset.
+     */
+    private void resetConnection() {
+        this.isConnected = false;
+        resetSequences();
+        this.clockSync.reset();
+    }
+    
+    /**
+     * Starts new message sequences for a new connection.
+     */
+    private void resetSequences() {
+        this.nextSendSequence = 0;
+        this.expectedReceiveSequence = 0;
+        this.resyncPending = false;
+    }
+    
+    /**
+     * Checks if a message sets Blue's state to Red's, so the hashes must match afterwards.
+     * Choices are not checked because the two models legitimately differ while
+     * a choice is on its way.
+     * 
+     * @param message The message body
+     * @return true if the state hash should be compared after handling the message
+     */
+    private boolean isAuthoritative(String message) {
+        return !isRedPlayer
+               && (message.startsWith(MSG_GAME_START)
+                   || message.startsWith(MSG_COUNTDOWN)
+                   || message.startsWith(MSG_ROUND_RESULT)
+                   || message.startsWith(StateSnapshot.MSG_STATE_SNAPSHOT));
+    }
+    
+    /**
+     * Compares this model's state hash with the one Red sent.
+     * Asks for a snapshot if they differ.
+     * 
+     * @param senderHash The state hash from Red's message
+     */
+    private void verifyStateHash(int senderHash) {
+        int localHash = gameModel.stateHash();
+        if (localHash == senderHash) {
+            return;
+        }
+        // Print error message
+        System.err.println("State diverged from Red (hash " + Integer.toHexString(localHash) +
+                          " vs " + Integer.toHexString(senderHash) + ") - requesting snapshot");
+        requestResync();
+    }
+    
+    /**
+     * Handles a gap in the opponent's message sequence.
+     * Blue asks for a snapshot; Red pushes one so Blue sees where the game is.
+     */
+    private void handleMessageGap() {
+        if (isRedPlayer) {
+            sendStateSnapshot();
+        } else {
+            requestResync();
+        }
+    }
+    
+    /**
+     * Asks Red for a state snapshot (Blue player only).
+     * Only one request is outstanding at a time.
+     */
+    private void requestResync() {
+        if (isRedPlayer || resyncPending) {
+            return;
+        }
+        resyncPending = true;
+        protocolMetrics.resync();
+        if (!sendMessage(MSG_RESYNC_REQUEST)) {
+            // Print error message
+            System.err.println("Failed to send resync request");
+            resyncPending = false;
+        }
+    }
+    
+    /**
+     * Handles a snapshot request from Blue (Red player only).
+     */
+    private void handleResyncRequest() {
+        if (!isRedPlayer) {
+            return;
+        }
+        // Print message to console
+        System.out.println("Blue requested a state snapshot");
+        sendStateSnapshot();
+    }
+    
+    /**
+     * Sends Red's full match state to Blue (Red player only).
+     */
+    private void sendStateSnapshot() {
+        if (!isRedPlayer) {
+            return;
+        }
+        boolean sent = sendMessage(StateSnapshot.format(gameModel));
+        if (!sent) {
+            // Print error message
+            System.err.println("Failed to send state snapshot");
+        }
+    }
+    
+    /**
+     * Handles a snapshot from Red (Blue player only).
+     * Replaces Blue's state with Red's and shows the matching screen. A choice
+     * Blue made that Red never received is sent again.
+     * 
+     * @param message The STATE_SNAPSHOT message
+     */
+    private void handleStateSnapshot(String message) {
+        if (isRedPlayer) {
+            return;
+        }
+        resyncPending = false;
+        
+        // Remember this round's choice in case Red never got it
+        int round = gameModel.getCurrentRound();
+        Choice myChoice = gameModel.getBlueChoice();
+        
+        if (!StateSnapshot.apply(message, gameModel)) {
+            return;
+        }
+        
+        // Show the screen for the phase Red is in
+        GamePhase phase = gameModel.getCurrentPhase();
+        if (phase == GamePhase.RESULTS) {
+            this.mainView.showResult();
+        } else if (phase == GamePhase.GAME_OVER) {
+            this.mainView.showFinalResult();
+        } else if (phase == GamePhase.COUNTDOWN || phase == GamePhase.CHOOSING) {
+            this.mainView.showGame();
+        }
+        
+        // Pick the local countdown back up if Red is still counting down
+        startLocalCountdown();
+        
+        // Send our choice again if it was lost on the way to Red
+        if (phase == GamePhase.CHOOSING && myChoice != null
+            && gameModel.getBlueChoice() == null && gameModel.getCurrentRound() == round) {
+            gameModel.makeChoice(Player.BLUE, myChoice);
+            sendPlayerChoice(Player.BLUE, myChoice);
+        }
+        
+        // Print message to console
+        System.out.println("Resynchronized with Red at round " + gameModel.getCurrentRound() + " (" + phase + ")");
+    }
+    
+    // ========================
+    // RATING HELPERS
+    // ========================
+    
+    /**
+     * Records the finished game in the rating ledger (Red player only).
+     * Red is the authority for the match, so only Red's process writes the
+     * ledger files; if Blue recorded the game too, two processes sharing the
+     * data folder would count it twice and compact each other's journal away.
+     * 
+     * @param redScore Red's final score
+     * @param blueScore Blue's final score
+     */
+    private void recordRatings(int redScore, int blueScore) {
+        // Only Red rates games, and only against a connected human opponent
+        if (!isRedPlayer || !isConnected || botOpponent != null) {
+            return;
+        }
+        
+        // Work out Red's score for the Elo update
+        double redResult = EloRating.DRAW;
+        if (redScore > blueScore) {
+            redResult = EloRating.WIN;
+        } else if (blueScore > redScore) {
+            redResult = EloRating.LOSS;
+        }
+        
+        // Two copies run by the same user default to the same name - that is one player
+        String redName = gameModel.getPlayerName(Player.RED);
+        String blueName = gameModel.getPlayerName(Player.BLUE);
+        if (redName.equals(blueName)) {
+            System.out.println("Game not rated: both players are named " + redName
+                               + " (set -D" + PLAYER_NAME_PROPERTY + " to tell them apart)");
+            return;
+        }
+        
+        // Update both players in the ledger
+        RatingLedger ledger = RatingLedger.getShared();
+        ledger.recordGame(redName, blueName, redResult);
+        
+        // Print this player's new rating and rank to console
+        String myName = gameModel.getPlayerName(gameModel.getMyPlayer());
+        PlayerRating mine = ledger.get(myName);
+        System.out.println("Rating for " + myName + ": " + mine.getRating() + 
+                          " (rank " + ledger.getRank(myName) + " of " + ledger.size() + ")");
+    }
+    
+    /**
+     * Gets this player's name for the rating ledger.
+     * Uses the rps.player.name system property, then the operating system user name.
+     * 
+     * @param player This player's colour, used if no name is available
+     * @return The cleaned player name
+     */
+    private String localPlayerName(Player player) {
+        String name = System.getProperty(PLAYER_NAME_PROPERTY, System.getProperty("user.name"));
+        return cleanPlayerName(name, player);
+    }
+    
+    /**
+     * Removes characters that would break the message format from a player name.
+     * 
+     * @param name The name to clean (may be null)
+     * @param player The player's colour, used if the name is empty
+     * @return The cleaned name, or the colour name if nothing is left
+     */
+    private String cleanPlayerName(String name, Player player) {
+        if (name == null) {
+            return player == Player.RED ? "Red" : "Blue";
+        }
+        String cleaned = name.replaceAll("[,=:|\\r\\n]", "").trim();
+        if (cleaned.isEmpty()) {
+            return player == Player.RED ? "Red" : "Blue";
+        }
+        return cleaned;
+    }
+    
+    /**
+     * Reads one key=value field from a network message.
+     * 
+     * @param message The full message (e.g. "GAME_OVER:final_red_score=2,...")
+     * @param key The field name
+     * @return The field value, or null if the field is missing
+     */
+    private String parseField(String message, String key) {
+        // Fields start after the message type
+        int colon = message.indexOf(':');
+        String[] fields = message.substring(colon + 1).split(",");
+        for (String field : fields) {
+            int equals = field.indexOf('=');
+            if (equals > 0 && field.substring(0, equals).equals(key)) {
+                return field.substring(equals + 1);
+            }
+        }
+        return null;
+    }
+    
     // ========================
     // ROUND TRANSITION HANDLER
     // ========================
@@ -1093,6 +2361,11 @@ public class GameController implements ActionListener {
         // Stop the round transition timer
         this.roundTimer.stop();
         
+        // Blue waits for Red's next countdown instead of starting a round itself
+        if (!isRedPlayer) {
+            return;
+        }
+        
         // Check if there are more rounds
         if (gameModel.getCurrentRound() < gameModel.getMaxRounds()) {
             // Advance to next round
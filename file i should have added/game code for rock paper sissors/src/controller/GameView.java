@@ -0,0 +1,128 @@
+package controller;
+
+import discovery.HostedGame;
+
+import java.util.List;
+
+/**
+ * GameView - Everything the GameController asks of the screen.
+ * MainView shows these with Swing panels. A headless server implements
+ * them without a window, so the controller can run the authoritative game
+ * with java.awt.headless=true and never load the GUI.
+ *
+ * <p>Methods are called on whichever thread the controller is handling an
+ * event on, as with the panels before.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface GameView {
+
+    // ========================
+    // SCREENS
+    // ========================
+
+    /**
+     * Shows the main menu.
+     */
+    void showMainMenu();
+
+    /**
+     * Shows the waiting screen with the game code (Red player).
+     */
+    void showCreateGame();
+
+    /**
+     * Shows the code entry screen (Blue player).
+     */
+    void showJoinGame();
+
+    /**
+     * Shows the countdown and choices.
+     */
+    void showGame();
+
+    /**
+     * Shows the round result.
+     */
+    void showResult();
+
+    /**
+     * Shows the final result with finish and keep going options.
+     */
+    void showFinalResult();
+
+    /**
+     * Shows the help screen.
+     */
+    void showHelp();
+
+    /**
+     * Called when the countdown reaches zero and the player may choose.
+     */
+    void choosingOpened();
+
+    // ========================
+    // RESULT TIMER
+    // ========================
+
+    /**
+     * Starts the delay after which the view sends GameController.ACTION_NEXT_ROUND.
+     */
+    void startResultTimer();
+
+    /**
+     * Cancels the result delay if it is still running.
+     */
+    void stopResultTimer();
+
+    // ========================
+    // JOIN SCREEN
+    // ========================
+
+    /**
+     * Gets the game code the player entered.
+     * @return The entered code (may be empty)
+     */
+    String getEnteredCode();
+
+    /**
+     * Tells the player the entered code is not a valid game code.
+     */
+    void showInvalidCodeError();
+
+    /**
+     * Tells the player the connection to Red failed.
+     */
+    void showConnectionError();
+
+    /**
+     * Clears any join error shown.
+     */
+    void hideJoinError();
+
+    /**
+     * Shows the games announced on the LAN, so Blue can pick one.
+     * Called on the discovery thread whenever the list changes.
+     *
+     * @param games The games heard, already sorted
+     */
+    void showLanGames(List<HostedGame> games);
+
+    // ========================
+    // MESSAGES
+    // ========================
+
+    /**
+     * Shows the outcome of a help screen demo.
+     * @param result The text to show
+     */
+    void showDemoResult(String result);
+
+    /**
+     * Tells the player the opponent has disconnected.
+     * The controller returns to the main menu afterwards.
+     */
+    void showOpponentLeft();
+}
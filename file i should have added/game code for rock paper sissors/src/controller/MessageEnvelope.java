@@ -0,0 +1,238 @@
+package controller;
+
+/**
+ * MessageEnvelope - Adds a sequence number and state hash to protocol messages.
+ * Every message sent between Red and Blue gets a suffix like
+ * "|seq=12|hash=1a2b3c4d" so the receiver can spot missing or repeated
+ * messages and check that its model still agrees with the sender's.
+ * The sender may also add "|t=" and its ClockSync time in microseconds,
+ * which the receiver uses to measure how long the message took.
+ *
+ * <p>A message the socket may replace with a newer one before it is written
+ * (a COUNTDOWN - see SuperSocketMaster.OverflowPolicy.COALESCE_COUNTDOWN)
+ * does not use up a sequence number. It carries the number the sender's
+ * next message will have, marked with a '*' ("|seq=12*|hash=..."), so a
+ * coalesced countdown never looks like a lost message to the receiver.</p>
+ *
+ * <p>A message without the suffix is still accepted, with no sequence number,
+ * so players on an older version can connect.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MessageEnvelope {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Marks the start of the envelope suffix ('|' never appears in message bodies) */
+    private static final String SEQ_MARKER = "|seq=";
+
+    /** Separates the sequence number from the hash */
+    private static final String HASH_MARKER = "|hash=";
+
+    /** Separates the hash from the optional send time */
+    private static final String TIME_MARKER = "|t=";
+
+    /** Follows the sequence number of a message that did not use one up */
+    private static final String REPLACEABLE_MARK = "*";
+
+    /** Sequence number used for messages that had no envelope */
+    public static final long NO_SEQUENCE = -1;
+
+    /** Send time used for messages that did not carry one */
+    public static final long NO_TIME = -1;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The message without its envelope */
+    private final String body;
+
+    /** The sender's sequence number (NO_SEQUENCE if missing) */
+    private final long sequence;
+
+    /** Whether the message left the sequence number for the sender's next message */
+    private final boolean replaceable;
+
+    /** The sender's state hash when it sent the message */
+    private final int stateHash;
+
+    /** When the sender sent the message, on its clock in microseconds (NO_TIME if missing) */
+    private final long sentAtMicros;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - use parse() to read a received message.
+     *
+     * @param body The message without its envelope
+     * @param sequence The sender's sequence number
+     * @param replaceable Whether the message left the sequence number unused
+     * @param stateHash The sender's state hash
+     * @param sentAtMicros The sender's send time
+     */
+    private MessageEnvelope(String body, long sequence, boolean replaceable, int stateHash, long sentAtMicros) {
+        this.body = body;
+        this.sequence = sequence;
+        this.replaceable = replaceable;
+        this.stateHash = stateHash;
+        this.sentAtMicros = sentAtMicros;
+    }
+
+    // ========================
+    // STATIC METHODS
+    // ========================
+
+    /**
+     * Adds the envelope suffix to a message before sending.
+     *
+     * @param body The message to send
+     * @param sequence This sender's sequence number for the message
+     * @param stateHash The sender's current state hash
+     * @return The message with its envelope
+     */
+    public static String wrap(String body, long sequence, int stateHash) {
+        return body + SEQ_MARKER + sequence + HASH_MARKER + Integer.toHexString(stateHash);
+    }
+
+    /**
+     * Adds the envelope suffix and the send time to a message before sending.
+     *
+     * @param body The message to send
+     * @param sequence This sender's sequence number for the message
+     * @param stateHash The sender's current state hash
+     * @param sentAtMicros The send time from ClockSync.nowMicros()
+     * @return The message with its envelope
+     */
+    public static String wrap(String body, long sequence, int stateHash, long sentAtMicros) {
+        return wrap(body, sequence, stateHash) + TIME_MARKER + sentAtMicros;
+    }
+
+    /**
+     * Adds the envelope suffix to a message the socket may replace with a
+     * newer one. The message does not use up a sequence number.
+     *
+     * @param body The message to send
+     * @param nextSequence The sequence number this sender's next message will have
+     * @param stateHash The sender's current state hash
+     * @return The message with its envelope
+     */
+    public static String wrapReplaceable(String body, long nextSequence, int stateHash) {
+        return body + SEQ_MARKER + nextSequence + REPLACEABLE_MARK + HASH_MARKER + Integer.toHexString(stateHash);
+    }
+
+    /**
+     * Adds the envelope suffix and send time to a message the socket may
+     * replace with a newer one.
+     *
+     * @param body The message to send
+     * @param nextSequence The sequence number this sender's next message will have
+     * @param stateHash The sender's current state hash
+     * @param sentAtMicros The send time from ClockSync.nowMicros()
+     * @return The message with its envelope
+     */
+    public static String wrapReplaceable(String body, long nextSequence, int stateHash, long sentAtMicros) {
+        return wrapReplaceable(body, nextSequence, stateHash) + TIME_MARKER + sentAtMicros;
+    }
+
+    /**
+     * Splits a received message into its body, sequence number and hash.
+     * A message with a missing or broken envelope is returned whole with NO_SEQUENCE.
+     *
+     * @param message The received message
+     * @return The parsed envelope
+     */
+    public static MessageEnvelope parse(String message) {
+        int seqStart = message.lastIndexOf(SEQ_MARKER);
+        int hashStart = message.lastIndexOf(HASH_MARKER);
+        if (seqStart < 0 || hashStart < seqStart) {
+            return new MessageEnvelope(message, NO_SEQUENCE, false, 0, NO_TIME);
+        }
+        // The send time is optional, so older senders still parse
+        int timeStart = message.lastIndexOf(TIME_MARKER);
+        int hashEnd = timeStart > hashStart ? timeStart : message.length();
+        String seqText = message.substring(seqStart + SEQ_MARKER.length(), hashStart);
+        boolean replaceable = seqText.endsWith(REPLACEABLE_MARK);
+        if (replaceable) {
+            seqText = seqText.substring(0, seqText.length() - REPLACEABLE_MARK.length());
+        }
+        try {
+            long sequence = Long.parseLong(seqText);
+            int hash = Integer.parseUnsignedInt(message.substring(hashStart + HASH_MARKER.length(), hashEnd), 16);
+            long sentAt = timeStart > hashStart
+                          ? Long.parseLong(message.substring(timeStart + TIME_MARKER.length())) : NO_TIME;
+            return new MessageEnvelope(message.substring(0, seqStart), sequence, replaceable, hash, sentAt);
+        } catch (NumberFormatException e) {
+            return new MessageEnvelope(message, NO_SEQUENCE, false, 0, NO_TIME);
+        }
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the message without its envelope.
+     * @return The message body
+     */
+    public String getBody() {
+        return this.body;
+    }
+
+    /**
+     * Gets the sender's sequence number.
+     * @return The sequence number, or NO_SEQUENCE if the message had no envelope
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+
+    /**
+     * Checks if the message had an envelope.
+     * @return true if a sequence number and hash were present
+     */
+    public boolean hasSequence() {
+        return this.sequence != NO_SEQUENCE;
+    }
+
+    /**
+     * Checks if the message left its sequence number for the sender's next
+     * message. Such a message may have been replaced by a newer one on the
+     * way, so it is neither a repeat nor a sign of a gap.
+     *
+     * @return true if the sequence number was marked with '*'
+     */
+    public boolean isReplaceable() {
+        return this.replaceable;
+    }
+
+    /**
+     * Gets the sender's state hash.
+     * @return The state hash (0 if the message had no envelope)
+     */
+    public int getStateHash() {
+        return this.stateHash;
+    }
+
+    /**
+     * Gets when the sender sent the message.
+     * @return The send time on the sender's clock in microseconds, or NO_TIME if missing
+     */
+    public long getSentAtMicros() {
+        return this.sentAtMicros;
+    }
+
+    /**
+     * Checks if the message carried its send time.
+     * @return true if a send time was present
+     */
+    public boolean hasSentTime() {
+        return this.sentAtMicros != NO_TIME;
+    }
+}
@@ -0,0 +1,189 @@
+package controller;
+
+import metrics.Counter;
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+
+/**
+ * ProtocolMetrics - The GameController's histograms and counters.
+ * Every metric is looked up in the registry once, when this is created, so
+ * recording during a match never allocates or takes a lock: a message type
+ * is found by checking its prefix against a fixed list, and its histogram
+ * and counters sit at the same index in plain arrays.
+ *
+ * <p>Metrics recorded (names as they appear in data/metrics.csv):</p>
+ * <ul>
+ *   <li>latency,TYPE - send to receive time for each message type</li>
+ *   <li>sent,TYPE and received,TYPE - messages of each type</li>
+ *   <li>countdown,tick_jitter - how late each countdown second started</li>
+ *   <li>round,resolution - from choosing opening to the round result</li>
+ *   <li>match,duration - from the start of a match to game over</li>
+ *   <li>sync,gaps / sync,repeats / sync,resyncs - sequence problems</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class ProtocolMetrics {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Message prefixes, in the same order as the arrays below */
+    private final String[] messageTypes;
+
+    /** Send to receive latency for each message type */
+    private final Histogram[] latency;
+
+    /** Messages sent of each type */
+    private final Counter[] sent;
+
+    /** Messages received of each type */
+    private final Counter[] received;
+
+    /** How late each countdown second started */
+    private final Histogram tickJitter;
+
+    /** Time from choosing opening to the round result */
+    private final Histogram roundResolution;
+
+    /** Time from the start of a match to game over */
+    private final Histogram matchDuration;
+
+    /** Gaps in the opponent's message sequence */
+    private final Counter gaps;
+
+    /** Repeated messages dropped */
+    private final Counter repeats;
+
+    /** Snapshots requested from Red to get back in step */
+    private final Counter resyncs;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for ProtocolMetrics.
+     *
+     * @param registry The registry to record into
+     * @param messageTypes The message prefixes to measure (e.g. "JOIN_REQUEST:")
+     */
+    public ProtocolMetrics(MetricsRegistry registry, String[] messageTypes) {
+        this.messageTypes = messageTypes.clone();
+        this.latency = new Histogram[messageTypes.length];
+        this.sent = new Counter[messageTypes.length];
+        this.received = new Counter[messageTypes.length];
+        for (int i = 0; i < messageTypes.length; i++) {
+            // Name the metric after the prefix without its colon
+            String name = messageTypes[i].substring(0, messageTypes[i].length() - 1);
+            latency[i] = registry.histogram("latency", name);
+            sent[i] = registry.counter("sent", name);
+            received[i] = registry.counter("received", name);
+        }
+        this.tickJitter = registry.histogram("countdown", "tick_jitter");
+        this.roundResolution = registry.histogram("round", "resolution");
+        this.matchDuration = registry.histogram("match", "duration");
+        this.gaps = registry.counter("sync", "gaps");
+        this.repeats = registry.counter("sync", "repeats");
+        this.resyncs = registry.counter("sync", "resyncs");
+    }
+
+    // ========================
+    // RECORDING METHODS
+    // ========================
+
+    /**
+     * Counts a message sent.
+     * @param message The message body
+     */
+    public void messageSent(String message) {
+        int type = typeOf(message);
+        if (type >= 0) {
+            sent[type].increment();
+        }
+    }
+
+    /**
+     * Counts a message received and records how long it took.
+     *
+     * @param message The message body
+     * @param latencyMicros Send to receive time, or a negative value if unknown
+     */
+    public void messageReceived(String message, long latencyMicros) {
+        int type = typeOf(message);
+        if (type < 0) {
+            return;
+        }
+        received[type].increment();
+        if (latencyMicros >= 0) {
+            latency[type].record(latencyMicros * 1000);
+        }
+    }
+
+    /**
+     * Records how late a countdown second started.
+     * @param lateMicros Time after the second boundary
+     */
+    public void countdownTick(long lateMicros) {
+        tickJitter.record(lateMicros * 1000);
+    }
+
+    /**
+     * Records how long a round took to resolve.
+     * @param micros Time from choosing opening to the result
+     */
+    public void roundResolved(long micros) {
+        roundResolution.record(micros * 1000);
+    }
+
+    /**
+     * Records how long a match lasted.
+     * @param micros Time from the start of the match to game over
+     */
+    public void matchFinished(long micros) {
+        matchDuration.record(micros * 1000);
+    }
+
+    /**
+     * Counts a gap in the opponent's message sequence.
+     */
+    public void gap() {
+        gaps.increment();
+    }
+
+    /**
+     * Counts a repeated message.
+     */
+    public void repeat() {
+        repeats.increment();
+    }
+
+    /**
+     * Counts a snapshot requested.
+     */
+    public void resync() {
+        resyncs.increment();
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Finds a message's type.
+     *
+     * @param message The message body
+     * @return The index into the metric arrays, or -1 if the type is not measured
+     */
+    private int typeOf(String message) {
+        for (int i = 0; i < messageTypes.length; i++) {
+            if (message.startsWith(messageTypes[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,179 @@
+package controller;
+
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.GamePhase;
+import model.GameModel.Player;
+
+/**
+ * StateSnapshot - Builds and applies STATE_SNAPSHOT messages.
+ * A snapshot carries everything needed to put a drifted model back in step
+ * with Red's: phase, round, scores, countdown, who has chosen this round and,
+ * once the round is decided, the choices and winner.
+ *
+ * <p>Format: STATE_SNAPSHOT:phase=CHOOSING,round=2,red_score=1,blue_score=0,
+ * countdown=0,red_chosen=1,blue_chosen=0,red_choice=None,blue_choice=None,
+ * round_winner=None</p>
+ *
+ * <p>Blue can ask for a snapshot at any time, so until the RESULTS phase the
+ * choices are left out (like the spectator feed) - otherwise Blue could read
+ * Red's choice and pick the one that beats it. The player applying the
+ * snapshot keeps its own choice from its local state.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class StateSnapshot {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Message type prefix for a snapshot */
+    public static final String MSG_STATE_SNAPSHOT = "STATE_SNAPSHOT:";
+
+    /** Value written for a missing choice or winner */
+    private static final String NONE = "None";
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - this class only has static methods.
+     */
+    private StateSnapshot() {
+    }
+
+    // ========================
+    // STATIC METHODS
+    // ========================
+
+    /**
+     * Builds a snapshot message from a model.
+     *
+     * @param model The model to describe
+     * @return The STATE_SNAPSHOT message
+     */
+    public static String format(GameModel model) {
+        // Only show choices once both are in and the round is decided
+        boolean revealed = isRevealed(model.getCurrentPhase());
+        Choice redChoice = revealed ? model.getRedChoice() : null;
+        Choice blueChoice = revealed ? model.getBlueChoice() : null;
+        Player winner = revealed ? model.getRoundWinner() : null;
+        return MSG_STATE_SNAPSHOT
+               + "phase=" + model.getCurrentPhase().name()
+               + ",round=" + model.getCurrentRound()
+               + ",red_score=" + model.getRedScore()
+               + ",blue_score=" + model.getBlueScore()
+               + ",countdown=" + model.getCountdownValue()
+               + ",red_chosen=" + (model.isRedChosen() ? "1" : "0")
+               + ",blue_chosen=" + (model.isBlueChosen() ? "1" : "0")
+               + ",red_choice=" + (redChoice != null ? redChoice.name() : NONE)
+               + ",blue_choice=" + (blueChoice != null ? blueChoice.name() : NONE)
+               + ",round_winner=" + (winner != null ? winner.name() : NONE);
+    }
+
+    /**
+     * Applies a snapshot message to a model.
+     *
+     * @param message The STATE_SNAPSHOT message
+     * @param model The model to update
+     * @return true if the snapshot was applied, false if it could not be parsed
+     */
+    public static boolean apply(String message, GameModel model) {
+        try {
+            GamePhase phase = GamePhase.valueOf(field(message, "phase"));
+            int round = Integer.parseInt(field(message, "round"));
+            int redScore = Integer.parseInt(field(message, "red_score"));
+            int blueScore = Integer.parseInt(field(message, "blue_score"));
+            int countdown = Integer.parseInt(field(message, "countdown"));
+            Choice redChoice = parseChoice(field(message, "red_choice"));
+            Choice blueChoice = parseChoice(field(message, "blue_choice"));
+            Player winner = parsePlayer(field(message, "round_winner"));
+            boolean redChosen = redChoice != null;
+            boolean blueChosen = blueChoice != null;
+            if (!isRevealed(phase)) {
+                // The choices were hidden - keep our own from local state
+                redChosen = "1".equals(field(message, "red_chosen"));
+                blueChosen = "1".equals(field(message, "blue_chosen"));
+                redChoice = localChoice(model, Player.RED, redChosen, round);
+                blueChoice = localChoice(model, Player.BLUE, blueChosen, round);
+            }
+            model.applySnapshot(phase, round, redScore, blueScore, countdown,
+                                redChoice, redChosen, blueChoice, blueChosen, winner);
+            return true;
+        } catch (RuntimeException e) {
+            // Print error message
+            System.err.println("Error parsing state snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Checks if a snapshot in a phase carries the choices.
+     * @param phase The snapshot's phase
+     * @return true once the round is decided (RESULTS or GAME_OVER)
+     */
+    private static boolean isRevealed(GamePhase phase) {
+        return phase == GamePhase.RESULTS || phase == GamePhase.GAME_OVER;
+    }
+
+    /**
+     * Gets a choice the snapshot hid from the model's own state.
+     * Only the model's own player's choice is known locally, and only if the
+     * snapshot says it was made in the round the model is already in.
+     *
+     * @param model The model being updated
+     * @param player The player whose choice was hidden
+     * @param chosen Whether the snapshot says the player has chosen
+     * @param round The snapshot's round
+     * @return The local choice, or null if it is not known
+     */
+    private static Choice localChoice(GameModel model, Player player, boolean chosen, int round) {
+        if (!chosen || player != model.getMyPlayer() || round != model.getCurrentRound()) {
+            return null;
+        }
+        return player == Player.RED ? model.getRedChoice() : model.getBlueChoice();
+    }
+
+    /**
+     * Parses a choice written by format().
+     * @param value The field value
+     * @return The choice, or null for "None"
+     */
+    public static Choice parseChoice(String value) {
+        return value == null || value.equals(NONE) ? null : Choice.valueOf(value);
+    }
+
+    /**
+     * Parses a player written by format() (or "Tie" from a ROUND_RESULT).
+     * @param value The field value
+     * @return The player, or null for "None" or "Tie"
+     */
+    public static Player parsePlayer(String value) {
+        if (value == null || value.equals(NONE) || value.equals("Tie")) {
+            return null;
+        }
+        return Player.valueOf(value);
+    }
+
+    /**
+     * Reads one key=value field from a message.
+     *
+     * @param message The full message
+     * @param key The field name
+     * @return The field value, or null if missing
+     */
+    private static String field(String message, String key) {
+        String[] fields = message.substring(message.indexOf(':') + 1).split(",");
+        for (String field : fields) {
+            int equals = field.indexOf('=');
+            if (equals > 0 && field.substring(0, equals).equals(key)) {
+                return field.substring(equals + 1);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,19 @@
+package discovery;
+
+/**
+ * DiscoveryListener - Interface for hearing about games hosted on the LAN.
+ * Called on the discovery thread when a game appears, disappears or changes,
+ * not when a known game is merely announced again.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface DiscoveryListener {
+
+    /**
+     * Called when the list of hosted games changes.
+     * @param discovery The discovery whose list changed (see getGames())
+     */
+    void lanGamesChanged(LanDiscovery discovery);
+}
@@ -0,0 +1,135 @@
+package discovery;
+
+/**
+ * HostedGame - One open game heard on the LAN.
+ * Immutable; a fresh announcement replaces the old object.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class HostedGame {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Random id of the program hosting the game */
+    private final long instance;
+
+    /** The game code */
+    private final String code;
+
+    /** Name of the player hosting */
+    private final String hostName;
+
+    /** Address to connect to */
+    private final String address;
+
+    /** Port to connect to */
+    private final int port;
+
+    /** Time the game is forgotten unless announced again (from System.nanoTime) */
+    private final long expiresAt;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for HostedGame.
+     *
+     * @param instance Random id of the program hosting the game
+     * @param code The game code
+     * @param hostName Name of the player hosting
+     * @param address Address to connect to
+     * @param port Port to connect to
+     * @param expiresAt Time the game is forgotten (from System.nanoTime)
+     */
+    public HostedGame(long instance, String code, String hostName, String address, int port, long expiresAt) {
+        this.instance = instance;
+        this.code = code;
+        this.hostName = hostName;
+        this.address = address;
+        this.port = port;
+        this.expiresAt = expiresAt;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Checks whether another announcement shows the same game the same way.
+     * Only the expiry time may differ.
+     *
+     * @param other The other announcement
+     * @return true if nothing a player would see has changed
+     */
+    public boolean sameGame(HostedGame other) {
+        return other != null && instance == other.instance && port == other.port
+               && code.equals(other.code) && hostName.equals(other.hostName)
+               && address.equals(other.address);
+    }
+
+    /**
+     * Gets the text shown in the join screen's list.
+     * @return e.g. "12345  Alice  (192.168.1.20)"
+     */
+    @Override
+    public String toString() {
+        return code + "  " + hostName + "  (" + address + ")";
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the id of the program hosting the game.
+     * @return The instance id
+     */
+    public long getInstance() {
+        return this.instance;
+    }
+
+    /**
+     * Gets the game code.
+     * @return The 5-digit code
+     */
+    public String getCode() {
+        return this.code;
+    }
+
+    /**
+     * Gets the name of the player hosting.
+     * @return The host's player name
+     */
+    public String getHostName() {
+        return this.hostName;
+    }
+
+    /**
+     * Gets the address to connect to.
+     * @return The IP address
+     */
+    public String getAddress() {
+        return this.address;
+    }
+
+    /**
+     * Gets the port to connect to.
+     * @return The game port
+     */
+    public int getPort() {
+        return this.port;
+    }
+
+    /**
+     * Gets the time the game is forgotten unless announced again.
+     * @return The expiry time (from System.nanoTime)
+     */
+    public long getExpiresAt() {
+        return this.expiresAt;
+    }
+}
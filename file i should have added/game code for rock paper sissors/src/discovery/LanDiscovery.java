@@ -0,0 +1,508 @@
+package discovery;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LanDiscovery - Finds games hosted on the local network with UDP multicast.
+ * A host announces its open game (code, address, port and name) to a
+ * multicast group; every program listening on the group keeps a list of the
+ * games it has heard, so Blue can pick one instead of typing a code.
+ *
+ * <p>Keeping the LAN quiet with hundreds of hosts:</p>
+ * <ul>
+ *   <li>All hosts together aim for LAN_ANNOUNCEMENTS_PER_SECOND, so each host
+ *       announces less often as it hears more hosts (never more often than
+ *       every ANNOUNCE_INTERVAL_MILLIS)</li>
+ *   <li>Announcements are jittered so hosts started together drift apart</li>
+ *   <li>Each announcement says how long to remember the game (a few
+ *       intervals), so listeners forget a game soon after its host stops</li>
+ *   <li>A program opening the join screen sends one QUERY (at most every
+ *       QUERY_INTERVAL_MILLIS); hosts answer after a random delay that grows
+ *       with the number of hosts, so the answers do not arrive in one burst</li>
+ *   <li>A host answers at most one query per QUERY_INTERVAL_MILLIS</li>
+ * </ul>
+ *
+ * <p>With few hosts the answers arrive within a few milliseconds of the
+ * query, so the list fills as soon as the join screen opens.</p>
+ *
+ * <p>Datagrams are short text lines starting with MAGIC:</p>
+ * <pre>
+ *   RPSD1|ANNOUNCE|instance|code|address|port|remember_ms|name
+ *   RPSD1|QUERY|instance
+ *   RPSD1|BYE|instance
+ * </pre>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class LanDiscovery implements Closeable {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Discovery listens on the game port plus this offset */
+    public static final int PORT_OFFSET = 4;
+
+    /** Multicast group (organization-local scope, never routed off the site) */
+    public static final String GROUP = "239.255.82.83";
+
+    /** Shortest time between one host's announcements */
+    public static final int ANNOUNCE_INTERVAL_MILLIS = 1000;
+
+    /** Announcements per second all hosts on the LAN aim for together */
+    public static final int LAN_ANNOUNCEMENTS_PER_SECOND = 20;
+
+    /** Number of announcement intervals a game is remembered for */
+    public static final int REMEMBER_INTERVALS = 3;
+
+    /** Shortest time between queries sent, and between answers sent */
+    public static final int QUERY_INTERVAL_MILLIS = 500;
+
+    /** Longest time a host waits before answering a query */
+    public static final int MAX_ANSWER_DELAY_MILLIS = 250;
+
+    /** Time between checks for announcements due and games expired */
+    private static final int TICK_MILLIS = 100;
+
+    /** Start of every discovery datagram (protocol version 1) */
+    private static final String MAGIC = "RPSD1";
+
+    /** Longest host name announced */
+    private static final int MAX_NAME_LENGTH = 32;
+
+    /** Largest datagram sent or accepted */
+    private static final int MAX_DATAGRAM = 512;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The multicast socket */
+    private final MulticastSocket socket;
+
+    /** The group and port datagrams are sent to */
+    private final InetSocketAddress group;
+
+    /** Hears about changes to the list (may be null) */
+    private final DiscoveryListener listener;
+
+    /** Random id of this program, so it can ignore its own datagrams */
+    private final long instance;
+
+    /** Random source for jitter and answer delays */
+    private final Random random = new Random();
+
+    /** Thread reading datagrams */
+    private final Thread receiveThread;
+
+    /** Sends announcements and answers, and expires games */
+    private final ScheduledExecutorService timer;
+
+    /** Games heard, keyed by host instance id */
+    private final Map<Long, HostedGame> games = new HashMap<>();
+
+    /** This program's game code (null if not announcing) */
+    private String code;
+
+    /** This program's host name */
+    private String hostName;
+
+    /** This program's address */
+    private String address;
+
+    /** This program's game port */
+    private int gamePort;
+
+    /** Time the next announcement is due (from System.nanoTime) */
+    private long nextAnnounceAt;
+
+    /** Time of the last answer to a query sent */
+    private long lastAnsweredAt;
+
+    /** Flag indicating at least one answer has been sent (lastAnsweredAt is valid) */
+    private boolean answered;
+
+    /** Time of the last query sent */
+    private long lastQueryAt;
+
+    /** Flag indicating an answer to a query is already scheduled */
+    private boolean answerPending;
+
+    /** Flag indicating at least one query has been sent (lastQueryAt is valid) */
+    private boolean queried;
+
+    /** Flag indicating the socket was closed */
+    private volatile boolean closed;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for LanDiscovery.
+     * Joins the multicast group and starts listening.
+     *
+     * @param port The discovery port (the same on every program)
+     * @param listener Hears about changes to the list (may be null)
+     * @throws IOException if the socket cannot be opened or the group joined
+     */
+    public LanDiscovery(int port, DiscoveryListener listener) throws IOException {
+        this.listener = listener;
+        this.instance = random.nextLong();
+        this.group = new InetSocketAddress(InetAddress.getByName(GROUP), port);
+
+        // Several programs on one machine share the port (MulticastSocket allows reuse)
+        this.socket = new MulticastSocket(port);
+        // Stay on the local network
+        this.socket.setTimeToLive(1);
+        this.socket.joinGroup(group, null);
+
+        // Timer work runs on its own daemon thread so the game can exit without closing
+        this.timer = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "LanDiscovery-Timer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        this.timer.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                tick();
+            }
+        }, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+
+        this.receiveThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receiveLoop();
+            }
+        }, "LanDiscovery-Receive");
+        this.receiveThread.setDaemon(true);
+        this.receiveThread.start();
+    }
+
+    /**
+     * Opens discovery, or returns null if the network has no multicast.
+     * The game still works without it; players type the code instead.
+     *
+     * @param port The discovery port
+     * @param listener Hears about changes to the list (may be null)
+     * @return The discovery, or null
+     */
+    public static LanDiscovery open(int port, DiscoveryListener listener) {
+        try {
+            LanDiscovery discovery = new LanDiscovery(port, listener);
+            // Print message to console
+            System.out.println("LAN discovery on " + GROUP + ":" + port);
+            return discovery;
+        } catch (IOException e) {
+            // Print error message - codes can still be typed in
+            System.err.println("Could not open LAN discovery on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Starts announcing an open game, with the first announcement sent now.
+     * Replaces any game announced before.
+     *
+     * @param code The game code
+     * @param hostName Name of the player hosting
+     * @param address Address other machines connect to
+     * @param gamePort Port other machines connect to
+     */
+    public synchronized void announce(String code, String hostName, String address, int gamePort) {
+        this.code = code;
+        this.hostName = cleanName(hostName);
+        this.address = address;
+        this.gamePort = gamePort;
+        sendAnnouncement(System.nanoTime());
+    }
+
+    /**
+     * Stops announcing and tells listeners to forget the game now.
+     * Does nothing if no game is announced.
+     */
+    public synchronized void withdraw() {
+        if (code == null) {
+            return;
+        }
+        code = null;
+        send(MAGIC + "|BYE|" + instance);
+    }
+
+    /**
+     * Asks every host to announce its game soon, so the list fills quickly.
+     * Ignored if a query was sent less than QUERY_INTERVAL_MILLIS ago.
+     */
+    public synchronized void browse() {
+        long now = System.nanoTime();
+        if (queried && now - lastQueryAt < TimeUnit.MILLISECONDS.toNanos(QUERY_INTERVAL_MILLIS)) {
+            return;
+        }
+        queried = true;
+        lastQueryAt = now;
+        send(MAGIC + "|QUERY|" + instance);
+    }
+
+    /**
+     * Gets the games heard, sorted by host name then code.
+     * @return A copy of the list
+     */
+    public synchronized List<HostedGame> getGames() {
+        List<HostedGame> list = new ArrayList<>(games.values());
+        Collections.sort(list, new Comparator<HostedGame>() {
+            @Override
+            public int compare(HostedGame a, HostedGame b) {
+                int byName = a.getHostName().compareToIgnoreCase(b.getHostName());
+                return byName != 0 ? byName : a.getCode().compareTo(b.getCode());
+            }
+        });
+        return list;
+    }
+
+    /**
+     * Finds a game heard with the given code.
+     *
+     * @param gameCode The code to look for
+     * @return The game, or null if no host is announcing it
+     */
+    public synchronized HostedGame find(String gameCode) {
+        for (HostedGame game : games.values()) {
+            if (game.getCode().equals(gameCode)) {
+                return game;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Gets the time this program waits between announcements right now.
+     * @return The interval in milliseconds
+     */
+    public synchronized long getAnnounceIntervalMillis() {
+        // This host plus every host heard share the LAN budget
+        long share = 1000L * (games.size() + 1) / LAN_ANNOUNCEMENTS_PER_SECOND;
+        return Math.max(ANNOUNCE_INTERVAL_MILLIS, share);
+    }
+
+    /**
+     * Withdraws any game and closes the socket.
+     */
+    @Override
+    public void close() {
+        withdraw();
+        closed = true;
+        timer.shutdownNow();
+        socket.close();
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Sends an announcement due, and forgets games not announced in time.
+     */
+    private void tick() {
+        boolean changed;
+        synchronized (this) {
+            long now = System.nanoTime();
+            if (code != null && now - nextAnnounceAt >= 0) {
+                sendAnnouncement(now);
+            }
+
+            // Forget games whose hosts have gone quiet
+            changed = false;
+            Iterator<HostedGame> it = games.values().iterator();
+            while (it.hasNext()) {
+                if (now - it.next().getExpiresAt() >= 0) {
+                    it.remove();
+                    changed = true;
+                }
+            }
+        }
+        if (changed) {
+            notifyListener();
+        }
+    }
+
+    /**
+     * Sends this program's announcement and schedules the next one.
+     * Called holding the lock with a game announced.
+     *
+     * @param now The current time (from System.nanoTime)
+     */
+    private void sendAnnouncement(long now) {
+        long interval = getAnnounceIntervalMillis();
+        send(MAGIC + "|ANNOUNCE|" + instance + "|" + code + "|" + address + "|" + gamePort + "|"
+             + interval * REMEMBER_INTERVALS + "|" + hostName);
+
+        // Jitter the next one by up to a quarter either way
+        long jittered = interval * 3 / 4 + (long) (random.nextDouble() * interval / 2);
+        nextAnnounceAt = now + TimeUnit.MILLISECONDS.toNanos(jittered);
+    }
+
+    /**
+     * Schedules an answer to a query, unless one was sent or scheduled recently.
+     */
+    private synchronized void queryReceived() {
+        long now = System.nanoTime();
+        if (code == null || answerPending
+            || (answered && now - lastAnsweredAt < TimeUnit.MILLISECONDS.toNanos(QUERY_INTERVAL_MILLIS))) {
+            return;
+        }
+        answerPending = true;
+
+        // Spread the answers: about one per millisecond for each host heard
+        int spread = Math.min(MAX_ANSWER_DELAY_MILLIS, games.size());
+        timer.schedule(new Runnable() {
+            @Override
+            public void run() {
+                synchronized (LanDiscovery.this) {
+                    answerPending = false;
+                    if (code != null) {
+                        long now = System.nanoTime();
+                        sendAnnouncement(now);
+                        answered = true;
+                        lastAnsweredAt = now;
+                    }
+                }
+            }
+        }, random.nextInt(spread + 1), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads datagrams until the socket is closed.
+     */
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!closed) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                String text = new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+                handleDatagram(text, packet.getAddress());
+            } catch (IOException e) {
+                if (!closed) {
+                    // Print error message and keep listening
+                    System.err.println("LAN discovery receive error: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Handles one datagram. Anything malformed or from this program is ignored.
+     *
+     * @param text The datagram text
+     * @param source The address the datagram came from
+     */
+    private void handleDatagram(String text, InetAddress source) {
+        String[] parts = text.split("\\|", 8);
+        if (parts.length < 3 || !parts[0].equals(MAGIC)) {
+            return;
+        }
+        try {
+            long sender = Long.parseLong(parts[2]);
+            if (sender == instance) {
+                return;
+            }
+
+            if (parts[1].equals("QUERY")) {
+                queryReceived();
+            } else if (parts[1].equals("ANNOUNCE") && parts.length == 8) {
+                // A host that could not find its LAN address announces loopback;
+                // the datagram's source is then the best address to use
+                String gameAddress = parts[4];
+                if (gameAddress.startsWith("127.")) {
+                    gameAddress = source.getHostAddress();
+                }
+                long rememberMillis = Long.parseLong(parts[6]);
+                HostedGame game = new HostedGame(sender, parts[3], cleanName(parts[7]), gameAddress,
+                                                 Integer.parseInt(parts[5]),
+                                                 System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(rememberMillis));
+                HostedGame old;
+                synchronized (this) {
+                    old = games.put(sender, game);
+                }
+                if (!game.sameGame(old)) {
+                    notifyListener();
+                }
+            } else if (parts[1].equals("BYE")) {
+                HostedGame old;
+                synchronized (this) {
+                    old = games.remove(sender);
+                }
+                if (old != null) {
+                    notifyListener();
+                }
+            }
+        } catch (NumberFormatException e) {
+            // Not one of ours - ignore it
+        }
+    }
+
+    /**
+     * Tells the listener the list changed. Called without holding the lock.
+     */
+    private void notifyListener() {
+        if (listener != null) {
+            listener.lanGamesChanged(this);
+        }
+    }
+
+    /**
+     * Sends a datagram to the group.
+     * @param text The datagram text
+     */
+    private void send(String text) {
+        byte[] data = text.getBytes(StandardCharsets.UTF_8);
+        try {
+            socket.send(new DatagramPacket(data, data.length, group));
+        } catch (IOException e) {
+            if (!closed) {
+                // Print error message - the next announcement tries again
+                System.err.println("LAN discovery send error: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Makes a host name safe to put in a datagram and show in a list.
+     *
+     * @param name The name
+     * @return The name without separators or line breaks, at most MAX_NAME_LENGTH long
+     */
+    private static String cleanName(String name) {
+        String clean = name == null ? "" : name.replace('|', ' ').replace('\n', ' ').replace('\r', ' ').trim();
+        return clean.length() > MAX_NAME_LENGTH ? clean.substring(0, MAX_NAME_LENGTH) : clean;
+    }
+}
@@ -0,0 +1,234 @@
+package fastpath;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+
+/**
+ * FastPathBenchmark - Compares countdown delivery latency over TCP and the UDP fast path.
+ * Sends the same stream of COUNTDOWN messages through a LossSimulator link
+ * on localhost, once over a TCP connection and once over a UdpChannel, and
+ * prints the latency percentiles of each.
+ *
+ * <p>With no loss both paths only pay the link latency. With loss, every
+ * lost TCP segment holds up the messages behind it for a retransmit
+ * timeout, which shows in the p99; the fast path only loses a message if
+ * all of its copies are lost.</p>
+ *
+ * <p>Usage: java fastpath.FastPathBenchmark [loss%] [latency ms] [jitter ms] [messages] [interval ms]</p>
+ * <p>Defaults: 5% loss, 20 ms latency, 5 ms jitter, 500 messages, 20 ms apart.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class FastPathBenchmark {
+
+    /** Session token used by both ends of the UDP run */
+    private static final int TOKEN = 12345;
+
+    /** Seed for the simulated link, so TCP and UDP see the same conditions */
+    private static final long SEED = 42;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional loss percent, latency, jitter, message count and interval
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        double lossPercent = args.length > 0 ? Double.parseDouble(args[0]) : 5.0;
+        int latency = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int jitter = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int messages = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+        int interval = args.length > 4 ? Integer.parseInt(args[4]) : 20;
+
+        System.out.println(String.format("Link: %.1f%% loss, %d ms latency, %d ms jitter, %d messages every %d ms",
+                                         lossPercent, latency, jitter, messages, interval));
+        System.out.println(String.format("%-10s %10s %9s %9s %9s %9s",
+                                         "path", "delivered", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        double loss = lossPercent / 100.0;
+        printRow("tcp", runTcp(loss, latency, jitter, messages, interval), messages);
+        printRow("udp", runUdp(loss, latency, jitter, messages, interval), messages);
+    }
+
+    /**
+     * Sends the messages over TCP through the simulated link.
+     *
+     * @param loss Loss rate
+     * @param latency Link latency
+     * @param jitter Link jitter
+     * @param messages Number of messages
+     * @param interval Time between messages
+     * @return Latency in nanoseconds of each delivered message
+     * @throws Exception if the run fails
+     */
+    private static long[] runTcp(double loss, int latency, int jitter, int messages, int interval)
+            throws Exception {
+        final long[] sentAt = new long[messages];
+        final long[] latencies = new long[messages];
+        final int[] received = new int[1];
+
+        try (LossSimulator link = new LossSimulator(loss, latency, jitter,
+                                                    LossSimulator.DEFAULT_RETRANSMIT_MILLIS, SEED);
+             ServerSocket server = new ServerSocket(0)) {
+            int proxyPort = link.proxyTcp(server.getLocalPort());
+            Socket sender = new Socket("localhost", proxyPort);
+            sender.setTcpNoDelay(true);
+            final Socket receiver = server.accept();
+
+            // Read lines as the game does and time each one
+            Thread reader = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try (BufferedReader in = new BufferedReader(new InputStreamReader(receiver.getInputStream()))) {
+                        String line;
+                        while ((line = in.readLine()) != null) {
+                            long now = System.nanoTime();
+                            int index = indexOf(line);
+                            synchronized (received) {
+                                latencies[received[0]++] = now - sentAt[index];
+                            }
+                        }
+                    } catch (IOException e) {
+                        // Closed at the end of the run
+                    }
+                }
+            }, "Benchmark-TCP-Reader");
+            reader.start();
+
+            PrintWriter out = new PrintWriter(sender.getOutputStream());
+            for (int i = 0; i < messages; i++) {
+                sentAt[i] = System.nanoTime();
+                out.println(countdown(i));
+                out.flush();
+                Thread.sleep(interval);
+            }
+            awaitCount(received, messages);
+            sender.close();
+            receiver.close();
+        }
+        synchronized (received) {
+            return Arrays.copyOf(latencies, received[0]);
+        }
+    }
+
+    /**
+     * Sends the messages over the UDP fast path through the simulated link.
+     *
+     * @param loss Loss rate
+     * @param latency Link latency
+     * @param jitter Link jitter
+     * @param messages Number of messages
+     * @param interval Time between messages
+     * @return Latency in nanoseconds of each delivered message
+     * @throws Exception if the run fails
+     */
+    private static long[] runUdp(double loss, int latency, int jitter, int messages, int interval)
+            throws Exception {
+        final long[] sentAt = new long[messages];
+        final long[] latencies = new long[messages];
+        final int[] received = new int[1];
+
+        FastPathListener listener = new FastPathListener() {
+            @Override
+            public void fastPathMessage(UdpChannel channel, String message) {
+                long now = System.nanoTime();
+                int index = indexOf(message);
+                synchronized (received) {
+                    latencies[received[0]++] = now - sentAt[index];
+                }
+            }
+        };
+        try (LossSimulator link = new LossSimulator(loss, latency, jitter,
+                                                    LossSimulator.DEFAULT_RETRANSMIT_MILLIS, SEED);
+             UdpChannel receiver = new UdpChannel(0, TOKEN, listener);
+             UdpChannel sender = new UdpChannel(0, TOKEN, listener)) {
+            sender.setPeer("localhost", link.proxyUdp(receiver.getLocalPort()));
+            for (int i = 0; i < messages; i++) {
+                sentAt[i] = System.nanoTime();
+                sender.send(countdown(i));
+                Thread.sleep(interval);
+            }
+            // Lost messages never arrive, so wait for the link to drain instead
+            Thread.sleep(latency + jitter + UdpChannel.REPEATS * UdpChannel.REPEAT_INTERVAL_MILLIS + 500);
+        }
+        synchronized (received) {
+            return Arrays.copyOf(latencies, received[0]);
+        }
+    }
+
+    /**
+     * Builds the i-th test message, shaped like the game's countdown.
+     *
+     * @param i The message index
+     * @return The message text
+     */
+    private static String countdown(int i) {
+        return "COUNTDOWN:seconds_remaining=" + i + ",round_number=1";
+    }
+
+    /**
+     * Gets the message index back out of a test message.
+     *
+     * @param message The message text
+     * @return The message index
+     */
+    private static int indexOf(String message) {
+        int start = message.indexOf('=') + 1;
+        return Integer.parseInt(message.substring(start, message.indexOf(',', start)));
+    }
+
+    /**
+     * Waits until a number of messages has arrived, or thirty seconds pass.
+     *
+     * @param received The received count
+     * @param count The count to wait for
+     * @throws InterruptedException if interrupted
+     */
+    private static void awaitCount(int[] received, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (System.nanoTime() < deadline) {
+            synchronized (received) {
+                if (received[0] >= count) {
+                    return;
+                }
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Prints one result row.
+     *
+     * @param path The path name
+     * @param latencies Latency of each delivered message
+     * @param messages Number of messages sent
+     */
+    private static void printRow(String path, long[] latencies, int messages) {
+        Arrays.sort(latencies);
+        System.out.println(String.format("%-10s %9.1f%% %9.1f %9.1f %9.1f %9.1f",
+                                         path, 100.0 * latencies.length / messages,
+                                         percentile(latencies, 0.50), percentile(latencies, 0.90),
+                                         percentile(latencies, 0.99), percentile(latencies, 1.0)));
+    }
+
+    /**
+     * Gets a percentile from sorted latencies.
+     *
+     * @param sorted Latencies in nanoseconds, sorted
+     * @param fraction The percentile as a fraction
+     * @return The latency in milliseconds, or 0 if there are none
+     */
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(fraction * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
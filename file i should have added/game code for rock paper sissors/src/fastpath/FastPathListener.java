@@ -0,0 +1,21 @@
+package fastpath;
+
+/**
+ * FastPathListener - Interface for receiving messages from a UdpChannel.
+ * Called on the channel's receive thread, once per message, in sequence
+ * order. A message that was lost in every copy is skipped, never waited for.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface FastPathListener {
+
+    /**
+     * Called when a new message arrives.
+     *
+     * @param channel The channel the message arrived on
+     * @param message The message text
+     */
+    void fastPathMessage(UdpChannel channel, String message);
+}
@@ -0,0 +1,310 @@
+package fastpath;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * LossSimulator - Localhost proxies that behave like a lossy, slow link.
+ * Each packet is delayed by the latency plus up to the jitter, and lost
+ * with the loss rate.
+ *
+ * <ul>
+ *   <li>UDP: a lost datagram is simply never forwarded, and jitter can
+ *       reorder datagrams, just as on a real network</li>
+ *   <li>TCP: a lost segment is retransmitted after retransmitMillis (and
+ *       again, doubling, if the retransmission is lost too). Bytes are
+ *       forwarded in order, so everything behind a lost segment waits for
+ *       it - the head-of-line blocking TCP has on a real link</li>
+ * </ul>
+ *
+ * <p>The default retransmit time is 200 ms, the Linux minimum timeout. The
+ * game sends about one message a second, too few for fast retransmit to
+ * kick in, so the timeout is what a lost segment really costs.</p>
+ *
+ * <p>Both proxies forward one way, from whoever connects to the target.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class LossSimulator implements Closeable {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Default TCP retransmission timeout */
+    public static final int DEFAULT_RETRANSMIT_MILLIS = 200;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Chance of losing each packet, from 0 to 1 */
+    private final double lossRate;
+
+    /** Fixed one-way delay */
+    private final int latencyMillis;
+
+    /** Largest extra random delay */
+    private final int jitterMillis;
+
+    /** TCP retransmission timeout */
+    private final int retransmitMillis;
+
+    /** Decides losses and jitter */
+    private final Random random;
+
+    /** Forwards packets when their delay is up */
+    private final ScheduledExecutorService scheduler;
+
+    /** Sockets to close with the simulator */
+    private final List<Closeable> resources = new ArrayList<>();
+
+    /** Packets lost (TCP segments that needed a retransmission count too) */
+    private long lost;
+
+    /** Packets forwarded */
+    private long forwarded;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for LossSimulator.
+     *
+     * @param lossRate Chance of losing each packet, from 0 to 1
+     * @param latencyMillis Fixed one-way delay
+     * @param jitterMillis Largest extra random delay
+     * @param retransmitMillis TCP retransmission timeout
+     * @param seed Random seed, so runs can be repeated
+     */
+    public LossSimulator(double lossRate, int latencyMillis, int jitterMillis, int retransmitMillis, long seed) {
+        this.lossRate = lossRate;
+        this.latencyMillis = latencyMillis;
+        this.jitterMillis = jitterMillis;
+        this.retransmitMillis = retransmitMillis;
+        this.random = new Random(seed);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "LossSimulator-Delivery");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    // ========================
+    // PROXIES
+    // ========================
+
+    /**
+     * Starts a UDP proxy that forwards datagrams to a local port.
+     *
+     * @param targetPort The port to forward to
+     * @return The port to send datagrams to
+     * @throws IOException if the proxy socket cannot be opened
+     */
+    public int proxyUdp(int targetPort) throws IOException {
+        final DatagramSocket socket = new DatagramSocket(0);
+        final InetSocketAddress target = new InetSocketAddress("localhost", targetPort);
+        register(socket);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                byte[] buffer = new byte[64 * 1024];
+                DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+                while (!socket.isClosed()) {
+                    try {
+                        packet.setLength(buffer.length);
+                        socket.receive(packet);
+                        final byte[] data = Arrays.copyOf(packet.getData(), packet.getLength());
+                        if (lose()) {
+                            continue; // Gone for good
+                        }
+                        scheduler.schedule(new Runnable() {
+                            @Override
+                            public void run() {
+                                try {
+                                    socket.send(new DatagramPacket(data, data.length, target));
+                                    countForwarded();
+                                } catch (IOException e) {
+                                    // The target is gone - nothing to deliver to
+                                }
+                            }
+                        }, delayMicros(), TimeUnit.MICROSECONDS);
+                    } catch (IOException e) {
+                        return; // Closed
+                    }
+                }
+            }
+        }, "LossSimulator-UDP");
+        thread.setDaemon(true);
+        thread.start();
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Starts a TCP proxy that accepts one connection and forwards it to a local port.
+     *
+     * @param targetPort The port to forward to
+     * @return The port to connect to
+     * @throws IOException if the proxy socket cannot be opened
+     */
+    public int proxyTcp(final int targetPort) throws IOException {
+        final ServerSocket server = new ServerSocket(0);
+        register(server);
+
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Socket inbound = server.accept();
+                    Socket outbound = new Socket("localhost", targetPort);
+                    inbound.setTcpNoDelay(true);
+                    outbound.setTcpNoDelay(true);
+                    register(inbound);
+                    register(outbound);
+                    pumpInOrder(inbound.getInputStream(), outbound.getOutputStream());
+                } catch (IOException e) {
+                    // Closed while waiting - nothing to forward
+                }
+            }
+        }, "LossSimulator-TCP");
+        thread.setDaemon(true);
+        thread.start();
+        return server.getLocalPort();
+    }
+
+    /**
+     * Forwards a stream one read at a time, treating each read as a segment.
+     * A segment cannot be delivered before the one ahead of it.
+     *
+     * @param in The stream from the sender
+     * @param out The stream to the target
+     * @throws IOException if reading fails
+     */
+    private void pumpInOrder(InputStream in, final OutputStream out) throws IOException {
+        byte[] buffer = new byte[64 * 1024];
+        long previousDue = 0;
+        int count;
+        while ((count = in.read(buffer)) > 0) {
+            final byte[] segment = Arrays.copyOf(buffer, count);
+            long now = System.nanoTime() / 1000;
+            long due = now + delayMicros();
+
+            // Each lost copy costs a timeout, doubling as TCP backs off
+            long timeout = retransmitMillis * 1000L;
+            while (lose()) {
+                due += timeout;
+                timeout *= 2;
+            }
+
+            // In-order delivery: wait for every earlier segment
+            due = Math.max(due, previousDue);
+            previousDue = due;
+            scheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        out.write(segment);
+                        out.flush();
+                        countForwarded();
+                    } catch (IOException e) {
+                        // The target is gone - nothing to deliver to
+                    }
+                }
+            }, due - now, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    // ========================
+    // HELPERS
+    // ========================
+
+    /**
+     * Decides if a packet is lost.
+     * @return true if it is lost
+     */
+    private synchronized boolean lose() {
+        if (random.nextDouble() < lossRate) {
+            lost++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Picks a delay for one packet.
+     * @return The delay in microseconds
+     */
+    private synchronized long delayMicros() {
+        long jitter = jitterMillis > 0 ? (long) (random.nextDouble() * jitterMillis * 1000) : 0;
+        return latencyMillis * 1000L + jitter;
+    }
+
+    /**
+     * Counts a forwarded packet.
+     */
+    private synchronized void countForwarded() {
+        forwarded++;
+    }
+
+    /**
+     * Remembers a socket to close with the simulator.
+     * @param resource The socket
+     */
+    private synchronized void register(Closeable resource) {
+        resources.add(resource);
+    }
+
+    /**
+     * Gets the number of packets lost.
+     * @return The loss count
+     */
+    public synchronized long getLost() {
+        return lost;
+    }
+
+    /**
+     * Gets the number of packets forwarded.
+     * @return The forwarded count
+     */
+    public synchronized long getForwarded() {
+        return forwarded;
+    }
+
+    /**
+     * Stops forwarding and closes every proxy socket.
+     */
+    @Override
+    public synchronized void close() {
+        scheduler.shutdownNow();
+        for (Closeable resource : resources) {
+            try {
+                resource.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+        resources.clear();
+    }
+}
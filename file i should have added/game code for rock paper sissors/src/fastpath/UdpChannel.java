@@ -0,0 +1,445 @@
+package fastpath;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * UdpChannel - Optional UDP path for timing-critical game messages.
+ * Runs next to the TCP connection, which stays the reliable control path.
+ * Over TCP one lost segment holds up everything behind it until it is
+ * retransmitted; here a lost datagram only costs that one copy.
+ *
+ * <p>How a message gets through a lossy link:</p>
+ * <ul>
+ *   <li>Every message gets the next sequence number</li>
+ *   <li>Each datagram carries the newest REDUNDANCY messages, so one that
+ *       arrives makes up for the ones lost before it</li>
+ *   <li>The newest datagram is sent again REPEATS times, REPEAT_INTERVAL_MILLIS
+ *       apart, unless a newer one replaces it first</li>
+ *   <li>The receiver hands on each message with a sequence number above the
+ *       last one it delivered and drops the rest as duplicates</li>
+ * </ul>
+ *
+ * <p>Datagrams start with MAGIC and a session token (the game code), so
+ * stray packets are ignored. A channel opened without a peer learns it
+ * from the first valid datagram it receives.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class UdpChannel implements Closeable {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Red's fast path listens on the game port plus this offset */
+    public static final int PORT_OFFSET = 2;
+
+    /** Messages carried by each datagram */
+    public static final int REDUNDANCY = 3;
+
+    /** Extra copies sent of the newest datagram */
+    public static final int REPEATS = 2;
+
+    /** Time between copies of the newest datagram */
+    public static final int REPEAT_INTERVAL_MILLIS = 10;
+
+    /** Marks a fast path datagram ("RPSU") */
+    private static final int MAGIC = 0x52505355;
+
+    /** Largest datagram sent or accepted */
+    private static final int MAX_DATAGRAM = 1200;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The UDP socket */
+    private final DatagramSocket socket;
+
+    /** Session token both ends must agree on */
+    private final int token;
+
+    /** Receives delivered messages */
+    private final FastPathListener listener;
+
+    /** Thread reading datagrams */
+    private final Thread receiveThread;
+
+    /** Sends the repeat copies */
+    private final ScheduledExecutorService repeater;
+
+    /** The newest messages sent, oldest first */
+    private final ArrayDeque<String> recent = new ArrayDeque<>();
+
+    /** Where datagrams are sent, or null until known */
+    private volatile SocketAddress peer;
+
+    /** Sequence number of the next message sent */
+    private long nextSequence = 1;
+
+    /** Counts sends, so repeats of a replaced datagram are skipped */
+    private long sendGeneration;
+
+    /** Sequence number of the last message delivered */
+    private long lastDelivered;
+
+    /** Flag indicating the channel was closed */
+    private volatile boolean closed;
+
+    /** Datagrams sent, including repeats */
+    private long datagramsSent;
+
+    /** Datagrams received */
+    private long datagramsReceived;
+
+    /** Messages handed to the listener */
+    private long messagesDelivered;
+
+    /** Messages skipped because every copy was lost */
+    private long messagesLost;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for UdpChannel.
+     * Opens the socket and starts receiving.
+     *
+     * @param port The local port, or 0 for any free port
+     * @param token The session token
+     * @param listener Receives delivered messages
+     * @throws IOException if the socket cannot be opened
+     */
+    public UdpChannel(int port, int token, FastPathListener listener) throws IOException {
+        this.socket = new DatagramSocket(port);
+        this.token = token;
+        this.listener = listener;
+
+        // Repeats run on their own daemon thread so the game can exit without closing
+        this.repeater = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable task) {
+                Thread thread = new Thread(task, "FastPath-Repeat");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+
+        this.receiveThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                receiveLoop();
+            }
+        }, "FastPath-Receive");
+        this.receiveThread.setDaemon(true);
+        this.receiveThread.start();
+    }
+
+    /**
+     * Opens a channel, or returns null if the port cannot be opened.
+     * The game falls back to TCP alone when this returns null.
+     *
+     * @param port The local port, or 0 for any free port
+     * @param token The session token
+     * @param listener Receives delivered messages
+     * @return The channel, or null
+     */
+    public static UdpChannel open(int port, int token, FastPathListener listener) {
+        try {
+            UdpChannel channel = new UdpChannel(port, token, listener);
+            // Print message to console
+            System.out.println("UDP fast path listening on port " + channel.getLocalPort());
+            return channel;
+        } catch (IOException e) {
+            // Print error message - TCP still carries everything
+            System.err.println("Could not open UDP fast path on port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Sets where datagrams are sent.
+     *
+     * @param host The peer host
+     * @param port The peer port
+     */
+    public void setPeer(String host, int port) {
+        this.peer = new InetSocketAddress(host, port);
+    }
+
+    /**
+     * Sets where datagrams are sent.
+     *
+     * @param peer The peer address
+     */
+    public void setPeer(SocketAddress peer) {
+        this.peer = peer;
+    }
+
+    /**
+     * Sends a datagram with no messages, so a peer that does not know this
+     * channel's address learns it. Repeated like any other datagram.
+     */
+    public synchronized void sendHello() {
+        transmit(new ArrayDeque<String>(), nextSequence);
+    }
+
+    /**
+     * Sends a message. Returns straight away; nothing is retransmitted after
+     * the repeats, so callers that need delivery also send it over TCP.
+     *
+     * @param message The message text
+     * @return false if there is no peer yet or the channel is closed
+     */
+    public synchronized boolean send(String message) {
+        if (closed || peer == null) {
+            return false;
+        }
+        // Keep the newest messages for the next datagrams
+        recent.addLast(message);
+        while (recent.size() > REDUNDANCY) {
+            recent.pollFirst();
+        }
+        nextSequence++;
+        return transmit(recent, nextSequence);
+    }
+
+    /**
+     * Gets the local port.
+     * @return The port the socket is bound to
+     */
+    public int getLocalPort() {
+        return socket.getLocalPort();
+    }
+
+    /**
+     * Gets the peer address.
+     * @return The peer, or null if not known yet
+     */
+    public SocketAddress getPeer() {
+        return peer;
+    }
+
+    /**
+     * Gets the number of datagrams sent, including repeats.
+     * @return The datagram count
+     */
+    public synchronized long getDatagramsSent() {
+        return datagramsSent;
+    }
+
+    /**
+     * Gets the number of valid datagrams received.
+     * @return The datagram count
+     */
+    public synchronized long getDatagramsReceived() {
+        return datagramsReceived;
+    }
+
+    /**
+     * Gets the number of messages delivered to the listener.
+     * @return The message count
+     */
+    public synchronized long getMessagesDelivered() {
+        return messagesDelivered;
+    }
+
+    /**
+     * Gets the number of messages skipped because every copy was lost.
+     * @return The message count
+     */
+    public synchronized long getMessagesLost() {
+        return messagesLost;
+    }
+
+    /**
+     * Closes the socket and stops both threads.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        repeater.shutdownNow();
+        socket.close();
+    }
+
+    // ========================
+    // SENDING
+    // ========================
+
+    /**
+     * Encodes and sends a datagram, then schedules its repeats.
+     * Must be called while holding the channel's lock.
+     *
+     * @param messages The messages to carry, oldest first
+     * @param next The sequence number after the newest message
+     * @return true if the first copy was sent
+     */
+    private boolean transmit(ArrayDeque<String> messages, long next) {
+        final byte[] data;
+        try {
+            data = encode(messages, next);
+        } catch (IOException e) {
+            // Print error message
+            System.err.println("Fast path message too large: " + e.getMessage());
+            return false;
+        }
+        final long generation = ++sendGeneration;
+        boolean sent = sendDatagram(data);
+
+        // Send the copies unless something newer goes out first
+        for (int i = 1; i <= REPEATS; i++) {
+            repeater.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    synchronized (UdpChannel.this) {
+                        if (generation == sendGeneration && !closed) {
+                            sendDatagram(data);
+                        }
+                    }
+                }
+            }, (long) i * REPEAT_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+        return sent;
+    }
+
+    /**
+     * Sends one datagram to the peer.
+     *
+     * @param data The encoded datagram
+     * @return true if it was handed to the network
+     */
+    private boolean sendDatagram(byte[] data) {
+        SocketAddress target = peer;
+        if (target == null || closed) {
+            return false;
+        }
+        try {
+            socket.send(new DatagramPacket(data, data.length, target));
+            datagramsSent++;
+            return true;
+        } catch (IOException e) {
+            // A lost datagram is expected here - TCP has a copy
+            return false;
+        }
+    }
+
+    /**
+     * Encodes a datagram.
+     * Layout: MAGIC, token, message count, sequence number of the first
+     * message, then each message as modified UTF-8.
+     *
+     * @param messages The messages, oldest first
+     * @param next The sequence number after the newest message
+     * @return The datagram bytes
+     * @throws IOException if the datagram would be too large
+     */
+    private byte[] encode(ArrayDeque<String> messages, long next) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(token);
+        out.writeByte(messages.size());
+        out.writeLong(next - messages.size());
+        for (String message : messages) {
+            out.writeUTF(message);
+        }
+        out.flush();
+        if (bytes.size() > MAX_DATAGRAM) {
+            throw new IOException(bytes.size() + " bytes");
+        }
+        return bytes.toByteArray();
+    }
+
+    // ========================
+    // RECEIVING
+    // ========================
+
+    /**
+     * Reads datagrams until the channel is closed.
+     */
+    private void receiveLoop() {
+        byte[] buffer = new byte[MAX_DATAGRAM];
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (!closed) {
+            try {
+                packet.setLength(buffer.length);
+                socket.receive(packet);
+                handleDatagram(packet);
+            } catch (IOException e) {
+                if (!closed) {
+                    // Print error message
+                    System.err.println("Fast path receive failed: " + e.getMessage());
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks a datagram and delivers the messages in it that are new.
+     *
+     * @param packet The received datagram
+     */
+    private void handleDatagram(DatagramPacket packet) {
+        ArrayDeque<String> fresh = new ArrayDeque<>();
+        try {
+            DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(packet.getData(), packet.getOffset(), packet.getLength()));
+            if (in.readInt() != MAGIC || in.readInt() != token) {
+                return; // Not ours
+            }
+            int count = in.readUnsignedByte();
+            long sequence = in.readLong();
+
+            synchronized (this) {
+                datagramsReceived++;
+                // Learn where to answer from the first valid datagram
+                if (peer == null) {
+                    peer = packet.getSocketAddress();
+                    System.out.println("UDP fast path peer is " + peer);
+                }
+                for (int i = 0; i < count; i++, sequence++) {
+                    String message = in.readUTF();
+                    if (sequence > lastDelivered) {
+                        // Anything between was lost in every copy
+                        messagesLost += sequence - lastDelivered - 1;
+                        lastDelivered = sequence;
+                        messagesDelivered++;
+                        fresh.addLast(message);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            // A truncated or garbled datagram is dropped like a lost one
+            return;
+        }
+
+        // Deliver outside the lock so the listener can send
+        Iterator<String> it = fresh.iterator();
+        while (it.hasNext()) {
+            listener.fastPathMessage(this, it.next());
+        }
+    }
+}
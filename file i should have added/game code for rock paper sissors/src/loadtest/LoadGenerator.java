@@ -0,0 +1,658 @@
+package loadtest;
+
+import controller.MessageEnvelope;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+/**
+ * LoadGenerator - Plays many simulated Blue clients against SuperSocketMaster servers.
+ * Each client speaks the same protocol as GameController: it sends
+ * JOIN_REQUEST, waits for choosing to open, thinks, sends PLAYER_CHOICE,
+ * and reads ROUND_RESULT until GAME_OVER, then quits and optionally joins
+ * again. Messages carry the usual MessageEnvelope.
+ *
+ * <p>All clients run on one thread with a non-blocking selector, so the
+ * generator costs little next to the servers it is measuring. By default
+ * it starts one RedResponder per client in the same process, on
+ * consecutive ports from the base port; give a host to use responders
+ * started in another process instead.</p>
+ *
+ * <p>It reports the connection rate, messages per second and latency
+ * percentiles for connecting, joining (JOIN_REQUEST to JOIN_ACCEPTED) and
+ * each round (PLAYER_CHOICE to ROUND_RESULT).</p>
+ *
+ * <p>Usage: java loadtest.LoadGenerator [clients] [think ms] [matches] [connects/s] [base port] [host]</p>
+ * <p>Defaults: 1000 clients, 200 ms think time, 1 match each, connect as fast as possible, port 20000.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class LoadGenerator {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Timer task: open a connection */
+    private static final int TASK_CONNECT = 1;
+
+    /** Timer task: send a choice */
+    private static final int TASK_CHOOSE = 2;
+
+    /** Longest a run may take before it is cut off */
+    private static final long RUN_LIMIT_NANOS = 300_000_000_000L;
+
+    /** Wait before trying a reconnect again, while a server hosts its next game */
+    private static final long RECONNECT_DELAY_NANOS = 100_000_000L;
+
+    /** Reconnect attempts for one match before the client gives up */
+    private static final int RECONNECT_ATTEMPTS = 20;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Host the servers run on */
+    private final String host;
+
+    /** Port of the first server */
+    private final int basePort;
+
+    /** Number of clients */
+    private final int clientCount;
+
+    /** Mean time a client waits before choosing */
+    private final int thinkMillis;
+
+    /** Matches each client plays */
+    private final int matchesPerClient;
+
+    /** Connections started per second (0 for all at once) */
+    private final int connectsPerSecond;
+
+    /** Selector for every client socket */
+    private final Selector selector;
+
+    /** Pending timer tasks, soonest first */
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+
+    /** Think times and throws */
+    private final Random random = new Random(7);
+
+    /** Time to open each connection */
+    private final LatencyRecorder connectLatency = new LatencyRecorder();
+
+    /** Time from JOIN_REQUEST to JOIN_ACCEPTED */
+    private final LatencyRecorder joinLatency = new LatencyRecorder();
+
+    /** Time from PLAYER_CHOICE to ROUND_RESULT */
+    private final LatencyRecorder roundLatency = new LatencyRecorder();
+
+    /** Clients that finished all their matches or failed */
+    private int clientsDone;
+
+    /** Connections that failed or closed early */
+    private int failures;
+
+    /** Matches played to GAME_OVER */
+    private int matchesCompleted;
+
+    /** Lines sent by all clients */
+    private long messagesSent;
+
+    /** Lines received by all clients */
+    private long messagesReceived;
+
+    /** Clients that have made their first connection */
+    private int clientsConnected;
+
+    /** When the last client made its first connection */
+    private long lastConnectedAt;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for LoadGenerator.
+     *
+     * @param host Host the servers run on
+     * @param basePort Port of the first server (client i uses basePort + i)
+     * @param clientCount Number of clients
+     * @param thinkMillis Mean time a client waits before choosing
+     * @param matchesPerClient Matches each client plays
+     * @param connectsPerSecond Connections started per second (0 for all at once)
+     * @throws IOException if the selector cannot be opened
+     */
+    public LoadGenerator(String host, int basePort, int clientCount, int thinkMillis,
+                         int matchesPerClient, int connectsPerSecond) throws IOException {
+        this.host = host;
+        this.basePort = basePort;
+        this.clientCount = clientCount;
+        this.thinkMillis = thinkMillis;
+        this.matchesPerClient = matchesPerClient;
+        this.connectsPerSecond = connectsPerSecond;
+        this.selector = Selector.open();
+    }
+
+    // ========================
+    // RUNNING
+    // ========================
+
+    /**
+     * Runs every client to the end and prints the report.
+     *
+     * @throws IOException if the selector fails
+     */
+    public void run() throws IOException {
+        long start = System.nanoTime();
+        for (int i = 0; i < clientCount; i++) {
+            long delay = connectsPerSecond > 0 ? i * 1_000_000_000L / connectsPerSecond : 0;
+            tasks.add(new Task(start + delay, new SimulatedBlue(i, basePort + i), TASK_CONNECT));
+        }
+
+        while (clientsDone < clientCount && System.nanoTime() - start < RUN_LIMIT_NANOS) {
+            runDueTasks();
+            long wait = 0;
+            if (!tasks.isEmpty()) {
+                wait = Math.max(1, (tasks.peek().due - System.nanoTime()) / 1_000_000L);
+            }
+            selector.select(tasks.isEmpty() ? 1000 : wait);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                SimulatedBlue client = (SimulatedBlue) key.attachment();
+                try {
+                    if (key.isValid() && key.isConnectable()) {
+                        client.finishConnect();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        client.read();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        client.flush();
+                    }
+                } catch (IOException e) {
+                    client.lostConnection(e.getMessage());
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        selector.close();
+        printReport(start, elapsed);
+    }
+
+    /**
+     * Runs every timer task that is due.
+     */
+    private void runDueTasks() {
+        long now = System.nanoTime();
+        while (!tasks.isEmpty() && tasks.peek().due <= now) {
+            Task task = tasks.poll();
+            try {
+                if (task.kind == TASK_CONNECT) {
+                    task.client.connect();
+                } else {
+                    task.client.choose();
+                }
+            } catch (IOException e) {
+                task.client.lostConnection(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Prints the results.
+     *
+     * @param start When the run started
+     * @param elapsedNanos How long the run took
+     */
+    private void printReport(long start, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        double connectSeconds = Math.max(1e-9, (lastConnectedAt - start) / 1e9);
+        System.out.println(String.format("Clients: %d, matches completed: %d, failures: %d, time: %.2f s",
+                                         clientCount, matchesCompleted, failures, seconds));
+        System.out.println(String.format("Connections: %d clients connected in %.2f s (%.0f per second), %d in total",
+                                         clientsConnected, connectSeconds, clientsConnected / connectSeconds,
+                                         connectLatency.getCount()));
+        System.out.println(String.format("Messages: %d sent, %d received (%.0f per second)",
+                                         messagesSent, messagesReceived,
+                                         (messagesSent + messagesReceived) / seconds));
+        System.out.println(String.format("Peak JVM threads: %d", ManagementFactory.getThreadMXBean().getPeakThreadCount()));
+        System.out.println(String.format("%-34s %8s %9s %9s %9s %9s",
+                                         "latency (ms)", "count", "p50", "p90", "p99", "max"));
+        connectLatency.printRow("connect");
+        joinLatency.printRow("JOIN_REQUEST -> JOIN_ACCEPTED");
+        roundLatency.printRow("PLAYER_CHOICE -> ROUND_RESULT");
+    }
+
+    // ========================
+    // INNER CLASS: SIMULATED BLUE
+    // ========================
+
+    /**
+     * SimulatedBlue - One Blue client, driven by the selector thread.
+     */
+    private class SimulatedBlue {
+
+        /** Client number, used in the player name */
+        private final int id;
+
+        /** The server port */
+        private final int port;
+
+        /** Incoming bytes */
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+
+        /** The line being read */
+        private final StringBuilder line = new StringBuilder();
+
+        /** Bytes waiting to be written */
+        private final ArrayDeque<ByteBuffer> pending = new ArrayDeque<>();
+
+        /** The socket, or null between matches */
+        private SocketChannel channel;
+
+        /** The socket's selection key */
+        private SelectionKey key;
+
+        /** Sequence number of the next message sent */
+        private long nextSequence;
+
+        /** Matches still to play */
+        private int matchesLeft;
+
+        /** When the connection was started */
+        private long connectStartedAt;
+
+        /** When JOIN_REQUEST was sent */
+        private long joinSentAt;
+
+        /** When the last choice was sent */
+        private long choiceSentAt;
+
+        /** The round choosing is open for */
+        private int round;
+
+        /** Flag indicating this client has been counted as done */
+        private boolean done;
+
+        /** Flag indicating Red accepted the current connection */
+        private boolean joined;
+
+        /** Reconnect attempts made for the current match */
+        private int reconnects;
+
+        /**
+         * Constructor for SimulatedBlue.
+         *
+         * @param id Client number
+         * @param port The server port
+         */
+        SimulatedBlue(int id, int port) {
+            this.id = id;
+            this.port = port;
+            this.matchesLeft = matchesPerClient;
+        }
+
+        /**
+         * Starts connecting.
+         * @throws IOException if the socket cannot be opened
+         */
+        void connect() throws IOException {
+            connectStartedAt = System.nanoTime();
+            channel = SocketChannel.open();
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            key = channel.register(selector, SelectionKey.OP_CONNECT, this);
+            if (channel.connect(new InetSocketAddress(host, port))) {
+                finishConnect();
+            }
+        }
+
+        /**
+         * Completes the connection and joins the game.
+         * @throws IOException if the connection failed
+         */
+        void finishConnect() throws IOException {
+            if (!channel.finishConnect()) {
+                return;
+            }
+            long now = System.nanoTime();
+            connectLatency.record(now - connectStartedAt);
+            if (matchesLeft == matchesPerClient) {
+                clientsConnected++;
+                lastConnectedAt = now;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+
+            // A new connection starts a new message sequence
+            nextSequence = 0;
+            readBuffer.clear();
+            line.setLength(0);
+            joinSentAt = now;
+            send("JOIN_REQUEST:player_name=LoadBlue" + id);
+        }
+
+        /**
+         * Sends the choice for the current round.
+         * @throws IOException if the write fails
+         */
+        void choose() throws IOException {
+            if (channel == null) {
+                return;
+            }
+            String[] choices = {"ROCK", "PAPER", "SCISSORS"};
+            choiceSentAt = System.nanoTime();
+            send("PLAYER_CHOICE:player=BLUE,choice=" + choices[random.nextInt(choices.length)] +
+                 ",round_number=" + round);
+        }
+
+        /**
+         * Reads what has arrived and handles each complete line.
+         * @throws IOException if the read fails
+         */
+        void read() throws IOException {
+            int count = channel.read(readBuffer);
+            if (count < 0) {
+                lostConnection("server closed the connection");
+                return;
+            }
+            readBuffer.flip();
+            while (readBuffer.hasRemaining() && channel != null) {
+                char c = (char) readBuffer.get();
+                if (c == '\n') {
+                    handleLine(line.toString());
+                    line.setLength(0);
+                } else if (c != '\r') {
+                    line.append(c);
+                }
+            }
+            readBuffer.clear();
+        }
+
+        /**
+         * Handles one message from Red.
+         *
+         * @param text The line as received
+         * @throws IOException if a reply cannot be written
+         */
+        private void handleLine(String text) throws IOException {
+            messagesReceived++;
+            long now = System.nanoTime();
+            String message = MessageEnvelope.parse(text).getBody();
+            if (message.startsWith("JOIN_ACCEPTED:")) {
+                joined = true;
+                reconnects = 0;
+                joinLatency.record(now - joinSentAt);
+            } else if (message.startsWith("COUNTDOWN:")) {
+                // Choosing opens at zero - think, then choose
+                if ("0".equals(RedResponder.field(message, "seconds_remaining"))) {
+                    round = Integer.parseInt(RedResponder.field(message, "round_number"));
+                    long think = (long) (thinkMillis * (0.5 + random.nextDouble()) * 1_000_000L);
+                    tasks.add(new Task(now + think, this, TASK_CHOOSE));
+                }
+            } else if (message.startsWith("ROUND_RESULT:")) {
+                roundLatency.record(now - choiceSentAt);
+            } else if (message.startsWith("GAME_OVER:")) {
+                matchesCompleted++;
+                send("PLAYER_QUIT:player=BLUE");
+                flush();
+                closeChannel();
+                joined = false;
+                matchesLeft--;
+                if (matchesLeft > 0) {
+                    tasks.add(new Task(now, this, TASK_CONNECT));
+                } else {
+                    finish();
+                }
+            }
+        }
+
+        /**
+         * Sends one message in its envelope.
+         *
+         * @param message The message body
+         * @throws IOException if the write fails
+         */
+        private void send(String message) throws IOException {
+            String wrapped = MessageEnvelope.wrap(message, nextSequence++, 0);
+            pending.addLast(ByteBuffer.wrap((wrapped + "\n").getBytes(StandardCharsets.UTF_8)));
+            messagesSent++;
+            flush();
+        }
+
+        /**
+         * Writes as much pending data as the socket takes.
+         * @throws IOException if the write fails
+         */
+        void flush() throws IOException {
+            while (!pending.isEmpty()) {
+                ByteBuffer buffer = pending.peekFirst();
+                channel.write(buffer);
+                if (buffer.hasRemaining()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                    return;
+                }
+                pending.pollFirst();
+            }
+            if (key.isValid()) {
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        /**
+         * Handles a connection that failed or closed.
+         * A server such as HeadlessServer stops listening for a moment while it
+         * hosts its next game, so a reconnect that is refused or dropped before
+         * Red accepts it is tried again shortly. Anything else fails the client.
+         *
+         * @param reason Why the connection was lost
+         */
+        void lostConnection(String reason) {
+            if (done) {
+                return;
+            }
+            if (!joined && matchesLeft < matchesPerClient && reconnects < RECONNECT_ATTEMPTS) {
+                reconnects++;
+                closeChannel();
+                tasks.add(new Task(System.nanoTime() + RECONNECT_DELAY_NANOS, this, TASK_CONNECT));
+                return;
+            }
+            fail(reason);
+        }
+
+        /**
+         * Gives up on this client.
+         * @param reason Why it failed
+         */
+        void fail(String reason) {
+            if (done) {
+                return;
+            }
+            failures++;
+            if (failures <= 10) {
+                // Print error message (only the first few)
+                System.err.println("Client " + id + " failed: " + reason);
+            }
+            closeChannel();
+            finish();
+        }
+
+        /**
+         * Counts this client as done.
+         */
+        private void finish() {
+            if (!done) {
+                done = true;
+                clientsDone++;
+            }
+        }
+
+        /**
+         * Closes the socket.
+         */
+        private void closeChannel() {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    // Already closed
+                }
+                channel = null;
+                pending.clear();
+            }
+        }
+    }
+
+    // ========================
+    // INNER CLASS: TASK
+    // ========================
+
+    /**
+     * Task - Something a client does at a set time.
+     */
+    private static class Task implements Comparable<Task> {
+
+        /** When to run, in System.nanoTime() terms */
+        final long due;
+
+        /** The client */
+        final SimulatedBlue client;
+
+        /** TASK_CONNECT or TASK_CHOOSE */
+        final int kind;
+
+        /**
+         * Constructor for Task.
+         *
+         * @param due When to run
+         * @param client The client
+         * @param kind What to do
+         */
+        Task(long due, SimulatedBlue client, int kind) {
+            this.due = due;
+            this.client = client;
+            this.kind = kind;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            return Long.compare(due, other.due);
+        }
+    }
+
+    // ========================
+    // INNER CLASS: LATENCY RECORDER
+    // ========================
+
+    /**
+     * LatencyRecorder - Keeps every sample so exact percentiles can be printed.
+     */
+    private static class LatencyRecorder {
+
+        /** Samples in nanoseconds */
+        private long[] samples = new long[1024];
+
+        /** Number of samples */
+        private int count;
+
+        /**
+         * Adds a sample.
+         * @param nanos The latency in nanoseconds
+         */
+        void record(long nanos) {
+            if (count == samples.length) {
+                samples = Arrays.copyOf(samples, count * 2);
+            }
+            samples[count++] = nanos;
+        }
+
+        /**
+         * Gets the number of samples.
+         * @return The sample count
+         */
+        int getCount() {
+            return count;
+        }
+
+        /**
+         * Prints count, p50, p90, p99 and max.
+         * @param name The row label
+         */
+        void printRow(String name) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            System.out.println(String.format("%-34s %8d %9.2f %9.2f %9.2f %9.2f",
+                                             name, count, percentile(sorted, 0.50), percentile(sorted, 0.90),
+                                             percentile(sorted, 0.99), percentile(sorted, 1.0)));
+        }
+
+        /**
+         * Gets a percentile from sorted samples.
+         *
+         * @param sorted Samples in nanoseconds, sorted
+         * @param fraction The percentile as a fraction
+         * @return The latency in milliseconds, or 0 if there are none
+         */
+        private static double percentile(long[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    // ========================
+    // MAIN METHOD
+    // ========================
+
+    /**
+     * Runs the load test.
+     *
+     * @param args Optional clients, think time, matches, connects per second, base port and host
+     * @throws Exception if the run fails
+     */
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int think = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int matches = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+        int rate = args.length > 3 ? Integer.parseInt(args[3]) : 0;
+        int basePort = args.length > 4 ? Integer.parseInt(args[4]) : 20000;
+        String host = args.length > 5 ? args[5] : null;
+
+        // Without a host, run the servers here too
+        List<RedResponder> responders = new ArrayList<>();
+        if (host == null) {
+            long started = System.nanoTime();
+            responders = RedResponder.startMany(basePort, clients);
+            System.out.println(String.format("Started %d responders in %.2f s",
+                                             responders.size(), (System.nanoTime() - started) / 1e9));
+            host = "localhost";
+        }
+
+        new LoadGenerator(host, basePort, clients, think, matches, rate).run();
+
+        for (RedResponder responder : responders) {
+            responder.stop();
+        }
+        System.exit(0);
+    }
+}
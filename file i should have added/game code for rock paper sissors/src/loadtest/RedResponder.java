@@ -0,0 +1,283 @@
+package loadtest;
+
+import admin.AdminHttpServer;
+import controller.MessageEnvelope;
+import lib.SuperSocketMaster;
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.Player;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * RedResponder - A headless Red player on a SuperSocketMaster server, for load testing.
+ * Answers a Blue client with the same messages GameController sends, but
+ * with no countdown and no result screen delay: choosing opens as soon as
+ * the previous round is decided, so Blue's think time sets the pace.
+ *
+ * <p>Red throws at random and the rounds are decided by the GameModel, so
+ * every ROUND_RESULT and GAME_OVER is one a real Red could have sent. It
+ * does not answer CLOCK_PING or RESYNC_REQUEST.</p>
+ *
+ * <p>Usage: java loadtest.RedResponder [base port] [count]</p>
+ * <p>Starts count responders on base port, base port + 1, and so on, for a
+ * LoadGenerator running in another process. Each responder is a room on
+ * an AdminHttpServer listening on the port after the last responder.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class RedResponder implements ActionListener {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Name Red gives in JOIN_ACCEPTED */
+    public static final String RESPONDER_NAME = "Responder";
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The server socket Blue connects to */
+    private final SuperSocketMaster socketMaster;
+
+    /** The port the server listens on */
+    private final int port;
+
+    /** The match state */
+    private final GameModel model;
+
+    /** Red's throws */
+    private final Random random;
+
+    /** Sequence number of the next message sent */
+    private long nextSendSequence;
+
+    /** Matches finished */
+    private int matchesPlayed;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for RedResponder.
+     * Call start() to begin listening.
+     *
+     * @param port The port to listen on
+     * @param seed Seed for Red's throws
+     */
+    public RedResponder(int port, long seed) {
+        this.port = port;
+        this.socketMaster = new SuperSocketMaster(port, this);
+        this.model = new GameModel(Player.RED);
+        this.model.setVerbose(false);
+        this.model.setPlayerName(Player.RED, RESPONDER_NAME);
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Starts responders on consecutive ports.
+     *
+     * @param basePort The first port
+     * @param count Number of responders
+     * @return The responders that started (a port in use is skipped)
+     */
+    public static List<RedResponder> startMany(int basePort, int count) {
+        List<RedResponder> responders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            RedResponder responder = new RedResponder(basePort + i, basePort + i);
+            if (responder.start()) {
+                responders.add(responder);
+            } else {
+                // Print error message
+                System.err.println("Could not listen on port " + (basePort + i));
+            }
+        }
+        return responders;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Starts listening.
+     * @return true if the server socket opened
+     */
+    public boolean start() {
+        if (!socketMaster.connect()) {
+            return false;
+        }
+        AdminHttpServer.registerRoom("responder-" + port, model, socketMaster);
+        model.bindGameCode("responder-" + port, "localhost", port);
+        return true;
+    }
+
+    /**
+     * Stops listening and drops any client.
+     */
+    public void stop() {
+        AdminHttpServer.unregisterRoom("responder-" + port);
+        model.releaseGameCode();
+        socketMaster.disconnect();
+    }
+
+    /**
+     * Gets the port this responder listens on.
+     * @return The port
+     */
+    public int getPort() {
+        return port;
+    }
+
+    /**
+     * Gets the number of matches played to the end.
+     * @return The match count
+     */
+    public synchronized int getMatchesPlayed() {
+        return matchesPlayed;
+    }
+
+    /**
+     * Handles a message from Blue.
+     * Called on the connection's reader thread.
+     *
+     * @param e The network message event
+     */
+    @Override
+    public synchronized void actionPerformed(ActionEvent e) {
+        String message = MessageEnvelope.parse(socketMaster.readText()).getBody();
+        if (message.startsWith("JOIN_REQUEST:")) {
+            handleJoinRequest(message);
+        } else if (message.startsWith("PLAYER_CHOICE:")) {
+            handlePlayerChoice(message);
+        }
+    }
+
+    // ========================
+    // MESSAGE HANDLERS
+    // ========================
+
+    /**
+     * Starts a new match for a joining Blue.
+     *
+     * @param message The JOIN_REQUEST message
+     */
+    private void handleJoinRequest(String message) {
+        nextSendSequence = 0;
+        model.fullReset();
+        String blueName = field(message, "player_name");
+        model.setPlayerName(Player.BLUE, blueName != null ? blueName : "Blue");
+
+        send("JOIN_ACCEPTED:red_player_name=" + RESPONDER_NAME);
+        send("GAME_START:round_number=1");
+        openChoosing();
+    }
+
+    /**
+     * Decides the round once Blue has chosen, then starts the next round or ends the match.
+     *
+     * @param message The PLAYER_CHOICE message
+     */
+    private void handlePlayerChoice(String message) {
+        Choice blueChoice;
+        try {
+            blueChoice = Choice.valueOf(field(message, "choice"));
+        } catch (RuntimeException e) {
+            // Print error message
+            System.err.println("Responder " + port + " got a bad choice: " + message);
+            return;
+        }
+        if (model.isBlueChosen()) {
+            return; // A repeat
+        }
+        Choice[] choices = Choice.values();
+        model.makeChoice(Player.BLUE, blueChoice);
+        model.makeChoice(Player.RED, choices[random.nextInt(choices.length)]);
+
+        Player winner = model.getRoundWinner();
+        send("ROUND_RESULT:round_number=" + model.getCurrentRound() +
+             ",winner=" + (winner != null ? winner.name() : "Tie") +
+             ",red_choice=" + model.getRedChoice().name() +
+             ",blue_choice=" + model.getBlueChoice().name() +
+             ",red_score=" + model.getRedScore() +
+             ",blue_score=" + model.getBlueScore());
+
+        if (model.nextRound()) {
+            openChoosing();
+        } else {
+            Player gameWinner = model.getGameWinner();
+            send("GAME_OVER:final_red_score=" + model.getRedScore() +
+                 ",final_blue_score=" + model.getBlueScore() +
+                 ",winner=" + (gameWinner != null ? gameWinner.name() : "Tie"));
+            matchesPlayed++;
+        }
+    }
+
+    /**
+     * Skips the countdown and tells Blue it can choose.
+     */
+    private void openChoosing() {
+        model.startCountdown();
+        model.setCountdownValue(0);
+        send("COUNTDOWN:seconds_remaining=0,round_number=" + model.getCurrentRound());
+    }
+
+    /**
+     * Sends a message in its envelope.
+     *
+     * @param message The message body
+     */
+    private void send(String message) {
+        // Countdowns may be coalesced by the socket, so they leave the sequence number unused
+        if (message.startsWith("COUNTDOWN:")) {
+            socketMaster.sendText(MessageEnvelope.wrapReplaceable(message, nextSendSequence, model.stateHash()));
+        } else {
+            socketMaster.sendText(MessageEnvelope.wrap(message, nextSendSequence++, model.stateHash()));
+        }
+    }
+
+    /**
+     * Reads one key=value field from a message.
+     *
+     * @param message The message body
+     * @param key The field name
+     * @return The value, or null if missing
+     */
+    static String field(String message, String key) {
+        int colon = message.indexOf(':');
+        for (String part : message.substring(colon + 1).split(",")) {
+            int equals = part.indexOf('=');
+            if (equals > 0 && part.substring(0, equals).equals(key)) {
+                return part.substring(equals + 1);
+            }
+        }
+        return null;
+    }
+
+    // ========================
+    // MAIN METHOD
+    // ========================
+
+    /**
+     * Starts responders and runs until the process is stopped.
+     *
+     * @param args Optional base port (default 20000) and count (default 1000)
+     */
+    public static void main(String[] args) {
+        int basePort = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        List<RedResponder> responders = startMany(basePort, count);
+        System.out.println("Started " + responders.size() + " responders on ports " + basePort +
+                           " to " + (basePort + count - 1));
+        AdminHttpServer.start(basePort + count);
+    }
+}
@@ -0,0 +1,58 @@
+package matchmaking;
+
+/**
+ * EloRating - Elo rating calculations for match results.
+ * A player's rating rises when they beat someone and falls when they lose,
+ * by more when the result was unexpected.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class EloRating {
+
+    /** Rating given to a new player */
+    public static final int DEFAULT_RATING = 1500;
+
+    /** Largest rating change from a single match */
+    public static final int K_FACTOR = 32;
+
+    /** Score for a win */
+    public static final double WIN = 1.0;
+
+    /** Score for a draw */
+    public static final double DRAW = 0.5;
+
+    /** Score for a loss */
+    public static final double LOSS = 0.0;
+
+    /**
+     * Private constructor - this class only has static methods.
+     */
+    private EloRating() {
+    }
+
+    /**
+     * Calculates the expected score of a player against an opponent.
+     *
+     * @param rating The player's rating
+     * @param opponentRating The opponent's rating
+     * @return The expected score from 0 (certain loss) to 1 (certain win)
+     */
+    public static double expectedScore(int rating, int opponentRating) {
+        return 1.0 / (1.0 + Math.pow(10.0, (opponentRating - rating) / 400.0));
+    }
+
+    /**
+     * Calculates a player's new rating after a match.
+     *
+     * @param rating The player's rating before the match
+     * @param opponentRating The opponent's rating before the match
+     * @param score WIN, DRAW or LOSS from the player's point of view
+     * @return The player's new rating
+     */
+    public static int updatedRating(int rating, int opponentRating, double score) {
+        double expected = expectedScore(rating, opponentRating);
+        return (int) Math.round(rating + K_FACTOR * (score - expected));
+    }
+}
@@ -0,0 +1,19 @@
+package matchmaking;
+
+/**
+ * MatchListener - Receives the pairs made by the MatchmakingService.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface MatchListener {
+
+    /**
+     * Called when two waiting players have been paired.
+     * Runs on the matchmaking thread or on the thread that enqueued the player.
+     *
+     * @param pair The paired players
+     */
+    void matchFound(MatchPair pair);
+}
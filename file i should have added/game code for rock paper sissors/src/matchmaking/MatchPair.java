@@ -0,0 +1,66 @@
+package matchmaking;
+
+/**
+ * MatchPair - Two queued players that the matchmaker has paired.
+ * The older ticket (the one that has waited longer) is listed first.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class MatchPair {
+
+    /** The ticket that has waited longer */
+    private final QueueTicket first;
+
+    /** The other ticket */
+    private final QueueTicket second;
+
+    /** Time the pair was made (from System.nanoTime) */
+    private final long pairedNanos;
+
+    /**
+     * Constructor for MatchPair.
+     *
+     * @param first The ticket that has waited longer
+     * @param second The other ticket
+     * @param pairedNanos Time the pair was made
+     */
+    MatchPair(QueueTicket first, QueueTicket second, long pairedNanos) {
+        this.first = first;
+        this.second = second;
+        this.pairedNanos = pairedNanos;
+    }
+
+    /**
+     * Gets the ticket that waited longer.
+     * @return The first ticket
+     */
+    public QueueTicket getFirst() {
+        return this.first;
+    }
+
+    /**
+     * Gets the other ticket.
+     * @return The second ticket
+     */
+    public QueueTicket getSecond() {
+        return this.second;
+    }
+
+    /**
+     * Gets the rating gap between the two players.
+     * @return The absolute rating difference
+     */
+    public int getRatingGap() {
+        return Math.abs(first.getRating() - second.getRating());
+    }
+
+    /**
+     * Gets how long the first player waited.
+     * @return The wait time in nanoseconds
+     */
+    public long getLongestWaitNanos() {
+        return pairedNanos - first.getEnqueueNanos();
+    }
+}
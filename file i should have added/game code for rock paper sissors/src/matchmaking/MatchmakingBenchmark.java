@@ -0,0 +1,121 @@
+package matchmaking;
+
+import metrics.LatencyPercentiles;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * MatchmakingBenchmark - Measures matchmaking queue latency with a large waiting pool.
+ * The pool is given ratings four points apart with a starting tolerance of one,
+ * so it does not pair itself while filling. Each phase then times one kind of
+ * operation against the full pool and prints its percentiles.
+ *
+ * <p>Usage: java matchmaking.MatchmakingBenchmark [waiting] [operations]</p>
+ * <ul>
+ *   <li>waiting: number of players in the queue (default 50000)</li>
+ *   <li>operations: number of timed operations per phase (default 10000)</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MatchmakingBenchmark {
+
+    /** Gap between the ratings of the waiting pool */
+    private static final int RATING_SPACING = 4;
+
+    /** Simulated time between tolerance steps (in nanoseconds) */
+    private static final long STEP_NANOS = 1_000_000_000L;
+
+    /**
+     * Runs the benchmark.
+     * @param args Optional waiting pool size and operation count
+     */
+    public static void main(String[] args) {
+        int waiting = args.length > 0 ? Integer.parseInt(args[0]) : 50000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 10000;
+        operations = Math.min(operations, waiting / 2);
+
+        // Warm up the JIT with a smaller run first
+        runOnce(waiting / 10, operations / 10, false);
+        runOnce(waiting, operations, true);
+    }
+
+    /**
+     * Runs every benchmark phase once.
+     *
+     * @param waiting Number of players in the pool
+     * @param operations Number of timed operations per phase
+     * @param report Flag indicating if the results should be printed
+     */
+    private static void runOnce(int waiting, int operations, boolean report) {
+        // Tolerance starts at 1 and grows to RATING_SPACING after one step
+        MatchmakingQueue queue = new MatchmakingQueue(1, RATING_SPACING, STEP_NANOS, RATING_SPACING);
+        Random random = new Random(42);
+        long clock = 0;
+
+        // Shuffle the pool ratings so the tree sees them in random order
+        int[] ratings = new int[waiting];
+        for (int i = 0; i < waiting; i++) {
+            ratings[i] = i * RATING_SPACING;
+        }
+        for (int i = waiting - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = ratings[i];
+            ratings[i] = ratings[j];
+            ratings[j] = swap;
+        }
+
+        // Phase 1: fill the pool, timing each enqueue
+        long[] enqueueTimes = new long[waiting];
+        for (int i = 0; i < waiting; i++) {
+            long start = System.nanoTime();
+            queue.enqueue("pool" + i, ratings[i], clock);
+            enqueueTimes[i] = System.nanoTime() - start;
+        }
+
+        // Phase 2: newcomers one point above a waiting player pair immediately
+        long[] pairTimes = new long[operations];
+        int paired = 0;
+        for (int i = 0; i < operations; i++) {
+            int rating = ratings[i] + 1;
+            long start = System.nanoTime();
+            MatchPair pair = queue.enqueue("new" + i, rating, clock);
+            pairTimes[i] = System.nanoTime() - start;
+            if (pair != null) {
+                paired++;
+            }
+        }
+
+        // Phase 3: cancel waiting players
+        long[] cancelTimes = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            String id = "pool" + (operations + i);
+            long start = System.nanoTime();
+            queue.cancel(id, clock);
+            cancelTimes[i] = System.nanoTime() - start;
+        }
+
+        // Phase 4: one tolerance step later the rest of the pool pairs in a single poll
+        int beforePoll = queue.size();
+        clock += STEP_NANOS;
+        long pollStart = System.nanoTime();
+        List<MatchPair> pairs = queue.poll(clock);
+        long pollNanos = System.nanoTime() - pollStart;
+
+        if (!report) {
+            return;
+        }
+        System.out.println("Matchmaking queue with " + waiting + " waiting players");
+        LatencyPercentiles.print("enqueue (no match)", enqueueTimes);
+        LatencyPercentiles.print("enqueue (matched)", pairTimes);
+        LatencyPercentiles.print("cancel", cancelTimes);
+        System.out.println("Immediate pairs: " + paired + " of " + operations);
+        System.out.println("Poll after widening: " + pairs.size() + " pairs from " + beforePoll
+                           + " waiting in " + pollNanos / 1_000_000 + " ms ("
+                           + (pairs.isEmpty() ? 0 : pollNanos / pairs.size()) + " ns per pair)");
+        System.out.println("Left waiting: " + queue.size());
+    }
+}
@@ -0,0 +1,398 @@
+package matchmaking;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * MatchmakingQueue - Pairs waiting players whose ratings are close together.
+ * A new player is only paired with someone within a small rating tolerance.
+ * The tolerance widens in steps the longer a player waits, so nobody waits
+ * forever just because there is no one near their rating.
+ *
+ * <p>Three structures keep every operation O(log n) even with tens of
+ * thousands of waiting players:</p>
+ * <ul>
+ *   <li>A search tree ordered by (rating, sequence) - only the tickets just
+ *       below and just above can be an opponent (see below)</li>
+ *   <li>A map from player id to ticket - for cancelling a ticket</li>
+ *   <li>A priority queue ordered by the next time a ticket's tolerance widens -
+ *       a poll only looks at tickets whose tolerance actually changed, instead
+ *       of scanning the whole queue</li>
+ * </ul>
+ *
+ * <p>A pair is allowed when the gap is within either player's tolerance.
+ * The queue keeps one rule: no two neighbouring waiting tickets would accept
+ * each other. A ticket further away that accepts a newcomer would then also
+ * accept every ticket in between, including its own neighbour, which the
+ * rule forbids - so a newcomer only has to try its two neighbours. The rule
+ * is kept by trying both neighbours whenever a ticket joins or its tolerance
+ * widens, and by trying the two tickets that become neighbours whenever one
+ * leaves the tree. Pairs made that way are handed out by the next poll().</p>
+ *
+ * <p>Removed and paired tickets are marked inactive and left in the priority
+ * queue; they are thrown away when they reach the front. All public methods
+ * are synchronized so the queue can be shared by network and timer threads.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MatchmakingQueue {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Default rating tolerance for a player that has just joined */
+    public static final int DEFAULT_BASE_TOLERANCE = 50;
+
+    /** Default amount the tolerance grows at each step */
+    public static final int DEFAULT_TOLERANCE_STEP = 50;
+
+    /** Default time between tolerance steps (in nanoseconds) */
+    public static final long DEFAULT_STEP_NANOS = 5_000_000_000L;
+
+    /** Default largest tolerance a player can reach */
+    public static final int DEFAULT_MAX_TOLERANCE = 400;
+
+    /** Orders tickets by rating, then by sequence so equal ratings stay unique */
+    private static final Comparator<QueueTicket> BY_RATING = new Comparator<QueueTicket>() {
+        @Override
+        public int compare(QueueTicket a, QueueTicket b) {
+            if (a.getRating() != b.getRating()) {
+                return Integer.compare(a.getRating(), b.getRating());
+            }
+            return Long.compare(a.getSequence(), b.getSequence());
+        }
+    };
+
+    /** Orders tickets by the next time their tolerance widens */
+    private static final Comparator<QueueTicket> BY_NEXT_CHECK = new Comparator<QueueTicket>() {
+        @Override
+        public int compare(QueueTicket a, QueueTicket b) {
+            if (a.nextCheckNanos != b.nextCheckNanos) {
+                return Long.compare(a.nextCheckNanos, b.nextCheckNanos);
+            }
+            return Long.compare(a.getSequence(), b.getSequence());
+        }
+    };
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Waiting tickets ordered by rating */
+    private final TreeSet<QueueTicket> byRating = new TreeSet<>(BY_RATING);
+
+    /** Waiting tickets keyed by player id */
+    private final Map<String, QueueTicket> byPlayer = new HashMap<>();
+
+    /** Tickets ordered by their next widening time (may hold inactive tickets) */
+    private final PriorityQueue<QueueTicket> checkSchedule = new PriorityQueue<>(BY_NEXT_CHECK);
+
+    /** Tolerance for a player that has just joined */
+    private final int baseTolerance;
+
+    /** Amount the tolerance grows at each step */
+    private final int toleranceStep;
+
+    /** Time between tolerance steps in nanoseconds */
+    private final long stepNanos;
+
+    /** Largest tolerance a player can reach */
+    private final int maxTolerance;
+
+    /** Next sequence number to hand out */
+    private long nextSequence;
+
+    /** Pairs made when tickets became neighbours, handed out by the next poll() */
+    private final List<MatchPair> pendingPairs = new ArrayList<>();
+
+    // ========================
+    // CONSTRUCTORS
+    // ========================
+
+    /**
+     * Constructor for MatchmakingQueue using the default tolerances.
+     */
+    public MatchmakingQueue() {
+        this(DEFAULT_BASE_TOLERANCE, DEFAULT_TOLERANCE_STEP, DEFAULT_STEP_NANOS, DEFAULT_MAX_TOLERANCE);
+    }
+
+    /**
+     * Constructor for MatchmakingQueue.
+     *
+     * @param baseTolerance Rating tolerance for a player that has just joined
+     * @param toleranceStep Amount the tolerance grows at each step
+     * @param stepNanos Time between tolerance steps in nanoseconds
+     * @param maxTolerance Largest tolerance a player can reach
+     */
+    public MatchmakingQueue(int baseTolerance, int toleranceStep, long stepNanos, int maxTolerance) {
+        if (baseTolerance < 0 || toleranceStep < 0 || stepNanos <= 0 || maxTolerance < baseTolerance) {
+            throw new IllegalArgumentException("Invalid matchmaking tolerances");
+        }
+        this.baseTolerance = baseTolerance;
+        this.toleranceStep = toleranceStep;
+        this.stepNanos = stepNanos;
+        this.maxTolerance = maxTolerance;
+    }
+
+    // ========================
+    // QUEUE METHODS
+    // ========================
+
+    /**
+     * Adds a player to the queue and tries to pair it straight away.
+     * If the player is already waiting, nothing changes and null is returned.
+     *
+     * @param playerId Id of the player
+     * @param rating Rating of the player
+     * @param nowNanos The current time (from System.nanoTime)
+     * @return The pair if the player was matched immediately, null if it is waiting
+     */
+    public synchronized MatchPair enqueue(String playerId, int rating, long nowNanos) {
+        if (byPlayer.containsKey(playerId)) {
+            return null;
+        }
+
+        QueueTicket ticket = new QueueTicket(playerId, rating, nowNanos, nextSequence++);
+
+        // Look for an opponent before adding the ticket to the tree
+        MatchPair pair = tryPair(ticket, nowNanos);
+        if (pair != null) {
+            return pair;
+        }
+
+        // No opponent yet - wait in the queue
+        byRating.add(ticket);
+        byPlayer.put(playerId, ticket);
+        schedule(ticket);
+        return null;
+    }
+
+    /**
+     * Removes a waiting player from the queue.
+     *
+     * @param playerId Id of the player
+     * @param nowNanos The current time (from System.nanoTime)
+     * @return true if the player was waiting and has been removed
+     */
+    public synchronized boolean cancel(String playerId, long nowNanos) {
+        QueueTicket ticket = byPlayer.remove(playerId);
+        if (ticket == null) {
+            return false;
+        }
+        byRating.remove(ticket);
+        // Left in the check schedule and dropped when it reaches the front
+        ticket.active = false;
+
+        // Its two neighbours are now next to each other
+        pairNeighbours(ticket, nowNanos);
+        return true;
+    }
+
+    /**
+     * Pairs players whose tolerance has widened since the last poll.
+     * Only tickets due for a tolerance step are looked at. Also hands out
+     * the pairs made since the last poll when a ticket left the queue.
+     *
+     * @param nowNanos The current time (from System.nanoTime)
+     * @return The pairs made (empty if none)
+     */
+    public synchronized List<MatchPair> poll(long nowNanos) {
+        List<MatchPair> pairs = new ArrayList<>(pendingPairs);
+        pendingPairs.clear();
+
+        while (!checkSchedule.isEmpty() && checkSchedule.peek().nextCheckNanos <= nowNanos) {
+            QueueTicket ticket = checkSchedule.poll();
+            if (!ticket.active) {
+                continue;
+            }
+
+            // Take the ticket out of the tree so it cannot match itself
+            byRating.remove(ticket);
+            byPlayer.remove(ticket.getPlayerId());
+
+            MatchPair pair = tryPair(ticket, nowNanos);
+            if (pair != null) {
+                pairs.add(pair);
+                pairs.addAll(pendingPairs);
+                pendingPairs.clear();
+            } else {
+                // Still waiting - put it back and look again at the next step
+                byRating.add(ticket);
+                byPlayer.put(ticket.getPlayerId(), ticket);
+                schedule(ticket);
+            }
+        }
+        return pairs;
+    }
+
+    // ========================
+    // PAIRING HELPERS
+    // ========================
+
+    /**
+     * Finds a waiting opponent for a ticket that is not in the tree.
+     * Only the neighbours just below and just above can accept it (see the
+     * class comment). The closer one is tried first; the other still gets a
+     * chance, since a player who has waited a long time can accept a
+     * newcomer that the closer neighbour cannot.
+     *
+     * @param ticket The ticket looking for an opponent (not in the tree)
+     * @param nowNanos The current time
+     * @return The pair, or null if no opponent is close enough
+     */
+    private MatchPair tryPair(QueueTicket ticket, long nowNanos) {
+        QueueTicket below = byRating.floor(ticket);
+        QueueTicket above = byRating.ceiling(ticket);
+
+        // Try the closer of the two neighbours first
+        QueueTicket first = below;
+        QueueTicket second = above;
+        if (below == null || (above != null && gap(ticket, above) < gap(ticket, below))) {
+            first = above;
+            second = below;
+        }
+        QueueTicket best = null;
+        if (first != null && accepts(ticket, first, nowNanos)) {
+            best = first;
+        } else if (second != null && accepts(ticket, second, nowNanos)) {
+            best = second;
+        }
+        if (best == null) {
+            return null;
+        }
+
+        // Remove the opponent from the queue; its neighbours now meet
+        byRating.remove(best);
+        byPlayer.remove(best.getPlayerId());
+        best.active = false;
+        ticket.active = false;
+        pairNeighbours(best, nowNanos);
+        return pairOf(ticket, best, nowNanos);
+    }
+
+    /**
+     * Pairs the tickets either side of one that has just left the tree, if
+     * they accept each other, and keeps going outwards while the new
+     * neighbours do too. The pairs wait in pendingPairs for the next poll().
+     *
+     * @param removed The ticket that left the tree
+     * @param nowNanos The current time
+     */
+    private void pairNeighbours(QueueTicket removed, long nowNanos) {
+        QueueTicket lower = byRating.lower(removed);
+        QueueTicket higher = byRating.higher(removed);
+        while (lower != null && higher != null && accepts(lower, higher, nowNanos)) {
+            QueueTicket nextLower = byRating.lower(lower);
+            QueueTicket nextHigher = byRating.higher(higher);
+            for (QueueTicket paired : new QueueTicket[] {lower, higher}) {
+                byRating.remove(paired);
+                byPlayer.remove(paired.getPlayerId());
+                paired.active = false;
+            }
+            pendingPairs.add(pairOf(lower, higher, nowNanos));
+            lower = nextLower;
+            higher = nextHigher;
+        }
+    }
+
+    /**
+     * Checks whether two tickets may be paired.
+     *
+     * @param a The first ticket
+     * @param b The second ticket
+     * @param nowNanos The current time
+     * @return true if the gap is within either ticket's tolerance
+     */
+    private boolean accepts(QueueTicket a, QueueTicket b, long nowNanos) {
+        return gap(a, b) <= Math.max(toleranceFor(a, nowNanos), toleranceFor(b, nowNanos));
+    }
+
+    /**
+     * Builds a pair, listing the older ticket first.
+     *
+     * @param a One ticket
+     * @param b The other ticket
+     * @param nowNanos The current time
+     * @return The pair
+     */
+    private static MatchPair pairOf(QueueTicket a, QueueTicket b, long nowNanos) {
+        if (b.getSequence() < a.getSequence()) {
+            return new MatchPair(b, a, nowNanos);
+        }
+        return new MatchPair(a, b, nowNanos);
+    }
+
+    /**
+     * Puts a ticket in the check schedule for its next tolerance step.
+     * Tickets already at the maximum tolerance are not scheduled again; they
+     * can still be paired by newcomers or by other tickets widening.
+     *
+     * @param ticket The ticket to schedule
+     */
+    private void schedule(QueueTicket ticket) {
+        if (toleranceStep == 0) {
+            return;
+        }
+        long steps = (ticket.nextCheckNanos == 0)
+                     ? 1
+                     : (ticket.nextCheckNanos - ticket.getEnqueueNanos()) / stepNanos + 1;
+        if (baseTolerance + (steps - 1) * (long) toleranceStep >= maxTolerance) {
+            return;
+        }
+        ticket.nextCheckNanos = ticket.getEnqueueNanos() + steps * stepNanos;
+        checkSchedule.add(ticket);
+    }
+
+    /**
+     * Calculates a ticket's current rating tolerance.
+     *
+     * @param ticket The ticket
+     * @param nowNanos The current time
+     * @return The tolerance, growing by one step per interval waited up to the maximum
+     */
+    public int toleranceFor(QueueTicket ticket, long nowNanos) {
+        long steps = Math.max(0, nowNanos - ticket.getEnqueueNanos()) / stepNanos;
+        return (int) Math.min(maxTolerance, baseTolerance + steps * toleranceStep);
+    }
+
+    /**
+     * Calculates the rating gap between two tickets.
+     *
+     * @param a The first ticket
+     * @param b The second ticket
+     * @return The absolute rating difference
+     */
+    private static int gap(QueueTicket a, QueueTicket b) {
+        return Math.abs(a.getRating() - b.getRating());
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the number of waiting players.
+     * @return The queue size
+     */
+    public synchronized int size() {
+        return byPlayer.size();
+    }
+
+    /**
+     * Checks if a player is waiting.
+     *
+     * @param playerId Id of the player
+     * @return true if the player is in the queue
+     */
+    public synchronized boolean contains(String playerId) {
+        return byPlayer.containsKey(playerId);
+    }
+}
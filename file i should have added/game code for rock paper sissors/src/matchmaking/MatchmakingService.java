@@ -0,0 +1,191 @@
+package matchmaking;
+
+import ratings.PlayerRating;
+import ratings.RatingLedger;
+
+import java.util.List;
+
+/**
+ * MatchmakingService - Runs the matchmaking queue with the players' saved ratings.
+ * Players are enqueued with their current Elo rating, a background thread
+ * polls the queue so tolerances widen while players wait, and every pair is
+ * handed to the MatchListener. Ratings live in the RatingLedger, the same
+ * saved ratings the game records, so finished matches are kept across
+ * restarts and matchmaking and the leaderboard never disagree.
+ *
+ * <p>Nothing in the game enqueues players yet. Games are peer to peer - Red
+ * hosts and Blue joins by code or from the LAN list - so there is no shared
+ * place for strangers to queue. This service is the pairing half of a lobby
+ * server; a program that runs one calls enqueue() for each player that asks
+ * for a match and starts a game for every pair the listener receives.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MatchmakingService {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** How often the background thread polls the queue (in milliseconds) */
+    private static final int POLL_INTERVAL = 250;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The queue of waiting players */
+    private final MatchmakingQueue queue;
+
+    /** Receives every pair made */
+    private final MatchListener listener;
+
+    /** Where ratings are read and results recorded (the same ledger as the game) */
+    private final RatingLedger ledger;
+
+    /** The background polling thread (null until started) */
+    private Thread pollThread;
+
+    /** Flag indicating if the polling thread should keep running */
+    private volatile boolean running;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for MatchmakingService using the game's shared rating ledger.
+     *
+     * @param queue The queue of waiting players
+     * @param listener Receives every pair made
+     */
+    public MatchmakingService(MatchmakingQueue queue, MatchListener listener) {
+        this(queue, listener, RatingLedger.getShared());
+    }
+
+    /**
+     * Constructor for MatchmakingService.
+     *
+     * @param queue The queue of waiting players
+     * @param listener Receives every pair made
+     * @param ledger Where ratings are read and results recorded
+     */
+    public MatchmakingService(MatchmakingQueue queue, MatchListener listener, RatingLedger ledger) {
+        this.queue = queue;
+        this.listener = listener;
+        this.ledger = ledger;
+    }
+
+    // ========================
+    // LIFECYCLE METHODS
+    // ========================
+
+    /**
+     * Starts the background polling thread.
+     * Calling this more than once has no effect.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+
+        pollThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (running) {
+                    List<MatchPair> pairs = queue.poll(System.nanoTime());
+                    for (MatchPair pair : pairs) {
+                        listener.matchFound(pair);
+                    }
+                    try {
+                        Thread.sleep(POLL_INTERVAL);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "Matchmaking-Poll");
+        pollThread.setDaemon(true);
+        pollThread.start();
+        System.out.println("Matchmaking service started");
+    }
+
+    /**
+     * Stops the background polling thread.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (pollThread != null) {
+            pollThread.interrupt();
+            pollThread = null;
+        }
+    }
+
+    // ========================
+    // PLAYER METHODS
+    // ========================
+
+    /**
+     * Puts a player in the queue with its current rating.
+     * If an opponent is already close enough the listener is called straight away.
+     *
+     * @param playerId Id of the player
+     * @return true if the player was paired immediately
+     */
+    public boolean enqueue(String playerId) {
+        MatchPair pair = queue.enqueue(playerId, getRating(playerId), System.nanoTime());
+        if (pair != null) {
+            listener.matchFound(pair);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Takes a player out of the queue.
+     *
+     * @param playerId Id of the player
+     * @return true if the player was waiting
+     */
+    public boolean cancel(String playerId) {
+        return queue.cancel(playerId, System.nanoTime());
+    }
+
+    /**
+     * Records a finished match and updates both players' ratings in the ledger,
+     * so the next queue entry and the leaderboard see the same numbers.
+     *
+     * @param firstId Id of the first player
+     * @param secondId Id of the second player
+     * @param firstScore EloRating.WIN, DRAW or LOSS from the first player's point of view
+     */
+    public void recordResult(String firstId, String secondId, double firstScore) {
+        ledger.recordGame(firstId, secondId, firstScore);
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets a player's rating.
+     *
+     * @param playerId Id of the player (the player name the ledger uses)
+     * @return The rating, or EloRating.DEFAULT_RATING for a new player
+     */
+    public int getRating(String playerId) {
+        PlayerRating rating = ledger.get(playerId);
+        return (rating == null) ? EloRating.DEFAULT_RATING : rating.getRating();
+    }
+
+    /**
+     * Gets the queue of waiting players.
+     * @return The matchmaking queue
+     */
+    public MatchmakingQueue getQueue() {
+        return this.queue;
+    }
+}
@@ -0,0 +1,79 @@
+package matchmaking;
+
+/**
+ * QueueTicket - A player waiting in the matchmaking queue.
+ * Tickets are ordered by rating in the queue's search tree and by their next
+ * widening time in its check schedule; the sequence number keeps both orders
+ * unique when two players have the same rating or enqueue time.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class QueueTicket {
+
+    /** Id of the waiting player */
+    private final String playerId;
+
+    /** Rating of the player when it enqueued */
+    private final int rating;
+
+    /** Time the player enqueued (from System.nanoTime) */
+    private final long enqueueNanos;
+
+    /** Unique, increasing number used to break ties */
+    private final long sequence;
+
+    /** Next time the ticket's tolerance widens and it should look again */
+    long nextCheckNanos;
+
+    /** Flag indicating if the ticket is still waiting (false once paired or removed) */
+    boolean active = true;
+
+    /**
+     * Constructor for QueueTicket.
+     *
+     * @param playerId Id of the waiting player
+     * @param rating Rating of the player
+     * @param enqueueNanos Time the player enqueued
+     * @param sequence Unique, increasing tie-break number
+     */
+    QueueTicket(String playerId, int rating, long enqueueNanos, long sequence) {
+        this.playerId = playerId;
+        this.rating = rating;
+        this.enqueueNanos = enqueueNanos;
+        this.sequence = sequence;
+    }
+
+    /**
+     * Gets the player id.
+     * @return The id of the waiting player
+     */
+    public String getPlayerId() {
+        return this.playerId;
+    }
+
+    /**
+     * Gets the rating.
+     * @return The rating used for pairing
+     */
+    public int getRating() {
+        return this.rating;
+    }
+
+    /**
+     * Gets the enqueue time.
+     * @return The time the player enqueued (from System.nanoTime)
+     */
+    public long getEnqueueNanos() {
+        return this.enqueueNanos;
+    }
+
+    /**
+     * Gets the sequence number.
+     * @return The unique tie-break number
+     */
+    public long getSequence() {
+        return this.sequence;
+    }
+}
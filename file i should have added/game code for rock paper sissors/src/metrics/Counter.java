@@ -0,0 +1,40 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter - A thread-safe count that only goes up.
+ * Incrementing is lock-free and never allocates.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class Counter {
+
+    /** The current count */
+    private final AtomicLong value = new AtomicLong();
+
+    /**
+     * Adds one.
+     */
+    public void increment() {
+        value.incrementAndGet();
+    }
+
+    /**
+     * Adds an amount.
+     * @param amount The amount to add
+     */
+    public void add(long amount) {
+        value.addAndGet(amount);
+    }
+
+    /**
+     * Gets the current count.
+     * @return The count
+     */
+    public long get() {
+        return value.get();
+    }
+}
@@ -0,0 +1,170 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram - A thread-safe latency histogram with log-linear buckets, in the style of HdrHistogram.
+ * Values are bucketed by their power of two, and each power of two is split
+ * into SUB_BUCKETS equal steps, so every bucket is within about 3% of the
+ * values it holds whether they are microseconds or minutes.
+ *
+ * <p>Recording is lock-free and never allocates: it is one array increment
+ * and a few atomic updates, so it is safe on socket threads, timers and the
+ * Event Dispatch Thread at once. Reading while others record gives a
+ * snapshot that may be missing the last few values, which is fine for
+ * reporting.</p>
+ *
+ * <p>Values are recorded in nanoseconds and reported in microseconds. This is
+ * the only histogram in the game: RenderStats keeps its paint, frame and
+ * Event Dispatch Thread timings in these too.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class Histogram {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Bits of each value kept exactly (values below 2^SUB_BITS get a bucket each) */
+    private static final int SUB_BITS = 6;
+
+    /** Number of values with exact buckets */
+    private static final int EXACT = 1 << SUB_BITS;
+
+    /** Steps each power of two above EXACT is split into */
+    private static final int SUB_BUCKETS = EXACT / 2;
+
+    /** Enough buckets for any positive long */
+    private static final int BUCKET_COUNT = EXACT + (64 - SUB_BITS) * SUB_BUCKETS;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Count of values in each bucket */
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    /** Total number of recorded values */
+    private final AtomicLong count = new AtomicLong();
+
+    /** Sum of all recorded values in nanoseconds */
+    private final AtomicLong sumNanos = new AtomicLong();
+
+    /** Largest recorded value in nanoseconds */
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    // ========================
+    // RECORDING
+    // ========================
+
+    /**
+     * Records one value. Negative values are recorded as zero.
+     * @param nanos The value in nanoseconds
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.incrementAndGet();
+        sumNanos.addAndGet(value);
+
+        // Raise the maximum unless another thread already went higher
+        long max = maxNanos.get();
+        while (value > max && !maxNanos.compareAndSet(max, value)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * Finds the bucket for a value.
+     * @param value The value (not negative)
+     * @return The bucket index
+     */
+    static int bucketIndex(long value) {
+        if (value < EXACT) {
+            return (int) value;
+        }
+        // Keep the top SUB_BITS bits: top is between SUB_BUCKETS and EXACT - 1
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        int shift = magnitude - (SUB_BITS - 1);
+        int top = (int) (value >>> shift);
+        return EXACT + (shift - 1) * SUB_BUCKETS + (top - SUB_BUCKETS);
+    }
+
+    /**
+     * Gets the largest value a bucket holds.
+     * @param index The bucket index
+     * @return The bucket's upper bound
+     */
+    static long bucketUpperBound(int index) {
+        if (index < EXACT) {
+            return index;
+        }
+        int shift = (index - EXACT) / SUB_BUCKETS + 1;
+        long top = (index - EXACT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the number of recorded values.
+     * @return The count
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Gets the mean of all recorded values.
+     * @return The mean in microseconds (0 if empty)
+     */
+    public long getMeanMicros() {
+        long n = count.get();
+        return n == 0 ? 0 : sumNanos.get() / n / 1000;
+    }
+
+    /**
+     * Gets the sum of all recorded values.
+     * @return The sum in microseconds
+     */
+    public long getSumMicros() {
+        return sumNanos.get() / 1000;
+    }
+
+    /**
+     * Gets the largest recorded value.
+     * @return The maximum in microseconds
+     */
+    public long getMaxMicros() {
+        return maxNanos.get() / 1000;
+    }
+
+    /**
+     * Gets an approximate percentile.
+     * @param percentile The percentile to find (0-100)
+     * @return The upper bound of the bucket holding the percentile, in microseconds
+     */
+    public long getPercentileMicros(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        // Rank of the value we are looking for
+        long rank = Math.max(1, (long) Math.ceil(n * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                // Never report more than the true maximum
+                return Math.min(bucketUpperBound(i), maxNanos.get()) / 1000;
+            }
+        }
+        return getMaxMicros();
+    }
+}
@@ -0,0 +1,51 @@
+package metrics;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * LatencyPercentiles - Prints percentiles of a benchmark's timed operations.
+ * Benchmarks keep every sample in an array and print exact nanosecond
+ * percentiles at the end; Histogram's microsecond buckets are too coarse
+ * for operations that take tens of nanoseconds.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class LatencyPercentiles {
+
+    /**
+     * No instances - static helpers only.
+     */
+    private LatencyPercentiles() {
+    }
+
+    /**
+     * Prints one line with the p50, p99, p99.9 and maximum of a set of latencies.
+     *
+     * @param name The label for the line
+     * @param nanos The latencies in nanoseconds (sorted in place)
+     */
+    public static void print(String name, long[] nanos) {
+        Arrays.sort(nanos);
+        System.out.println(String.format(Locale.ROOT, "%-20s p50 %7d ns  p99 %8d ns  p99.9 %8d ns  max %9d ns",
+                                         name,
+                                         percentile(nanos, 50),
+                                         percentile(nanos, 99),
+                                         percentile(nanos, 99.9),
+                                         nanos[nanos.length - 1]));
+    }
+
+    /**
+     * Finds a percentile in sorted values.
+     *
+     * @param sorted The values in ascending order
+     * @param percentile The percentile to find (0-100)
+     * @return The value at that percentile
+     */
+    public static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(sorted.length * percentile / 100.0) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+}
@@ -0,0 +1,129 @@
+package metrics;
+
+import java.io.IOException;
+
+/**
+ * MetricsExporter - Writes a registry snapshot to a file at a fixed interval.
+ * Runs on its own daemon thread, so a slow disk never holds up the game.
+ * One last snapshot is written when the exporter is stopped.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MetricsExporter implements Runnable {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Default time between snapshots (in milliseconds) */
+    public static final int DEFAULT_INTERVAL = 10000;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The registry to export */
+    private final MetricsRegistry registry;
+
+    /** The file to write */
+    private final String path;
+
+    /** Time between snapshots (in milliseconds) */
+    private final int interval;
+
+    /** The exporter thread */
+    private Thread thread;
+
+    /** Flag indicating the exporter should stop */
+    private volatile boolean stopped;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for MetricsExporter.
+     *
+     * @param registry The registry to export
+     * @param path The file to write
+     * @param interval Time between snapshots (in milliseconds)
+     */
+    public MetricsExporter(MetricsRegistry registry, String path, int interval) {
+        this.registry = registry;
+        this.path = path;
+        this.interval = interval;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Starts exporting the default registry to data/metrics.csv every ten seconds.
+     * @return The running exporter
+     */
+    public static MetricsExporter startDefault() {
+        MetricsExporter exporter = new MetricsExporter(MetricsRegistry.getDefault(),
+                                                       MetricsRegistry.SNAPSHOT_FILE, DEFAULT_INTERVAL);
+        exporter.start();
+        return exporter;
+    }
+
+    /**
+     * Starts the exporter thread.
+     */
+    public synchronized void start() {
+        if (thread != null) {
+            return;
+        }
+        thread = new Thread(this, "MetricsExporter");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("Writing metrics to " + path + " every " + interval / 1000 + " s");
+    }
+
+    /**
+     * Stops the exporter after writing one last snapshot.
+     */
+    public void stop() {
+        stopped = true;
+        Thread running = thread;
+        if (running != null) {
+            running.interrupt();
+            try {
+                running.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot every interval until stopped.
+     */
+    @Override
+    public void run() {
+        while (!stopped) {
+            try {
+                Thread.sleep(interval);
+            } catch (InterruptedException e) {
+                // Stopped - fall through to the last snapshot
+            }
+            export();
+        }
+    }
+
+    /**
+     * Writes one snapshot.
+     */
+    private void export() {
+        try {
+            registry.dumpToFile(path);
+        } catch (IOException e) {
+            // Print error message - the next interval tries again
+            System.err.println("Error writing metrics: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package metrics;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MetricsRegistry - Holds every named Histogram and Counter in the process.
+ * Each metric is named by a metric column and a name column, for example
+ * ("latency", "ROUND_RESULT") or ("match", "duration"), matching the
+ * layout of RenderStats' CSV dump.
+ *
+ * <p>Looking a metric up may allocate, so code on a hot path looks it up
+ * once and keeps the reference; recording on it never allocates.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MetricsRegistry {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Path of the snapshot file */
+    public static final String SNAPSHOT_FILE = "data/metrics.csv";
+
+    /** CSV header for dump() */
+    public static final String CSV_HEADER = "metric,name,count,mean_us,p50_us,p90_us,p99_us,p999_us,max_us";
+
+    /** Registry used by the game */
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Histograms keyed by "metric,name" */
+    private final ConcurrentHashMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /** Counters keyed by "metric,name" */
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Gets the registry used by the game.
+     * @return The shared registry
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Gets a histogram, creating it the first time.
+     *
+     * @param metric The metric column (what is measured)
+     * @param name The name column (which one)
+     * @return The histogram
+     */
+    public Histogram histogram(String metric, String name) {
+        String key = metric + "," + name;
+        Histogram histogram = histograms.get(key);
+        if (histogram == null) {
+            histograms.putIfAbsent(key, new Histogram());
+            histogram = histograms.get(key);
+        }
+        return histogram;
+    }
+
+    /**
+     * Gets a counter, creating it the first time.
+     *
+     * @param metric The metric column (what is counted)
+     * @param name The name column (which one)
+     * @return The counter
+     */
+    public Counter counter(String metric, String name) {
+        String key = metric + "," + name;
+        Counter counter = counters.get(key);
+        if (counter == null) {
+            counters.putIfAbsent(key, new Counter());
+            counter = counters.get(key);
+        }
+        return counter;
+    }
+
+    /**
+     * Gets every histogram, sorted by name.
+     * @return A copy keyed by "metric,name"
+     */
+    public Map<String, Histogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    /**
+     * Gets every counter, sorted by name.
+     * @return A copy keyed by "metric,name"
+     */
+    public Map<String, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    /**
+     * Writes every metric as CSV, sorted by name.
+     * Columns are CSV_HEADER; counters fill only the count column.
+     *
+     * @param writer The writer to send the CSV text to
+     */
+    public void dump(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println(CSV_HEADER);
+        for (Map.Entry<String, Histogram> entry : getHistograms().entrySet()) {
+            Histogram h = entry.getValue();
+            out.println(entry.getKey() + "," + h.getCount() + "," + h.getMeanMicros() + ","
+                        + h.getPercentileMicros(50) + "," + h.getPercentileMicros(90) + ","
+                        + h.getPercentileMicros(99) + "," + h.getPercentileMicros(99.9) + ","
+                        + h.getMaxMicros());
+        }
+        for (Map.Entry<String, Counter> entry : getCounters().entrySet()) {
+            out.println(entry.getKey() + "," + entry.getValue().get() + ",,,,,,");
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes a snapshot to a file.
+     * The CSV goes to a temporary file first and is then moved into place,
+     * so a reader never sees half a snapshot.
+     *
+     * @param path The file to write
+     * @throws IOException if the file cannot be written
+     */
+    public void dumpToFile(String path) throws IOException {
+        Path target = Paths.get(path).toAbsolutePath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            dump(writer);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,108 @@
+package metrics;
+
+import java.io.PrintWriter;
+import java.util.Map;
+
+/**
+ * PrometheusFormat - Writes a MetricsRegistry in the Prometheus text format.
+ * Each histogram becomes a summary in seconds with the same quantiles as
+ * the CSV snapshot, and each counter a counter, all prefixed with "rps_":
+ *
+ * <pre>
+ *   rps_latency_seconds{name="COUNTDOWN",quantile="0.99"} 4.12E-4
+ *   rps_latency_seconds_count{name="COUNTDOWN"} 57
+ *   rps_sent_total{name="COUNTDOWN"} 57
+ * </pre>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class PrometheusFormat {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Content type for the text format */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /** Prefix on every metric name */
+    private static final String PREFIX = "rps_";
+
+    /** Quantiles written for each histogram */
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+
+    /**
+     * Private constructor - this class only has static methods.
+     */
+    private PrometheusFormat() {
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Writes every metric in a registry.
+     *
+     * @param registry The registry
+     * @param out Where to write
+     */
+    public static void write(MetricsRegistry registry, PrintWriter out) {
+        String lastFamily = null;
+        for (Map.Entry<String, Histogram> entry : registry.getHistograms().entrySet()) {
+            String[] key = entry.getKey().split(",", 2);
+            String family = PREFIX + key[0] + "_seconds";
+            if (!family.equals(lastFamily)) {
+                out.println("# TYPE " + family + " summary");
+                lastFamily = family;
+            }
+            Histogram h = entry.getValue();
+            String label = "name=\"" + key[1] + "\"";
+            for (double quantile : QUANTILES) {
+                out.println(family + "{" + label + ",quantile=\"" + quantile + "\"} "
+                            + seconds(h.getPercentileMicros(quantile * 100)));
+            }
+            out.println(family + "_sum{" + label + "} " + seconds(h.getSumMicros()));
+            out.println(family + "_count{" + label + "} " + h.getCount());
+        }
+        for (Map.Entry<String, Counter> entry : registry.getCounters().entrySet()) {
+            String[] key = entry.getKey().split(",", 2);
+            String family = PREFIX + key[0] + "_total";
+            if (!family.equals(lastFamily)) {
+                out.println("# TYPE " + family + " counter");
+                lastFamily = family;
+            }
+            out.println(family + "{name=\"" + key[1] + "\"} " + entry.getValue().get());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes one gauge with a help line.
+     *
+     * @param out Where to write
+     * @param name The full metric name
+     * @param help What it measures
+     * @param value The value
+     */
+    public static void writeGauge(PrintWriter out, String name, String help, long value) {
+        out.println("# HELP " + name + " " + help);
+        out.println("# TYPE " + name + " gauge");
+        out.println(name + " " + value);
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Converts microseconds to seconds.
+     * @param micros The time in microseconds
+     * @return The time in seconds
+     */
+    private static double seconds(long micros) {
+        return micros / 1_000_000.0;
+    }
+}
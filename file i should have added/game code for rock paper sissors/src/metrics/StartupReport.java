@@ -0,0 +1,45 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Locale;
+
+/**
+ * StartupReport - Prints how long the process took to get ready and what it costs to keep running.
+ * Both the window and the headless server print the same line when they
+ * are ready, so the two can be compared directly:
+ *
+ * <pre>
+ *   Headless server ready in 312 ms: heap 9.8 MB used / 64.0 MB committed, 1490 classes, 11 threads
+ * </pre>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class StartupReport {
+
+    /**
+     * Private constructor - this class only has static methods.
+     */
+    private StartupReport() {
+    }
+
+    /**
+     * Prints the startup line.
+     * Time is measured from JVM start, so it includes class loading and any
+     * window creation.
+     *
+     * @param what What became ready (e.g. "Headless server")
+     */
+    public static void print(String what) {
+        long uptime = ManagementFactory.getRuntimeMXBean().getUptime();
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage();
+        int classes = ManagementFactory.getClassLoadingMXBean().getLoadedClassCount();
+        int threads = ManagementFactory.getThreadMXBean().getThreadCount();
+        System.out.println(String.format(Locale.ROOT, "%s ready in %d ms: heap %.1f MB used / %.1f MB committed, "
+                                         + "%d classes, %d threads",
+                                         what, uptime, heap.getUsed() / 1048576.0,
+                                         heap.getCommitted() / 1048576.0, classes, threads));
+    }
+}
@@ -0,0 +1,162 @@
+package model;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * ConfigReloader - Watches data/gameconfig.csv and republishes it when it changes.
+ * Runs on its own daemon thread so parsing never happens on the Event Dispatch Thread.
+ *
+ * <p>When the file changes the reloader waits briefly for the editor to finish
+ * writing, parses and validates the new file, and publishes it through
+ * ConfigStore. A file with a bad value is reported and ignored, so the last
+ * good snapshot stays in use.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class ConfigReloader implements Runnable {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Time to wait after a change before reading the file (in milliseconds) */
+    private static final int SETTLE_DELAY = 100;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The configuration file being watched */
+    private final Path configFile;
+
+    /** The watch service for the file's directory */
+    private WatchService watchService;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for ConfigReloader.
+     * @param configPath The path of the configuration file to watch
+     */
+    public ConfigReloader(String configPath) {
+        this.configFile = Paths.get(configPath).toAbsolutePath();
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Starts watching the default configuration file on a daemon thread.
+     * @return The running reloader, or null if the directory cannot be watched
+     */
+    public static ConfigReloader startWatching() {
+        ConfigReloader reloader = new ConfigReloader(GameConfig.CONFIG_FILE);
+        return reloader.start() ? reloader : null;
+    }
+
+    /**
+     * Registers the watch and starts the reloader thread.
+     * @return true if watching started, false otherwise
+     */
+    public boolean start() {
+        try {
+            // Watch the directory, since editors often replace the file instead of writing it
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.configFile.getParent().register(watchService,
+                                                 StandardWatchEventKinds.ENTRY_MODIFY,
+                                                 StandardWatchEventKinds.ENTRY_CREATE);
+        } catch (IOException e) {
+            System.err.println("Could not watch game configuration: " + e.getMessage());
+            return false;
+        }
+
+        Thread thread = new Thread(this, "ConfigReloader");
+        thread.setDaemon(true);
+        thread.start();
+        System.out.println("Watching " + configFile + " for changes");
+        return true;
+    }
+
+    /**
+     * Stops watching the configuration file.
+     */
+    public void stop() {
+        try {
+            if (watchService != null) {
+                watchService.close();
+            }
+        } catch (IOException e) {
+            System.err.println("Error closing configuration watcher: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Waits for file system events and reloads the configuration when the file changes.
+     */
+    @Override
+    public void run() {
+        Path fileName = configFile.getFileName();
+        while (true) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            // Check whether any event in this batch is for our file
+            boolean changed = false;
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (fileName.equals(event.context())) {
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                // Let the writer finish, then drop the duplicate events it caused
+                try {
+                    Thread.sleep(SETTLE_DELAY);
+                } catch (InterruptedException e) {
+                    return;
+                }
+                key.pollEvents();
+                reload();
+            }
+
+            // Stop if the directory is no longer accessible
+            if (!key.reset()) {
+                System.err.println("Configuration directory is no longer watched");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Parses, validates and publishes the configuration file.
+     * @return true if a new snapshot was published, false if the file was rejected
+     */
+    public boolean reload() {
+        try {
+            GameConfig config = GameConfig.load(configFile.toString());
+            ConfigStore.publish(config);
+            System.out.println("Game configuration reloaded - new matches will use it");
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Rejected game configuration change: " + e.getMessage());
+            return false;
+        }
+    }
+}
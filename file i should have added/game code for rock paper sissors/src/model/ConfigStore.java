@@ -0,0 +1,87 @@
+package model;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ConfigStore - Holds the current configuration snapshot for the whole process.
+ * Readers get the latest GameConfig with a single volatile read and no locks;
+ * the reloader publishes a new snapshot by swapping the reference atomically.
+ *
+ * <p>Because GameConfig is immutable, a match that has taken a snapshot keeps
+ * using it unchanged even after a newer one is published.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class ConfigStore {
+
+    // ========================
+    // STATE
+    // ========================
+
+    /** The current configuration snapshot (null until first use) */
+    private static final AtomicReference<GameConfig> CURRENT = new AtomicReference<>();
+
+    /**
+     * Private constructor - this class only has static methods.
+     */
+    private ConfigStore() {
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Gets the current configuration snapshot.
+     * The first call loads data/gameconfig.csv (or the defaults if it cannot be loaded).
+     *
+     * @return The current immutable configuration
+     */
+    public static GameConfig current() {
+        GameConfig config = CURRENT.get();
+        if (config == null) {
+            // First use only: load once even if many match threads arrive together
+            synchronized (ConfigStore.class) {
+                config = CURRENT.get();
+                if (config == null) {
+                    config = loadOrDefaults();
+                    CURRENT.set(config);
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Publishes a new configuration snapshot.
+     * Matches that already took a snapshot are not affected.
+     *
+     * @param config The new validated configuration
+     */
+    public static void publish(GameConfig config) {
+        CURRENT.set(config);
+    }
+
+    /**
+     * Loads the configuration file, falling back to defaults on any error.
+     * @return The loaded configuration, or the defaults
+     */
+    private static GameConfig loadOrDefaults() {
+        try {
+            // Parse and validate the whole file in one go
+            GameConfig config = GameConfig.load(GameConfig.CONFIG_FILE);
+            // Print success message when configuration loaded
+            System.out.println("Game configuration loaded successfully from data file");
+            return config;
+        } catch (IOException | IllegalArgumentException e) {
+            // Print error message if file cannot be read or holds a bad value
+            System.err.println("Error loading game configuration: " + e.getMessage());
+            // Print message indicating defaults are being used
+            System.out.println("Using default configuration values");
+            return GameConfig.defaults();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package model;
+
+import metrics.LatencyPercentiles;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * GameCodeBenchmark - Measures game code registry speed with many live codes.
+ * Fills a registry, then times lookups and a churn of release and allocate
+ * pairs at that size, checks no code was handed out twice, and finally
+ * times expiring every code at once.
+ *
+ * <p>Usage: java model.GameCodeBenchmark [live] [operations]</p>
+ * <ul>
+ *   <li>live: number of codes kept in use (default 50000, at most 90000)</li>
+ *   <li>operations: number of timed lookups and churns (default 1000000)</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class GameCodeBenchmark {
+
+    /** Time to live for the expiry phase (in milliseconds) */
+    private static final long SHORT_TTL = 200;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional live code count and operation count
+     * @throws InterruptedException if interrupted while waiting for codes to expire
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int live = args.length > 0 ? Integer.parseInt(args[0]) : 50_000;
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+
+        GameCodeRegistry registry = new GameCodeRegistry(GameCodeRegistry.MIN_CODE, GameCodeRegistry.MAX_CODE,
+                                                         GameCodeRegistry.DEFAULT_TTL, new Random(42));
+        Object owner = new Object();
+        Random random = new Random(42);
+
+        // Fill the registry, binding every code to a room
+        int[] codes = new int[live];
+        long start = System.nanoTime();
+        for (int i = 0; i < live; i++) {
+            codes[i] = registry.allocate(owner);
+            registry.bind(codes[i], owner, "room" + i, "localhost", 1337);
+        }
+        System.out.println("Allocated and bound " + registry.getLiveCount() + " codes in "
+                           + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        // Timed lookups of live codes
+        long[] lookupTimes = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            int code = codes[random.nextInt(live)];
+            long t = System.nanoTime();
+            registry.lookup(code);
+            lookupTimes[i] = System.nanoTime() - t;
+        }
+        LatencyPercentiles.print("lookup", lookupTimes);
+
+        // Timed churn: a random game ends and a new one takes a code
+        long[] churnTimes = new long[operations];
+        for (int i = 0; i < operations; i++) {
+            int slot = random.nextInt(live);
+            long t = System.nanoTime();
+            registry.release(codes[slot], owner);
+            codes[slot] = registry.allocate(owner);
+            churnTimes[i] = System.nanoTime() - t;
+        }
+        LatencyPercentiles.print("churn", churnTimes);
+
+        // Every live code must still be distinct and bound to exactly one slot
+        int[] sorted = codes.clone();
+        Arrays.sort(sorted);
+        int duplicates = 0;
+        for (int i = 1; i < sorted.length; i++) {
+            if (sorted[i] == sorted[i - 1]) {
+                duplicates++;
+            }
+        }
+        System.out.println("Live codes: " + registry.getLiveCount() + ", duplicates: " + duplicates);
+
+        // Expire a full registry in one sweep
+        GameCodeRegistry shortLived = new GameCodeRegistry(GameCodeRegistry.MIN_CODE, GameCodeRegistry.MAX_CODE,
+                                                           SHORT_TTL, new Random(42));
+        for (int i = 0; i < live; i++) {
+            shortLived.allocate(owner);
+        }
+        Thread.sleep(SHORT_TTL * 2);
+        start = System.nanoTime();
+        int left = shortLived.getLiveCount();
+        System.out.println("Expired " + live + " codes in "
+                           + (System.nanoTime() - start) / 1_000 + " us (" + left + " left)");
+    }
+}
@@ -0,0 +1,452 @@
+package model;
+
+import java.util.Random;
+
+/**
+ * GameCodeRegistry - Hands out unique 5-digit game codes and maps each code to the room using it.
+ * Every operation takes constant time, however many codes are live:
+ *
+ * <ul>
+ *   <li>Free codes wait in a ring buffer that starts shuffled, so codes are
+ *       hard to guess and allocating one is a single read</li>
+ *   <li>Live codes are found by indexing an array with the code itself</li>
+ *   <li>Live codes are also linked oldest first, so expiring them only ever
+ *       looks at the head of the list</li>
+ * </ul>
+ *
+ * <p>A code expires when it has not been refreshed for the time to live,
+ * which frees codes held by games that were abandoned without being released.
+ * Freed codes go to the back of the ring, so a code is only reused after
+ * every other free code has been handed out - a player holding an old code
+ * is very unlikely to reach a new game by mistake.</p>
+ *
+ * <p>Each code remembers the object that allocated it (normally a GameModel),
+ * and only that owner may bind, refresh or release it. A late release from a
+ * game whose code already expired and went to someone else does nothing.</p>
+ *
+ * <p>The registry lives in memory, so it only keeps codes unique and
+ * resolvable among the games hosted by one process (a headless server,
+ * tournament or load test running many rooms). A player on another machine
+ * cannot look a code up here; the join screen finds games through
+ * LanDiscovery instead.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class GameCodeRegistry {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Smallest 5-digit code */
+    public static final int MIN_CODE = 10000;
+
+    /** Largest 5-digit code */
+    public static final int MAX_CODE = 99999;
+
+    /** Returned by allocate() when every code is in use */
+    public static final int NO_CODE = -1;
+
+    /** Default time a code lives without being refreshed (in milliseconds) */
+    public static final long DEFAULT_TTL = 30 * 60 * 1000L;
+
+    /** Registry shared by every game in the process */
+    private static final GameCodeRegistry DEFAULT = new GameCodeRegistry(MIN_CODE, MAX_CODE, DEFAULT_TTL, new Random());
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Smallest code this registry hands out (the code at index 0) */
+    private final int minCode;
+
+    /** Time a code lives without being refreshed (in nanoseconds) */
+    private final long ttlNanos;
+
+    /** Live entries indexed by code - minCode (null while the code is free) */
+    private final Entry[] entries;
+
+    /** Free codes in the order they will be handed out */
+    private final int[] freeCodes;
+
+    /** Index in freeCodes of the next code to hand out */
+    private int freeHead;
+
+    /** Number of codes in freeCodes */
+    private int freeCount;
+
+    /** Live entry that expires first (null if none are live) */
+    private Entry oldest;
+
+    /** Live entry that expires last (null if none are live) */
+    private Entry newest;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for GameCodeRegistry.
+     *
+     * @param minCode The smallest code to hand out
+     * @param maxCode The largest code to hand out
+     * @param ttlMillis Time a code lives without being refreshed (in milliseconds)
+     * @param random Random source for shuffling the codes
+     */
+    public GameCodeRegistry(int minCode, int maxCode, long ttlMillis, Random random) {
+        this.minCode = minCode;
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        int size = maxCode - minCode + 1;
+        this.entries = new Entry[size];
+        this.freeCodes = new int[size];
+
+        // Fill the ring with every code, then shuffle it (Fisher-Yates)
+        for (int i = 0; i < size; i++) {
+            freeCodes[i] = minCode + i;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int swap = freeCodes[i];
+            freeCodes[i] = freeCodes[j];
+            freeCodes[j] = swap;
+        }
+        this.freeCount = size;
+    }
+
+    /**
+     * Gets the registry shared by every game in the process.
+     * @return The default registry (codes 10000 to 99999, 30 minute time to live)
+     */
+    public static GameCodeRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Allocates a code that no other live game is using.
+     *
+     * @param owner The object allocating the code (needed to bind, refresh or release it)
+     * @return The code, or NO_CODE if every code is in use
+     */
+    public synchronized int allocate(Object owner) {
+        long now = System.nanoTime();
+        expire(now);
+        if (freeCount == 0) {
+            return NO_CODE;
+        }
+
+        // Take the code at the front of the ring
+        int code = freeCodes[freeHead];
+        freeHead = (freeHead + 1) % freeCodes.length;
+        freeCount--;
+
+        Entry entry = new Entry(code, owner);
+        entry.expiresAt = now + ttlNanos;
+        entries[code - minCode] = entry;
+        append(entry);
+        return code;
+    }
+
+    /**
+     * Records where the game using a code can be reached, and refreshes the code.
+     *
+     * @param code The code
+     * @param owner The object that allocated it
+     * @param room Name of the room (as shown on the admin endpoint)
+     * @param host Host the game is listening on
+     * @param port Port the game is listening on
+     * @return true if the code was bound, false if it is not live or not owned by owner
+     */
+    public synchronized boolean bind(int code, Object owner, String room, String host, int port) {
+        long now = System.nanoTime();
+        expire(now);
+        Entry entry = owned(code, owner);
+        if (entry == null) {
+            return false;
+        }
+        entry.endpoint = new Endpoint(code, room, host, port);
+        touch(entry, now);
+        return true;
+    }
+
+    /**
+     * Restarts a code's time to live.
+     *
+     * @param code The code
+     * @param owner The object that allocated it
+     * @return true if the code was refreshed, false if it is not live or not owned by owner
+     */
+    public synchronized boolean refresh(int code, Object owner) {
+        long now = System.nanoTime();
+        expire(now);
+        Entry entry = owned(code, owner);
+        if (entry == null) {
+            return false;
+        }
+        touch(entry, now);
+        return true;
+    }
+
+    /**
+     * Frees a code so it can be handed out again.
+     *
+     * @param code The code
+     * @param owner The object that allocated it
+     * @return true if the code was freed, false if it is not live or not owned by owner
+     */
+    public synchronized boolean release(int code, Object owner) {
+        Entry entry = owned(code, owner);
+        if (entry == null) {
+            return false;
+        }
+        remove(entry);
+        return true;
+    }
+
+    /**
+     * Finds where the game using a code can be reached.
+     *
+     * @param code The code
+     * @return The endpoint, or null if the code is not live or not bound yet
+     */
+    public synchronized Endpoint lookup(int code) {
+        expire(System.nanoTime());
+        Entry entry = find(code);
+        return entry == null ? null : entry.endpoint;
+    }
+
+    /**
+     * Gets the number of codes in use.
+     * @return The live code count
+     */
+    public synchronized int getLiveCount() {
+        expire(System.nanoTime());
+        return freeCodes.length - freeCount;
+    }
+
+    /**
+     * Gets the number of codes that can still be handed out.
+     * @return The free code count
+     */
+    public synchronized int getFreeCount() {
+        expire(System.nanoTime());
+        return freeCount;
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Finds the live entry for a code.
+     *
+     * @param code The code
+     * @return The entry, or null if the code is out of range or free
+     */
+    private Entry find(int code) {
+        int index = code - minCode;
+        if (index < 0 || index >= entries.length) {
+            return null;
+        }
+        return entries[index];
+    }
+
+    /**
+     * Finds the live entry for a code if owner allocated it.
+     *
+     * @param code The code
+     * @param owner The expected owner
+     * @return The entry, or null if the code is free or someone else's
+     */
+    private Entry owned(int code, Object owner) {
+        Entry entry = find(code);
+        return (entry != null && entry.owner == owner) ? entry : null;
+    }
+
+    /**
+     * Frees every code whose time to live has run out.
+     * Codes are linked in expiry order, so this stops at the first live one.
+     *
+     * @param now The current time (from System.nanoTime)
+     */
+    private void expire(long now) {
+        while (oldest != null && oldest.expiresAt - now <= 0) {
+            remove(oldest);
+        }
+    }
+
+    /**
+     * Restarts an entry's time to live and moves it to the newest end.
+     *
+     * @param entry The entry
+     * @param now The current time (from System.nanoTime)
+     */
+    private void touch(Entry entry, long now) {
+        entry.expiresAt = now + ttlNanos;
+        unlink(entry);
+        append(entry);
+    }
+
+    /**
+     * Frees an entry's code, putting it at the back of the ring.
+     * @param entry The entry to remove
+     */
+    private void remove(Entry entry) {
+        unlink(entry);
+        entries[entry.code - minCode] = null;
+        freeCodes[(freeHead + freeCount) % freeCodes.length] = entry.code;
+        freeCount++;
+    }
+
+    /**
+     * Links an entry at the newest end of the expiry list.
+     * @param entry The entry
+     */
+    private void append(Entry entry) {
+        entry.older = newest;
+        entry.newer = null;
+        if (newest != null) {
+            newest.newer = entry;
+        } else {
+            oldest = entry;
+        }
+        newest = entry;
+    }
+
+    /**
+     * Unlinks an entry from the expiry list.
+     * @param entry The entry
+     */
+    private void unlink(Entry entry) {
+        if (entry.older != null) {
+            entry.older.newer = entry.newer;
+        } else {
+            oldest = entry.newer;
+        }
+        if (entry.newer != null) {
+            entry.newer.older = entry.older;
+        } else {
+            newest = entry.older;
+        }
+        entry.older = null;
+        entry.newer = null;
+    }
+
+    // ========================
+    // NESTED CLASSES
+    // ========================
+
+    /**
+     * Where a game can be reached. Immutable, so it can be handed out freely.
+     */
+    public static final class Endpoint {
+
+        /** The game code */
+        private final int code;
+
+        /** Name of the room */
+        private final String room;
+
+        /** Host the game is listening on */
+        private final String host;
+
+        /** Port the game is listening on */
+        private final int port;
+
+        /**
+         * Constructor for Endpoint.
+         *
+         * @param code The game code
+         * @param room Name of the room
+         * @param host Host the game is listening on
+         * @param port Port the game is listening on
+         */
+        public Endpoint(int code, String room, String host, int port) {
+            this.code = code;
+            this.room = room;
+            this.host = host;
+            this.port = port;
+        }
+
+        /**
+         * Gets the game code.
+         * @return The code
+         */
+        public int getCode() {
+            return this.code;
+        }
+
+        /**
+         * Gets the name of the room.
+         * @return The room name
+         */
+        public String getRoom() {
+            return this.room;
+        }
+
+        /**
+         * Gets the host the game is listening on.
+         * @return The host name or address
+         */
+        public String getHost() {
+            return this.host;
+        }
+
+        /**
+         * Gets the port the game is listening on.
+         * @return The port
+         */
+        public int getPort() {
+            return this.port;
+        }
+
+        /**
+         * Gets a readable form of the endpoint.
+         * @return e.g. "12345 game-1337@localhost:1337"
+         */
+        @Override
+        public String toString() {
+            return code + " " + room + "@" + host + ":" + port;
+        }
+    }
+
+    /**
+     * One live code: its owner, endpoint and place in the expiry list.
+     */
+    private static final class Entry {
+
+        /** The code */
+        final int code;
+
+        /** The object that allocated the code */
+        final Object owner;
+
+        /** Where the game can be reached (null until bound) */
+        Endpoint endpoint;
+
+        /** Time the code expires (from System.nanoTime) */
+        long expiresAt;
+
+        /** Next entry to expire before this one */
+        Entry older;
+
+        /** Next entry to expire after this one */
+        Entry newer;
+
+        /**
+         * Constructor for Entry.
+         *
+         * @param code The code
+         * @param owner The object that allocated the code
+         */
+        Entry(int code, Object owner) {
+            this.code = code;
+            this.owner = owner;
+        }
+    }
+}
@@ -0,0 +1,502 @@
+package model;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * GameConfig - An immutable, validated snapshot of the game configuration.
+ * Built once from data/gameconfig.csv so that game code reads plain primitive
+ * fields instead of looking up and parsing strings every time.
+ *
+ * <p>This class is responsible for:</p>
+ * <ul>
+ *   <li>Parsing the key,value lines of the configuration file</li>
+ *   <li>Converting values to ints and packed RGB colors exactly once</li>
+ *   <li>Validating that every value is within a sensible range</li>
+ *   <li>Providing default values for keys missing from the file</li>
+ * </ul>
+ *
+ * <p>Colors are stored as packed 0xRRGGBB ints so the model does not depend
+ * on AWT; views turn them into Color objects once when they are created.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class GameConfig {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Path of the configuration data file */
+    public static final String CONFIG_FILE = "data/gameconfig.csv";
+
+    /** Default values used for any key missing from the file */
+    private static final Map<String, String> DEFAULTS = createDefaults();
+
+    // ========================
+    // CONFIGURATION VALUES
+    // ========================
+
+    /** Display name of the game */
+    private final String gameName;
+
+    /** Number of rounds in a match */
+    private final int maxRounds;
+
+    /** Countdown length in seconds before players choose */
+    private final int countdownSeconds;
+
+    /** Shape name used for Rock */
+    private final String rockShape;
+
+    /** Shape name used for Paper */
+    private final String paperShape;
+
+    /** Shape name used for Scissors */
+    private final String scissorsShape;
+
+    /** Red player color as packed 0xRRGGBB */
+    private final int redPlayerColor;
+
+    /** Blue player color as packed 0xRRGGBB */
+    private final int bluePlayerColor;
+
+    /** Panel width in pixels */
+    private final int panelWidth;
+
+    /** Panel height in pixels */
+    private final int panelHeight;
+
+    /** Animation refresh rate in frames per second */
+    private final int refreshRate;
+
+    /** Network port used for the game connection */
+    private final int defaultPort;
+
+    /** Size of shape icons in pixels */
+    private final int shapeSize;
+
+    /** Width of choice buttons in pixels */
+    private final int buttonWidth;
+
+    /** Height of choice buttons in pixels */
+    private final int buttonHeight;
+
+    /** Font size for titles */
+    private final int titleFontSize;
+
+    /** Font size for body text */
+    private final int bodyFontSize;
+
+    /** Font size for button text */
+    private final int buttonFontSize;
+
+    /** Font size for the countdown number */
+    private final int countdownFontSize;
+
+    /** Font size for score text */
+    private final int scoreFontSize;
+
+    /** Whether countdown ticks and choices may also travel over UDP */
+    private final boolean udpFastPath;
+
+    /** Every raw key-value pair (defaults merged with the file), for lookups by name */
+    private final Map<String, String> values;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - use load(), parse() or defaults() to create a config.
+     * Converts and validates every value, throwing on the first bad one.
+     *
+     * @param raw The raw key-value pairs read from the file
+     * @throws IllegalArgumentException if any value is missing, malformed or out of range
+     */
+    private GameConfig(Map<String, String> raw) {
+        // Start from the defaults and overlay the values read from the file
+        Map<String, String> merged = new HashMap<>(DEFAULTS);
+        merged.putAll(raw);
+        this.values = Collections.unmodifiableMap(merged);
+
+        // Convert each value once, checking its range
+        this.gameName = merged.get("game_name");
+        this.maxRounds = intValue(merged, "max_rounds", 1, 99);
+        this.countdownSeconds = intValue(merged, "countdown_seconds", 1, 60);
+        this.rockShape = merged.get("rock_shape");
+        this.paperShape = merged.get("paper_shape");
+        this.scissorsShape = merged.get("scissors_shape");
+        this.redPlayerColor = colorValue(merged, "red_player_color");
+        this.bluePlayerColor = colorValue(merged, "blue_player_color");
+        this.panelWidth = intValue(merged, "panel_width", 1, 10000);
+        this.panelHeight = intValue(merged, "panel_height", 1, 10000);
+        this.refreshRate = intValue(merged, "refresh_rate", 1, 1000);
+        this.defaultPort = intValue(merged, "default_port", 1, 65535);
+        this.shapeSize = intValue(merged, "shape_size", 1, 1000);
+        this.buttonWidth = intValue(merged, "button_width", 1, 2000);
+        this.buttonHeight = intValue(merged, "button_height", 1, 2000);
+        this.titleFontSize = intValue(merged, "title_font_size", 1, 500);
+        this.bodyFontSize = intValue(merged, "body_font_size", 1, 500);
+        this.buttonFontSize = intValue(merged, "button_font_size", 1, 500);
+        this.countdownFontSize = intValue(merged, "countdown_font_size", 1, 1000);
+        this.scoreFontSize = intValue(merged, "score_font_size", 1, 500);
+        this.udpFastPath = booleanValue(merged, "udp_fast_path");
+    }
+
+    // ========================
+    // FACTORY METHODS
+    // ========================
+
+    /**
+     * Loads and validates the configuration from a file.
+     *
+     * @param path The path of the key,value CSV file
+     * @return The validated configuration
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a value is malformed or out of range
+     */
+    public static GameConfig load(String path) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Parses and validates the configuration from a reader.
+     * Each line is a key followed by a comma and the value; the value may itself
+     * contain commas (colors are written as r,g,b).
+     *
+     * @param reader The reader holding the CSV text
+     * @return The validated configuration
+     * @throws IOException if the reader fails
+     * @throws IllegalArgumentException if a value is malformed or out of range
+     */
+    public static GameConfig parse(Reader reader) throws IOException {
+        BufferedReader buffered = reader instanceof BufferedReader
+                                  ? (BufferedReader) reader : new BufferedReader(reader);
+        Map<String, String> raw = new HashMap<>();
+        String line;
+        while ((line = buffered.readLine()) != null) {
+            // Split on the first comma only so r,g,b colors stay together
+            int comma = line.indexOf(',');
+            if (comma > 0) {
+                raw.put(line.substring(0, comma).trim(), line.substring(comma + 1).trim());
+            }
+        }
+        return new GameConfig(raw);
+    }
+
+    /**
+     * Creates a configuration holding only the default values.
+     * @return The default configuration
+     */
+    public static GameConfig defaults() {
+        return new GameConfig(Collections.<String, String>emptyMap());
+    }
+
+    /**
+     * Builds the table of default values.
+     * @return A map of every known key to its default value
+     */
+    private static Map<String, String> createDefaults() {
+        Map<String, String> defaults = new HashMap<>();
+        defaults.put("game_name", "Rock Paper Scissors");
+        defaults.put("max_rounds", "3");
+        defaults.put("countdown_seconds", "3");
+        defaults.put("rock_shape", "circle");
+        defaults.put("paper_shape", "square");
+        defaults.put("scissors_shape", "triangle");
+        defaults.put("red_player_color", "255,68,68");
+        defaults.put("blue_player_color", "68,68,255");
+        defaults.put("panel_width", "1280");
+        defaults.put("panel_height", "720");
+        defaults.put("refresh_rate", "60");
+        defaults.put("default_port", "1337");
+        defaults.put("shape_size", "100");
+        defaults.put("button_width", "200");
+        defaults.put("button_height", "150");
+        defaults.put("title_font_size", "64");
+        defaults.put("body_font_size", "32");
+        defaults.put("button_font_size", "28");
+        defaults.put("countdown_font_size", "200");
+        defaults.put("score_font_size", "36");
+        defaults.put("udp_fast_path", "true");
+        return defaults;
+    }
+
+    // ========================
+    // PARSING HELPERS
+    // ========================
+
+    /**
+     * Parses an integer value and checks its range.
+     *
+     * @param values The raw values
+     * @param key The key to parse
+     * @param min The smallest allowed value
+     * @param max The largest allowed value
+     * @return The parsed value
+     * @throws IllegalArgumentException if the value is not a number or is out of range
+     */
+    private static int intValue(Map<String, String> values, String key, int min, int max) {
+        String text = values.get(key);
+        int value;
+        try {
+            value = Integer.parseInt(text.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " is not a number: " + text);
+        }
+        if (value < min || value > max) {
+            throw new IllegalArgumentException(key + " must be between " + min + " and " + max + ": " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Parses a true/false value.
+     *
+     * @param values The raw values
+     * @param key The key to parse
+     * @return The parsed value
+     * @throws IllegalArgumentException if the value is not true or false
+     */
+    private static boolean booleanValue(Map<String, String> values, String key) {
+        String text = values.get(key).trim();
+        if (text.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (text.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException(key + " must be true or false: " + text);
+    }
+
+    /**
+     * Parses an r,g,b color value into a packed 0xRRGGBB int.
+     *
+     * @param values The raw values
+     * @param key The key to parse
+     * @return The packed color
+     * @throws IllegalArgumentException if the value is not three numbers from 0 to 255
+     */
+    private static int colorValue(Map<String, String> values, String key) {
+        String text = values.get(key);
+        String[] parts = text.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException(key + " must be r,g,b: " + text);
+        }
+        int rgb = 0;
+        for (String part : parts) {
+            int component;
+            try {
+                component = Integer.parseInt(part.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(key + " is not a color: " + text);
+            }
+            if (component < 0 || component > 255) {
+                throw new IllegalArgumentException(key + " components must be 0-255: " + text);
+            }
+            rgb = (rgb << 8) | component;
+        }
+        return rgb;
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the display name of the game.
+     * @return The game name
+     */
+    public String getGameName() {
+        return this.gameName;
+    }
+
+    /**
+     * Gets the number of rounds in a match.
+     * @return The maximum rounds
+     */
+    public int getMaxRounds() {
+        return this.maxRounds;
+    }
+
+    /**
+     * Gets the countdown length.
+     * @return The countdown length in seconds
+     */
+    public int getCountdownSeconds() {
+        return this.countdownSeconds;
+    }
+
+    /**
+     * Gets the shape name used for Rock.
+     * @return The Rock shape name
+     */
+    public String getRockShape() {
+        return this.rockShape;
+    }
+
+    /**
+     * Gets the shape name used for Paper.
+     * @return The Paper shape name
+     */
+    public String getPaperShape() {
+        return this.paperShape;
+    }
+
+    /**
+     * Gets the shape name used for Scissors.
+     * @return The Scissors shape name
+     */
+    public String getScissorsShape() {
+        return this.scissorsShape;
+    }
+
+    /**
+     * Gets the Red player color.
+     * @return The color as packed 0xRRGGBB
+     */
+    public int getRedPlayerColor() {
+        return this.redPlayerColor;
+    }
+
+    /**
+     * Gets the Blue player color.
+     * @return The color as packed 0xRRGGBB
+     */
+    public int getBluePlayerColor() {
+        return this.bluePlayerColor;
+    }
+
+    /**
+     * Gets the panel width.
+     * @return The panel width in pixels
+     */
+    public int getPanelWidth() {
+        return this.panelWidth;
+    }
+
+    /**
+     * Gets the panel height.
+     * @return The panel height in pixels
+     */
+    public int getPanelHeight() {
+        return this.panelHeight;
+    }
+
+    /**
+     * Gets the animation refresh rate.
+     * @return The refresh rate in frames per second
+     */
+    public int getRefreshRate() {
+        return this.refreshRate;
+    }
+
+    /**
+     * Gets the network port.
+     * @return The default port
+     */
+    public int getDefaultPort() {
+        return this.defaultPort;
+    }
+
+    /**
+     * Gets the shape icon size.
+     * @return The shape size in pixels
+     */
+    public int getShapeSize() {
+        return this.shapeSize;
+    }
+
+    /**
+     * Gets the choice button width.
+     * @return The button width in pixels
+     */
+    public int getButtonWidth() {
+        return this.buttonWidth;
+    }
+
+    /**
+     * Gets the choice button height.
+     * @return The button height in pixels
+     */
+    public int getButtonHeight() {
+        return this.buttonHeight;
+    }
+
+    /**
+     * Gets the title font size.
+     * @return The title font size in points
+     */
+    public int getTitleFontSize() {
+        return this.titleFontSize;
+    }
+
+    /**
+     * Gets the body font size.
+     * @return The body font size in points
+     */
+    public int getBodyFontSize() {
+        return this.bodyFontSize;
+    }
+
+    /**
+     * Gets the button font size.
+     * @return The button font size in points
+     */
+    public int getButtonFontSize() {
+        return this.buttonFontSize;
+    }
+
+    /**
+     * Gets the countdown font size.
+     * @return The countdown font size in points
+     */
+    public int getCountdownFontSize() {
+        return this.countdownFontSize;
+    }
+
+    /**
+     * Gets the score font size.
+     * @return The score font size in points
+     */
+    public int getScoreFontSize() {
+        return this.scoreFontSize;
+    }
+
+    /**
+     * Checks if the UDP fast path may be used next to the TCP connection.
+     * @return true if countdown ticks and choices may also be sent over UDP
+     */
+    public boolean isUdpFastPath() {
+        return this.udpFastPath;
+    }
+
+    /**
+     * Gets a raw configuration value by key.
+     * Intended for keys that have no typed getter; game code should use the getters.
+     *
+     * @param key The configuration key
+     * @return The raw value, or null if not found
+     */
+    public String getValue(String key) {
+        return this.values.get(key);
+    }
+
+    /**
+     * Gets every raw configuration value.
+     * @return An unmodifiable map of key to raw value
+     */
+    public Map<String, String> getValues() {
+        return this.values;
+    }
+}
@@ -1,10 +1,6 @@
 package model;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.HashMap;
-import java.util.Map;
+import profiling.PhaseEvent;
 
 /**
  * GameModel - The model class for the Rock-Paper-Scissors multiplayer game.
@@ -161,27 +157,33 @@ public class GameModel {
     /** Flag indicating if the game ended in a tie */
     private boolean gameTie;
     
+    /** Red player's name, used to identify the player across sessions (default is "Red") */
+    private String redPlayerName = "Red";
+    
+    /** Blue player's name, used to identify the player across sessions (default is "Blue") */
+    private String bluePlayerName = "Blue";
+    
     // ========================
     // CONFIGURATION PROPERTIES
     // ========================
     
-    /** Map to store game configuration values loaded from data file */
-    private Map<String, String> config;
-    
-    /** Network port number for socket connection */
-    private int port;
+    /** Configuration snapshot for the current match (replaced only between matches) */
+    private GameConfig config;
     
     /** Game code for connecting players */
     private String gameCode;
     
-    /** Panel width in pixels */
-    private int panelWidth;
+    /** Code this model holds in the GameCodeRegistry (NO_CODE if none) */
+    private int registeredCode = GameCodeRegistry.NO_CODE;
+    
+    /** Flag indicating if state changes are printed to the console (default is true) */
+    private boolean verbose = true;
     
-    /** Panel height in pixels */
-    private int panelHeight;
+    /** Told about every phase change (null if nobody is listening) */
+    private PhaseListener phaseListener;
     
-    /** Animation refresh rate in frames per second */
-    private int refreshRate;
+    /** Flight Recorder event for the current phase (null before the first change) */
+    private PhaseEvent phaseEvent;
     
     // ========================
     // CONSTRUCTORS
@@ -193,8 +195,6 @@ public class GameModel {
      * Sets the current phase to WAITING and prepares the game for setup.
      */
     public GameModel() {
-        // Initialize configuration map
-        this.config = new HashMap<>();
         // Load game configuration from data file
         loadConfiguration();
         // Initialize game state with default values
@@ -208,8 +208,6 @@ public class GameModel {
      * @param player The player role (RED or BLUE) for this instance
      */
     public GameModel(Player player) {
-        // Initialize configuration map
-        this.config = new HashMap<>();
         // Load game configuration from data file
         loadConfiguration();
         // Set the player role
@@ -228,16 +226,16 @@ public class GameModel {
      */
     private void initializeGame() {
         // Set initial phase to waiting for opponent
-        this.currentPhase = GamePhase.WAITING;
+        changePhase(GamePhase.WAITING);
         // Set current round to 1 (first round)
         this.currentRound = 1;
-        // Initialize max rounds from configuration or default to 3
-        this.maxRounds = Integer.parseInt(config.getOrDefault("max_rounds", "3"));
+        // Initialize max rounds from configuration (default is 3)
+        this.maxRounds = config.getMaxRounds();
         // Reset both players' scores to 0
         this.redScore = 0;
         this.blueScore = 0;
-        // Reset countdown to default value (3 seconds)
-        this.countdownValue = Integer.parseInt(config.getOrDefault("countdown_seconds", "3"));
+        // Reset countdown to the configured value (default is 3 seconds)
+        this.countdownValue = config.getCountdownSeconds();
         // Reset choice flags (no players have chosen yet)
         this.redChosen = false;
         this.blueChosen = false;
@@ -250,83 +248,36 @@ public class GameModel {
         this.gameWinner = null;
         // Reset game tie flag
         this.gameTie = false;
-        // Load panel dimensions from configuration
-        this.panelWidth = Integer.parseInt(config.getOrDefault("panel_width", "1280"));
-        this.panelHeight = Integer.parseInt(config.getOrDefault("panel_height", "720"));
-        // Load refresh rate from configuration
-        this.refreshRate = Integer.parseInt(config.getOrDefault("refresh_rate", "60"));
-        // Load port number from configuration
-        this.port = Integer.parseInt(config.getOrDefault("default_port", "1337"));
         // Generate random game code
         this.gameCode = generateGameCode();
     }
     
     /**
-     * Loads game configuration from the gameconfig.csv data file.
-     * Parses the file and stores key-value pairs in the configuration map.
+     * Takes the current configuration snapshot for the next match.
+     * The snapshot is immutable, so a reload published mid-match does not affect it.
      */
     private void loadConfiguration() {
-        // Try to read the configuration file
-        try (BufferedReader reader = new BufferedReader(new FileReader("data/gameconfig.csv"))) {
-            String line; // Variable to hold each line from the file
-            // Read each line from the file
-            while ((line = reader.readLine()) != null) {
-                // Split the line by comma to get key and value
-                String[] parts = line.split(",");
-                // Check if the line has both key and value
-                if (parts.length >= 2) {
-                    // Store the key-value pair in the configuration map
-                    config.put(parts[0].trim(), parts[1].trim());
-                }
-            }
-            // Print success message when configuration loaded
-            System.out.println("Game configuration loaded successfully from data file");
-        } catch (IOException e) {
-            // Print error message if file cannot be read
-            System.err.println("Error loading game configuration: " + e.getMessage());
-            // Set default values if configuration file cannot be loaded
-            setDefaultConfiguration();
-        }
+        // Read the latest published snapshot (loads the data file on first use)
+        this.config = ConfigStore.current();
     }
     
     /**
-     * Sets default configuration values when configuration file cannot be loaded.
-     * Ensures the game can still run with sensible defaults.
-     */
-    private void setDefaultConfiguration() {
-        // Set default game name
-        config.put("game_name", "Rock Paper Scissors");
-        // Set default max rounds
-        config.put("max_rounds", "3");
-        // Set default countdown seconds
-        config.put("countdown_seconds", "3");
-        // Set default shapes
-        config.put("rock_shape", "circle");
-        config.put("paper_shape", "square");
-        config.put("scissors_shape", "triangle");
-        // Set default colors
-        config.put("red_player_color", "255,0,0");
-        config.put("blue_player_color", "0,0,255");
-        // Set default panel dimensions
-        config.put("panel_width", "1280");
-        config.put("panel_height", "720");
-        // Set default refresh rate
-        config.put("refresh_rate", "60");
-        // Set default port
-        config.put("default_port", "1337");
-        // Print message indicating defaults are being used
-        System.out.println("Using default configuration values");
-    }
-    
-    /**
-     * Generates a random 5-digit game code for players to connect.
-     * The code is numeric and should be shared between players.
+     * Generates a 5-digit game code for players to connect.
+     * The code comes from the GameCodeRegistry, so no other live game in this
+     * process has it. Any code this model held before is released first.
      * 
      * @return A 5-digit numeric string representing the game code
      */
     private String generateGameCode() {
-        // Generate random number between 10000 and 99999
-        int code = (int)(Math.random() * 90000) + 10000;
+        releaseGameCode();
+        int code = GameCodeRegistry.getDefault().allocate(this);
+        if (code == GameCodeRegistry.NO_CODE) {
+            // Every code is in use - fall back to an unchecked random one
+            code = (int)(Math.random() * 90000) + 10000;
+            log("No free game codes - using unregistered code " + code);
+        } else {
+            this.registeredCode = code;
+        }
         // Convert to string and return
         return String.valueOf(code);
     }
@@ -341,11 +292,11 @@ public class GameModel {
      */
     public void startCountdown() {
         // Change phase to countdown
-        this.currentPhase = GamePhase.COUNTDOWN;
+        changePhase(GamePhase.COUNTDOWN);
         // Reset countdown to starting value
-        this.countdownValue = Integer.parseInt(config.getOrDefault("countdown_seconds", "3"));
+        this.countdownValue = config.getCountdownSeconds();
         // Print message to console for debugging
-        System.out.println("Countdown started for Round " + currentRound);
+        log("Countdown started for Round " + currentRound);
     }
     
     /**
@@ -360,9 +311,9 @@ public class GameModel {
         // Check if countdown has reached zero
         if (this.countdownValue <= 0) {
             // Transition to choosing phase
-            this.currentPhase = GamePhase.CHOOSING;
+            changePhase(GamePhase.CHOOSING);
             // Print message to console
-            System.out.println("Countdown ended - players must choose now");
+            log("Countdown ended - players must choose now");
         }
         // Return the new countdown value
         return this.countdownValue;
@@ -383,24 +334,25 @@ public class GameModel {
             // Mark Red player as having chosen
             this.redChosen = true;
             // Print message to console
-            System.out.println("Red player chose: " + choice);
+            log("Red player chose: " + choice);
         } else if (player == Player.BLUE) {
             // Store Blue player's choice
             this.blueChoice = choice;
             // Mark Blue player as having chosen
             this.blueChosen = true;
             // Print message to console
-            System.out.println("Blue player chose: " + choice);
+            log("Blue player chose: " + choice);
         }
         
-        // Check if both players have made their choices
-        if (this.redChosen && this.blueChosen) {
+        // Check if both players have made their choices (a choice hidden by a
+        // snapshot is not known yet - the round result from Red decides it)
+        if (this.redChosen && this.blueChosen && this.redChoice != null && this.blueChoice != null) {
             // Determine the round winner
             determineRoundWinner();
             // Change phase to results
-            this.currentPhase = GamePhase.RESULTS;
+            changePhase(GamePhase.RESULTS);
             // Print message to console
-            System.out.println("Both players chosen - determining winner");
+            log("Both players chosen - determining winner");
         }
     }
     
@@ -409,31 +361,42 @@ public class GameModel {
      * Updates scores if there is a winner (ties don't change scores).
      */
     private void determineRoundWinner() {
-        // Check if both choices are the same (tie)
-        if (this.redChoice == this.blueChoice) {
-            // Set round winner to null (tie)
-            this.roundWinner = null;
-            // Print tie message to console
-            System.out.println("Round " + currentRound + " ended in a tie");
-            return; // Exit method early
-        }
+        // Apply the round rules to both choices
+        this.roundWinner = resolveRound(this.redChoice, this.blueChoice);
         
-        // Check if Red's choice beats Blue's choice
-        if (this.redChoice.beats(this.blueChoice)) {
-            // Red wins the round
-            this.roundWinner = Player.RED;
+        // Check if the round was a tie
+        if (this.roundWinner == null) {
+            // Print tie message to console
+            log("Round " + currentRound + " ended in a tie");
+        } else if (this.roundWinner == Player.RED) {
             // Increment Red's score
             this.redScore++;
             // Print winner message to console
-            System.out.println("Red wins Round " + currentRound);
+            log("Red wins Round " + currentRound);
         } else {
-            // Blue wins the round
-            this.roundWinner = Player.BLUE;
             // Increment Blue's score
             this.blueScore++;
             // Print winner message to console
-            System.out.println("Blue wins Round " + currentRound);
+            log("Blue wins Round " + currentRound);
+        }
+    }
+    
+    /**
+     * Applies the Rock-Paper-Scissors rules to one pair of choices.
+     * This is the single place round outcomes are decided, so simulations and
+     * bots that call it always agree with the real game.
+     * 
+     * @param redChoice Red player's choice
+     * @param blueChoice Blue player's choice
+     * @return The winning player (RED or BLUE), or null for a tie
+     */
+    public static Player resolveRound(Choice redChoice, Choice blueChoice) {
+        // Same choice is a tie
+        if (redChoice == blueChoice) {
+            return null;
         }
+        // Otherwise whoever's choice beats the other wins
+        return redChoice.beats(blueChoice) ? Player.RED : Player.BLUE;
     }
     
     /**
@@ -450,9 +413,9 @@ public class GameModel {
             // Determine the overall game winner
             determineGameWinner();
             // Change phase to game over
-            this.currentPhase = GamePhase.GAME_OVER;
+            changePhase(GamePhase.GAME_OVER);
             // Print game over message to console
-            System.out.println("Game over - determining overall winner");
+            log("Game over - determining overall winner");
             // Return false to indicate game is complete
             return false;
         }
@@ -483,29 +446,43 @@ public class GameModel {
             // Set game winner to null
             this.gameWinner = null;
             // Print tie message to console
-            System.out.println("Game ended in a tie: " + redScore + " - " + blueScore);
+            log("Game ended in a tie: " + redScore + " - " + blueScore);
         } else if (this.redScore > this.blueScore) {
             // Red has higher score
             this.gameWinner = Player.RED;
             // Set game tie flag to false
             this.gameTie = false;
             // Print winner message to console
-            System.out.println("Red wins the game: " + redScore + " - " + blueScore);
+            log("Red wins the game: " + redScore + " - " + blueScore);
         } else {
             // Blue has higher score
             this.gameWinner = Player.BLUE;
             // Set game tie flag to false
             this.gameTie = false;
             // Print winner message to console
-            System.out.println("Blue wins the game: " + redScore + " - " + blueScore);
+            log("Blue wins the game: " + redScore + " - " + blueScore);
         }
     }
     
+    /**
+     * Takes a fresh configuration snapshot for a match started from the menu.
+     * Scores and the game code are left alone; only the configured round
+     * count and countdown length are updated.
+     */
+    public void refreshConfiguration() {
+        // Pick up any configuration reloaded since the last match
+        loadConfiguration();
+        this.maxRounds = config.getMaxRounds();
+        this.countdownValue = config.getCountdownSeconds();
+    }
+    
     /**
      * Resets the game for a new game session while keeping current scores.
      * Called when players choose "Keep Going" after game completion.
      */
     public void resetForNewGame() {
+        // Pick up any configuration reloaded since the last match
+        refreshConfiguration();
         // Reset current round to 1
         this.currentRound = 1;
         // Reset choices and flags
@@ -517,11 +494,11 @@ public class GameModel {
         this.gameWinner = null;
         this.gameTie = false;
         // Change phase to waiting
-        this.currentPhase = GamePhase.WAITING;
+        changePhase(GamePhase.WAITING);
         // Generate new game code
         this.gameCode = generateGameCode();
         // Print message to console
-        System.out.println("Game reset for new session - scores maintained");
+        log("Game reset for new session - scores maintained");
     }
     
     /**
@@ -535,7 +512,186 @@ public class GameModel {
         // Call resetForNewGame to reset other game state
         resetForNewGame();
         // Print message to console
-        System.out.println("Full game reset - all scores cleared");
+        log("Full game reset - all scores cleared");
+    }
+    
+    /**
+     * Moves the game to a new phase and tells the phase listener.
+     * @param newPhase The phase to move to
+     */
+    private void changePhase(GamePhase newPhase) {
+        GamePhase oldPhase = this.currentPhase;
+        this.currentPhase = newPhase;
+        // Only real changes are reported
+        if (this.phaseListener != null && oldPhase != newPhase) {
+            this.phaseListener.phaseChanged(oldPhase, newPhase, this.currentRound);
+        }
+        if (oldPhase != newPhase) {
+            recordPhaseEvent(newPhase);
+        }
+    }
+    
+    /**
+     * Ends the Flight Recorder event for the phase just left and starts one for the new phase.
+     * Costs nothing beyond the allocation when no recording is running.
+     * @param newPhase The phase just entered
+     */
+    private void recordPhaseEvent(GamePhase newPhase) {
+        if (this.phaseEvent != null) {
+            this.phaseEvent.setNextPhase(newPhase);
+            this.phaseEvent.commit();
+        }
+        this.phaseEvent = new PhaseEvent();
+        this.phaseEvent.setPhase(newPhase, this.currentRound);
+        this.phaseEvent.begin();
+    }
+    
+    /**
+     * Sets the listener told about every phase change.
+     * @param listener The listener, or null to stop listening
+     */
+    public void setPhaseListener(PhaseListener listener) {
+        this.phaseListener = listener;
+    }
+    
+    /**
+     * Prints a debugging message to the console unless logging is turned off.
+     * @param message The message to print
+     */
+    private void log(String message) {
+        if (this.verbose) {
+            System.out.println(message);
+        }
+    }
+    
+    /**
+     * Turns console logging of state changes on or off.
+     * Headless simulations running many matches at once turn it off.
+     * 
+     * @param verbose true to print state changes, false to stay quiet
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+    
+    // ========================
+    // SYNCHRONIZATION METHODS
+    // ========================
+    
+    /**
+     * Sets the countdown to a value sent by the other player.
+     * Moves to the choosing phase when the value reaches zero, like decrementCountdown().
+     * 
+     * @param seconds The remaining seconds
+     */
+    public void setCountdownValue(int seconds) {
+        // Only a running countdown can be moved
+        if (this.currentPhase != GamePhase.COUNTDOWN) {
+            return;
+        }
+        this.countdownValue = seconds;
+        if (seconds <= 0) {
+            // Transition to choosing phase
+            changePhase(GamePhase.CHOOSING);
+            // Print message to console
+            log("Countdown ended - players must choose now");
+        }
+    }
+    
+    /**
+     * Applies a round result decided by the other player.
+     * Used by Blue so its choices and scores match Red's, even if a choice
+     * message was missed.
+     * 
+     * @param redChoice Red player's choice
+     * @param blueChoice Blue player's choice
+     * @param winner The round winner (null for a tie)
+     * @param redScore Red's score after the round
+     * @param blueScore Blue's score after the round
+     */
+    public void applyRoundResult(Choice redChoice, Choice blueChoice, Player winner,
+                                 int redScore, int blueScore) {
+        this.redChoice = redChoice;
+        this.blueChoice = blueChoice;
+        this.redChosen = redChoice != null;
+        this.blueChosen = blueChoice != null;
+        this.roundWinner = winner;
+        this.redScore = redScore;
+        this.blueScore = blueScore;
+        changePhase(GamePhase.RESULTS);
+        // Print message to console
+        log("Round " + currentRound + " result applied: " + redScore + " - " + blueScore);
+    }
+    
+    /**
+     * Replaces the match state with a snapshot from the other player.
+     * Used to repair this model after it has drifted from Red's.
+     * 
+     * @param phase The phase to move to
+     * @param round The current round number
+     * @param redScore Red's score
+     * @param blueScore Blue's score
+     * @param countdown The countdown value
+     * @param redChoice Red's choice this round (null if not chosen)
+     * @param blueChoice Blue's choice this round (null if not chosen)
+     * @param winner The round winner (null for a tie or if not decided)
+     */
+    public void applySnapshot(GamePhase phase, int round, int redScore, int blueScore, int countdown,
+                              Choice redChoice, Choice blueChoice, Player winner) {
+        applySnapshot(phase, round, redScore, blueScore, countdown,
+                      redChoice, redChoice != null, blueChoice, blueChoice != null, winner);
+    }
+    
+    /**
+     * Replaces the match state with a snapshot that may hide the choices.
+     * Before a round is decided a snapshot only says who has chosen, so a
+     * player can be marked as chosen while their choice is still unknown.
+     * 
+     * @param phase The phase to move to
+     * @param round The current round number
+     * @param redScore Red's score
+     * @param blueScore Blue's score
+     * @param countdown The countdown value
+     * @param redChoice Red's choice this round (null if not chosen or hidden)
+     * @param redChosen Whether Red has chosen this round
+     * @param blueChoice Blue's choice this round (null if not chosen or hidden)
+     * @param blueChosen Whether Blue has chosen this round
+     * @param winner The round winner (null for a tie or if not decided)
+     */
+    public void applySnapshot(GamePhase phase, int round, int redScore, int blueScore, int countdown,
+                              Choice redChoice, boolean redChosen, Choice blueChoice, boolean blueChosen,
+                              Player winner) {
+        this.currentRound = round;
+        this.redScore = redScore;
+        this.blueScore = blueScore;
+        this.countdownValue = countdown;
+        this.redChoice = redChoice;
+        this.blueChoice = blueChoice;
+        this.redChosen = redChosen;
+        this.blueChosen = blueChosen;
+        this.roundWinner = winner;
+        if (phase == GamePhase.GAME_OVER) {
+            determineGameWinner();
+        }
+        changePhase(phase);
+        // Print message to console
+        log("State snapshot applied: round " + round + ", " + redScore + " - " + blueScore + ", " + phase);
+    }
+    
+    /**
+     * Calculates a compact hash of the state both players must agree on.
+     * Covers the round, both scores and the countdown. Phase and choices are
+     * left out because they legitimately differ while messages are in flight.
+     * 
+     * @return A 32-bit FNV-1a hash of the agreed state
+     */
+    public int stateHash() {
+        int hash = 0x811C9DC5;
+        hash = (hash ^ this.currentRound) * 0x01000193;
+        hash = (hash ^ this.redScore) * 0x01000193;
+        hash = (hash ^ this.blueScore) * 0x01000193;
+        hash = (hash ^ this.countdownValue) * 0x01000193;
+        return hash;
     }
     
     // ========================
@@ -672,18 +828,87 @@ public class GameModel {
     
     /**
      * Sets the game code (typically when joining an existing game).
+     * The code this model was given is released, since it is no longer used.
      * @param code The game code to set
      */
     public void setGameCode(String code) {
+        releaseGameCode();
         this.gameCode = code;
     }
     
+    /**
+     * Records where this game can be reached, so the code can be looked up
+     * within this process. Does nothing if the code is not one this model
+     * holds in the registry.
+     * 
+     * @param room Name of the room
+     * @param host Host the game is listening on
+     * @param port Port the game is listening on
+     */
+    public void bindGameCode(String room, String host, int port) {
+        if (this.registeredCode != GameCodeRegistry.NO_CODE) {
+            GameCodeRegistry.getDefault().bind(registeredCode, this, room, host, port);
+        }
+    }
+    
+    /**
+     * Keeps this model's game code from expiring while the game is in use.
+     * If the code already expired it is forgotten, since the registry may
+     * have given it to another game.
+     * 
+     * @return false if the code had expired, true otherwise
+     */
+    public boolean refreshGameCode() {
+        if (this.registeredCode == GameCodeRegistry.NO_CODE) {
+            return true;
+        }
+        if (GameCodeRegistry.getDefault().refresh(registeredCode, this)) {
+            return true;
+        }
+        log("Game code " + registeredCode + " expired");
+        this.registeredCode = GameCodeRegistry.NO_CODE;
+        return false;
+    }
+    
+    /**
+     * Gives this model's game code back to the registry so it can be reused.
+     * The code itself is kept for display; it is just no longer reserved.
+     */
+    public void releaseGameCode() {
+        if (this.registeredCode != GameCodeRegistry.NO_CODE) {
+            GameCodeRegistry.getDefault().release(registeredCode, this);
+            this.registeredCode = GameCodeRegistry.NO_CODE;
+        }
+    }
+    
+    /**
+     * Gets a player's name.
+     * @param player The player (RED or BLUE)
+     * @return The player's name
+     */
+    public String getPlayerName(Player player) {
+        return (player == Player.RED) ? this.redPlayerName : this.bluePlayerName;
+    }
+    
+    /**
+     * Sets a player's name (typically from the join handshake).
+     * @param player The player (RED or BLUE)
+     * @param name The player's name
+     */
+    public void setPlayerName(Player player, String name) {
+        if (player == Player.RED) {
+            this.redPlayerName = name;
+        } else {
+            this.bluePlayerName = name;
+        }
+    }
+    
     /**
      * Gets the panel width in pixels.
      * @return The panel width (default is 1280)
      */
     public int getPanelWidth() {
-        return this.panelWidth;
+        return this.config.getPanelWidth();
     }
     
     /**
@@ -691,7 +916,7 @@ public class GameModel {
      * @return The panel height (default is 720)
      */
     public int getPanelHeight() {
-        return this.panelHeight;
+        return this.config.getPanelHeight();
     }
     
     /**
@@ -699,7 +924,7 @@ public class GameModel {
      * @return The refresh rate (default is 60)
      */
     public int getRefreshRate() {
-        return this.refreshRate;
+        return this.config.getRefreshRate();
     }
     
     /**
@@ -707,7 +932,7 @@ public class GameModel {
      * @return The port number for socket connection
      */
     public int getPort() {
-        return this.port;
+        return this.config.getDefaultPort();
     }
     
     /**
@@ -716,14 +941,14 @@ public class GameModel {
      * @return The configuration value, or null if not found
      */
     public String getConfigValue(String key) {
-        return this.config.get(key);
+        return this.config.getValue(key);
     }
     
     /**
-     * Gets the entire configuration map.
-     * @return The map containing all configuration key-value pairs
+     * Gets the typed configuration snapshot.
+     * @return The immutable GameConfig used by this model
      */
-    public Map<String, String> getConfig() {
+    public GameConfig getConfig() {
         return this.config;
     }
 }
\ No newline at end of file
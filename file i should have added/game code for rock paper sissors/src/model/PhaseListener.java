@@ -0,0 +1,24 @@
+package model;
+
+import model.GameModel.GamePhase;
+
+/**
+ * PhaseListener - Told whenever a GameModel moves to a new phase.
+ * Used by tools that follow a match, such as the replay recorder.
+ * Called on whichever thread changed the model.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface PhaseListener {
+
+    /**
+     * Called after the model's phase changes.
+     *
+     * @param oldPhase The phase before the change
+     * @param newPhase The phase after the change
+     * @param round The current round number after the change
+     */
+    void phaseChanged(GamePhase oldPhase, GamePhase newPhase, int round);
+}
@@ -0,0 +1,306 @@
+package mux;
+
+import lib.SuperSocketMaster;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MuxBenchmark - Compares one connection per match with one multiplexed connection.
+ * Sets up the same number of matches over loopback in two ways:
+ * <ul>
+ *   <li>sockets: a SuperSocketMaster server and client for every match
+ *       (how games connect today)</li>
+ *   <li>mux: one MuxHub and a MuxSession each for Red and Blue, with one
+ *       stream per match on each (more sessions above MuxHub.MAX_STREAMS
+ *       matches)</li>
+ * </ul>
+ * Each then plays the given number of rounds, where Red sends a line on
+ * every match at once and Blue answers it. The table shows the TCP
+ * connections and threads each way needed, how long setting up every match
+ * took, and the round trip times.
+ *
+ * <p>Usage: java mux.MuxBenchmark [matches] [rounds] [base port]</p>
+ * <ul>
+ *   <li>matches: matches played at once (default 200)</li>
+ *   <li>rounds: round trips per match (default 50)</li>
+ *   <li>base port: first port for the sockets run, which uses one port per
+ *       match, kept below the range the system picks client ports from
+ *       (default 20000)</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MuxBenchmark {
+
+    /** Longest wait for setup or a round before giving up */
+    private static final long TIMEOUT_SECONDS = 30;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional match count, round count and base port
+     * @throws Exception if a run fails or times out
+     */
+    public static void main(String[] args) throws Exception {
+        int matches = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int basePort = args.length > 2 ? Integer.parseInt(args[2]) : 20000;
+
+        System.out.println(String.format("%-8s %8s %12s %8s %10s %11s %11s",
+                                         "mode", "matches", "connections", "threads",
+                                         "setup ms", "rtt p50 us", "rtt p99 us"));
+        runSockets(matches, rounds, basePort);
+        runMux(matches, rounds);
+    }
+
+    /**
+     * Plays every match over its own SuperSocketMaster connection.
+     *
+     * @param matches Number of matches
+     * @param rounds Round trips per match
+     * @param basePort Port of the first match's server
+     * @throws Exception if the run fails or times out
+     */
+    private static void runSockets(int matches, int rounds, int basePort) throws Exception {
+        final Rounds timing = new Rounds(matches, rounds);
+        final SuperSocketMaster[] reds = new SuperSocketMaster[matches];
+        final SuperSocketMaster[] blues = new SuperSocketMaster[matches];
+        int threadsBefore = Thread.activeCount();
+
+        long start = System.nanoTime();
+        try {
+            for (int i = 0; i < matches; i++) {
+                final int match = i;
+                reds[i] = new SuperSocketMaster(basePort + i, new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        timing.answered(match);
+                    }
+                });
+                if (!reds[i].connect()) {
+                    reds[i] = null;
+                    throw new IllegalStateException("Could not open port " + (basePort + i));
+                }
+                blues[i] = new SuperSocketMaster("localhost", basePort + i, new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        blues[match].sendText("PONG:" + blues[match].readText());
+                    }
+                });
+                if (!blues[i].connect()) {
+                    blues[i] = null;
+                    throw new IllegalStateException("Could not connect to port " + (basePort + i));
+                }
+            }
+            // Ready once every server has its client
+            for (int i = 0; i < matches; i++) {
+                while (reds[i].getConnectionCount() == 0) {
+                    checkTimeout(start);
+                    Thread.sleep(1);
+                }
+            }
+            long setupNanos = System.nanoTime() - start;
+            int threads = Thread.activeCount() - threadsBefore;
+
+            for (int round = 0; round < rounds; round++) {
+                CountDownLatch done = timing.startRound();
+                for (int i = 0; i < matches; i++) {
+                    timing.sent(i);
+                    reds[i].sendText("PING:" + round);
+                }
+                awaitRound(done);
+            }
+            timing.print("sockets", matches, matches, threads, setupNanos);
+        } finally {
+            // Servers left open would keep the program running
+            for (int i = 0; i < matches; i++) {
+                if (blues[i] != null) {
+                    blues[i].disconnect();
+                }
+                if (reds[i] != null) {
+                    reds[i].disconnect();
+                }
+            }
+        }
+    }
+
+    /**
+     * Plays every match as a stream over a shared connection per player.
+     * A connection may only carry MuxHub.MAX_STREAMS streams, so above that
+     * each player opens as few sessions as will hold every match.
+     *
+     * @param matches Number of matches
+     * @param rounds Round trips per match
+     * @throws Exception if the run fails or times out
+     */
+    private static void runMux(int matches, int rounds) throws Exception {
+        final Rounds timing = new Rounds(matches, rounds);
+        final MuxStream[] reds = new MuxStream[matches];
+        final MuxStream[] blues = new MuxStream[matches];
+        int sessionsEach = (matches + MuxHub.MAX_STREAMS - 1) / MuxHub.MAX_STREAMS;
+        MuxSession[] sessions = new MuxSession[sessionsEach * 2];
+        int threadsBefore = Thread.activeCount();
+
+        long start = System.nanoTime();
+        MuxHub hub = MuxHub.start(0);
+        if (hub == null) {
+            throw new IllegalStateException("Could not start the mux hub");
+        }
+        try {
+            for (int i = 0; i < sessions.length; i++) {
+                sessions[i] = MuxSession.open("localhost", hub.getPort());
+                if (sessions[i] == null) {
+                    throw new IllegalStateException("Could not connect to the mux hub");
+                }
+            }
+            for (int i = 0; i < matches; i++) {
+                final int match = i;
+                // Red's sessions come first, then Blue's
+                MuxSession redSession = sessions[i / MuxHub.MAX_STREAMS];
+                MuxSession blueSession = sessions[sessionsEach + i / MuxHub.MAX_STREAMS];
+                reds[i] = redSession.openStream("game-" + i, new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        timing.answered(match);
+                    }
+                });
+                blues[i] = blueSession.openStream("game-" + i, new ActionListener() {
+                    @Override
+                    public void actionPerformed(ActionEvent e) {
+                        blues[match].sendText("PONG:" + blues[match].readText());
+                    }
+                });
+            }
+            // Ready once the hub has joined every stream to its channel
+            while (hub.getStreamCount() < matches * 2) {
+                checkTimeout(start);
+                Thread.sleep(1);
+            }
+            long setupNanos = System.nanoTime() - start;
+            int threads = Thread.activeCount() - threadsBefore;
+
+            for (int round = 0; round < rounds; round++) {
+                CountDownLatch done = timing.startRound();
+                for (int i = 0; i < matches; i++) {
+                    timing.sent(i);
+                    reds[i].sendText("PING:" + round);
+                }
+                awaitRound(done);
+            }
+            timing.print("mux", matches, sessions.length, threads, setupNanos);
+        } finally {
+            for (MuxSession session : sessions) {
+                if (session != null) {
+                    session.close();
+                }
+            }
+            hub.close();
+        }
+    }
+
+    /**
+     * Waits for every match to answer a round.
+     *
+     * @param done Counted down once per answer
+     * @throws Exception if the round times out
+     */
+    private static void awaitRound(CountDownLatch done) throws Exception {
+        if (!done.await(TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException(done.getCount() + " matches never answered");
+        }
+    }
+
+    /**
+     * Gives up if setup has taken too long.
+     *
+     * @param start Time setup started (from System.nanoTime)
+     */
+    private static void checkTimeout(long start) {
+        if (System.nanoTime() - start > TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS)) {
+            throw new IllegalStateException("Setup timed out");
+        }
+    }
+
+    /**
+     * Round trip times for one run.
+     */
+    private static final class Rounds {
+
+        /** Time each match's current line was sent (from System.nanoTime) */
+        private final long[] sentAt;
+
+        /** Every round trip time in nanoseconds */
+        private final long[] times;
+
+        /** Number of round trip times recorded */
+        private int count;
+
+        /** Counted down once per answer in the current round */
+        private volatile CountDownLatch done;
+
+        /**
+         * Constructor for Rounds.
+         *
+         * @param matches Number of matches
+         * @param rounds Round trips per match
+         */
+        Rounds(int matches, int rounds) {
+            this.sentAt = new long[matches];
+            this.times = new long[matches * rounds];
+        }
+
+        /**
+         * Starts a round.
+         * @return Counted down once per answer
+         */
+        CountDownLatch startRound() {
+            done = new CountDownLatch(sentAt.length);
+            return done;
+        }
+
+        /**
+         * Records that a match's line was sent.
+         * @param match The match
+         */
+        synchronized void sent(int match) {
+            sentAt[match] = System.nanoTime();
+        }
+
+        /**
+         * Records that a match's line was answered.
+         * @param match The match
+         */
+        void answered(int match) {
+            long now = System.nanoTime();
+            synchronized (this) {
+                times[count++] = now - sentAt[match];
+            }
+            done.countDown();
+        }
+
+        /**
+         * Prints one row of the table.
+         *
+         * @param mode The label for the row
+         * @param matches Number of matches
+         * @param connections TCP connections used
+         * @param threads Threads started for the run
+         * @param setupNanos Time to set up every match
+         */
+        synchronized void print(String mode, int matches, int connections, int threads, long setupNanos) {
+            long[] sorted = Arrays.copyOf(times, count);
+            Arrays.sort(sorted);
+            System.out.println(String.format("%-8s %8d %12d %8d %10.1f %11d %11d",
+                                             mode, matches, connections, threads,
+                                             setupNanos / 1_000_000.0,
+                                             sorted[(int) (sorted.length * 0.50)] / 1_000,
+                                             sorted[Math.min(sorted.length - 1, (int) (sorted.length * 0.99))] / 1_000));
+        }
+    }
+}
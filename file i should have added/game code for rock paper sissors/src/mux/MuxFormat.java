@@ -0,0 +1,136 @@
+package mux;
+
+/**
+ * MuxFormat - The text frames that carry many streams over one connection.
+ *
+ * <p>Every frame is one line, so frames ride on SuperSocketMaster unchanged.
+ * The first character is the frame type, followed by the stream id in
+ * decimal and, for frames that carry text, a '|' and the text:</p>
+ * <ul>
+ *   <li>O7|game-12345 - the client opens stream 7 on channel "game-12345"</li>
+ *   <li>D7|MOVE:ROCK - a line of text on stream 7</li>
+ *   <li>C7 - stream 7 is closed (by the client, or refused by the hub)</li>
+ * </ul>
+ *
+ * <p>Stream ids are chosen by the client and only mean something on its own
+ * connection; the hub rewrites them for each member it relays to. The text
+ * after the first '|' is passed on untouched, so it may contain more '|'
+ * characters but, like any SuperSocketMaster message, no line breaks.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+final class MuxFormat {
+
+    /** Frame type: open a stream on a channel */
+    static final char OPEN = 'O';
+
+    /** Frame type: one line of text on a stream */
+    static final char DATA = 'D';
+
+    /** Frame type: close a stream */
+    static final char CLOSE = 'C';
+
+    /** Separates the stream id from the text */
+    static final char SEPARATOR = '|';
+
+    /** Returned by streamId() for a frame that cannot be read */
+    static final int NO_STREAM = -1;
+
+    /**
+     * Private constructor - this class only has static methods.
+     */
+    private MuxFormat() {
+    }
+
+    /**
+     * Builds an OPEN frame.
+     *
+     * @param streamId The stream id
+     * @param channel The channel to join
+     * @return The frame
+     */
+    static String open(int streamId, String channel) {
+        return OPEN + Integer.toString(streamId) + SEPARATOR + channel;
+    }
+
+    /**
+     * Builds a DATA frame.
+     *
+     * @param streamId The stream id
+     * @param text The line of text
+     * @return The frame
+     */
+    static String data(int streamId, String text) {
+        return DATA + Integer.toString(streamId) + SEPARATOR + text;
+    }
+
+    /**
+     * Builds a CLOSE frame.
+     *
+     * @param streamId The stream id
+     * @return The frame
+     */
+    static String close(int streamId) {
+        return CLOSE + Integer.toString(streamId);
+    }
+
+    /**
+     * Gets a frame's type.
+     *
+     * @param frame The frame
+     * @return OPEN, DATA or CLOSE, or 0 for an empty line
+     */
+    static char type(String frame) {
+        return frame.isEmpty() ? 0 : frame.charAt(0);
+    }
+
+    /**
+     * Reads a frame's stream id without splitting the line.
+     *
+     * @param frame The frame
+     * @return The stream id, or NO_STREAM if it is missing or not a number
+     */
+    static int streamId(String frame) {
+        int end = frame.indexOf(SEPARATOR);
+        if (end < 0) {
+            end = frame.length();
+        }
+        // At most 9 digits, so the number cannot overflow
+        if (end < 2 || end > 10) {
+            return NO_STREAM;
+        }
+        int id = 0;
+        for (int i = 1; i < end; i++) {
+            char c = frame.charAt(i);
+            if (c < '0' || c > '9') {
+                return NO_STREAM;
+            }
+            id = id * 10 + (c - '0');
+        }
+        return id;
+    }
+
+    /**
+     * Gets the text carried by an OPEN or DATA frame.
+     *
+     * @param frame The frame
+     * @return The text after the first '|', or null if there is none
+     */
+    static String text(String frame) {
+        int start = frame.indexOf(SEPARATOR);
+        return start < 0 ? null : frame.substring(start + 1);
+    }
+
+    /**
+     * Checks whether a channel name can be sent in an OPEN frame.
+     *
+     * @param channel The channel name
+     * @return true if it is not empty and has no line breaks
+     */
+    static boolean isValidChannel(String channel) {
+        return channel != null && !channel.isEmpty()
+               && channel.indexOf('\n') < 0 && channel.indexOf('\r') < 0;
+    }
+}
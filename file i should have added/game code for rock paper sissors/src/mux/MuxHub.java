@@ -0,0 +1,477 @@
+package mux;
+
+import lib.OutboundQueue;
+import lib.SuperSocketMaster;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MuxHub - Relays many channels over one connection per client.
+ * Each client connects once (see MuxSession) and opens a stream for every
+ * match, spectator feed or chat it takes part in. A line sent on a stream
+ * is relayed to every other stream on the same channel - the same thing a
+ * SuperSocketMaster server does for its clients, but for any number of
+ * channels on one port.
+ *
+ * <p>The hub uses two threads per client connection (a reader and a writer)
+ * however many channels the client is in, plus one thread accepting
+ * connections. Relaying only queues the line, so a slow client never stalls
+ * a reader; a client whose queue fills up is disconnected (dropping single
+ * lines would break whichever stream they belonged to).</p>
+ *
+ * <p>Usage: java mux.MuxHub [port]</p>
+ * <p>The port defaults to 1337 plus PORT_OFFSET.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MuxHub {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** The hub listens on the game port plus this offset */
+    public static final int PORT_OFFSET = 5;
+
+    /** Most streams one connection may have open */
+    public static final int MAX_STREAMS = 256;
+
+    /** Lines each connection may have waiting to be written */
+    static final int QUEUE_CAPACITY = 4096;
+
+    /** How long closing a connection waits for queued lines to be written */
+    private static final long DRAIN_MILLIS = 500;
+
+    /** Shared by channels with nobody in them */
+    private static final Member[] NO_MEMBERS = new Member[0];
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Accepts client connections */
+    private final ServerSocket serverSocket;
+
+    /** Members of each channel; an array is replaced, never changed (guarded by this) */
+    private final Map<String, Member[]> channels = new HashMap<String, Member[]>();
+
+    /** Open client connections (guarded by this) */
+    private final Set<Connection> connections = new HashSet<Connection>();
+
+    /** Number of streams open over all connections (guarded by this) */
+    private int streamCount;
+
+    /** Lines relayed to a member */
+    private final AtomicLong relayedCount = new AtomicLong();
+
+    /** Flag indicating the hub has been closed */
+    private volatile boolean closed;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - use start() to open a hub.
+     * @param port The port to listen on
+     * @throws IOException if the port cannot be opened
+     */
+    private MuxHub(int port) throws IOException {
+        this.serverSocket = new ServerSocket(port);
+        Thread acceptThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                acceptLoop();
+            }
+        }, "Mux-Accept");
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    /**
+     * Opens a hub.
+     *
+     * @param port The port to listen on (0 picks a free port)
+     * @return The hub, or null if the port could not be opened
+     */
+    public static MuxHub start(int port) {
+        try {
+            MuxHub hub = new MuxHub(port);
+            // Print message to console
+            System.out.println("Mux hub listening on port " + hub.getPort());
+            return hub;
+        } catch (IOException e) {
+            // Print error message
+            System.err.println("Could not open mux hub port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Main method - runs a hub until the program is stopped.
+     *
+     * @param args Optional port
+     * @throws InterruptedException if interrupted while running
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 1337 + PORT_OFFSET;
+        MuxHub hub = start(port);
+        if (hub == null) {
+            System.exit(1);
+        }
+        while (true) {
+            Thread.sleep(60_000);
+            hub.printStats();
+        }
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Stops the hub and disconnects every client.
+     */
+    public void close() {
+        closed = true;
+        try {
+            serverSocket.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+        Connection[] open;
+        synchronized (this) {
+            open = connections.toArray(new Connection[0]);
+        }
+        for (Connection connection : open) {
+            connection.close();
+        }
+    }
+
+    /**
+     * Gets the port clients connect to.
+     * @return The listening port
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Gets the number of clients connected.
+     * @return The connection count
+     */
+    public synchronized int getConnectionCount() {
+        return connections.size();
+    }
+
+    /**
+     * Gets the number of channels with at least one stream open.
+     * @return The channel count
+     */
+    public synchronized int getChannelCount() {
+        return channels.size();
+    }
+
+    /**
+     * Gets the number of streams open over all connections.
+     * @return The stream count
+     */
+    public synchronized int getStreamCount() {
+        return streamCount;
+    }
+
+    /**
+     * Gets the number of lines relayed to members since the hub started.
+     * @return The relayed line count
+     */
+    public long getRelayedCount() {
+        return relayedCount.get();
+    }
+
+    /**
+     * Prints the hub's connection, channel and stream counts.
+     */
+    public void printStats() {
+        System.out.println(String.format("Mux hub: %d connections, %d channels, %d streams, %d lines relayed",
+                                         getConnectionCount(), getChannelCount(), getStreamCount(),
+                                         getRelayedCount()));
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Accepts clients until the hub is closed (accept thread).
+     */
+    private void acceptLoop() {
+        while (!closed) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!closed) {
+                    System.err.println("Mux hub stopped accepting: " + e.getMessage());
+                }
+                return;
+            }
+            try {
+                Connection connection = new Connection(socket);
+                synchronized (this) {
+                    connections.add(connection);
+                }
+                Thread reader = new Thread(connection, "Mux-Reader");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                try {
+                    socket.close();
+                } catch (IOException e2) {
+                    // Nothing more to do
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds a stream to its channel.
+     *
+     * @param connection The connection opening the stream
+     * @param streamId The stream id
+     * @param channel The channel name
+     * @return false if the id is in use or the connection has too many streams
+     */
+    private synchronized boolean join(Connection connection, int streamId, String channel) {
+        if (connection.streams.containsKey(streamId) || connection.streams.size() >= MAX_STREAMS) {
+            return false;
+        }
+        Member member = new Member(connection, streamId, channel);
+        connection.streams.put(streamId, member);
+        Member[] members = channels.get(channel);
+        if (members == null) {
+            members = NO_MEMBERS;
+        }
+        Member[] joined = Arrays.copyOf(members, members.length + 1);
+        joined[members.length] = member;
+        channels.put(channel, joined);
+        streamCount++;
+        return true;
+    }
+
+    /**
+     * Removes a stream from its channel.
+     *
+     * @param connection The connection the stream belongs to
+     * @param streamId The stream id
+     */
+    private synchronized void leave(Connection connection, int streamId) {
+        Member member = connection.streams.remove(streamId);
+        if (member == null) {
+            return;
+        }
+        Member[] members = channels.get(member.channel);
+        if (members.length == 1) {
+            channels.remove(member.channel);
+        } else {
+            Member[] left = new Member[members.length - 1];
+            int next = 0;
+            for (Member other : members) {
+                if (other != member) {
+                    left[next++] = other;
+                }
+            }
+            channels.put(member.channel, left);
+        }
+        streamCount--;
+    }
+
+    /**
+     * Relays a line to every other member of the sender's channel.
+     *
+     * @param connection The connection the line arrived on
+     * @param streamId The stream it was sent on
+     * @param text The line
+     */
+    private void relay(Connection connection, int streamId, String text) {
+        Member[] members;
+        Member sender;
+        synchronized (this) {
+            sender = connection.streams.get(streamId);
+            if (sender == null) {
+                return;
+            }
+            members = channels.get(sender.channel);
+        }
+        // Queued outside the lock - each member needs its own stream id in the frame
+        for (Member member : members) {
+            if (member != sender) {
+                member.connection.send(MuxFormat.data(member.streamId, text));
+                relayedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Removes a closed connection and all of its streams.
+     * @param connection The connection
+     */
+    private synchronized void removeConnection(Connection connection) {
+        if (!connections.remove(connection)) {
+            return;
+        }
+        Integer[] ids = connection.streams.keySet().toArray(new Integer[0]);
+        for (Integer id : ids) {
+            leave(connection, id);
+        }
+    }
+
+    // ========================
+    // NESTED CLASSES
+    // ========================
+
+    /**
+     * One stream joined to a channel.
+     */
+    private static final class Member {
+
+        /** The connection the stream belongs to */
+        final Connection connection;
+
+        /** The stream id on that connection */
+        final int streamId;
+
+        /** The channel joined */
+        final String channel;
+
+        /**
+         * Constructor for Member.
+         *
+         * @param connection The connection the stream belongs to
+         * @param streamId The stream id on that connection
+         * @param channel The channel joined
+         */
+        Member(Connection connection, int streamId, String channel) {
+            this.connection = connection;
+            this.streamId = streamId;
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * One client's connection: reads its frames and queues lines to it.
+     */
+    private final class Connection implements Runnable {
+
+        /** The client's socket */
+        private final Socket socket;
+
+        /** Lines waiting to be written to the client */
+        private final OutboundQueue queue;
+
+        /** The client's streams by stream id (guarded by the hub) */
+        final Map<Integer, Member> streams = new HashMap<Integer, Member>();
+
+        /**
+         * Constructor for Connection - starts the writer thread.
+         *
+         * @param socket The client's socket
+         * @throws IOException if the socket's streams cannot be opened
+         */
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            this.socket.setTcpNoDelay(true);
+            PrintWriter out = new PrintWriter(socket.getOutputStream(), false);
+            this.queue = new OutboundQueue(out, QUEUE_CAPACITY, SuperSocketMaster.OverflowPolicy.DISCONNECT, null,
+                                           new Runnable() {
+                                               @Override
+                                               public void run() {
+                                                   close();
+                                               }
+                                           });
+            this.queue.start("Mux-Writer");
+        }
+
+        /**
+         * Reads frames until the client goes away (reader thread).
+         */
+        @Override
+        public void run() {
+            try {
+                BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
+                String frame;
+                while ((frame = in.readLine()) != null) {
+                    handleFrame(frame);
+                }
+            } catch (IOException e) {
+                // Client disconnected or the hub closed the socket
+            }
+            close();
+        }
+
+        /**
+         * Acts on one frame from the client.
+         * @param frame The frame
+         */
+        private void handleFrame(String frame) {
+            int streamId = MuxFormat.streamId(frame);
+            if (streamId == MuxFormat.NO_STREAM) {
+                return;
+            }
+            switch (MuxFormat.type(frame)) {
+                case MuxFormat.DATA:
+                    String text = MuxFormat.text(frame);
+                    if (text != null) {
+                        relay(this, streamId, text);
+                    }
+                    break;
+                case MuxFormat.OPEN:
+                    String channel = MuxFormat.text(frame);
+                    if (channel == null || channel.isEmpty() || !join(this, streamId, channel)) {
+                        // Refused - the client forgets the stream
+                        send(MuxFormat.close(streamId));
+                    }
+                    break;
+                case MuxFormat.CLOSE:
+                    leave(this, streamId);
+                    break;
+                default:
+                    // Unknown frame types are ignored so newer clients still work
+                    break;
+            }
+        }
+
+        /**
+         * Queues a line to the client without blocking.
+         * @param line The line
+         */
+        void send(String line) {
+            queue.offer(line);
+        }
+
+        /**
+         * Closes the connection and removes its streams. Safe to call more than once.
+         */
+        void close() {
+            removeConnection(this);
+            queue.close(DRAIN_MILLIS);
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // Already closed
+            }
+        }
+    }
+}
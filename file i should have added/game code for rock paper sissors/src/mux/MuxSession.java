@@ -0,0 +1,224 @@
+package mux;
+
+import lib.SuperSocketMaster;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MuxSession - One connection to a MuxHub carrying any number of streams.
+ * A client that plays a match, watches another and sits in a chat channel
+ * opens one stream for each instead of one SuperSocketMaster for each, so
+ * it keeps a single socket, a single reader and a single writer thread.
+ *
+ * <p>Opening a stream costs one OPEN frame on the connection that is already
+ * up - there is no TCP handshake, and lines can be sent on the stream
+ * straight away because frames on one connection stay in order.</p>
+ *
+ * <p>A slow stream holds up the streams behind it on the same connection,
+ * so the outbound queue disconnects rather than drop lines: a lost line on
+ * one stream would be as bad as losing the whole session.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MuxSession {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The shared connection to the hub */
+    private final SuperSocketMaster socket;
+
+    /** Open streams by stream id */
+    private final Map<Integer, MuxStream> streams = new ConcurrentHashMap<Integer, MuxStream>();
+
+    /** Id for the next stream opened */
+    private final AtomicInteger nextStreamId = new AtomicInteger(1);
+
+    /** Frames that arrived for a stream this session does not have */
+    private final AtomicInteger unknownFrames = new AtomicInteger();
+
+    /** Flag indicating close() has been called */
+    private volatile boolean closed;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - use open() to connect a session.
+     *
+     * @param host The hub's host name or address
+     * @param port The hub's port
+     */
+    private MuxSession(String host, int port) {
+        // Frames from every stream arrive on the one reader thread, in order
+        this.socket = new SuperSocketMaster(host, port, new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                handleFrame(socket.readText());
+            }
+        });
+        this.socket.setOutboundQueue(MuxHub.QUEUE_CAPACITY, SuperSocketMaster.OverflowPolicy.DISCONNECT);
+    }
+
+    /**
+     * Connects a session to a hub.
+     *
+     * @param host The hub's host name or address
+     * @param port The hub's port
+     * @return The session, or null if the hub could not be reached
+     */
+    public static MuxSession open(String host, int port) {
+        MuxSession session = new MuxSession(host, port);
+        if (!session.socket.connect()) {
+            // Print error message
+            System.err.println("Could not connect to mux hub at " + host + ":" + port);
+            return null;
+        }
+        return session;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Opens a stream on a channel, e.g. "game-12345", "watch-12345" or "chat-lobby".
+     * Everyone with a stream open on the same channel receives the lines the
+     * others send on it.
+     *
+     * @param channel Name of the channel to join (no line breaks)
+     * @param listener Receives the lines that arrive on the stream (may be null)
+     * @return The stream, or null if the session is closed
+     * @throws IllegalArgumentException if the channel name is empty or has line breaks
+     */
+    public MuxStream openStream(String channel, ActionListener listener) {
+        if (!MuxFormat.isValidChannel(channel)) {
+            throw new IllegalArgumentException("Invalid channel name: " + channel);
+        }
+        if (closed) {
+            return null;
+        }
+        MuxStream stream = new MuxStream(this, nextStreamId.getAndIncrement(), channel, listener);
+
+        // Registered first so lines that arrive right after the OPEN find it
+        streams.put(stream.getStreamId(), stream);
+        if (!socket.sendText(MuxFormat.open(stream.getStreamId(), channel))) {
+            streams.remove(stream.getStreamId());
+            stream.markClosed();
+            return null;
+        }
+        return stream;
+    }
+
+    /**
+     * Closes every stream and the connection.
+     */
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (MuxStream stream : streams.values()) {
+            stream.markClosed();
+        }
+        streams.clear();
+        socket.disconnect();
+    }
+
+    /**
+     * Checks whether the connection to the hub is still up.
+     * @return true until close() is called or the hub goes away
+     */
+    public boolean isConnected() {
+        return !closed && socket.getConnectionCount() > 0;
+    }
+
+    /**
+     * Gets the number of streams open on this session.
+     * @return The stream count
+     */
+    public int getStreamCount() {
+        return streams.size();
+    }
+
+    /**
+     * Gets the number of frames that arrived for streams this session does not have.
+     * A few are normal just after closing a stream.
+     *
+     * @return The unknown frame count
+     */
+    public int getUnknownFrameCount() {
+        return unknownFrames.get();
+    }
+
+    // ========================
+    // STREAM METHODS
+    // ========================
+
+    /**
+     * Sends a line on a stream.
+     *
+     * @param stream The stream
+     * @param text The line
+     * @return true if it was queued
+     */
+    boolean send(MuxStream stream, String text) {
+        return !closed && socket.sendText(MuxFormat.data(stream.getStreamId(), text));
+    }
+
+    /**
+     * Tells the hub a stream has left its channel.
+     * @param stream The stream
+     */
+    void closeStream(MuxStream stream) {
+        if (streams.remove(stream.getStreamId()) != null && !closed) {
+            socket.sendText(MuxFormat.close(stream.getStreamId()));
+        }
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Hands a frame from the hub to its stream (reader thread).
+     * @param frame The frame
+     */
+    private void handleFrame(String frame) {
+        if (frame == null) {
+            return;
+        }
+        int streamId = MuxFormat.streamId(frame);
+        MuxStream stream = streamId == MuxFormat.NO_STREAM ? null : streams.get(streamId);
+        if (stream == null) {
+            unknownFrames.incrementAndGet();
+            return;
+        }
+
+        switch (MuxFormat.type(frame)) {
+            case MuxFormat.DATA:
+                String text = MuxFormat.text(frame);
+                if (text != null) {
+                    stream.deliver(text);
+                }
+                break;
+            case MuxFormat.CLOSE:
+                // The hub refused or dropped the stream
+                streams.remove(streamId);
+                stream.markClosed();
+                System.err.println("Mux hub closed stream on channel " + stream.getChannel());
+                break;
+            default:
+                unknownFrames.incrementAndGet();
+                break;
+        }
+    }
+}
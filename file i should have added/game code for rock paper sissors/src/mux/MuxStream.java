@@ -0,0 +1,159 @@
+package mux;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+
+/**
+ * MuxStream - One channel carried over a MuxSession's shared connection.
+ * Used like a SuperSocketMaster: sendText() sends a line to the other
+ * members of the channel, and each line that arrives is handed to the
+ * listener as an ActionEvent whose source is this stream, after which
+ * readText() returns it.
+ *
+ * <p>Events arrive on the session's reader thread, one at a time for all of
+ * the session's streams, so a listener that does real work should hand it
+ * to its own thread (the window uses SwingUtilities.invokeLater).</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MuxStream {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The session carrying this stream */
+    private final MuxSession session;
+
+    /** Stream id on the session's connection */
+    private final int streamId;
+
+    /** Name of the channel the stream joined */
+    private final String channel;
+
+    /** Receives the lines that arrive */
+    private final ActionListener listener;
+
+    /** Last line that arrived */
+    private volatile String incomingText = "";
+
+    /** Flag indicating the stream has been closed */
+    private volatile boolean closed;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for MuxStream - use MuxSession.openStream().
+     *
+     * @param session The session carrying the stream
+     * @param streamId Stream id on the session's connection
+     * @param channel Name of the channel
+     * @param listener Receives the lines that arrive (may be null)
+     */
+    MuxStream(MuxSession session, int streamId, String channel, ActionListener listener) {
+        this.session = session;
+        this.streamId = streamId;
+        this.channel = channel;
+        this.listener = listener;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Sends a line to the other members of the channel.
+     *
+     * @param text The line (no line breaks)
+     * @return true if it was queued, false if the stream or session is closed
+     */
+    public boolean sendText(String text) {
+        if (closed) {
+            return false;
+        }
+        return session.send(this, text);
+    }
+
+    /**
+     * Gets the last line that arrived on this stream.
+     * @return The line, or "" if none has arrived yet
+     */
+    public String readText() {
+        return incomingText;
+    }
+
+    /**
+     * Leaves the channel. The session and its other streams stay open.
+     */
+    public void close() {
+        if (!closed) {
+            closed = true;
+            session.closeStream(this);
+        }
+    }
+
+    /**
+     * Checks whether the stream can still send and receive.
+     * @return true until the stream, its session or the hub closes it
+     */
+    public boolean isOpen() {
+        return !closed && session.isConnected();
+    }
+
+    // ========================
+    // SESSION METHODS
+    // ========================
+
+    /**
+     * Hands a line that arrived to the listener (session reader thread).
+     * @param text The line
+     */
+    void deliver(String text) {
+        if (closed) {
+            return;
+        }
+        incomingText = text;
+        if (listener != null) {
+            listener.actionPerformed(new ActionEvent(this, ActionEvent.ACTION_PERFORMED, "Network Message"));
+        }
+    }
+
+    /**
+     * Marks the stream closed without telling the hub (it already knows).
+     */
+    void markClosed() {
+        closed = true;
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the stream id on the session's connection.
+     * @return The stream id
+     */
+    public int getStreamId() {
+        return this.streamId;
+    }
+
+    /**
+     * Gets the name of the channel the stream joined.
+     * @return The channel name
+     */
+    public String getChannel() {
+        return this.channel;
+    }
+
+    /**
+     * Gets the session carrying this stream.
+     * @return The session
+     */
+    public MuxSession getSession() {
+        return this.session;
+    }
+}
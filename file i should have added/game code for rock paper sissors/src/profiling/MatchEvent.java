@@ -0,0 +1,80 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * MatchEvent - Flight Recorder event covering one whole match.
+ * Begins when the match starts and is committed at game over, or when the
+ * opponent leaves early.
+ *
+ * <p>All game events are under the "Rock Paper Scissors" category. To record
+ * a session run the game with
+ * {@code -XX:StartFlightRecording=filename=data/game.jfr} and open the file
+ * in JDK Mission Control. When no recording is running the events cost
+ * only their allocation.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+@Name("rps.Match")
+@Label("Match")
+@Category({"Rock Paper Scissors", "Game"})
+@Description("One match from start to game over")
+public class MatchEvent extends Event {
+
+    @Label("Role")
+    @Description("RED if this player hosted the match, BLUE if it joined")
+    private String role;
+
+    @Label("Red Player")
+    private String redPlayer;
+
+    @Label("Blue Player")
+    private String bluePlayer;
+
+    @Label("Rounds Played")
+    private int rounds;
+
+    @Label("Red Score")
+    private int redScore;
+
+    @Label("Blue Score")
+    private int blueScore;
+
+    @Label("Completed")
+    @Description("false if the opponent left before game over")
+    private boolean completed;
+
+    /**
+     * Fills in the players when the match starts.
+     *
+     * @param role "RED" or "BLUE"
+     * @param redPlayer Red's name
+     * @param bluePlayer Blue's name
+     */
+    public void setPlayers(String role, String redPlayer, String bluePlayer) {
+        this.role = role;
+        this.redPlayer = redPlayer;
+        this.bluePlayer = bluePlayer;
+    }
+
+    /**
+     * Fills in the outcome when the match ends.
+     *
+     * @param rounds Rounds played
+     * @param redScore Red's final score
+     * @param blueScore Blue's final score
+     * @param completed true if the match reached game over
+     */
+    public void setOutcome(int rounds, int redScore, int blueScore, boolean completed) {
+        this.rounds = rounds;
+        this.redScore = redScore;
+        this.blueScore = blueScore;
+        this.completed = completed;
+    }
+}
@@ -0,0 +1,40 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * NetworkDispatchEvent - Flight Recorder event for handling one protocol message.
+ * Covers the handler for the message type and the state hash check after it.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+@Name("rps.NetworkDispatch")
+@Label("Message Dispatch")
+@Category({"Rock Paper Scissors", "Network"})
+@Description("Handling one message from the opponent")
+public class NetworkDispatchEvent extends Event {
+
+    @Label("Message Type")
+    private String messageType;
+
+    @Label("Red Player")
+    @Description("true if this player is Red")
+    private boolean redPlayer;
+
+    /**
+     * Fills in the message.
+     *
+     * @param message The message body
+     * @param redPlayer true if this player is Red
+     */
+    public void setMessage(String message, boolean redPlayer) {
+        this.messageType = NetworkReceiveEvent.typeOf(message);
+        this.redPlayer = redPlayer;
+    }
+}
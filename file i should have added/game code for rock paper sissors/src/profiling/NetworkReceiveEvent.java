@@ -0,0 +1,82 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * NetworkReceiveEvent - Flight Recorder event for reading one protocol message.
+ * Covers reading the line, splitting off the envelope and checking the
+ * sequence number, up to the point the message is handed to its handler.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+@Name("rps.NetworkReceive")
+@Label("Message Receive")
+@Category({"Rock Paper Scissors", "Network"})
+@Description("Reading and checking one message from the opponent")
+public class NetworkReceiveEvent extends Event {
+
+    @Label("Message Type")
+    private String messageType;
+
+    @Label("Sequence")
+    private long sequence;
+
+    @Label("Size")
+    @DataAmount
+    private int size;
+
+    @Label("Latency")
+    @Description("Send to receive time, or -1 if the clocks are not in step yet")
+    @Timespan(Timespan.MICROSECONDS)
+    private long latency;
+
+    @Label("Dropped")
+    @Description("true if the message was empty or a repeat")
+    private boolean dropped;
+
+    /**
+     * Fills in the message.
+     *
+     * @param message The message as received
+     * @param sequence Its sequence number
+     */
+    public void setMessage(String message, long sequence) {
+        this.messageType = typeOf(message);
+        this.sequence = sequence;
+        this.size = message.length();
+    }
+
+    /**
+     * Fills in the send to receive time.
+     * @param latencyMicros The latency in microseconds, or -1 if unknown
+     */
+    public void setLatency(long latencyMicros) {
+        this.latency = latencyMicros;
+    }
+
+    /**
+     * Marks the message as dropped.
+     */
+    public void setDropped() {
+        this.dropped = true;
+    }
+
+    /**
+     * Gets a message's type, the text before its colon.
+     *
+     * @param message The message
+     * @return The type (e.g. "COUNTDOWN")
+     */
+    static String typeOf(String message) {
+        int colon = message.indexOf(':');
+        return colon >= 0 ? message.substring(0, colon) : message;
+    }
+}
@@ -0,0 +1,43 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * PaintEvent - Flight Recorder event for one panel paint.
+ * Panels time their own paintComponent and report it to RenderStats,
+ * which commits this event when the paint is finished, so the paint time
+ * is a field rather than the event's duration.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+@Name("rps.PanelPaint")
+@Label("Panel Paint")
+@Category({"Rock Paper Scissors", "Rendering"})
+@Description("One paintComponent call on a game panel")
+public class PaintEvent extends Event {
+
+    @Label("Panel")
+    private String panel;
+
+    @Label("Paint Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long paintTime;
+
+    /**
+     * Fills in the paint.
+     *
+     * @param panel The panel's name
+     * @param paintTime How long the paint took in nanoseconds
+     */
+    public void setPaint(String panel, long paintTime) {
+        this.panel = panel;
+        this.paintTime = paintTime;
+    }
+}
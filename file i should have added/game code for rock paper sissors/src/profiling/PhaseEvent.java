@@ -0,0 +1,50 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * PhaseEvent - Flight Recorder event covering the time a GameModel spent in one phase.
+ * Begins when the model enters the phase and is committed when it leaves.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+@Name("rps.Phase")
+@Label("Game Phase")
+@Category({"Rock Paper Scissors", "Game"})
+@Description("Time the game model spent in one phase")
+public class PhaseEvent extends Event {
+
+    @Label("Phase")
+    private String phase;
+
+    @Label("Next Phase")
+    private String nextPhase;
+
+    @Label("Round")
+    private int round;
+
+    /**
+     * Fills in the phase being entered.
+     *
+     * @param phase The phase
+     * @param round The round it belongs to
+     */
+    public void setPhase(Object phase, int round) {
+        this.phase = String.valueOf(phase);
+        this.round = round;
+    }
+
+    /**
+     * Fills in the phase that followed.
+     * @param nextPhase The phase the model moved to
+     */
+    public void setNextPhase(Object nextPhase) {
+        this.nextPhase = String.valueOf(nextPhase);
+    }
+}
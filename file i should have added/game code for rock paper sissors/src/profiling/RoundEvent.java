@@ -0,0 +1,51 @@
+package profiling;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * RoundEvent - Flight Recorder event covering the resolution of one round.
+ * Begins when choosing opens and is committed when the round result is
+ * known, so its duration matches the round,resolution metric.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+@Name("rps.Round")
+@Label("Round Resolution")
+@Category({"Rock Paper Scissors", "Game"})
+@Description("From choosing opening to the round result")
+public class RoundEvent extends Event {
+
+    @Label("Round")
+    private int round;
+
+    @Label("Red Choice")
+    private String redChoice;
+
+    @Label("Blue Choice")
+    private String blueChoice;
+
+    @Label("Winner")
+    @Description("RED, BLUE or Tie")
+    private String winner;
+
+    /**
+     * Fills in the round's outcome.
+     *
+     * @param round The round number
+     * @param redChoice Red's choice (null if none)
+     * @param blueChoice Blue's choice (null if none)
+     * @param winner The winner (null for a tie)
+     */
+    public void setOutcome(int round, Object redChoice, Object blueChoice, Object winner) {
+        this.round = round;
+        this.redChoice = redChoice != null ? redChoice.toString() : "None";
+        this.blueChoice = blueChoice != null ? blueChoice.toString() : "None";
+        this.winner = winner != null ? winner.toString() : "Tie";
+    }
+}
@@ -0,0 +1,115 @@
+package ratings;
+
+import matchmaking.EloRating;
+import metrics.LatencyPercentiles;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * LedgerBenchmark - Measures rating ledger speed with a large number of players.
+ * Fills a ledger in a temporary folder, then times recording games, rank
+ * lookups, top-K queries, writing the snapshot and loading it back.
+ *
+ * <p>Usage: java ratings.LedgerBenchmark [players] [games]</p>
+ * <ul>
+ *   <li>players: number of players in the ledger (default 1000000)</li>
+ *   <li>games: number of timed games and queries (default 100000)</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class LedgerBenchmark {
+
+    /** Size of the leaderboard page fetched by the top-K phase */
+    private static final int TOP_K = 100;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional player count and game count
+     * @throws IOException if the temporary files cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int games = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        File folder = Files.createTempDirectory("ratings").toFile();
+        File snapshot = new File(folder, "ratings.dat");
+        File journal = new File(folder, "ratings.journal");
+        RatingLedger ledger = new RatingLedger(snapshot.getPath(), journal.getPath());
+        Random random = new Random(42);
+
+        // Fill the ledger: each game introduces two new players
+        long start = System.nanoTime();
+        for (int i = 0; i < players; i += 2) {
+            ledger.recordGame("player" + i, "player" + (i + 1), randomScore(random));
+        }
+        System.out.println("Filled " + ledger.size() + " players in "
+                           + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        // Timed games between random existing players
+        long[] gameTimes = new long[games];
+        for (int i = 0; i < games; i++) {
+            int firstIndex = random.nextInt(players);
+            // Pick a different second player - a game against yourself is not rated
+            int secondIndex = (firstIndex + 1 + random.nextInt(Math.max(1, players - 1))) % players;
+            String first = "player" + firstIndex;
+            String second = "player" + secondIndex;
+            long t = System.nanoTime();
+            ledger.recordGame(first, second, randomScore(random));
+            gameTimes[i] = System.nanoTime() - t;
+        }
+        LatencyPercentiles.print("record game", gameTimes);
+
+        // Timed rank lookups
+        long[] rankTimes = new long[games];
+        for (int i = 0; i < games; i++) {
+            String name = "player" + random.nextInt(players);
+            long t = System.nanoTime();
+            ledger.getRank(name);
+            rankTimes[i] = System.nanoTime() - t;
+        }
+        LatencyPercentiles.print("rank lookup", rankTimes);
+
+        // Timed top-K pages
+        long[] topTimes = new long[Math.max(1, games / 100)];
+        for (int i = 0; i < topTimes.length; i++) {
+            long t = System.nanoTime();
+            ledger.getTop(TOP_K);
+            topTimes[i] = System.nanoTime() - t;
+        }
+        LatencyPercentiles.print("top " + TOP_K, topTimes);
+
+        // Snapshot write and reload
+        start = System.nanoTime();
+        ledger.saveSnapshot();
+        System.out.println("Snapshot written: " + snapshot.length() / 1024 + " KB in "
+                           + (System.nanoTime() - start) / 1_000_000 + " ms");
+
+        RatingLedger loaded = new RatingLedger(snapshot.getPath(), journal.getPath());
+        start = System.nanoTime();
+        loaded.load();
+        System.out.println("Snapshot loaded: " + loaded.size() + " players in "
+                           + (System.nanoTime() - start) / 1_000_000 + " ms");
+        System.out.println("Leader: " + loaded.getTop(1));
+
+        snapshot.delete();
+        journal.delete();
+        folder.delete();
+    }
+
+    /**
+     * Picks a random game result.
+     * @param random The random source
+     * @return EloRating.WIN, DRAW or LOSS
+     */
+    private static double randomScore(Random random) {
+        int roll = random.nextInt(3);
+        return roll == 0 ? EloRating.WIN : (roll == 1 ? EloRating.LOSS : EloRating.DRAW);
+    }
+}
@@ -0,0 +1,105 @@
+package ratings;
+
+/**
+ * PlayerRating - One player's entry in the rating ledger.
+ * Entries are ordered by rating (highest first), then by name so every
+ * player has a unique place on the leaderboard.
+ *
+ * <p>Only the RatingLedger changes an entry, and it always takes the entry
+ * out of the leaderboard first, because changing the rating moves it.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class PlayerRating implements Comparable<PlayerRating> {
+
+    /** The player's name */
+    private final String name;
+
+    /** Current Elo rating */
+    int rating;
+
+    /** Number of games won */
+    int wins;
+
+    /** Number of games lost */
+    int losses;
+
+    /** Number of games tied */
+    int draws;
+
+    /**
+     * Constructor for PlayerRating.
+     *
+     * @param name The player's name
+     * @param rating The starting rating
+     */
+    PlayerRating(String name, int rating) {
+        this.name = name;
+        this.rating = rating;
+    }
+
+    /**
+     * Orders entries by rating (highest first), then by name.
+     *
+     * @param other The entry to compare with
+     * @return Negative if this entry ranks above the other
+     */
+    @Override
+    public int compareTo(PlayerRating other) {
+        if (this.rating != other.rating) {
+            return Integer.compare(other.rating, this.rating);
+        }
+        return this.name.compareTo(other.name);
+    }
+
+    /**
+     * Gets the player's name.
+     * @return The name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the player's rating.
+     * @return The current Elo rating
+     */
+    public int getRating() {
+        return this.rating;
+    }
+
+    /**
+     * Gets the number of games won.
+     * @return The win count
+     */
+    public int getWins() {
+        return this.wins;
+    }
+
+    /**
+     * Gets the number of games lost.
+     * @return The loss count
+     */
+    public int getLosses() {
+        return this.losses;
+    }
+
+    /**
+     * Gets the number of games tied.
+     * @return The draw count
+     */
+    public int getDraws() {
+        return this.draws;
+    }
+
+    /**
+     * Gets a short description of the entry.
+     * @return The name, rating and record
+     */
+    @Override
+    public String toString() {
+        return name + " (" + rating + ", " + wins + "-" + losses + "-" + draws + ")";
+    }
+}
@@ -0,0 +1,298 @@
+package ratings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * RankedSkipList - A skip list of player ratings that also knows positions.
+ * Every forward link stores how many entries it skips (its span), so the
+ * position of an entry is the sum of the spans followed to reach it. That
+ * makes insert, remove, rank lookup and "entry at rank r" all O(log n).
+ *
+ * <p>Not thread-safe; the RatingLedger guards it with its own lock.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+class RankedSkipList {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Most levels a node can have (4^16 entries before the top level fills) */
+    private static final int MAX_LEVEL = 16;
+
+    /** Chance of a node reaching the next level up is 1 in 4 */
+    private static final int LEVEL_ODDS = 4;
+
+    // ========================
+    // INNER CLASS: NODE
+    // ========================
+
+    /**
+     * Node - One entry and its forward links.
+     */
+    private static final class Node {
+
+        /** The entry stored here (null for the head) */
+        final PlayerRating entry;
+
+        /** Next node at each level */
+        final Node[] next;
+
+        /** Number of positions each forward link moves */
+        final int[] span;
+
+        /**
+         * Constructor for Node.
+         * @param entry The entry to store
+         * @param levels Number of levels the node takes part in
+         */
+        Node(PlayerRating entry, int levels) {
+            this.entry = entry;
+            this.next = new Node[levels];
+            this.span = new int[levels];
+        }
+    }
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Head node, before the first entry at every level */
+    private final Node head = new Node(null, MAX_LEVEL);
+
+    /** Number of levels in use */
+    private int levels = 1;
+
+    /** Number of entries */
+    private int size;
+
+    /** Random source for node levels */
+    private final Random random = new Random();
+
+    /** Last node before the search position at each level (reused between calls) */
+    private final Node[] update = new Node[MAX_LEVEL];
+
+    /** Rank of each update node (reused between calls) */
+    private final int[] rank = new int[MAX_LEVEL];
+
+    /** Last node at each level during a bulk load */
+    private final Node[] tail = new Node[MAX_LEVEL];
+
+    /** Rank of each tail node during a bulk load */
+    private final int[] tailRank = new int[MAX_LEVEL];
+
+    // ========================
+    // UPDATE METHODS
+    // ========================
+
+    /**
+     * Inserts an entry at its sorted position.
+     * @param entry The entry (must not already be in the list)
+     */
+    void insert(PlayerRating entry) {
+        // Find the last node before the entry at each level, counting positions
+        Node x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            rank[i] = (i == levels - 1) ? 0 : rank[i + 1];
+            while (x.next[i] != null && x.next[i].entry.compareTo(entry) < 0) {
+                rank[i] += x.span[i];
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        // New levels start from the head and span the whole list
+        int nodeLevels = randomLevel();
+        if (nodeLevels > levels) {
+            for (int i = levels; i < nodeLevels; i++) {
+                rank[i] = 0;
+                update[i] = head;
+                head.span[i] = size;
+            }
+            levels = nodeLevels;
+        }
+
+        // Link the node in and split the spans it sits inside
+        Node node = new Node(entry, nodeLevels);
+        for (int i = 0; i < nodeLevels; i++) {
+            node.next[i] = update[i].next[i];
+            update[i].next[i] = node;
+            node.span[i] = update[i].span[i] - (rank[0] - rank[i]);
+            update[i].span[i] = (rank[0] - rank[i]) + 1;
+        }
+
+        // Links above the node now skip one more entry
+        for (int i = nodeLevels; i < levels; i++) {
+            update[i].span[i]++;
+        }
+        size++;
+    }
+
+    /**
+     * Removes an entry.
+     * @param entry The entry to remove
+     * @return true if the entry was found and removed
+     */
+    boolean remove(PlayerRating entry) {
+        Node x = head;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].entry.compareTo(entry) < 0) {
+                x = x.next[i];
+            }
+            update[i] = x;
+        }
+
+        Node target = x.next[0];
+        if (target == null || target.entry != entry) {
+            return false;
+        }
+
+        // Unlink the node and merge the spans around it
+        for (int i = 0; i < levels; i++) {
+            if (update[i].next[i] == target) {
+                update[i].span[i] += target.span[i] - 1;
+                update[i].next[i] = target.next[i];
+            } else {
+                update[i].span[i]--;
+            }
+        }
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Starts a bulk load into an empty list.
+     * Entries must then be appended in sorted order with append().
+     */
+    void beginBulkLoad() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            tail[i] = head;
+            tailRank[i] = 0;
+        }
+    }
+
+    /**
+     * Appends an entry after the last one without searching.
+     * Only valid between beginBulkLoad() and endBulkLoad().
+     *
+     * @param entry The entry, which must sort after every entry appended so far
+     */
+    void append(PlayerRating entry) {
+        int nodeLevels = randomLevel();
+        levels = Math.max(levels, nodeLevels);
+        size++;
+
+        Node node = new Node(entry, nodeLevels);
+        for (int i = 0; i < nodeLevels; i++) {
+            tail[i].next[i] = node;
+            tail[i].span[i] = size - tailRank[i];
+            tail[i] = node;
+            tailRank[i] = size;
+        }
+    }
+
+    /**
+     * Finishes a bulk load by pointing the last span at each level to the end.
+     */
+    void endBulkLoad() {
+        for (int i = 0; i < MAX_LEVEL; i++) {
+            tail[i].span[i] = size - tailRank[i];
+            tail[i] = null;
+        }
+    }
+
+    // ========================
+    // QUERY METHODS
+    // ========================
+
+    /**
+     * Finds the 1-based position of an entry.
+     * @param entry The entry to find
+     * @return Its rank (1 is the highest rating), or 0 if it is not in the list
+     */
+    int rankOf(PlayerRating entry) {
+        Node x = head;
+        int position = 0;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && x.next[i].entry.compareTo(entry) <= 0) {
+                position += x.span[i];
+                x = x.next[i];
+            }
+            if (x.entry == entry) {
+                return position;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Lists entries in rank order starting from a position.
+     *
+     * @param fromRank The first rank to list (1-based)
+     * @param count The most entries to list
+     * @return The entries, highest rating first
+     */
+    List<PlayerRating> range(int fromRank, int count) {
+        List<PlayerRating> result = new ArrayList<>(Math.max(0, Math.min(count, size - fromRank + 1)));
+        if (fromRank < 1 || fromRank > size) {
+            return result;
+        }
+
+        // Jump to the starting rank using the spans
+        Node x = head;
+        int position = 0;
+        for (int i = levels - 1; i >= 0; i--) {
+            while (x.next[i] != null && position + x.span[i] <= fromRank) {
+                position += x.span[i];
+                x = x.next[i];
+            }
+        }
+
+        // Walk the bottom level from there
+        while (x != null && result.size() < count) {
+            result.add(x.entry);
+            x = x.next[0];
+        }
+        return result;
+    }
+
+    /**
+     * Lists every entry in rank order.
+     * @return All entries, highest rating first
+     */
+    List<PlayerRating> all() {
+        List<PlayerRating> result = new ArrayList<>(size);
+        for (Node x = head.next[0]; x != null; x = x.next[0]) {
+            result.add(x.entry);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of entries.
+     * @return The size
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * Picks a random level count for a new node.
+     * @return A number from 1 to MAX_LEVEL, each extra level four times less likely
+     */
+    private int randomLevel() {
+        int nodeLevels = 1;
+        while (nodeLevels < MAX_LEVEL && random.nextInt(LEVEL_ODDS) == 0) {
+            nodeLevels++;
+        }
+        return nodeLevels;
+    }
+}
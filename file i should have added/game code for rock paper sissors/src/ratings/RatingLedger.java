@@ -0,0 +1,531 @@
+package ratings;
+
+import matchmaking.EloRating;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RatingLedger - Persistent Elo ratings and leaderboard keyed by player name.
+ * Each finished game updates the two players' ratings in memory and appends a
+ * small record to a journal file, so saving a result never rewrites the whole
+ * ledger. The full ledger is written as a compact snapshot when the journal
+ * grows long or when the ledger is loaded with a journal left over.
+ *
+ * <p>This class is responsible for:</p>
+ * <ul>
+ *   <li>Keeping a rating and win/loss/draw record for every player name</li>
+ *   <li>Answering rank and top-K leaderboard queries in O(log n)</li>
+ *   <li>Writing results to the journal as they happen</li>
+ *   <li>Writing and reading the binary snapshot file</li>
+ * </ul>
+ *
+ * <p>Snapshot format (data/ratings.dat): magic, version, entry count, then
+ * each entry as name, zigzag varint rating and varint wins, losses and draws.
+ * Entries are written in leaderboard order so loading can append them to the
+ * skip list without searching. Journal format (data/ratings.journal): one
+ * record per game holding the first player's score and both names.</p>
+ *
+ * <p>All public methods are synchronized.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class RatingLedger {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Default path of the snapshot file */
+    public static final String SNAPSHOT_FILE = "data/ratings.dat";
+
+    /** Default path of the journal file */
+    public static final String JOURNAL_FILE = "data/ratings.journal";
+
+    /** Identifies a snapshot file ("RPSR") */
+    private static final int MAGIC = 0x52505352;
+
+    /** Snapshot format version */
+    private static final int VERSION = 1;
+
+    /**
+     * Fewest journal records before the ledger writes a new snapshot. With more
+     * players the journal may grow to one record per player, so the cost of
+     * rewriting the snapshot stays a constant amount per recorded game.
+     */
+    private static final int COMPACT_AFTER = 1000;
+
+    /** Journal score code for a loss by the first player */
+    private static final int SCORE_LOSS = 0;
+
+    /** Journal score code for a draw */
+    private static final int SCORE_DRAW = 1;
+
+    /** Journal score code for a win by the first player */
+    private static final int SCORE_WIN = 2;
+
+    /** Shared ledger used by the game (null until first use) */
+    private static RatingLedger shared;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Entries keyed by player name */
+    private final Map<String, PlayerRating> byName = new HashMap<>();
+
+    /** Entries in leaderboard order */
+    private final RankedSkipList leaderboard = new RankedSkipList();
+
+    /** Snapshot file */
+    private final File snapshotFile;
+
+    /** Journal file */
+    private final File journalFile;
+
+    /** Open journal stream (null until the first result is recorded) */
+    private DataOutputStream journal;
+
+    /** Records written to the journal since the last snapshot */
+    private int journalRecords;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for RatingLedger.
+     * Creates an empty ledger; call load() to read the files.
+     *
+     * @param snapshotPath Path of the snapshot file
+     * @param journalPath Path of the journal file
+     */
+    public RatingLedger(String snapshotPath, String journalPath) {
+        this.snapshotFile = new File(snapshotPath);
+        this.journalFile = new File(journalPath);
+    }
+
+    /**
+     * Gets the shared ledger, loading it from the data folder on first use.
+     * @return The ledger used by the game
+     */
+    public static synchronized RatingLedger getShared() {
+        if (shared == null) {
+            shared = new RatingLedger(SNAPSHOT_FILE, JOURNAL_FILE);
+            long start = System.nanoTime();
+            try {
+                shared.load();
+                System.out.println("Rating ledger loaded: " + shared.size() + " players in "
+                                   + (System.nanoTime() - start) / 1_000_000 + " ms");
+            } catch (IOException e) {
+                System.err.println("Error loading rating ledger: " + e.getMessage());
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Loads the shared ledger on a background thread so the first game over
+     * does not wait for it. The ledger is still only loaded once.
+     */
+    public static void preload() {
+        Thread loader = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                getShared();
+            }
+        }, "RatingLedger-Load");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    // ========================
+    // RESULT METHODS
+    // ========================
+
+    /**
+     * Records a finished game and updates both players' ratings.
+     * A game between two players with the same name is not recorded, since
+     * both sides would be the same ledger entry.
+     *
+     * @param firstName Name of the first player
+     * @param secondName Name of the second player
+     * @param firstScore EloRating.WIN, DRAW or LOSS from the first player's point of view
+     * @return true if the game was recorded, false if both names are the same
+     */
+    public synchronized boolean recordGame(String firstName, String secondName, double firstScore) {
+        if (!applyGame(firstName, secondName, firstScore)) {
+            System.err.println("Not rating a game of " + firstName + " against itself");
+            return false;
+        }
+
+        // Append to the journal so the result survives a restart
+        try {
+            if (journal == null) {
+                journal = new DataOutputStream(new BufferedOutputStream(
+                        new FileOutputStream(journalFile, true)));
+            }
+            journal.writeByte(scoreCode(firstScore));
+            journal.writeUTF(firstName);
+            journal.writeUTF(secondName);
+            journal.flush();
+            journalRecords++;
+        } catch (IOException e) {
+            System.err.println("Error writing rating journal: " + e.getMessage());
+        }
+
+        // Fold a long journal into a new snapshot
+        if (journalRecords >= Math.max(COMPACT_AFTER, byName.size())) {
+            try {
+                saveSnapshot();
+            } catch (IOException e) {
+                System.err.println("Error writing rating snapshot: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Updates both players' ratings and records in memory.
+     * Does nothing if both names are the same.
+     *
+     * @param firstName Name of the first player
+     * @param secondName Name of the second player
+     * @param firstScore Score from the first player's point of view
+     * @return true if the ratings were updated, false if both names are the same
+     */
+    private boolean applyGame(String firstName, String secondName, double firstScore) {
+        if (firstName.equals(secondName)) {
+            return false;
+        }
+        PlayerRating first = getOrCreate(firstName);
+        PlayerRating second = getOrCreate(secondName);
+
+        // Ratings change position, so take both entries out of the leaderboard first
+        leaderboard.remove(first);
+        leaderboard.remove(second);
+
+        int firstBefore = first.rating;
+        int secondBefore = second.rating;
+        first.rating = EloRating.updatedRating(firstBefore, secondBefore, firstScore);
+        second.rating = EloRating.updatedRating(secondBefore, firstBefore, 1.0 - firstScore);
+
+        if (firstScore == EloRating.WIN) {
+            first.wins++;
+            second.losses++;
+        } else if (firstScore == EloRating.LOSS) {
+            first.losses++;
+            second.wins++;
+        } else {
+            first.draws++;
+            second.draws++;
+        }
+
+        leaderboard.insert(first);
+        leaderboard.insert(second);
+        return true;
+    }
+
+    /**
+     * Finds a player's entry, creating it at the default rating if new.
+     * @param name The player's name
+     * @return The entry
+     */
+    private PlayerRating getOrCreate(String name) {
+        PlayerRating entry = byName.get(name);
+        if (entry == null) {
+            entry = new PlayerRating(name, EloRating.DEFAULT_RATING);
+            byName.put(name, entry);
+            leaderboard.insert(entry);
+        }
+        return entry;
+    }
+
+    // ========================
+    // QUERY METHODS
+    // ========================
+
+    /**
+     * Gets a player's entry.
+     * @param name The player's name
+     * @return The entry, or null if the player has never finished a game
+     */
+    public synchronized PlayerRating get(String name) {
+        return byName.get(name);
+    }
+
+    /**
+     * Gets a player's leaderboard position.
+     * @param name The player's name
+     * @return The rank (1 is the highest rating), or 0 if the player is unknown
+     */
+    public synchronized int getRank(String name) {
+        PlayerRating entry = byName.get(name);
+        return (entry == null) ? 0 : leaderboard.rankOf(entry);
+    }
+
+    /**
+     * Gets the top of the leaderboard.
+     * @param count The number of entries to return
+     * @return Up to count entries, highest rating first
+     */
+    public synchronized List<PlayerRating> getTop(int count) {
+        return leaderboard.range(1, count);
+    }
+
+    /**
+     * Gets a page of the leaderboard.
+     *
+     * @param fromRank The first rank to include (1-based)
+     * @param count The number of entries to return
+     * @return Up to count entries starting at fromRank
+     */
+    public synchronized List<PlayerRating> getRange(int fromRank, int count) {
+        return leaderboard.range(fromRank, count);
+    }
+
+    /**
+     * Gets the number of players in the ledger.
+     * @return The player count
+     */
+    public synchronized int size() {
+        return byName.size();
+    }
+
+    // ========================
+    // PERSISTENCE METHODS
+    // ========================
+
+    /**
+     * Loads the snapshot, then replays any journal records written after it.
+     * A leftover journal is folded into a new snapshot straight away, even if
+     * nothing in it could be replayed, so new records are never appended after
+     * a partial one. Missing files are treated as an empty ledger.
+     *
+     * @throws IOException if a file exists but cannot be read
+     */
+    public synchronized void load() throws IOException {
+        if (snapshotFile.exists()) {
+            loadSnapshot();
+        }
+        if (journalFile.exists() && journalFile.length() > 0) {
+            replayJournal();
+            saveSnapshot();
+        }
+    }
+
+    /**
+     * Reads the snapshot file into the (empty) ledger.
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    private void loadSnapshot() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(snapshotFile), 1 << 16))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException(snapshotFile + " is not a rating snapshot");
+            }
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported rating snapshot version " + version);
+            }
+
+            int count = readVarInt(in);
+            PlayerRating previous = null;
+            boolean sorted = true;
+            leaderboard.beginBulkLoad();
+            for (int i = 0; i < count; i++) {
+                PlayerRating entry = new PlayerRating(in.readUTF(), zigzagDecode(readVarInt(in)));
+                entry.wins = readVarInt(in);
+                entry.losses = readVarInt(in);
+                entry.draws = readVarInt(in);
+
+                // An older ledger may list a player twice - keep the first entry
+                if (byName.containsKey(entry.getName())) {
+                    System.err.println("Rating snapshot lists " + entry.getName() + " twice - duplicate ignored");
+                    continue;
+                }
+                byName.put(entry.getName(), entry);
+
+                // Entries were written in leaderboard order, so they can be appended
+                if (previous != null && previous.compareTo(entry) >= 0) {
+                    sorted = false;
+                }
+                if (sorted) {
+                    leaderboard.append(entry);
+                }
+                previous = entry;
+            }
+            leaderboard.endBulkLoad();
+
+            // A hand-edited or foreign file may be out of order - insert the rest normally
+            if (!sorted) {
+                System.err.println("Rating snapshot out of order - rebuilding leaderboard");
+                for (PlayerRating entry : byName.values()) {
+                    if (leaderboard.rankOf(entry) == 0) {
+                        leaderboard.insert(entry);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Replays the journal on top of the loaded snapshot.
+     * A record cut short by a crash, or with a name that is not valid
+     * modified UTF-8, ends the replay.
+     *
+     * @return The number of records replayed
+     * @throws IOException if the journal cannot be read
+     */
+    private int replayJournal() throws IOException {
+        int replayed = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new FileInputStream(journalFile)))) {
+            while (true) {
+                int code = in.read();
+                if (code < 0) {
+                    break;
+                }
+                String firstName = in.readUTF();
+                String secondName = in.readUTF();
+                if (applyGame(firstName, secondName, scoreValue(code))) {
+                    replayed++;
+                }
+            }
+        } catch (EOFException e) {
+            System.err.println("Rating journal ends with a partial record - ignored");
+        } catch (UTFDataFormatException e) {
+            System.err.println("Rating journal ends with a corrupt record - ignored");
+        }
+        return replayed;
+    }
+
+    /**
+     * Writes the whole ledger as a new snapshot and empties the journal.
+     * The snapshot is written to a temporary file and moved into place, so a
+     * crash part way through leaves the previous snapshot and journal intact.
+     *
+     * @throws IOException if the snapshot cannot be written
+     */
+    public synchronized void saveSnapshot() throws IOException {
+        File temp = new File(snapshotFile.getPath() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new FileOutputStream(temp), 1 << 16))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            writeVarInt(out, leaderboard.size());
+            for (PlayerRating entry : leaderboard.all()) {
+                out.writeUTF(entry.getName());
+                writeVarInt(out, zigzagEncode(entry.rating));
+                writeVarInt(out, entry.wins);
+                writeVarInt(out, entry.losses);
+                writeVarInt(out, entry.draws);
+            }
+        }
+        Files.move(temp.toPath(), snapshotFile.toPath(),
+                   StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        // Everything in the journal is now in the snapshot
+        if (journal != null) {
+            journal.close();
+            journal = null;
+        }
+        Files.deleteIfExists(journalFile.toPath());
+        journalRecords = 0;
+    }
+
+    // ========================
+    // ENCODING HELPERS
+    // ========================
+
+    /**
+     * Converts a score to its journal code.
+     * @param score EloRating.WIN, DRAW or LOSS
+     * @return The journal code
+     */
+    private static int scoreCode(double score) {
+        if (score == EloRating.WIN) {
+            return SCORE_WIN;
+        }
+        return (score == EloRating.LOSS) ? SCORE_LOSS : SCORE_DRAW;
+    }
+
+    /**
+     * Converts a journal code back to a score.
+     * @param code The journal code
+     * @return EloRating.WIN, DRAW or LOSS
+     */
+    private static double scoreValue(int code) {
+        if (code == SCORE_WIN) {
+            return EloRating.WIN;
+        }
+        return (code == SCORE_LOSS) ? EloRating.LOSS : EloRating.DRAW;
+    }
+
+    /**
+     * Writes a non-negative int using 7 bits per byte.
+     *
+     * @param out The stream to write to
+     * @param value The value
+     * @throws IOException if writing fails
+     */
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an int written by writeVarInt.
+     *
+     * @param in The stream to read from
+     * @return The value
+     * @throws IOException if reading fails or the value is too long
+     */
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in rating file");
+    }
+
+    /**
+     * Maps a signed int to an unsigned one so small negatives stay short.
+     * @param value The signed value
+     * @return The zigzag-encoded value
+     */
+    private static int zigzagEncode(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    /**
+     * Reverses zigzagEncode.
+     * @param value The zigzag-encoded value
+     * @return The signed value
+     */
+    private static int zigzagDecode(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,116 @@
+package replay;
+
+import model.GameModel.GamePhase;
+
+/**
+ * ReplayEvent - One record read back from a replay file.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class ReplayEvent {
+
+    /** Event type: a message the recording player sent */
+    public static final int MESSAGE_SENT = ReplayFormat.MESSAGE_SENT;
+
+    /** Event type: a message the recording player received */
+    public static final int MESSAGE_RECEIVED = ReplayFormat.MESSAGE_RECEIVED;
+
+    /** Event type: the model moved to a new phase */
+    public static final int PHASE = ReplayFormat.PHASE;
+
+    /** Event type: the recording ended normally */
+    public static final int END = ReplayFormat.END;
+
+    /** The event type */
+    private final int type;
+
+    /** Time since the recording started in nanoseconds */
+    private final long timeNanos;
+
+    /** Message text (null for other types) */
+    private final String message;
+
+    /** New phase (null for other types) */
+    private final GamePhase phase;
+
+    /** Round number at the phase change (0 for other types) */
+    private final int round;
+
+    /**
+     * Constructor for ReplayEvent.
+     *
+     * @param type The event type
+     * @param timeNanos Time since the recording started
+     * @param message Message text, or null
+     * @param phase New phase, or null
+     * @param round Round number at the phase change, or 0
+     */
+    ReplayEvent(int type, long timeNanos, String message, GamePhase phase, int round) {
+        this.type = type;
+        this.timeNanos = timeNanos;
+        this.message = message;
+        this.phase = phase;
+        this.round = round;
+    }
+
+    /**
+     * Gets the event type.
+     * @return MESSAGE_SENT, MESSAGE_RECEIVED, PHASE or END
+     */
+    public int getType() {
+        return this.type;
+    }
+
+    /**
+     * Gets the event time.
+     * @return Nanoseconds since the recording started
+     */
+    public long getTimeNanos() {
+        return this.timeNanos;
+    }
+
+    /**
+     * Gets the message text.
+     * @return The message, or null if this is not a message event
+     */
+    public String getMessage() {
+        return this.message;
+    }
+
+    /**
+     * Gets the new phase.
+     * @return The phase, or null if this is not a phase event
+     */
+    public GamePhase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Gets the round number at a phase change.
+     * @return The round, or 0 if this is not a phase event
+     */
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * Formats the event as a log line.
+     * @return The time, direction and content
+     */
+    @Override
+    public String toString() {
+        String time = String.format("[%9.3fs] ", timeNanos / 1e9);
+        switch (type) {
+            case MESSAGE_SENT:
+                return time + "SENT  " + message;
+            case MESSAGE_RECEIVED:
+                return time + "RECV  " + message;
+            case PHASE:
+                return time + "PHASE " + phase + " (round " + round + ")";
+            default:
+                return time + "END";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package replay;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * ReplayFormat - Constants and helpers shared by the replay writer and reader.
+ *
+ * <p>A replay file starts with a header: magic, version, wall-clock start
+ * time, this player's colour, both player names, the game code, max rounds
+ * and countdown seconds. Then come records, each made of:</p>
+ * <ul>
+ *   <li>a type byte</li>
+ *   <li>the nanoseconds since the previous record as a varint (monotonic clock)</li>
+ *   <li>the payload: the message text for message records, or the phase
+ *       ordinal and round number for phase records</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+final class ReplayFormat {
+
+    /** Identifies a replay file ("RPSP") */
+    static final int MAGIC = 0x52505350;
+
+    /** Replay format version */
+    static final int VERSION = 1;
+
+    /** Record type: a message this player sent */
+    static final int MESSAGE_SENT = 1;
+
+    /** Record type: a message this player received */
+    static final int MESSAGE_RECEIVED = 2;
+
+    /** Record type: the model moved to a new phase */
+    static final int PHASE = 3;
+
+    /** Record type: the recording ended normally */
+    static final int END = 4;
+
+    /**
+     * Private constructor - this class only has static members.
+     */
+    private ReplayFormat() {
+    }
+
+    /**
+     * Writes a non-negative long using 7 bits per byte.
+     *
+     * @param out The stream to write to
+     * @param value The value
+     * @throws IOException if writing fails
+     */
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Reads a long written by writeVarLong.
+     *
+     * @param in The stream to read from
+     * @return The value
+     * @throws IOException if reading fails or the value is too long
+     */
+    static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 70; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in replay file");
+    }
+}
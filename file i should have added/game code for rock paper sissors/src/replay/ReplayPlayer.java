@@ -0,0 +1,348 @@
+package replay;
+
+import controller.StateSnapshot;
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.GamePhase;
+import model.GameModel.Player;
+import view.MainView;
+
+import javax.swing.SwingUtilities;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Date;
+
+/**
+ * ReplayPlayer - Plays a recorded match back through a fresh GameModel and the views.
+ * Recorded messages and phase changes are turned back into the same model
+ * calls the controller made, in the same order, so the model goes through the
+ * same states every time the file is played. Every event is also printed with
+ * its timestamp, which is what settles "I clicked rock!" disputes.
+ *
+ * <p>Phase records double as checkpoints: if the replayed model does not
+ * reach a recorded phase, the player prints where the two diverged.</p>
+ *
+ * <p>Usage: java replay.ReplayPlayer file [speed] [--headless]</p>
+ * <ul>
+ *   <li>speed: 1 for real time, 4 for four times faster, 0 for no waiting (default 1)</li>
+ *   <li>--headless: print the events without opening the game window</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class ReplayPlayer {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Prefix of countdown messages */
+    private static final String MSG_COUNTDOWN = "COUNTDOWN:";
+
+    /** Prefix of player choice messages */
+    private static final String MSG_PLAYER_CHOICE = "PLAYER_CHOICE:";
+
+    /** Prefix of game over messages */
+    private static final String MSG_GAME_OVER = "GAME_OVER:";
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The model being driven */
+    private final GameModel model;
+
+    /** The window showing the model (null when headless) */
+    private final MainView view;
+
+    /** A recorded phase the model has not reached yet (null if none) */
+    private GamePhase pendingPhase;
+
+    /** Time of the phase record being waited for */
+    private long pendingNanos;
+
+    /** Flag indicating if a GAME_OVER message has been played */
+    private boolean gameOverShown;
+
+    /** Name of the panel last shown, so panels are only swapped on a change */
+    private String shownPanel = "";
+
+    /** Number of checkpoints the replayed model missed */
+    private int divergences;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for ReplayPlayer.
+     *
+     * @param model The model to drive
+     * @param view The window showing the model, or null when headless
+     */
+    public ReplayPlayer(GameModel model, MainView view) {
+        this.model = model;
+        this.view = view;
+    }
+
+    // ========================
+    // PLAYBACK METHODS
+    // ========================
+
+    /**
+     * Applies one recorded event to the model and view.
+     * Must be called on the Event Dispatch Thread when there is a view.
+     *
+     * @param event The event to apply
+     */
+    public void apply(ReplayEvent event) {
+        switch (event.getType()) {
+            case ReplayEvent.MESSAGE_SENT:
+            case ReplayEvent.MESSAGE_RECEIVED:
+                applyMessage(event.getMessage());
+                break;
+            case ReplayEvent.PHASE:
+                applyPhase(event);
+                break;
+            default:
+                finish();
+                break;
+        }
+
+        // A message may have completed the phase we were waiting for
+        if (pendingPhase != null && model.getCurrentPhase() == pendingPhase) {
+            pendingPhase = null;
+        }
+        updateView();
+    }
+
+    /**
+     * Reports a checkpoint that was never reached at the end of the recording.
+     */
+    public void finish() {
+        if (pendingPhase != null) {
+            reportDivergence();
+        }
+    }
+
+    /**
+     * Applies a recorded message, making the model call the controller made for it.
+     * @param message The message text
+     */
+    private void applyMessage(String message) {
+        if (message.startsWith(MSG_COUNTDOWN)) {
+            // Count down to the transmitted value
+            int seconds = Integer.parseInt(parseField(message, "seconds_remaining"));
+            while (model.getCurrentPhase() == GamePhase.COUNTDOWN && model.getCountdownValue() > seconds) {
+                model.decrementCountdown();
+            }
+        } else if (message.startsWith(MSG_PLAYER_CHOICE)) {
+            // Record the choice exactly as it was made
+            Player player = Player.valueOf(parseField(message, "player"));
+            Choice choice = Choice.valueOf(parseField(message, "choice"));
+            model.makeChoice(player, choice);
+        } else if (message.startsWith(MSG_GAME_OVER)) {
+            gameOverShown = true;
+        } else if (message.startsWith(StateSnapshot.MSG_STATE_SNAPSHOT)) {
+            // A resync replaced the whole state
+            StateSnapshot.apply(message, model);
+        }
+    }
+
+    /**
+     * Applies a recorded phase change.
+     * Round changes and countdown starts come from local timers rather than
+     * messages, so the phase record is what drives them.
+     *
+     * @param event The phase event
+     */
+    private void applyPhase(ReplayEvent event) {
+        GamePhase phase = event.getPhase();
+        if (phase == GamePhase.COUNTDOWN) {
+            if (event.getRound() > model.getCurrentRound()) {
+                model.nextRound();
+            } else if (model.getCurrentPhase() != GamePhase.COUNTDOWN) {
+                model.startCountdown();
+            }
+        } else if (phase == GamePhase.CHOOSING) {
+            while (model.getCurrentPhase() == GamePhase.COUNTDOWN) {
+                model.decrementCountdown();
+            }
+        } else if (phase == GamePhase.GAME_OVER && model.getCurrentPhase() != GamePhase.GAME_OVER) {
+            model.nextRound();
+        }
+
+        // RESULTS is reached through the choice messages that follow
+        if (model.getCurrentPhase() != phase) {
+            if (pendingPhase != null) {
+                reportDivergence();
+            }
+            pendingPhase = phase;
+            pendingNanos = event.getTimeNanos();
+        }
+    }
+
+    /**
+     * Prints a checkpoint the replayed model missed.
+     */
+    private void reportDivergence() {
+        divergences++;
+        System.out.println(String.format("!! Diverged at %.3fs: recorded phase %s, replayed model is in %s",
+                                         pendingNanos / 1e9, pendingPhase, model.getCurrentPhase()));
+        pendingPhase = null;
+    }
+
+    /**
+     * Shows the panel that matches the model's phase.
+     */
+    private void updateView() {
+        if (view == null) {
+            return;
+        }
+        String panel;
+        if (gameOverShown || model.getCurrentPhase() == GamePhase.GAME_OVER) {
+            panel = "final";
+        } else if (model.getCurrentPhase() == GamePhase.RESULTS) {
+            panel = "result";
+        } else if (model.getCurrentPhase() == GamePhase.WAITING) {
+            panel = "menu";
+        } else {
+            panel = "game";
+        }
+        if (panel.equals(shownPanel)) {
+            return;
+        }
+        shownPanel = panel;
+        if (panel.equals("final")) {
+            view.showFinalResult();
+        } else if (panel.equals("result")) {
+            view.showResult();
+        } else if (panel.equals("menu")) {
+            view.showMainMenu();
+        } else {
+            view.showGame();
+        }
+    }
+
+    /**
+     * Gets the number of checkpoints the replayed model missed.
+     * @return The divergence count
+     */
+    public int getDivergences() {
+        return this.divergences;
+    }
+
+    /**
+     * Reads one key=value field from a message.
+     *
+     * @param message The full message
+     * @param key The field name
+     * @return The field value, or null if missing
+     */
+    private static String parseField(String message, String key) {
+        String[] fields = message.substring(message.indexOf(':') + 1).split(",");
+        for (String field : fields) {
+            int equals = field.indexOf('=');
+            if (equals > 0 && field.substring(0, equals).equals(key)) {
+                return field.substring(equals + 1);
+            }
+        }
+        return null;
+    }
+
+    // ========================
+    // MAIN METHOD
+    // ========================
+
+    /**
+     * Plays a replay file.
+     *
+     * @param args The replay file, optional speed and optional --headless
+     * @throws IOException if the file cannot be read
+     * @throws InterruptedException if interrupted while waiting
+     * @throws InvocationTargetException if applying an event on the EDT fails
+     */
+    public static void main(String[] args)
+            throws IOException, InterruptedException, InvocationTargetException {
+        if (args.length == 0) {
+            System.out.println("Usage: java replay.ReplayPlayer file [speed] [--headless]");
+            return;
+        }
+        File file = new File(args[0]);
+        double speed = 1.0;
+        boolean headless = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--headless")) {
+                headless = true;
+            } else {
+                speed = Double.parseDouble(args[i]);
+            }
+        }
+
+        try (ReplayReader reader = new ReplayReader(file)) {
+            // Rebuild the model as it was when recording started
+            final GameModel model = reader.getRecordedBy().isEmpty()
+                                    ? new GameModel()
+                                    : new GameModel(Player.valueOf(reader.getRecordedBy()));
+            model.setPlayerName(Player.RED, reader.getRedName());
+            model.setPlayerName(Player.BLUE, reader.getBlueName());
+            model.setGameCode(reader.getGameCode());
+            if (model.getMaxRounds() != reader.getMaxRounds()
+                || model.getConfig().getCountdownSeconds() != reader.getCountdownSeconds()) {
+                System.out.println("Warning: current gameconfig.csv differs from the recorded match ("
+                                   + reader.getMaxRounds() + " rounds, "
+                                   + reader.getCountdownSeconds() + "s countdown)");
+            }
+
+            System.out.println("Replay of game " + reader.getGameCode() + " recorded by "
+                               + reader.getRecordedBy() + " at " + new Date(reader.getStartMillis()));
+            System.out.println("Red: " + reader.getRedName() + "  Blue: " + reader.getBlueName());
+
+            // Open the window on the EDT unless headless
+            final MainView[] view = new MainView[1];
+            if (!headless) {
+                SwingUtilities.invokeAndWait(new Runnable() {
+                    @Override
+                    public void run() {
+                        view[0] = new MainView(model, null);
+                        view[0].setVisible(true);
+                    }
+                });
+            }
+            final ReplayPlayer player = new ReplayPlayer(model, view[0]);
+
+            // Play the events at the recorded times, scaled by speed
+            long start = System.nanoTime();
+            ReplayEvent event;
+            while ((event = reader.next()) != null) {
+                if (speed > 0) {
+                    long due = start + (long) (event.getTimeNanos() / speed);
+                    long wait = due - System.nanoTime();
+                    if (wait > 0) {
+                        Thread.sleep(wait / 1_000_000, (int) (wait % 1_000_000));
+                    }
+                }
+                System.out.println(event);
+                final ReplayEvent current = event;
+                if (headless) {
+                    player.apply(current);
+                } else {
+                    SwingUtilities.invokeAndWait(new Runnable() {
+                        @Override
+                        public void run() {
+                            player.apply(current);
+                        }
+                    });
+                }
+            }
+            player.finish();
+
+            System.out.println("Replay finished. Final scores - Red: " + model.getRedScore()
+                               + ", Blue: " + model.getBlueScore()
+                               + ". Divergences: " + player.getDivergences());
+        }
+    }
+}
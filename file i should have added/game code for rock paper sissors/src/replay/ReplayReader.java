@@ -0,0 +1,188 @@
+package replay;
+
+import model.GameModel.GamePhase;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+/**
+ * ReplayReader - Reads a replay file written by ReplayRecorder.
+ * The header is read when the reader opens; events are then read one at a time.
+ * A file cut short by a crash simply ends at the last complete event.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class ReplayReader implements Closeable {
+
+    /** All phases by ordinal */
+    private static final GamePhase[] PHASES = GamePhase.values();
+
+    /** Stream from the replay file */
+    private final DataInputStream in;
+
+    /** Wall-clock time the recording started (milliseconds since 1970) */
+    private final long startMillis;
+
+    /** Colour of the player who recorded ("RED" or "BLUE") */
+    private final String recordedBy;
+
+    /** Red player's name */
+    private final String redName;
+
+    /** Blue player's name */
+    private final String blueName;
+
+    /** Game code of the match */
+    private final String gameCode;
+
+    /** Rounds in the match */
+    private final int maxRounds;
+
+    /** Countdown length in seconds */
+    private final int countdownSeconds;
+
+    /** Time of the last event read */
+    private long timeNanos;
+
+    /** Flag indicating if the end of the recording has been reached */
+    private boolean finished;
+
+    /**
+     * Constructor for ReplayReader.
+     * Opens the file and reads its header.
+     *
+     * @param file The replay file
+     * @throws IOException if the file cannot be read or is not a replay
+     */
+    public ReplayReader(File file) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+        try {
+            if (in.readInt() != ReplayFormat.MAGIC) {
+                throw new IOException(file + " is not a replay file");
+            }
+            int version = in.readUnsignedByte();
+            if (version != ReplayFormat.VERSION) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+            this.startMillis = in.readLong();
+            this.recordedBy = in.readUTF();
+            this.redName = in.readUTF();
+            this.blueName = in.readUTF();
+            this.gameCode = in.readUTF();
+            this.maxRounds = (int) ReplayFormat.readVarLong(in);
+            this.countdownSeconds = (int) ReplayFormat.readVarLong(in);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the next event.
+     * @return The event, or null at the end of the recording
+     * @throws IOException if the file cannot be read or holds a bad record
+     */
+    public ReplayEvent next() throws IOException {
+        if (finished) {
+            return null;
+        }
+        try {
+            int type = in.read();
+            if (type < 0) {
+                finished = true;
+                return null;
+            }
+            timeNanos += ReplayFormat.readVarLong(in);
+            switch (type) {
+                case ReplayFormat.MESSAGE_SENT:
+                case ReplayFormat.MESSAGE_RECEIVED:
+                    return new ReplayEvent(type, timeNanos, in.readUTF(), null, 0);
+                case ReplayFormat.PHASE:
+                    GamePhase phase = PHASES[in.readUnsignedByte()];
+                    int round = (int) ReplayFormat.readVarLong(in);
+                    return new ReplayEvent(type, timeNanos, null, phase, round);
+                case ReplayFormat.END:
+                    finished = true;
+                    return new ReplayEvent(type, timeNanos, null, null, 0);
+                default:
+                    throw new IOException("Unknown replay record type " + type);
+            }
+        } catch (EOFException e) {
+            // The recording was cut short - stop at the last complete event
+            finished = true;
+            return null;
+        }
+    }
+
+    /**
+     * Closes the file.
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    /**
+     * Gets the wall-clock start time.
+     * @return Milliseconds since 1970 when recording started
+     */
+    public long getStartMillis() {
+        return this.startMillis;
+    }
+
+    /**
+     * Gets the colour of the player who recorded.
+     * @return "RED" or "BLUE" (empty if unknown)
+     */
+    public String getRecordedBy() {
+        return this.recordedBy;
+    }
+
+    /**
+     * Gets the Red player's name.
+     * @return The name
+     */
+    public String getRedName() {
+        return this.redName;
+    }
+
+    /**
+     * Gets the Blue player's name.
+     * @return The name
+     */
+    public String getBlueName() {
+        return this.blueName;
+    }
+
+    /**
+     * Gets the game code.
+     * @return The 5-digit code
+     */
+    public String getGameCode() {
+        return this.gameCode;
+    }
+
+    /**
+     * Gets the number of rounds in the match.
+     * @return The max rounds
+     */
+    public int getMaxRounds() {
+        return this.maxRounds;
+    }
+
+    /**
+     * Gets the countdown length.
+     * @return The countdown in seconds
+     */
+    public int getCountdownSeconds() {
+        return this.countdownSeconds;
+    }
+}
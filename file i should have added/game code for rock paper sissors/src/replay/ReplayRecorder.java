@@ -0,0 +1,234 @@
+package replay;
+
+import model.GameModel;
+import model.GameModel.GamePhase;
+import model.PhaseListener;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * ReplayRecorder - Streams every message and phase change of a match to disk.
+ * Each record is flushed as soon as it is written, so the file is complete up
+ * to the last event even if the game crashes. Timestamps come from
+ * System.nanoTime, so they are not affected by the wall clock changing.
+ *
+ * <p>Messages are recorded by the controller; phase changes come straight
+ * from the GameModel through PhaseListener. Methods are synchronized because
+ * network messages arrive on the socket thread and timers run on the EDT.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class ReplayRecorder implements PhaseListener {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Folder replay files are written to */
+    public static final String REPLAY_FOLDER = "data/replays";
+
+    /** File name extension for replay files */
+    public static final String EXTENSION = ".rpsreplay";
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The model being recorded */
+    private final GameModel model;
+
+    /** The replay file */
+    private final File file;
+
+    /** Stream to the replay file (null once closed) */
+    private DataOutputStream out;
+
+    /** Time of the previous record (from System.nanoTime) */
+    private long lastNanos;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for ReplayRecorder.
+     * Opens the file, writes the header and starts listening to the model.
+     *
+     * @param model The model to record
+     * @param file The replay file to create
+     * @throws IOException if the file cannot be created
+     */
+    public ReplayRecorder(GameModel model, File file) throws IOException {
+        this.model = model;
+        this.file = file;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+        this.lastNanos = System.nanoTime();
+
+        // Header: everything needed to rebuild the model before the first record
+        out.writeInt(ReplayFormat.MAGIC);
+        out.writeByte(ReplayFormat.VERSION);
+        out.writeLong(System.currentTimeMillis());
+        out.writeUTF(model.getMyPlayer() == null ? "" : model.getMyPlayer().name());
+        out.writeUTF(model.getPlayerName(GameModel.Player.RED));
+        out.writeUTF(model.getPlayerName(GameModel.Player.BLUE));
+        out.writeUTF(model.getGameCode());
+        ReplayFormat.writeVarLong(out, model.getMaxRounds());
+        ReplayFormat.writeVarLong(out, model.getConfig().getCountdownSeconds());
+        out.flush();
+
+        model.setPhaseListener(this);
+    }
+
+    /**
+     * Starts recording a match to a new file in the replay folder.
+     * Errors are printed and recording is skipped rather than stopping the game.
+     *
+     * @param model The model to record
+     * @return The recorder, or null if the file could not be created
+     */
+    public static ReplayRecorder start(GameModel model) {
+        File folder = new File(REPLAY_FOLDER);
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            System.err.println("Error creating replay folder " + REPLAY_FOLDER);
+            return null;
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+        File file = new File(folder, stamp + "_" + model.getGameCode() + "_"
+                                     + model.getMyPlayer() + EXTENSION);
+        try {
+            ReplayRecorder recorder = new ReplayRecorder(model, file);
+            System.out.println("Recording replay to " + file.getPath());
+            return recorder;
+        } catch (IOException e) {
+            System.err.println("Error starting replay recording: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ========================
+    // RECORDING METHODS
+    // ========================
+
+    /**
+     * Records a message this player sent.
+     * @param message The message text
+     */
+    public synchronized void messageSent(String message) {
+        writeMessage(ReplayFormat.MESSAGE_SENT, message);
+    }
+
+    /**
+     * Records a message this player received.
+     * @param message The message text
+     */
+    public synchronized void messageReceived(String message) {
+        writeMessage(ReplayFormat.MESSAGE_RECEIVED, message);
+    }
+
+    /**
+     * Records a phase change reported by the model.
+     *
+     * @param oldPhase The phase before the change
+     * @param newPhase The phase after the change
+     * @param round The current round number
+     */
+    @Override
+    public synchronized void phaseChanged(GamePhase oldPhase, GamePhase newPhase, int round) {
+        if (out == null) {
+            return;
+        }
+        try {
+            writeRecordStart(ReplayFormat.PHASE);
+            out.writeByte(newPhase.ordinal());
+            ReplayFormat.writeVarLong(out, round);
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Writes the end record, closes the file and stops listening to the model.
+     */
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+        model.setPhaseListener(null);
+        try {
+            writeRecordStart(ReplayFormat.END);
+            out.close();
+            System.out.println("Replay saved to " + file.getPath());
+        } catch (IOException e) {
+            System.err.println("Error closing replay: " + e.getMessage());
+        }
+        out = null;
+    }
+
+    /**
+     * Gets the replay file.
+     * @return The file being written
+     */
+    public File getFile() {
+        return this.file;
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Writes a message record.
+     *
+     * @param type MESSAGE_SENT or MESSAGE_RECEIVED
+     * @param message The message text
+     */
+    private void writeMessage(int type, String message) {
+        if (out == null) {
+            return;
+        }
+        try {
+            writeRecordStart(type);
+            out.writeUTF(message);
+            out.flush();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Writes a record's type and time since the previous record.
+     *
+     * @param type The record type
+     * @throws IOException if writing fails
+     */
+    private void writeRecordStart(int type) throws IOException {
+        long now = System.nanoTime();
+        out.writeByte(type);
+        ReplayFormat.writeVarLong(out, Math.max(0, now - lastNanos));
+        lastNanos = now;
+    }
+
+    /**
+     * Stops recording after a write error so the game is not interrupted again.
+     * @param e The error
+     */
+    private void fail(IOException e) {
+        System.err.println("Error writing replay, recording stopped: " + e.getMessage());
+        model.setPhaseListener(null);
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // Already failing - nothing more to do
+        }
+        out = null;
+    }
+}
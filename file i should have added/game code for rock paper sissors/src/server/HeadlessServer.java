@@ -0,0 +1,66 @@
+package server;
+
+import controller.GameController;
+import metrics.MetricsExporter;
+import metrics.StartupReport;
+import model.ConfigReloader;
+import model.GameModel;
+import ratings.RatingLedger;
+
+import javax.swing.SwingUtilities;
+
+/**
+ * HeadlessServer - Runs Red's side of the game with no window.
+ * The same GameController as the window drives the match through a
+ * HeadlessView, so Blue players join with the normal game and cannot tell
+ * the difference. No display is needed and AWT never opens one.
+ *
+ * <p>Usage: java server.HeadlessServer</p>
+ * <p>The port and match settings come from data/gameconfig.csv as usual.
+ * Spectators, the UDP fast path and the admin endpoint open on the usual
+ * offsets from the game port.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class HeadlessServer {
+
+    /**
+     * Private constructor - this class only has a main method.
+     */
+    private HeadlessServer() {
+    }
+
+    /**
+     * Main method - starts hosting games.
+     * @param args Not used
+     */
+    public static void main(String[] args) {
+        // Must be set before anything touches AWT
+        System.setProperty("java.awt.headless", "true");
+
+        // Run on the Event Dispatch Thread like the window does, so timers and
+        // network events reach the controller on the same thread
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                GameModel gameModel = new GameModel();
+
+                // Same background services as the window
+                ConfigReloader.startWatching();
+                RatingLedger.preload();
+                MetricsExporter.startDefault();
+
+                // The view stands in for Red's clicks
+                HeadlessView view = new HeadlessView();
+                GameController gameController = new GameController(gameModel, view);
+                view.setController(gameController);
+
+                // Host the first game
+                view.showMainMenu();
+                StartupReport.print("Headless server");
+            }
+        });
+    }
+}
@@ -0,0 +1,256 @@
+package server;
+
+import controller.GameController;
+import controller.GameView;
+import discovery.HostedGame;
+
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.List;
+import java.util.Random;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+/**
+ * HeadlessView - A GameView with no window, for a dedicated Red server.
+ * Screens are printed to the console instead of shown. The view stands in
+ * for the Red player's clicks: it throws at random when choosing opens,
+ * creates a game whenever the controller returns to the main menu and
+ * keeps going after each match, so the server hosts one match after
+ * another on the same port.
+ *
+ * <p>Swing timers and the event queue work without a display, so the
+ * controller's countdown and result delays run exactly as in the window.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class HeadlessView implements GameView {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** How long round results are "shown" before the next round (matches ResultPanel) */
+    private static final int RESULT_DELAY = 3000;
+
+    /** Red's possible throws */
+    private static final String[] CHOICES = {
+        GameController.ACTION_CHOOSE_ROCK, GameController.ACTION_CHOOSE_PAPER, GameController.ACTION_CHOOSE_SCISSORS
+    };
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Receives the stand-in clicks and timer events */
+    private ActionListener controller;
+
+    /** Fires ACTION_NEXT_ROUND after a round result */
+    private Timer resultTimer;
+
+    /** Fires ACTION_KEEP_GOING after a match */
+    private Timer keepGoingTimer;
+
+    /** Red's throws */
+    private final Random random = new Random();
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Sets the controller the view sends its events to.
+     * @param controller The controller
+     */
+    public void setController(ActionListener controller) {
+        this.controller = controller;
+        this.resultTimer = new Timer(RESULT_DELAY, controller);
+        this.resultTimer.setActionCommand(GameController.ACTION_NEXT_ROUND);
+        this.resultTimer.setRepeats(false);
+        this.keepGoingTimer = new Timer(RESULT_DELAY, controller);
+        this.keepGoingTimer.setActionCommand(GameController.ACTION_KEEP_GOING);
+        this.keepGoingTimer.setRepeats(false);
+    }
+
+    // ========================
+    // SCREENS
+    // ========================
+
+    /**
+     * Hosts the next game, since a server has no menu.
+     */
+    @Override
+    public void showMainMenu() {
+        // Hosting again here replaces keeping going after the match that just ended
+        keepGoingTimer.stop();
+
+        // A server has no menu - host the next game straight away
+        post(GameController.ACTION_CREATE_GAME);
+    }
+
+    /**
+     * Prints that the server is waiting for a Blue player.
+     */
+    @Override
+    public void showCreateGame() {
+        System.out.println("Waiting for a Blue player");
+    }
+
+    /**
+     * Does nothing - a server never joins a game.
+     */
+    @Override
+    public void showJoinGame() {
+        // A server never joins a game
+    }
+
+    /**
+     * Does nothing - the console already shows the countdown and choices.
+     */
+    @Override
+    public void showGame() {
+        // The console already shows the countdown and choices
+    }
+
+    /**
+     * Does nothing - the console already shows the round result.
+     */
+    @Override
+    public void showResult() {
+        // The console already shows the round result
+    }
+
+    /**
+     * Starts the pause before keeping going with the next match.
+     */
+    @Override
+    public void showFinalResult() {
+        // Give Blue the same pause the window would, then host again
+        keepGoingTimer.restart();
+    }
+
+    /**
+     * Does nothing - a server has no help screen.
+     */
+    @Override
+    public void showHelp() {
+        // Nothing to show
+    }
+
+    /**
+     * Throws Red's choice as soon as choosing opens.
+     */
+    @Override
+    public void choosingOpened() {
+        // Throw for Red as soon as choosing opens
+        post(CHOICES[random.nextInt(CHOICES.length)]);
+    }
+
+    // ========================
+    // RESULT TIMER
+    // ========================
+
+    /**
+     * Starts the delay before the next round.
+     */
+    @Override
+    public void startResultTimer() {
+        resultTimer.restart();
+    }
+
+    /**
+     * Cancels the delay before the next round.
+     */
+    @Override
+    public void stopResultTimer() {
+        resultTimer.stop();
+    }
+
+    // ========================
+    // JOIN SCREEN
+    // ========================
+
+    /**
+     * Gets the entered game code, which is always empty on a server.
+     * @return An empty string
+     */
+    @Override
+    public String getEnteredCode() {
+        return "";
+    }
+
+    /**
+     * Does nothing - a server never joins a game.
+     */
+    @Override
+    public void showInvalidCodeError() {
+        // A server never joins a game
+    }
+
+    /**
+     * Does nothing - a server never joins a game.
+     */
+    @Override
+    public void showConnectionError() {
+        // A server never joins a game
+    }
+
+    /**
+     * Does nothing - a server never joins a game.
+     */
+    @Override
+    public void hideJoinError() {
+        // A server never joins a game
+    }
+
+    /**
+     * Does nothing - a server never joins a game.
+     * @param games The games heard on the LAN
+     */
+    @Override
+    public void showLanGames(List<HostedGame> games) {
+        // A server never joins a game
+    }
+
+    // ========================
+    // MESSAGES
+    // ========================
+
+    /**
+     * Prints the outcome of a help screen demo.
+     * @param result The text to show
+     */
+    @Override
+    public void showDemoResult(String result) {
+        System.out.println(result);
+    }
+
+    /**
+     * Prints that the opponent has disconnected and cancels keeping going.
+     */
+    @Override
+    public void showOpponentLeft() {
+        // The controller returns to the main menu, which hosts the next game
+        keepGoingTimer.stop();
+        System.out.println("Opponent has disconnected");
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Sends an action to the controller on the Event Dispatch Thread, as a button click would.
+     * @param command The action command
+     */
+    private void post(final String command) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                controller.actionPerformed(new ActionEvent(HeadlessView.this, ActionEvent.ACTION_PERFORMED, command));
+            }
+        });
+    }
+}
@@ -0,0 +1,287 @@
+package spectator;
+
+import model.GameModel.GamePhase;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * BroadcastBenchmark - Measures updates per second against subscriber count.
+ * For each subscriber count it pushes spectator delta frames for a fixed
+ * time through two fan-out paths over loopback:
+ * <ul>
+ *   <li>blocking: one buffered stream per socket, written and flushed in a
+ *       loop (how the spectator feed first worked)</li>
+ *   <li>hub: BroadcastHub with one shared buffer and gathering writes</li>
+ * </ul>
+ * The hub run also has one stalled subscriber that never reads. It never
+ * slows the others down; once the kernel socket buffers are full and its
+ * queue passes the limit it is dropped (the dropped column).
+ *
+ * <p>Usage: java spectator.BroadcastBenchmark [counts] [seconds]</p>
+ * <p>counts is a comma-separated list (default 10,100,1000,5000).</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class BroadcastBenchmark {
+
+    /** Most broadcasts queued on the hub thread at once */
+    private static final int MAX_IN_FLIGHT = 64;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional subscriber counts and seconds per run
+     * @throws Exception if a run fails
+     */
+    public static void main(String[] args) throws Exception {
+        String counts = args.length > 0 ? args[0] : "10,100,1000,5000";
+        double seconds = args.length > 1 ? Double.parseDouble(args[1]) : 2.0;
+
+        // A typical countdown tick delta
+        SpectatorState state = new SpectatorState(GamePhase.COUNTDOWN, 2, 1, 0, 2,
+                                                  null, null, null, "Alice", "Bob", "12345");
+        byte[] frame = SpectatorFormat.encodeFrame(SpectatorFormat.DELTA, SpectatorFormat.COUNTDOWN, state);
+
+        System.out.println(String.format("%-9s %12s %14s %16s %10s %8s",
+                                         "mode", "subscribers", "updates/s", "deliveries/s", "MB/s", "dropped"));
+        for (String count : counts.split(",")) {
+            int subscribers = Integer.parseInt(count.trim());
+            runBlocking(subscribers, frame, seconds);
+            runHub(subscribers, frame, seconds);
+        }
+    }
+
+    /**
+     * Fans out through one blocking buffered stream per socket.
+     *
+     * @param subscribers Number of subscribers
+     * @param frame The update to send
+     * @param seconds How long to run
+     * @throws Exception if the run fails
+     */
+    private static void runBlocking(int subscribers, byte[] frame, double seconds) throws Exception {
+        try (ServerSocket server = new ServerSocket(0, subscribers)) {
+            Reader reader = new Reader();
+            List<OutputStream> outputs = new ArrayList<>();
+            List<Socket> sockets = new ArrayList<>();
+            for (int i = 0; i < subscribers; i++) {
+                reader.connect(server.getLocalPort());
+                Socket socket = server.accept();
+                socket.setTcpNoDelay(true);
+                sockets.add(socket);
+                outputs.add(new BufferedOutputStream(socket.getOutputStream()));
+            }
+            reader.start();
+
+            long updates = 0;
+            long start = System.nanoTime();
+            long end = start + (long) (seconds * 1e9);
+            while (System.nanoTime() < end) {
+                for (OutputStream out : outputs) {
+                    out.write(frame);
+                    out.flush();
+                }
+                updates++;
+            }
+            long elapsed = System.nanoTime() - start;
+
+            reader.awaitBytes(updates * frame.length * subscribers);
+            printRow("blocking", subscribers, updates, elapsed, frame.length, 0);
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+            reader.close();
+        }
+    }
+
+    /**
+     * Fans out through a BroadcastHub, with one extra subscriber that never reads.
+     *
+     * @param subscribers Number of reading subscribers
+     * @param frame The update to send
+     * @param seconds How long to run
+     * @throws Exception if the run fails
+     */
+    private static void runHub(int subscribers, byte[] frame, double seconds) throws Exception {
+        final BroadcastHub hub = new BroadcastHub(0, BroadcastHub.DEFAULT_MAX_QUEUED_BYTES, null, "Benchmark-Hub");
+        Reader reader = new Reader();
+        for (int i = 0; i < subscribers; i++) {
+            reader.connect(hub.getPort());
+        }
+        // A stalled subscriber with a small receive window
+        Socket stalled = new Socket();
+        stalled.setReceiveBufferSize(4096);
+        stalled.connect(new InetSocketAddress("localhost", hub.getPort()));
+        while (hub.getSubscriberCount() < subscribers + 1) {
+            Thread.sleep(5);
+        }
+        reader.start();
+
+        // Keep a bounded number of broadcasts queued on the hub thread
+        final ByteBuffer shared = BroadcastHub.share(frame);
+        final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+        final AtomicLong broadcasts = new AtomicLong();
+        Runnable task = new Runnable() {
+            @Override
+            public void run() {
+                hub.broadcast(shared);
+                broadcasts.incrementAndGet();
+                inFlight.release();
+            }
+        };
+        long start = System.nanoTime();
+        long end = start + (long) (seconds * 1e9);
+        while (System.nanoTime() < end) {
+            inFlight.acquire();
+            hub.execute(task);
+        }
+        inFlight.acquire(MAX_IN_FLIGHT);
+        long elapsed = System.nanoTime() - start;
+        long updates = broadcasts.get();
+
+        reader.awaitBytes(updates * frame.length * subscribers);
+        printRow("hub", subscribers, updates, elapsed, frame.length, hub.getDroppedCount());
+        stalled.close();
+        hub.close();
+        reader.close();
+    }
+
+    /**
+     * Prints one result row.
+     *
+     * @param mode The fan-out path
+     * @param subscribers Number of reading subscribers
+     * @param updates Updates sent to every subscriber
+     * @param elapsedNanos Time taken
+     * @param frameBytes Size of one update
+     * @param dropped Subscribers dropped as too slow
+     */
+    private static void printRow(String mode, int subscribers, long updates, long elapsedNanos,
+                                 int frameBytes, long dropped) {
+        double secs = elapsedNanos / 1e9;
+        double deliveries = (double) updates * subscribers / secs;
+        System.out.println(String.format("%-9s %12d %14.0f %16.0f %10.2f %8d",
+                                         mode, subscribers, updates / secs, deliveries,
+                                         deliveries * frameBytes / 1e6, dropped));
+    }
+
+    // ========================
+    // INNER CLASS: READER
+    // ========================
+
+    /**
+     * Reader - Reads every subscriber socket on one thread and counts the bytes.
+     */
+    private static class Reader implements Runnable {
+
+        /** Selector for all subscriber channels */
+        private final Selector selector;
+
+        /** Total bytes read */
+        private final AtomicLong bytesRead = new AtomicLong();
+
+        /** The reader thread */
+        private final Thread thread;
+
+        /** Flag indicating the reader should stop */
+        private volatile boolean stopped;
+
+        /**
+         * Constructor for Reader.
+         * @throws IOException if the selector cannot be opened
+         */
+        Reader() throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "Benchmark-Reader");
+            this.thread.setDaemon(true);
+        }
+
+        /**
+         * Opens one subscriber connection.
+         * @param port The port to connect to
+         * @throws IOException if the connection fails
+         */
+        void connect(int port) throws IOException {
+            SocketChannel channel = SocketChannel.open(new InetSocketAddress("localhost", port));
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ);
+        }
+
+        /**
+         * Starts reading.
+         */
+        void start() {
+            thread.start();
+        }
+
+        /**
+         * Waits until a number of bytes has been read, or ten seconds pass.
+         * @param bytes The byte count to wait for
+         * @throws InterruptedException if interrupted
+         */
+        void awaitBytes(long bytes) throws InterruptedException {
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (bytesRead.get() < bytes && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            if (bytesRead.get() < bytes) {
+                System.err.println("Reader only got " + bytesRead.get() + " of " + bytes + " bytes");
+            }
+        }
+
+        /**
+         * Stops reading and closes every connection.
+         * @throws Exception if the thread does not stop
+         */
+        void close() throws Exception {
+            stopped = true;
+            selector.wakeup();
+            thread.join();
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        }
+
+        @Override
+        public void run() {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+            try {
+                while (!stopped) {
+                    selector.select();
+                    Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                    while (keys.hasNext()) {
+                        SelectionKey key = keys.next();
+                        keys.remove();
+                        buffer.clear();
+                        int count = ((SocketChannel) key.channel()).read(buffer);
+                        if (count < 0) {
+                            key.cancel();
+                        } else {
+                            bytesRead.addAndGet(count);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                // Print error message
+                System.err.println("Reader failed: " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package spectator;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * BroadcastHub - Sends the same bytes to many subscribers from one thread.
+ * Built on a non-blocking selector, so a single I/O thread serves thousands
+ * of sockets.
+ *
+ * <p>How an update reaches every subscriber:</p>
+ * <ul>
+ *   <li>The caller encodes it once into a read-only buffer (see share())</li>
+ *   <li>broadcast() gives each subscriber its own view of that buffer
+ *       (no copy), queued behind anything it has not received yet</li>
+ *   <li>Once the current batch of tasks has run, each subscriber's queue is
+ *       written with one gathering write, so several updates that arrive
+ *       together cost one system call per subscriber instead of several</li>
+ *   <li>A subscriber whose queue grows past the byte limit is too slow to
+ *       keep up and is dropped, so it can never hold up the others</li>
+ * </ul>
+ *
+ * <p>The hub's state is only touched by its I/O thread. Other threads hand
+ * work to it with execute(); broadcast() and send() must be called from
+ * tasks or from SubscriberListener methods.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class BroadcastHub implements Closeable {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Default number of unsent bytes a subscriber may have before it is dropped */
+    public static final int DEFAULT_MAX_QUEUED_BYTES = 64 * 1024;
+
+    /** Most buffers passed to one gathering write */
+    private static final int MAX_GATHER = 64;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Selector for the server and all subscriber channels */
+    private final Selector selector;
+
+    /** Channel accepting new subscribers */
+    private final ServerSocketChannel serverChannel;
+
+    /** Told when subscribers join and leave */
+    private final SubscriberListener listener;
+
+    /** Unsent bytes a subscriber may have before it is dropped */
+    private final int maxQueuedBytes;
+
+    /** Work handed over by other threads */
+    private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    /** Connected subscribers (I/O thread only) */
+    private final List<Subscriber> subscribers = new ArrayList<>();
+
+    /** Subscribers with newly queued buffers to write (I/O thread only) */
+    private final List<Subscriber> dirty = new ArrayList<>();
+
+    /** Reused array for gathering writes (I/O thread only) */
+    private final ByteBuffer[] gather = new ByteBuffer[MAX_GATHER];
+
+    /** Reused buffer for draining anything subscribers send (I/O thread only) */
+    private final ByteBuffer readScratch = ByteBuffer.allocate(256);
+
+    /** The I/O thread */
+    private final Thread ioThread;
+
+    /** Flag indicating the hub has been closed */
+    private volatile boolean closed;
+
+    /** Number of connected subscribers */
+    private volatile int subscriberCount;
+
+    /** Number of broadcast() calls */
+    private volatile long broadcastCount;
+
+    /** Bytes written to all subscribers */
+    private volatile long bytesWritten;
+
+    /** Number of subscribers dropped for being too slow */
+    private volatile long droppedCount;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Opens a hub and starts its I/O thread.
+     *
+     * @param port The port to listen on (0 picks a free port)
+     * @param maxQueuedBytes Unsent bytes a subscriber may have before it is dropped
+     * @param listener Told when subscribers join and leave
+     * @param threadName Name of the I/O thread
+     * @throws IOException if the port cannot be opened
+     */
+    public BroadcastHub(int port, int maxQueuedBytes, SubscriberListener listener, String threadName)
+            throws IOException {
+        this.maxQueuedBytes = maxQueuedBytes;
+        this.listener = listener;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        this.serverChannel.bind(new InetSocketAddress(port), 1024);
+        this.serverChannel.configureBlocking(false);
+        this.serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        this.ioThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ioLoop();
+            }
+        }, threadName);
+        this.ioThread.setDaemon(true);
+        this.ioThread.start();
+    }
+
+    /**
+     * Copies encoded bytes into a read-only buffer that can be broadcast.
+     * The buffer is direct, so the operating system can send it without
+     * copying it again for every subscriber.
+     *
+     * @param bytes The encoded update
+     * @return The shared read-only buffer
+     */
+    public static ByteBuffer share(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+        buffer.put(bytes);
+        buffer.flip();
+        return buffer.asReadOnlyBuffer();
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Runs a task on the I/O thread. Safe to call from any thread; never blocks.
+     * @param task The task to run
+     */
+    public void execute(Runnable task) {
+        tasks.offer(task);
+        selector.wakeup();
+    }
+
+    /**
+     * Queues an update for every subscriber (I/O thread only).
+     * @param frame The shared buffer from share() (its position is not changed)
+     */
+    public void broadcast(ByteBuffer frame) {
+        broadcastCount++;
+        boolean anyDropped = false;
+        for (int i = 0; i < subscribers.size(); i++) {
+            if (!enqueue(subscribers.get(i), frame)) {
+                anyDropped = true;
+            }
+        }
+        if (anyDropped) {
+            removeDropped();
+        }
+    }
+
+    /**
+     * Queues bytes for one subscriber (I/O thread only).
+     *
+     * @param subscriber The subscriber
+     * @param frame The shared buffer from share() (its position is not changed)
+     */
+    public void send(Subscriber subscriber, ByteBuffer frame) {
+        if (!enqueue(subscriber, frame)) {
+            removeDropped();
+        }
+    }
+
+    /**
+     * Gets the port subscribers connect to.
+     * @return The listening port
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Gets the number of connected subscribers.
+     * @return The subscriber count
+     */
+    public int getSubscriberCount() {
+        return this.subscriberCount;
+    }
+
+    /**
+     * Gets the number of updates broadcast.
+     * @return The broadcast count
+     */
+    public long getBroadcastCount() {
+        return this.broadcastCount;
+    }
+
+    /**
+     * Gets the bytes written to all subscribers.
+     * @return The byte count
+     */
+    public long getBytesWritten() {
+        return this.bytesWritten;
+    }
+
+    /**
+     * Gets the number of subscribers dropped for being too slow.
+     * @return The drop count
+     */
+    public long getDroppedCount() {
+        return this.droppedCount;
+    }
+
+    /**
+     * Stops the hub and disconnects every subscriber.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        selector.wakeup();
+        try {
+            ioThread.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ========================
+    // I/O THREAD
+    // ========================
+
+    /**
+     * Runs tasks and services sockets until the hub is closed.
+     */
+    private void ioLoop() {
+        try {
+            while (!closed) {
+                selector.select();
+
+                // Run work handed over by other threads
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+
+                // Write everything those tasks queued, one gathering write per subscriber
+                flushDirty();
+
+                // Service ready channels
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        flushDirty();
+                    } else {
+                        Subscriber subscriber = (Subscriber) key.attachment();
+                        if (key.isReadable()) {
+                            drainInput(subscriber);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            flush(subscriber);
+                        }
+                    }
+                }
+                removeDropped();
+            }
+        } catch (IOException e) {
+            // Print error message
+            System.err.println("Broadcast hub stopped: " + e.getMessage());
+        } finally {
+            shutdown();
+        }
+    }
+
+    /**
+     * Accepts every waiting subscriber.
+     * @throws IOException if the server channel fails
+     */
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            Subscriber subscriber = new Subscriber(channel);
+            subscriber.key = channel.register(selector, SelectionKey.OP_READ, subscriber);
+            subscribers.add(subscriber);
+            subscriberCount = subscribers.size();
+            if (listener != null) {
+                listener.subscriberJoined(this, subscriber);
+            }
+        }
+    }
+
+    /**
+     * Reads and discards anything a subscriber sends, noticing when it closes.
+     * @param subscriber The subscriber
+     */
+    private void drainInput(Subscriber subscriber) {
+        try {
+            readScratch.clear();
+            if (subscriber.channel.read(readScratch) < 0) {
+                subscriber.dropReason = "closed";
+            }
+        } catch (IOException e) {
+            subscriber.dropReason = "closed";
+        }
+    }
+
+    /**
+     * Queues a view of a shared buffer and tries to send it straight away.
+     *
+     * @param subscriber The subscriber
+     * @param frame The shared buffer
+     * @return false if the subscriber had to be dropped
+     */
+    private boolean enqueue(Subscriber subscriber, ByteBuffer frame) {
+        if (subscriber.dropReason != null) {
+            return false;
+        }
+        int size = frame.remaining();
+        if (subscriber.queuedBytes + size > maxQueuedBytes) {
+            subscriber.dropReason = "too slow";
+            droppedCount++;
+            return false;
+        }
+        subscriber.queue.addLast(frame.duplicate());
+        subscriber.queuedBytes += size;
+        // Write at the end of the batch, unless the socket is already known to be full
+        if (!subscriber.dirty && !subscriber.waitingToWrite) {
+            subscriber.dirty = true;
+            dirty.add(subscriber);
+        }
+        return true;
+    }
+
+    /**
+     * Writes the queues of every subscriber that had buffers added.
+     */
+    private void flushDirty() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        for (int i = 0; i < dirty.size(); i++) {
+            Subscriber subscriber = dirty.get(i);
+            subscriber.dirty = false;
+            if (subscriber.dropReason == null) {
+                flush(subscriber);
+            }
+        }
+        dirty.clear();
+    }
+
+    /**
+     * Writes as much of a subscriber's queue as the socket will take.
+     * @param subscriber The subscriber
+     */
+    private void flush(Subscriber subscriber) {
+        ArrayDeque<ByteBuffer> queue = subscriber.queue;
+        try {
+            while (!queue.isEmpty()) {
+                // Gather up to MAX_GATHER queued buffers into one write
+                int count = 0;
+                for (ByteBuffer buffer : queue) {
+                    gather[count++] = buffer;
+                    if (count == MAX_GATHER) {
+                        break;
+                    }
+                }
+                long written = subscriber.channel.write(gather, 0, count);
+                Arrays.fill(gather, 0, count, null);
+                subscriber.queuedBytes -= written;
+                subscriber.bytesWritten += written;
+                bytesWritten += written;
+                while (!queue.isEmpty() && !queue.peekFirst().hasRemaining()) {
+                    queue.pollFirst();
+                }
+                if (written == 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            Arrays.fill(gather, null);
+            subscriber.dropReason = "closed";
+            return;
+        }
+
+        // Ask to be told when the socket has room again, or stop asking
+        boolean pending = !queue.isEmpty();
+        if (pending != subscriber.waitingToWrite) {
+            subscriber.waitingToWrite = pending;
+            subscriber.key.interestOps(pending ? SelectionKey.OP_READ | SelectionKey.OP_WRITE
+                                               : SelectionKey.OP_READ);
+        }
+    }
+
+    /**
+     * Closes and removes every subscriber marked for dropping.
+     */
+    private void removeDropped() {
+        Iterator<Subscriber> iterator = subscribers.iterator();
+        while (iterator.hasNext()) {
+            Subscriber subscriber = iterator.next();
+            if (subscriber.dropReason != null) {
+                iterator.remove();
+                subscriberCount = subscribers.size();
+                closeChannel(subscriber);
+                if (listener != null) {
+                    listener.subscriberLeft(this, subscriber, subscriber.dropReason);
+                }
+            }
+        }
+        subscriberCount = subscribers.size();
+    }
+
+    /**
+     * Closes every channel when the I/O thread stops.
+     */
+    private void shutdown() {
+        for (Subscriber subscriber : subscribers) {
+            closeChannel(subscriber);
+        }
+        subscribers.clear();
+        subscriberCount = 0;
+        try {
+            serverChannel.close();
+            selector.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    /**
+     * Closes a subscriber's channel.
+     * @param subscriber The subscriber
+     */
+    private void closeChannel(Subscriber subscriber) {
+        try {
+            subscriber.channel.close();
+        } catch (IOException e) {
+            // Already closed
+        }
+    }
+
+    // ========================
+    // INNER CLASS: SUBSCRIBER
+    // ========================
+
+    /**
+     * Subscriber - One connected socket and its queue of unsent buffers.
+     */
+    public static class Subscriber {
+
+        /** The subscriber's channel */
+        private final SocketChannel channel;
+
+        /** Views of shared buffers not fully sent yet */
+        private final ArrayDeque<ByteBuffer> queue = new ArrayDeque<>();
+
+        /** The channel's selection key */
+        private SelectionKey key;
+
+        /** Total bytes in the queue */
+        private long queuedBytes;
+
+        /** Bytes written to this subscriber */
+        private long bytesWritten;
+
+        /** Flag indicating the socket was full and OP_WRITE is registered */
+        private boolean waitingToWrite;
+
+        /** Flag indicating the subscriber is in the hub's list of queues to write */
+        private boolean dirty;
+
+        /** Why the subscriber is being dropped (null while connected) */
+        private String dropReason;
+
+        /**
+         * Constructor for Subscriber.
+         * @param channel The accepted channel
+         */
+        Subscriber(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Gets the subscriber's address.
+         * @return The remote address, or null if unknown
+         */
+        public SocketAddress getRemoteAddress() {
+            try {
+                return channel.getRemoteAddress();
+            } catch (IOException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Gets the bytes written to this subscriber.
+         * @return The byte count
+         */
+        public long getBytesWritten() {
+            return this.bytesWritten;
+        }
+
+        /**
+         * Gets the bytes queued but not yet written.
+         * @return The queued byte count
+         */
+        public long getQueuedBytes() {
+            return this.queuedBytes;
+        }
+    }
+}
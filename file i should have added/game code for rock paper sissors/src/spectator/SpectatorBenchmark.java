@@ -0,0 +1,244 @@
+package spectator;
+
+import controller.StateSnapshot;
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.GamePhase;
+import model.GameModel.Player;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * SpectatorBenchmark - Measures spectator bandwidth per round.
+ * Plays a simulated match through a GameModel and compares three ways of
+ * feeding spectators: the text STATE_SNAPSHOT message on every change, a
+ * binary FULL frame on every change, and one FULL frame followed by deltas.
+ * It then streams the same match over loopback to many spectators (half of
+ * them joining late) and checks that every one ends with the right state.
+ *
+ * <p>Usage: java spectator.SpectatorBenchmark [spectators] [rounds]</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class SpectatorBenchmark {
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional spectator count (default 200) and rounds (default 100)
+     * @throws Exception if the loopback test fails
+     */
+    public static void main(String[] args) throws Exception {
+        int spectatorCount = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+
+        // Play the match and keep every distinct state spectators would see
+        GameModel model = new GameModel(Player.RED);
+        model.setVerbose(false);
+        model.setPlayerName(Player.RED, "Alice");
+        model.setPlayerName(Player.BLUE, "Bob");
+        model.setGameCode("12345");
+        List<SpectatorState> states = new ArrayList<>();
+        List<String> snapshots = new ArrayList<>();
+        playMatch(model, rounds, new Random(42), states, snapshots);
+        System.out.println("Simulated " + rounds + " rounds: " + states.size() + " spectator updates");
+
+        // Compare the three encodings
+        long textBytes = 0;
+        for (String snapshot : snapshots) {
+            textBytes += snapshot.getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        long fullBytes = 0;
+        long deltaBytes = 0;
+        SpectatorState previous = null;
+        for (SpectatorState state : states) {
+            fullBytes += SpectatorFormat.encodeFrame(SpectatorFormat.FULL, SpectatorFormat.ALL_FIELDS, state).length;
+            int mask = state.changedFields(previous);
+            deltaBytes += previous == null
+                          ? SpectatorFormat.encodeFrame(SpectatorFormat.FULL, SpectatorFormat.ALL_FIELDS, state).length
+                          : SpectatorFormat.encodeFrame(SpectatorFormat.DELTA, mask, state).length;
+            previous = state;
+        }
+        System.out.println(String.format("%-28s %10s %18s", "encoding", "bytes", "bytes/round"));
+        printRow("text STATE_SNAPSHOT", textBytes, rounds);
+        printRow("binary full frame", fullBytes, rounds);
+        printRow("full + deltas", deltaBytes, rounds);
+
+        // Stream the match to real spectators over loopback
+        runLoopback(states, spectatorCount, rounds);
+    }
+
+    /**
+     * Plays a match and collects the states a spectator would be sent.
+     *
+     * @param model The model to play on
+     * @param rounds Number of rounds to play
+     * @param random Source of the choices
+     * @param states Receives each distinct spectator state
+     * @param snapshots Receives the STATE_SNAPSHOT text for each state
+     */
+    private static void playMatch(GameModel model, int rounds, Random random,
+                                  List<SpectatorState> states, List<String> snapshots) {
+        Choice[] choices = Choice.values();
+        int redScore = 0;
+        int blueScore = 0;
+        for (int round = 1; round <= rounds; round++) {
+            // Count down
+            model.applySnapshot(GamePhase.COUNTDOWN, round, redScore, blueScore,
+                                model.getConfig().getCountdownSeconds(), null, null, null);
+            capture(model, states, snapshots);
+            while (model.getCurrentPhase() == GamePhase.COUNTDOWN) {
+                model.decrementCountdown();
+                capture(model, states, snapshots);
+            }
+
+            // Both choose and the round is decided
+            model.makeChoice(Player.RED, choices[random.nextInt(choices.length)]);
+            capture(model, states, snapshots);
+            model.makeChoice(Player.BLUE, choices[random.nextInt(choices.length)]);
+            capture(model, states, snapshots);
+            redScore = model.getRedScore();
+            blueScore = model.getBlueScore();
+        }
+        model.applySnapshot(GamePhase.GAME_OVER, rounds, redScore, blueScore, 0,
+                            model.getRedChoice(), model.getBlueChoice(), model.getRoundWinner());
+        capture(model, states, snapshots);
+    }
+
+    /**
+     * Adds the model's spectator state if it differs from the last one.
+     *
+     * @param model The model
+     * @param states The state list
+     * @param snapshots The snapshot text list
+     */
+    private static void capture(GameModel model, List<SpectatorState> states, List<String> snapshots) {
+        SpectatorState state = SpectatorState.capture(model);
+        if (states.isEmpty() || !states.get(states.size() - 1).equals(state)) {
+            states.add(state);
+            snapshots.add(StateSnapshot.format(model));
+        }
+    }
+
+    /**
+     * Prints one encoding row.
+     *
+     * @param name The encoding name
+     * @param bytes Total bytes for the match
+     * @param rounds Number of rounds
+     */
+    private static void printRow(String name, long bytes, int rounds) {
+        System.out.println(String.format("%-28s %10d %18.1f", name, bytes, (double) bytes / rounds));
+    }
+
+    /**
+     * Streams states to spectators on loopback and checks they all agree.
+     *
+     * @param states The states to publish
+     * @param spectatorCount Number of spectators
+     * @param rounds Number of rounds in the match
+     * @throws Exception if a spectator fails
+     */
+    private static void runLoopback(List<SpectatorState> states, int spectatorCount, int rounds)
+            throws Exception {
+        final SpectatorServer server = SpectatorServer.start(0);
+        if (server == null) {
+            return;
+        }
+        server.setVerbose(false);
+        final SpectatorState finalState = states.get(states.size() - 1);
+        final CountDownLatch done = new CountDownLatch(spectatorCount);
+        final AtomicInteger correct = new AtomicInteger();
+        final long[] clientBytes = new long[1];
+
+        long start = System.nanoTime();
+        int early = spectatorCount - spectatorCount / 2;
+        connectSpectators(server.getPort(), early, finalState, done, correct, clientBytes);
+        waitForSpectators(server, early);
+        for (int i = 0; i < states.size(); i++) {
+            // The other half join in the middle of the match
+            if (i == states.size() / 2) {
+                connectSpectators(server.getPort(), spectatorCount - early, finalState, done, correct, clientBytes);
+                waitForSpectators(server, spectatorCount);
+            }
+            // Pace the updates so the sender does not skip any
+            server.publish(states.get(i));
+            Thread.sleep(5);
+        }
+
+        // Give the last frame time to arrive, then end the feed
+        Thread.sleep(500);
+        double perRound = server.getBytesPerSpectatorPerRound();
+        server.close();
+        done.await();
+        long elapsed = System.nanoTime() - start;
+
+        System.out.println();
+        System.out.println(String.format("Loopback: %d spectators (%d late), %d updates in %.2fs",
+                                         spectatorCount, spectatorCount - early, states.size(), elapsed / 1e9));
+        System.out.println(String.format("Server sent %.1f bytes per spectator per round", perRound));
+        System.out.println(String.format("Spectators received %d bytes in total (%.1f per spectator per full match)",
+                                         clientBytes[0], (double) clientBytes[0] / spectatorCount));
+        System.out.println("Spectators with the correct final state: " + correct.get() + " / " + spectatorCount);
+    }
+
+    /**
+     * Starts spectator threads.
+     *
+     * @param port The spectator port
+     * @param count Number of spectators to start
+     * @param finalState The state every spectator should end with
+     * @param done Counted down as each spectator finishes
+     * @param correct Counts spectators that ended with the right state
+     * @param clientBytes Total bytes received by all spectators
+     */
+    private static void connectSpectators(final int port, int count, final SpectatorState finalState,
+                                          final CountDownLatch done, final AtomicInteger correct,
+                                          final long[] clientBytes) {
+        for (int i = 0; i < count; i++) {
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try (SpectatorClient client = new SpectatorClient("localhost", port)) {
+                        while (client.next() != null) {
+                            // Keep reading until the server closes the feed
+                        }
+                        if (finalState.equals(client.getState())) {
+                            correct.incrementAndGet();
+                        }
+                        synchronized (clientBytes) {
+                            clientBytes[0] += client.getBytesReceived();
+                        }
+                    } catch (IOException e) {
+                        // A reset at close still counts what was read
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }, "Spectator-" + i);
+            thread.setDaemon(true);
+            thread.start();
+        }
+    }
+
+    /**
+     * Waits until the server has accepted a number of spectators.
+     *
+     * @param server The server
+     * @param count The spectator count to wait for
+     * @throws InterruptedException if interrupted
+     */
+    private static void waitForSpectators(SpectatorServer server, int count) throws InterruptedException {
+        while (server.getSpectatorCount() < count) {
+            Thread.sleep(5);
+        }
+    }
+}
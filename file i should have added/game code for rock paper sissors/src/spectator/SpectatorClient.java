@@ -0,0 +1,254 @@
+package spectator;
+
+import model.GameModel;
+import model.GameModel.GamePhase;
+import view.MainView;
+
+import javax.swing.SwingUtilities;
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.InvocationTargetException;
+import java.net.Socket;
+
+/**
+ * SpectatorClient - Watches a match from a SpectatorServer.
+ * Reads the snapshot and deltas, keeps the current SpectatorState and either
+ * prints each update or shows it in the normal game window.
+ *
+ * <p>Usage: java spectator.SpectatorClient host [port] [--headless]</p>
+ * <ul>
+ *   <li>port: the spectator port (default: default_port from gameconfig.csv + 1)</li>
+ *   <li>--headless: print the updates without opening the game window</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class SpectatorClient implements Closeable {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Socket connected to the spectator server */
+    private final Socket socket;
+
+    /** Stream the frames are read from */
+    private final DataInputStream in;
+
+    /** The latest state (null until the snapshot arrives) */
+    private SpectatorState state;
+
+    /** Bytes received so far, including the header */
+    private long bytesReceived;
+
+    /** Number of different rounds seen */
+    private int roundsSeen;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Connects to a spectator server and reads the feed header.
+     *
+     * @param host The server host
+     * @param port The spectator port
+     * @throws IOException if the connection fails or the server is not a spectator feed
+     */
+    public SpectatorClient(String host, int port) throws IOException {
+        this.socket = new Socket(host, port);
+        this.in = new DataInputStream(new CountingInputStream(new BufferedInputStream(socket.getInputStream())));
+        if (in.readInt() != SpectatorFormat.MAGIC) {
+            socket.close();
+            throw new IOException("Not a spectator feed");
+        }
+        int version = in.readUnsignedByte();
+        if (version != SpectatorFormat.VERSION) {
+            socket.close();
+            throw new IOException("Unsupported spectator feed version " + version);
+        }
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Waits for the next update.
+     * @return The new state, or null when the server closes the feed
+     * @throws IOException if reading fails
+     */
+    public SpectatorState next() throws IOException {
+        try {
+            SpectatorState previous = state;
+            state = SpectatorFormat.readFrame(in, state);
+            if (previous == null || previous.getRound() != state.getRound()) {
+                roundsSeen++;
+            }
+            return state;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Gets the latest state.
+     * @return The state, or null before the snapshot arrives
+     */
+    public SpectatorState getState() {
+        return this.state;
+    }
+
+    /**
+     * Gets the number of bytes received.
+     * @return The byte count
+     */
+    public long getBytesReceived() {
+        return this.bytesReceived;
+    }
+
+    /**
+     * Gets the number of different rounds seen.
+     * @return The round count
+     */
+    public int getRoundsSeen() {
+        return this.roundsSeen;
+    }
+
+    /**
+     * Disconnects from the server.
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        socket.close();
+    }
+
+    // ========================
+    // INNER CLASS: COUNTING STREAM
+    // ========================
+
+    /**
+     * CountingInputStream - Counts the bytes read through it.
+     */
+    private class CountingInputStream extends InputStream {
+
+        /** The stream being counted */
+        private final InputStream source;
+
+        /**
+         * Constructor for CountingInputStream.
+         * @param source The stream to count
+         */
+        CountingInputStream(InputStream source) {
+            this.source = source;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = source.read();
+            if (b >= 0) {
+                bytesReceived++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int count = source.read(buffer, offset, length);
+            if (count > 0) {
+                bytesReceived += count;
+            }
+            return count;
+        }
+    }
+
+    // ========================
+    // MAIN METHOD
+    // ========================
+
+    /**
+     * Watches a match.
+     *
+     * @param args The host, optional port and optional --headless
+     * @throws IOException if the connection fails
+     * @throws InterruptedException if interrupted while updating the window
+     * @throws InvocationTargetException if updating the window fails
+     */
+    public static void main(String[] args)
+            throws IOException, InterruptedException, InvocationTargetException {
+        if (args.length == 0) {
+            System.out.println("Usage: java spectator.SpectatorClient host [port] [--headless]");
+            return;
+        }
+        final GameModel model = new GameModel();
+        String host = args[0];
+        int port = model.getPort() + SpectatorServer.PORT_OFFSET;
+        boolean headless = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--headless")) {
+                headless = true;
+            } else {
+                port = Integer.parseInt(args[i]);
+            }
+        }
+
+        // Open the window on the EDT unless headless
+        final MainView[] view = new MainView[1];
+        if (!headless) {
+            SwingUtilities.invokeAndWait(new Runnable() {
+                @Override
+                public void run() {
+                    view[0] = new MainView(model, null);
+                    view[0].setVisible(true);
+                }
+            });
+        }
+
+        try (SpectatorClient client = new SpectatorClient(host, port)) {
+            System.out.println("Watching " + host + ":" + port);
+            SpectatorState state;
+            while ((state = client.next()) != null) {
+                System.out.println(state);
+                if (view[0] != null) {
+                    final SpectatorState current = state;
+                    SwingUtilities.invokeAndWait(new Runnable() {
+                        @Override
+                        public void run() {
+                            current.applyTo(model);
+                            showPhase(view[0], current.getPhase());
+                        }
+                    });
+                }
+            }
+            System.out.println(String.format("Feed ended: %d bytes over %d rounds (%.1f bytes per round)",
+                                             client.getBytesReceived(), client.getRoundsSeen(),
+                                             client.getRoundsSeen() == 0 ? 0.0
+                                             : (double) client.getBytesReceived() / client.getRoundsSeen()));
+        }
+    }
+
+    /**
+     * Shows the panel that matches a phase.
+     *
+     * @param view The game window
+     * @param phase The phase to show
+     */
+    private static void showPhase(MainView view, GamePhase phase) {
+        if (phase == GamePhase.GAME_OVER) {
+            view.showFinalResult();
+        } else if (phase == GamePhase.RESULTS) {
+            view.showResult();
+        } else if (phase == GamePhase.WAITING) {
+            view.showMainMenu();
+        } else {
+            view.showGame();
+        }
+    }
+}
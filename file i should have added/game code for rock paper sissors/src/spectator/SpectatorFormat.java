@@ -0,0 +1,297 @@
+package spectator;
+
+import model.GameModel.Choice;
+import model.GameModel.GamePhase;
+import model.GameModel.Player;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * SpectatorFormat - The binary wire format of the spectator feed.
+ *
+ * <p>A feed starts with the magic number and version. After that it is a
+ * series of frames, each made of:</p>
+ * <ul>
+ *   <li>the frame length in bytes as a varint</li>
+ *   <li>a type byte (FULL or DELTA)</li>
+ *   <li>a varint bitmask of the fields that follow</li>
+ *   <li>the value of each field in the mask, in bit order</li>
+ * </ul>
+ *
+ * <p>Numbers are varints, choices/phases/players are ordinal + 1 (0 means none)
+ * and names are modified UTF-8. A FULL frame has every bit set; a DELTA frame
+ * only has the fields that changed, so a countdown tick costs four bytes.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+final class SpectatorFormat {
+
+    /** Identifies a spectator feed ("RPSS") */
+    static final int MAGIC = 0x52505353;
+
+    /** Feed format version */
+    static final int VERSION = 1;
+
+    /** Frame type: every field, sent once to each new spectator */
+    static final int FULL = 1;
+
+    /** Frame type: only the fields that changed since the last frame */
+    static final int DELTA = 2;
+
+    /** Field bit: game phase */
+    static final int PHASE = 1;
+
+    /** Field bit: round number */
+    static final int ROUND = 1 << 1;
+
+    /** Field bit: Red's score */
+    static final int RED_SCORE = 1 << 2;
+
+    /** Field bit: Blue's score */
+    static final int BLUE_SCORE = 1 << 3;
+
+    /** Field bit: countdown value */
+    static final int COUNTDOWN = 1 << 4;
+
+    /** Field bit: Red's choice */
+    static final int RED_CHOICE = 1 << 5;
+
+    /** Field bit: Blue's choice */
+    static final int BLUE_CHOICE = 1 << 6;
+
+    /** Field bit: round winner */
+    static final int ROUND_WINNER = 1 << 7;
+
+    /** Field bit: Red's name */
+    static final int RED_NAME = 1 << 8;
+
+    /** Field bit: Blue's name */
+    static final int BLUE_NAME = 1 << 9;
+
+    /** Field bit: game code */
+    static final int GAME_CODE = 1 << 10;
+
+    /** Mask with every field set */
+    static final int ALL_FIELDS = (1 << 11) - 1;
+
+    /** Largest frame a reader will accept */
+    static final int MAX_FRAME = 4096;
+
+    /**
+     * Private constructor - this class only has static members.
+     */
+    private SpectatorFormat() {
+    }
+
+    // ========================
+    // ENCODING
+    // ========================
+
+    /**
+     * Encodes one frame, including its length prefix.
+     *
+     * @param type FULL or DELTA
+     * @param mask The fields to include
+     * @param state The state to take the field values from
+     * @return The encoded frame
+     */
+    static byte[] encodeFrame(int type, int mask, SpectatorState state) {
+        try {
+            // Build the payload first so its length is known
+            ByteArrayOutputStream payloadBytes = new ByteArrayOutputStream(32);
+            DataOutputStream payload = new DataOutputStream(payloadBytes);
+            payload.writeByte(type);
+            writeVarInt(payload, mask);
+            if ((mask & PHASE) != 0) {
+                writeVarInt(payload, state.getPhase().ordinal());
+            }
+            if ((mask & ROUND) != 0) {
+                writeVarInt(payload, state.getRound());
+            }
+            if ((mask & RED_SCORE) != 0) {
+                writeVarInt(payload, state.getRedScore());
+            }
+            if ((mask & BLUE_SCORE) != 0) {
+                writeVarInt(payload, state.getBlueScore());
+            }
+            if ((mask & COUNTDOWN) != 0) {
+                writeVarInt(payload, Math.max(0, state.getCountdown()));
+            }
+            if ((mask & RED_CHOICE) != 0) {
+                writeVarInt(payload, state.getRedChoice() == null ? 0 : state.getRedChoice().ordinal() + 1);
+            }
+            if ((mask & BLUE_CHOICE) != 0) {
+                writeVarInt(payload, state.getBlueChoice() == null ? 0 : state.getBlueChoice().ordinal() + 1);
+            }
+            if ((mask & ROUND_WINNER) != 0) {
+                writeVarInt(payload, state.getRoundWinner() == null ? 0 : state.getRoundWinner().ordinal() + 1);
+            }
+            if ((mask & RED_NAME) != 0) {
+                payload.writeUTF(state.getRedName());
+            }
+            if ((mask & BLUE_NAME) != 0) {
+                payload.writeUTF(state.getBlueName());
+            }
+            if ((mask & GAME_CODE) != 0) {
+                payload.writeUTF(state.getGameCode());
+            }
+            payload.flush();
+
+            // Prefix the payload with its length
+            ByteArrayOutputStream frameBytes = new ByteArrayOutputStream(payloadBytes.size() + 2);
+            DataOutputStream frame = new DataOutputStream(frameBytes);
+            writeVarInt(frame, payloadBytes.size());
+            payloadBytes.writeTo(frame);
+            frame.flush();
+            return frameBytes.toByteArray();
+        } catch (IOException e) {
+            // Byte array streams never throw
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ========================
+    // DECODING
+    // ========================
+
+    /**
+     * Reads one frame and applies it to the current state.
+     *
+     * @param in The stream to read from
+     * @param current The state before the frame (null before the first FULL frame)
+     * @return The state after the frame
+     * @throws IOException if reading fails or the frame is malformed
+     */
+    static SpectatorState readFrame(DataInputStream in, SpectatorState current) throws IOException {
+        int length = readVarInt(in);
+        if (length <= 0 || length > MAX_FRAME) {
+            throw new IOException("Bad spectator frame length: " + length);
+        }
+        // Read the whole frame so a bad field cannot run into the next one
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        in = new DataInputStream(new ByteArrayInputStream(payload));
+        int type = in.readUnsignedByte();
+        int mask = readVarInt(in);
+        if (type == FULL) {
+            if (mask != ALL_FIELDS) {
+                throw new IOException("Full spectator frame is missing fields");
+            }
+            current = SpectatorState.EMPTY;
+        } else if (type != DELTA || current == null) {
+            throw new IOException("Unexpected spectator frame type " + type);
+        }
+
+        // Start from the current values and replace the ones in the mask
+        GamePhase phase = current.getPhase();
+        int round = current.getRound();
+        int redScore = current.getRedScore();
+        int blueScore = current.getBlueScore();
+        int countdown = current.getCountdown();
+        Choice redChoice = current.getRedChoice();
+        Choice blueChoice = current.getBlueChoice();
+        Player roundWinner = current.getRoundWinner();
+        String redName = current.getRedName();
+        String blueName = current.getBlueName();
+        String gameCode = current.getGameCode();
+
+        if ((mask & PHASE) != 0) {
+            phase = GamePhase.values()[readIndex(in, GamePhase.values().length)];
+        }
+        if ((mask & ROUND) != 0) {
+            round = readVarInt(in);
+        }
+        if ((mask & RED_SCORE) != 0) {
+            redScore = readVarInt(in);
+        }
+        if ((mask & BLUE_SCORE) != 0) {
+            blueScore = readVarInt(in);
+        }
+        if ((mask & COUNTDOWN) != 0) {
+            countdown = readVarInt(in);
+        }
+        if ((mask & RED_CHOICE) != 0) {
+            int index = readIndex(in, Choice.values().length + 1);
+            redChoice = index == 0 ? null : Choice.values()[index - 1];
+        }
+        if ((mask & BLUE_CHOICE) != 0) {
+            int index = readIndex(in, Choice.values().length + 1);
+            blueChoice = index == 0 ? null : Choice.values()[index - 1];
+        }
+        if ((mask & ROUND_WINNER) != 0) {
+            int index = readIndex(in, Player.values().length + 1);
+            roundWinner = index == 0 ? null : Player.values()[index - 1];
+        }
+        if ((mask & RED_NAME) != 0) {
+            redName = in.readUTF();
+        }
+        if ((mask & BLUE_NAME) != 0) {
+            blueName = in.readUTF();
+        }
+        if ((mask & GAME_CODE) != 0) {
+            gameCode = in.readUTF();
+        }
+        return new SpectatorState(phase, round, redScore, blueScore, countdown,
+                                  redChoice, blueChoice, roundWinner, redName, blueName, gameCode);
+    }
+
+    // ========================
+    // VARINT HELPERS
+    // ========================
+
+    /**
+     * Writes a non-negative int using 7 bits per byte.
+     *
+     * @param out The stream to write to
+     * @param value The value
+     * @throws IOException if writing fails
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Reads an int written by writeVarInt.
+     *
+     * @param in The stream to read from
+     * @return The value
+     * @throws IOException if reading fails or the value is too long
+     */
+    static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint in spectator feed");
+    }
+
+    /**
+     * Reads a varint that must be a valid index.
+     *
+     * @param in The stream to read from
+     * @param limit The number of valid values
+     * @return The index
+     * @throws IOException if the value is out of range
+     */
+    private static int readIndex(DataInputStream in, int limit) throws IOException {
+        int index = readVarInt(in);
+        if (index < 0 || index >= limit) {
+            throw new IOException("Bad value in spectator feed: " + index);
+        }
+        return index;
+    }
+}
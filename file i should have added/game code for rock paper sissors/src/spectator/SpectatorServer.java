@@ -0,0 +1,252 @@
+package spectator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SpectatorServer - Streams one match to any number of spectators.
+ * Red runs this next to the game socket, on the game port plus PORT_OFFSET.
+ * Each spectator gets one FULL frame when it connects and after that only
+ * DELTA frames with the fields that changed.
+ *
+ * <p>publish() never blocks: it hands the newest state to the BroadcastHub
+ * I/O thread. There each state is compared with the last one sent, encoded
+ * once into a shared buffer and broadcast to every spectator. If states
+ * arrive faster than they can be sent, only the newest is sent (deltas are
+ * always against the last state actually sent, so skipping loses nothing).
+ * A spectator that falls too far behind is dropped and can reconnect for a
+ * fresh snapshot.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class SpectatorServer implements SubscriberListener {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Spectators connect to the game port plus this offset */
+    public static final int PORT_OFFSET = 1;
+
+    /** Feed header sent to every spectator first (magic and version) */
+    private static final ByteBuffer HEADER = BroadcastHub.share(new byte[] {
+        (byte) (SpectatorFormat.MAGIC >>> 24), (byte) (SpectatorFormat.MAGIC >>> 16),
+        (byte) (SpectatorFormat.MAGIC >>> 8), (byte) SpectatorFormat.MAGIC,
+        (byte) SpectatorFormat.VERSION
+    });
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Sends frames to the spectators */
+    private final BroadcastHub hub;
+
+    /** Most recently published state */
+    private volatile SpectatorState latest;
+
+    /** Flag indicating a send task is already waiting on the hub thread */
+    private final AtomicBoolean sendScheduled = new AtomicBoolean();
+
+    /** Sends the newest state (runs on the hub thread) */
+    private final Runnable sendTask = new Runnable() {
+        @Override
+        public void run() {
+            sendLatest();
+        }
+    };
+
+    /** Last state broadcast (hub thread only) */
+    private SpectatorState lastSent;
+
+    /** FULL frame of lastSent, built when the first late joiner needs it (hub thread only) */
+    private ByteBuffer lastFull;
+
+    /** Flag indicating if spectators coming and going are printed */
+    private volatile boolean verbose = true;
+
+    /** Total rounds watched, summed over all spectators */
+    private volatile long totalRounds;
+
+    /** Number of spectators that have connected since the server started */
+    private volatile int totalSpectators;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - use start() to open a server.
+     * @param port The port to listen on
+     * @throws IOException if the port cannot be opened
+     */
+    private SpectatorServer(int port) throws IOException {
+        this.hub = new BroadcastHub(port, BroadcastHub.DEFAULT_MAX_QUEUED_BYTES, this, "Spectator-Hub");
+    }
+
+    /**
+     * Opens a spectator server.
+     *
+     * @param port The port to listen on (0 picks a free port)
+     * @return The server, or null if the port could not be opened
+     */
+    public static SpectatorServer start(int port) {
+        try {
+            SpectatorServer server = new SpectatorServer(port);
+            // Print message to console
+            System.out.println("Spectator server listening on port " + server.getPort());
+            return server;
+        } catch (IOException e) {
+            // Print error message - the game works without spectators
+            System.err.println("Could not open spectator port " + port + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Publishes the current match state to all spectators.
+     * Returns straight away; unchanged states are not sent.
+     *
+     * @param state The state to publish
+     */
+    public void publish(SpectatorState state) {
+        latest = state;
+        // One waiting task is enough - it always sends the newest state
+        if (sendScheduled.compareAndSet(false, true)) {
+            hub.execute(sendTask);
+        }
+    }
+
+    /**
+     * Stops the server and disconnects every spectator.
+     */
+    public void close() {
+        hub.close();
+    }
+
+    /**
+     * Sets whether spectators connecting and leaving are printed.
+     * @param verbose true to print them (the default)
+     */
+    public void setVerbose(boolean verbose) {
+        this.verbose = verbose;
+    }
+
+    /**
+     * Gets the port spectators connect to.
+     * @return The listening port
+     */
+    public int getPort() {
+        return hub.getPort();
+    }
+
+    /**
+     * Gets the number of spectators watching now.
+     * @return The spectator count
+     */
+    public int getSpectatorCount() {
+        return hub.getSubscriberCount();
+    }
+
+    /**
+     * Gets the number of spectators dropped for falling too far behind.
+     * @return The drop count
+     */
+    public long getDroppedCount() {
+        return hub.getDroppedCount();
+    }
+
+    /**
+     * Gets the average bytes each spectator received per round watched.
+     * @return Bytes per spectator per round (0 if nobody has watched a round)
+     */
+    public double getBytesPerSpectatorPerRound() {
+        long rounds = totalRounds;
+        return rounds == 0 ? 0 : (double) hub.getBytesWritten() / rounds;
+    }
+
+    /**
+     * Prints the spectator bandwidth statistics.
+     */
+    public void printStats() {
+        System.out.println(String.format("Spectators: %d watching, %d total, %d dropped, "
+                                         + "%.1f bytes per spectator per round",
+                                         getSpectatorCount(), totalSpectators, getDroppedCount(),
+                                         getBytesPerSpectatorPerRound()));
+    }
+
+    // ========================
+    // HUB THREAD METHODS
+    // ========================
+
+    /**
+     * Broadcasts the newest state if it differs from the last one sent.
+     */
+    private void sendLatest() {
+        sendScheduled.set(false);
+        SpectatorState next = latest;
+        int mask = next.changedFields(lastSent);
+        if (mask == 0) {
+            return;
+        }
+
+        // The very first state goes out as a FULL frame, after that only deltas
+        int type = lastSent == null ? SpectatorFormat.FULL : SpectatorFormat.DELTA;
+        ByteBuffer frame = BroadcastHub.share(SpectatorFormat.encodeFrame(type, mask, next));
+        if (lastSent == null || lastSent.getRound() != next.getRound()) {
+            totalRounds += hub.getSubscriberCount();
+        }
+        lastSent = next;
+        lastFull = type == SpectatorFormat.FULL ? frame : null;
+        hub.broadcast(frame);
+    }
+
+    /**
+     * Sends a new spectator the header and a snapshot of the last state sent.
+     * Every later broadcast is a delta against that state, so the spectator
+     * stays in step from here on.
+     *
+     * @param hub The spectator hub
+     * @param subscriber The new spectator
+     */
+    @Override
+    public void subscriberJoined(BroadcastHub hub, BroadcastHub.Subscriber subscriber) {
+        totalSpectators++;
+        hub.send(subscriber, HEADER);
+        if (lastSent != null) {
+            if (lastFull == null) {
+                lastFull = BroadcastHub.share(SpectatorFormat.encodeFrame(SpectatorFormat.FULL,
+                                                                          SpectatorFormat.ALL_FIELDS, lastSent));
+            }
+            hub.send(subscriber, lastFull);
+            totalRounds++;
+        }
+        // Print message to console
+        if (verbose) {
+            System.out.println("Spectator connected from " + subscriber.getRemoteAddress()
+                               + " (" + hub.getSubscriberCount() + " watching)");
+        }
+    }
+
+    /**
+     * Notes a spectator leaving.
+     *
+     * @param hub The spectator hub
+     * @param subscriber The spectator that left
+     * @param reason Why it left
+     */
+    @Override
+    public void subscriberLeft(BroadcastHub hub, BroadcastHub.Subscriber subscriber, String reason) {
+        // Print message to console
+        if (verbose) {
+            System.out.println("Spectator disconnected: " + reason + " (" + hub.getSubscriberCount() + " watching)");
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package spectator;
+
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.GamePhase;
+import model.GameModel.Player;
+
+import java.util.Objects;
+
+/**
+ * SpectatorState - The part of a match that spectators can see.
+ * A read-only copy of the GameModel fields that the spectator feed sends.
+ * Choices are hidden until the round is decided, so watching a game cannot
+ * be used to see the opponent's throw early.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class SpectatorState {
+
+    /** State before anything is known (the base for the first FULL frame) */
+    static final SpectatorState EMPTY = new SpectatorState(GamePhase.WAITING, 0, 0, 0, 0,
+                                                           null, null, null, "", "", "");
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The game phase */
+    private final GamePhase phase;
+
+    /** The current round number */
+    private final int round;
+
+    /** Red's score */
+    private final int redScore;
+
+    /** Blue's score */
+    private final int blueScore;
+
+    /** The countdown value */
+    private final int countdown;
+
+    /** Red's choice (null until the round is decided) */
+    private final Choice redChoice;
+
+    /** Blue's choice (null until the round is decided) */
+    private final Choice blueChoice;
+
+    /** The round winner (null for a tie or if not decided) */
+    private final Player roundWinner;
+
+    /** Red's name */
+    private final String redName;
+
+    /** Blue's name */
+    private final String blueName;
+
+    /** The game code */
+    private final String gameCode;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for SpectatorState.
+     *
+     * @param phase The game phase
+     * @param round The current round number
+     * @param redScore Red's score
+     * @param blueScore Blue's score
+     * @param countdown The countdown value
+     * @param redChoice Red's choice, or null
+     * @param blueChoice Blue's choice, or null
+     * @param roundWinner The round winner, or null
+     * @param redName Red's name
+     * @param blueName Blue's name
+     * @param gameCode The game code
+     */
+    SpectatorState(GamePhase phase, int round, int redScore, int blueScore, int countdown,
+                   Choice redChoice, Choice blueChoice, Player roundWinner,
+                   String redName, String blueName, String gameCode) {
+        this.phase = phase;
+        this.round = round;
+        this.redScore = redScore;
+        this.blueScore = blueScore;
+        this.countdown = countdown;
+        this.redChoice = redChoice;
+        this.blueChoice = blueChoice;
+        this.roundWinner = roundWinner;
+        this.redName = redName == null ? "" : redName;
+        this.blueName = blueName == null ? "" : blueName;
+        this.gameCode = gameCode == null ? "" : gameCode;
+    }
+
+    /**
+     * Copies the spectator-visible state out of a model.
+     *
+     * @param model The model to copy
+     * @return The spectator state
+     */
+    public static SpectatorState capture(GameModel model) {
+        GamePhase phase = model.getCurrentPhase();
+        // Only show choices once both are in and the round is decided
+        boolean revealed = phase == GamePhase.RESULTS || phase == GamePhase.GAME_OVER;
+        return new SpectatorState(phase,
+                                  model.getCurrentRound(),
+                                  model.getRedScore(),
+                                  model.getBlueScore(),
+                                  model.getCountdownValue(),
+                                  revealed ? model.getRedChoice() : null,
+                                  revealed ? model.getBlueChoice() : null,
+                                  revealed ? model.getRoundWinner() : null,
+                                  model.getPlayerName(Player.RED),
+                                  model.getPlayerName(Player.BLUE),
+                                  model.getGameCode());
+    }
+
+    // ========================
+    // COMPARISON METHODS
+    // ========================
+
+    /**
+     * Finds the fields that differ from another state.
+     *
+     * @param other The state to compare with (null means every field differs)
+     * @return A SpectatorFormat field bitmask (0 if nothing changed)
+     */
+    int changedFields(SpectatorState other) {
+        if (other == null) {
+            return SpectatorFormat.ALL_FIELDS;
+        }
+        int mask = 0;
+        if (phase != other.phase) {
+            mask |= SpectatorFormat.PHASE;
+        }
+        if (round != other.round) {
+            mask |= SpectatorFormat.ROUND;
+        }
+        if (redScore != other.redScore) {
+            mask |= SpectatorFormat.RED_SCORE;
+        }
+        if (blueScore != other.blueScore) {
+            mask |= SpectatorFormat.BLUE_SCORE;
+        }
+        if (countdown != other.countdown) {
+            mask |= SpectatorFormat.COUNTDOWN;
+        }
+        if (redChoice != other.redChoice) {
+            mask |= SpectatorFormat.RED_CHOICE;
+        }
+        if (blueChoice != other.blueChoice) {
+            mask |= SpectatorFormat.BLUE_CHOICE;
+        }
+        if (roundWinner != other.roundWinner) {
+            mask |= SpectatorFormat.ROUND_WINNER;
+        }
+        if (!redName.equals(other.redName)) {
+            mask |= SpectatorFormat.RED_NAME;
+        }
+        if (!blueName.equals(other.blueName)) {
+            mask |= SpectatorFormat.BLUE_NAME;
+        }
+        if (!gameCode.equals(other.gameCode)) {
+            mask |= SpectatorFormat.GAME_CODE;
+        }
+        return mask;
+    }
+
+    /**
+     * Copies this state into a model, for showing it in the game window.
+     * @param model The model to update
+     */
+    public void applyTo(GameModel model) {
+        model.setPlayerName(Player.RED, redName);
+        model.setPlayerName(Player.BLUE, blueName);
+        model.setGameCode(gameCode);
+        model.applySnapshot(phase, round, redScore, blueScore, countdown, redChoice, blueChoice, roundWinner);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof SpectatorState && changedFields((SpectatorState) obj) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(phase, round, redScore, blueScore, countdown,
+                            redChoice, blueChoice, roundWinner, redName, blueName, gameCode);
+    }
+
+    @Override
+    public String toString() {
+        return "Game " + gameCode + " " + redName + " (Red) " + redScore + " - " + blueScore
+               + " " + blueName + " (Blue), round " + round + ", " + phase
+               + (phase == GamePhase.COUNTDOWN ? " " + countdown : "")
+               + (redChoice != null || blueChoice != null
+                  ? ", " + redChoice + " vs " + blueChoice + ", winner " + (roundWinner == null ? "Tie" : roundWinner)
+                  : "");
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the game phase.
+     * @return The phase
+     */
+    public GamePhase getPhase() {
+        return this.phase;
+    }
+
+    /**
+     * Gets the current round number.
+     * @return The round
+     */
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * Gets Red's score.
+     * @return Red's score
+     */
+    public int getRedScore() {
+        return this.redScore;
+    }
+
+    /**
+     * Gets Blue's score.
+     * @return Blue's score
+     */
+    public int getBlueScore() {
+        return this.blueScore;
+    }
+
+    /**
+     * Gets the countdown value.
+     * @return The countdown value
+     */
+    public int getCountdown() {
+        return this.countdown;
+    }
+
+    /**
+     * Gets Red's choice.
+     * @return Red's choice, or null until the round is decided
+     */
+    public Choice getRedChoice() {
+        return this.redChoice;
+    }
+
+    /**
+     * Gets Blue's choice.
+     * @return Blue's choice, or null until the round is decided
+     */
+    public Choice getBlueChoice() {
+        return this.blueChoice;
+    }
+
+    /**
+     * Gets the round winner.
+     * @return The winner, or null for a tie or if not decided
+     */
+    public Player getRoundWinner() {
+        return this.roundWinner;
+    }
+
+    /**
+     * Gets Red's name.
+     * @return Red's name
+     */
+    public String getRedName() {
+        return this.redName;
+    }
+
+    /**
+     * Gets Blue's name.
+     * @return Blue's name
+     */
+    public String getBlueName() {
+        return this.blueName;
+    }
+
+    /**
+     * Gets the game code.
+     * @return The game code
+     */
+    public String getGameCode() {
+        return this.gameCode;
+    }
+}
@@ -0,0 +1,30 @@
+package spectator;
+
+/**
+ * SubscriberListener - Interface for hearing about BroadcastHub subscribers.
+ * Both methods are called on the hub's I/O thread, so they may call
+ * BroadcastHub.send() and BroadcastHub.broadcast() directly.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface SubscriberListener {
+
+    /**
+     * Called when a subscriber connects, before it receives any broadcast.
+     *
+     * @param hub The hub the subscriber connected to
+     * @param subscriber The new subscriber
+     */
+    void subscriberJoined(BroadcastHub hub, BroadcastHub.Subscriber subscriber);
+
+    /**
+     * Called when a subscriber disconnects or is dropped.
+     *
+     * @param hub The hub the subscriber left
+     * @param subscriber The subscriber that left
+     * @param reason Why it left (for example "closed" or "too slow")
+     */
+    void subscriberLeft(BroadcastHub hub, BroadcastHub.Subscriber subscriber, String reason);
+}
@@ -0,0 +1,84 @@
+package tournament;
+
+import lib.SuperSocketMaster;
+
+import java.util.List;
+
+/**
+ * BracketBroadcaster - Streams bracket updates to connected clients.
+ * Each update is a single text line in the same prefix:key=value style as the
+ * game protocol, sent through a SuperSocketMaster.
+ *
+ * <p>Message formats:</p>
+ * <ul>
+ *   <li>BRACKET_UPDATE:match=7,round=2,bracket=W,red=alice,blue=bob,status=scheduled</li>
+ *   <li>BRACKET_UPDATE:match=7,round=2,bracket=W,red=alice,blue=bob,status=finished,winner=alice,score=2-1</li>
+ *   <li>TOURNAMENT_OVER:champion=alice,entrants=1024</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class BracketBroadcaster implements BracketListener {
+
+    /** Prefix for bracket update messages */
+    public static final String MSG_BRACKET_UPDATE = "BRACKET_UPDATE:";
+
+    /** Prefix for the tournament over message */
+    public static final String MSG_TOURNAMENT_OVER = "TOURNAMENT_OVER:";
+
+    /** Socket used to reach the clients */
+    private final SuperSocketMaster socketMaster;
+
+    /**
+     * Constructor for BracketBroadcaster.
+     * @param socketMaster A connected socket (server mode sends to every client)
+     */
+    public BracketBroadcaster(SuperSocketMaster socketMaster) {
+        this.socketMaster = socketMaster;
+    }
+
+    @Override
+    public void matchScheduled(Pairing pairing) {
+        send(describe(pairing) + ",status=scheduled");
+    }
+
+    @Override
+    public void matchFinished(Pairing pairing) {
+        Entrant winner = pairing.getWinner();
+        send(describe(pairing) + ",status=finished"
+             + ",winner=" + (winner != null ? winner.getName() : "Tie")
+             + ",score=" + pairing.getRedScore() + "-" + pairing.getBlueScore());
+    }
+
+    @Override
+    public void tournamentFinished(List<Entrant> standings) {
+        String champion = standings.isEmpty() ? "None" : standings.get(0).getName();
+        send(MSG_TOURNAMENT_OVER + "champion=" + champion + ",entrants=" + standings.size());
+    }
+
+    /**
+     * Builds the common part of a bracket update line.
+     * @param pairing The match being described
+     * @return The message prefix and match fields
+     */
+    private String describe(Pairing pairing) {
+        return MSG_BRACKET_UPDATE
+               + "match=" + pairing.getMatchId()
+               + ",round=" + pairing.getRound()
+               + ",bracket=" + pairing.getBracket()
+               + ",red=" + pairing.getRed().getName()
+               + ",blue=" + (pairing.getBlue() != null ? pairing.getBlue().getName() : "BYE");
+    }
+
+    /**
+     * Sends one line, synchronised so lines from different workers never interleave.
+     * @param message The line to send
+     */
+    private synchronized void send(String message) {
+        if (!socketMaster.sendText(message)) {
+            System.err.println("Failed to send bracket update");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package tournament;
+
+import java.util.List;
+
+/**
+ * BracketFormat - The pairing rules of a tournament format.
+ * The engine asks the format for the first matches, then reports every result;
+ * the format answers with whatever matches have become ready to play. This
+ * lets elimination brackets start later matches as soon as both players are
+ * free, instead of waiting for a whole round to finish.
+ *
+ * <p>Implementations are not thread-safe; the engine calls them under its own lock.
+ * Each call should cost O(log n) or less per match so thousands of entrants
+ * never need an all-pairs table.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface BracketFormat {
+
+    /**
+     * Gets the display name of the format.
+     * @return The format name
+     */
+    String getName();
+
+    /**
+     * Creates the first matches of the tournament.
+     *
+     * @param entrants All entrants, in seed order
+     * @return The matches that can be played immediately
+     */
+    List<Pairing> start(List<Entrant> entrants);
+
+    /**
+     * Records a finished match and returns any matches that became ready.
+     *
+     * @param finished The match that just finished (with its result set)
+     * @return The newly ready matches (may be empty)
+     */
+    List<Pairing> onResult(Pairing finished);
+
+    /**
+     * Checks if the tournament is over.
+     * @return true if no more matches will be created
+     */
+    boolean isComplete();
+
+    /**
+     * Gets the final or current standings, best first.
+     * @return The entrants in ranking order
+     */
+    List<Entrant> getStandings();
+
+    /**
+     * Checks if drawn matches must be replayed because the format needs a winner.
+     * @return true for elimination formats, false for points-based formats
+     */
+    boolean requiresWinner();
+}
@@ -0,0 +1,33 @@
+package tournament;
+
+import java.util.List;
+
+/**
+ * BracketListener - Receives live bracket updates from the tournament engine.
+ * Methods are called from worker threads, in the order events happen for any
+ * single match; implementations must be thread-safe and should return quickly.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface BracketListener {
+
+    /**
+     * Called when a match has been scheduled.
+     * @param pairing The new match (no result yet)
+     */
+    void matchScheduled(Pairing pairing);
+
+    /**
+     * Called when a match has a result.
+     * @param pairing The finished match
+     */
+    void matchFinished(Pairing pairing);
+
+    /**
+     * Called once when the tournament is over.
+     * @param standings The final standings, best first
+     */
+    void tournamentFinished(List<Entrant> standings);
+}
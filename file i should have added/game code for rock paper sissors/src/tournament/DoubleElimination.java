@@ -0,0 +1,221 @@
+package tournament;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * DoubleElimination - A bracket where entrants are knocked out after two losses.
+ * Undefeated entrants play in the winners bracket and once-beaten entrants in
+ * the losers bracket. The two bracket champions meet in a grand final; if the
+ * losers bracket champion wins it, a deciding reset match is played.
+ *
+ * <p>Instead of a fixed chart, each bracket keeps a queue of entrants waiting for
+ * an opponent and pairs them as soon as two are free. This keeps every worker busy
+ * with thousands of entrants and makes each step O(1); an entrant only waits alone
+ * while a match that could feed its bracket is still running.</p>
+ *
+ * <p>This is not a seeded bracket. Seeds only decide the first round (top
+ * against bottom); after that entrants are paired greedily in the order their
+ * matches finish. Two strong seeds can therefore meet early, and an entrant
+ * may face someone it already played in the losers bracket.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class DoubleElimination implements BracketFormat {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Undefeated entrants waiting for a winners bracket match */
+    private final ArrayDeque<Entrant> winnersQueue = new ArrayDeque<>();
+
+    /** Once-beaten entrants waiting for a losers bracket match */
+    private final ArrayDeque<Entrant> losersQueue = new ArrayDeque<>();
+
+    /** Number of losses per entrant id */
+    private final Map<Integer, Integer> losses = new HashMap<>();
+
+    /** Number of matches played per entrant id (used as the round number) */
+    private final Map<Integer, Integer> played = new HashMap<>();
+
+    /** Entrants in the order they were knocked out */
+    private final List<Entrant> eliminated = new ArrayList<>();
+
+    /** Matches handed out but not yet reported */
+    private int inFlight;
+
+    /** Next match id to hand out */
+    private int nextMatchId = 1;
+
+    /** Flag indicating if the grand final has been scheduled */
+    private boolean grandFinalScheduled;
+
+    /** Tournament champion (null until decided) */
+    private Entrant champion;
+
+    // ========================
+    // BRACKET FORMAT METHODS
+    // ========================
+
+    @Override
+    public String getName() {
+        return "Double Elimination";
+    }
+
+    @Override
+    public List<Pairing> start(List<Entrant> entrants) {
+        List<Pairing> ready = new ArrayList<>();
+        if (entrants.size() < 2) {
+            champion = entrants.isEmpty() ? null : entrants.get(0);
+            return ready;
+        }
+        for (Entrant entrant : entrants) {
+            losses.put(entrant.getId(), 0);
+            played.put(entrant.getId(), 0);
+        }
+
+        // First round pairs top seeds with bottom seeds; an odd middle seed waits
+        int low = 0;
+        int high = entrants.size() - 1;
+        while (low < high) {
+            ready.add(createPairing(Pairing.MAIN_BRACKET, entrants.get(low++), entrants.get(high--)));
+        }
+        if (low == high) {
+            winnersQueue.add(entrants.get(low));
+        }
+        return ready;
+    }
+
+    @Override
+    public List<Pairing> onResult(Pairing finished) {
+        inFlight--;
+        Entrant winner = finished.getWinner();
+        Entrant loser = finished.getLoser();
+        List<Pairing> ready = new ArrayList<>();
+
+        if (Pairing.GRAND_FINAL.equals(finished.getBracket())) {
+            // The first grand final has the winners bracket champion on Red and the
+            // reset has the losers bracket champion on Red, so go by losses, not sides:
+            // whoever has just lost for the second time is out
+            int loserLosses = addLoss(loser);
+            if (loserLosses >= 2) {
+                eliminated.add(loser);
+                champion = winner;
+            } else {
+                // Losers champion won: both now have one loss, play the reset
+                ready.add(createPairing(Pairing.GRAND_FINAL, winner, loser));
+            }
+            return ready;
+        }
+
+        // Send both entrants to the queue that matches their loss count
+        requeue(winner);
+        if (loser != null) {
+            if (addLoss(loser) >= 2) {
+                eliminated.add(loser);
+            } else {
+                losersQueue.add(loser);
+            }
+        }
+
+        pairWaiting(ready);
+        return ready;
+    }
+
+    @Override
+    public boolean isComplete() {
+        return champion != null || losses.isEmpty();
+    }
+
+    @Override
+    public List<Entrant> getStandings() {
+        List<Entrant> standings = new ArrayList<>();
+        if (champion != null) {
+            standings.add(champion);
+        }
+        for (int i = eliminated.size() - 1; i >= 0; i--) {
+            standings.add(eliminated.get(i));
+        }
+        return standings;
+    }
+
+    @Override
+    public boolean requiresWinner() {
+        return true;
+    }
+
+    // ========================
+    // HELPER METHODS
+    // ========================
+
+    /**
+     * Pairs waiting entrants within each bracket, and schedules the grand final
+     * once both brackets are down to one entrant with nothing left running.
+     *
+     * @param ready The list to add new pairings to
+     */
+    private void pairWaiting(List<Pairing> ready) {
+        while (winnersQueue.size() >= 2) {
+            ready.add(createPairing(Pairing.MAIN_BRACKET, winnersQueue.poll(), winnersQueue.poll()));
+        }
+        while (losersQueue.size() >= 2) {
+            ready.add(createPairing(Pairing.LOSERS_BRACKET, losersQueue.poll(), losersQueue.poll()));
+        }
+
+        // A lone waiting entrant is a bracket champion only when nothing else can feed it
+        if (inFlight == 0 && !grandFinalScheduled) {
+            if (winnersQueue.size() == 1 && losersQueue.size() == 1) {
+                grandFinalScheduled = true;
+                ready.add(createPairing(Pairing.GRAND_FINAL, winnersQueue.poll(), losersQueue.poll()));
+            } else if (winnersQueue.isEmpty() && losersQueue.size() == 1) {
+                champion = losersQueue.poll();
+            } else if (losersQueue.isEmpty() && winnersQueue.size() == 1) {
+                champion = winnersQueue.poll();
+            }
+        }
+    }
+
+    /**
+     * Puts an entrant back in the queue for its bracket.
+     * @param entrant The entrant that just won
+     */
+    private void requeue(Entrant entrant) {
+        if (losses.get(entrant.getId()) == 0) {
+            winnersQueue.add(entrant);
+        } else {
+            losersQueue.add(entrant);
+        }
+    }
+
+    /**
+     * Adds a loss to an entrant.
+     * @param entrant The entrant that lost
+     * @return The entrant's new loss count
+     */
+    private int addLoss(Entrant entrant) {
+        int count = losses.get(entrant.getId()) + 1;
+        losses.put(entrant.getId(), count);
+        return count;
+    }
+
+    /**
+     * Creates a pairing and counts it as in flight.
+     *
+     * @param bracket The bracket label
+     * @param red The Red entrant
+     * @param blue The Blue entrant
+     * @return The new pairing
+     */
+    private Pairing createPairing(String bracket, Entrant red, Entrant blue) {
+        int redPlayed = played.merge(red.getId(), 1, Integer::sum);
+        int bluePlayed = played.merge(blue.getId(), 1, Integer::sum);
+        inFlight++;
+        return new Pairing(nextMatchId++, Math.max(redPlayed, bluePlayed), bracket, red, blue, 0);
+    }
+}
@@ -0,0 +1,63 @@
+package tournament;
+
+/**
+ * Entrant - A single player registered in a tournament.
+ * Entrants are identified by their id; the seed orders them for the first round.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class Entrant {
+
+    /** Unique id of the entrant within the tournament */
+    private final int id;
+
+    /** Display name of the entrant */
+    private final String name;
+
+    /** Seed (1 is the strongest); used for first-round placement and tie-breaks */
+    private final int seed;
+
+    /**
+     * Constructor for Entrant.
+     *
+     * @param id Unique id of the entrant
+     * @param name Display name of the entrant
+     * @param seed Seed of the entrant (1 is the strongest)
+     */
+    public Entrant(int id, String name, int seed) {
+        this.id = id;
+        this.name = name;
+        this.seed = seed;
+    }
+
+    /**
+     * Gets the entrant id.
+     * @return The unique id
+     */
+    public int getId() {
+        return this.id;
+    }
+
+    /**
+     * Gets the entrant name.
+     * @return The display name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the entrant seed.
+     * @return The seed (1 is the strongest)
+     */
+    public int getSeed() {
+        return this.seed;
+    }
+
+    @Override
+    public String toString() {
+        return this.name;
+    }
+}
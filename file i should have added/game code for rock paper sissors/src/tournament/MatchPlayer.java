@@ -0,0 +1,27 @@
+package tournament;
+
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.Player;
+
+/**
+ * MatchPlayer - Supplies the choices for one side of a tournament match.
+ * A network-backed player blocks until its client answers; a bot answers
+ * immediately. One MatchPlayer is created per entrant per match, so it may
+ * keep history for the match without worrying about other threads.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public interface MatchPlayer {
+
+    /**
+     * Chooses a throw for the current round.
+     *
+     * @param model The match model (read the round and previous choices from it)
+     * @param side The side this player is on (RED or BLUE)
+     * @return The chosen throw
+     */
+    Choice choose(GameModel model, Player side);
+}
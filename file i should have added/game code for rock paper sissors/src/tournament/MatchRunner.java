@@ -0,0 +1,109 @@
+package tournament;
+
+import model.GameModel;
+import model.GameModel.GamePhase;
+import model.GameModel.Player;
+
+import java.util.function.Function;
+
+/**
+ * MatchRunner - Plays one tournament match headlessly with a GameModel.
+ * Drives the model through the same phases as the Swing game (countdown,
+ * choosing, results, next round) so the normal scoring rules and max_rounds
+ * setting apply, then writes the result into the pairing.
+ *
+ * <p>Each call creates its own GameModel, so many matches can run on different
+ * threads at once. Byes are recorded as wins without playing.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class MatchRunner {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Number of times a drawn elimination match is replayed before seed decides */
+    private static final int MAX_REPLAYS = 5;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Creates the player for an entrant at the start of each match */
+    private final Function<Entrant, MatchPlayer> playerFactory;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for MatchRunner.
+     * @param playerFactory Creates the player for an entrant at the start of each match
+     */
+    public MatchRunner(Function<Entrant, MatchPlayer> playerFactory) {
+        this.playerFactory = playerFactory;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Plays a match and records its result in the pairing.
+     *
+     * @param pairing The match to play
+     * @param requireWinner true to replay draws (elimination formats)
+     */
+    public void play(Pairing pairing, boolean requireWinner) {
+        // A bye is an automatic win for the only entrant
+        if (pairing.isBye()) {
+            pairing.setResult(pairing.getRed(), 0, 0);
+            return;
+        }
+
+        for (int attempt = 1; attempt <= MAX_REPLAYS; attempt++) {
+            GameModel model = playMatch(pairing);
+            Player winner = model.getGameWinner();
+            if (winner != null || !requireWinner) {
+                Entrant winningEntrant = winner == null ? null
+                                         : winner == Player.RED ? pairing.getRed() : pairing.getBlue();
+                pairing.setResult(winningEntrant, model.getRedScore(), model.getBlueScore());
+                return;
+            }
+        }
+
+        // Still drawn after every replay: the better seed goes through
+        Entrant red = pairing.getRed();
+        Entrant blue = pairing.getBlue();
+        pairing.setResult(red.getSeed() <= blue.getSeed() ? red : blue, 0, 0);
+    }
+
+    /**
+     * Plays every round of one match.
+     *
+     * @param pairing The match being played
+     * @return The model holding the final scores and winner
+     */
+    private GameModel playMatch(Pairing pairing) {
+        GameModel model = new GameModel(Player.RED);
+        model.setVerbose(false);
+        MatchPlayer red = playerFactory.apply(pairing.getRed());
+        MatchPlayer blue = playerFactory.apply(pairing.getBlue());
+
+        model.startCountdown();
+        do {
+            // Headless matches do not wait out the countdown
+            while (model.getCurrentPhase() == GamePhase.COUNTDOWN) {
+                model.decrementCountdown();
+            }
+            model.makeChoice(Player.RED, red.choose(model, Player.RED));
+            model.makeChoice(Player.BLUE, blue.choose(model, Player.BLUE));
+        } while (model.nextRound());
+        // Nobody joins a simulated match by code
+        model.releaseGameCode();
+        return model;
+    }
+}
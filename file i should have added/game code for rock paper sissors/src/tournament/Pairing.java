@@ -0,0 +1,188 @@
+package tournament;
+
+/**
+ * Pairing - One scheduled match between two entrants.
+ * The first entrant plays as Red and the second as Blue. A pairing with no
+ * second entrant is a bye and is won by the first entrant without playing.
+ *
+ * <p>The match runner fills in the result fields from a worker thread; the
+ * engine publishes the pairing to listeners only after that, so readers always
+ * see a complete result.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public final class Pairing {
+
+    /** Bracket label for winners, Swiss and round-robin matches */
+    public static final String MAIN_BRACKET = "W";
+
+    /** Bracket label for losers bracket matches (double elimination) */
+    public static final String LOSERS_BRACKET = "L";
+
+    /** Bracket label for the grand final (double elimination) */
+    public static final String GRAND_FINAL = "GF";
+
+    /** Unique id of this match within the tournament */
+    private final int matchId;
+
+    /** Tournament round the match belongs to (starts at 1) */
+    private final int round;
+
+    /** Bracket label (W, L or GF) */
+    private final String bracket;
+
+    /** Entrant playing as Red */
+    private final Entrant red;
+
+    /** Entrant playing as Blue (null for a bye) */
+    private final Entrant blue;
+
+    /** Position of the match within its round, used by slot-based brackets */
+    private final int slot;
+
+    /** Winner of the match (null until played, or for a drawn match) */
+    private volatile Entrant winner;
+
+    /** Rounds won by Red in this match */
+    private volatile int redScore;
+
+    /** Rounds won by Blue in this match */
+    private volatile int blueScore;
+
+    /** Flag indicating if the match has a result */
+    private volatile boolean finished;
+
+    /**
+     * Constructor for Pairing.
+     *
+     * @param matchId Unique id of the match
+     * @param round Tournament round (starts at 1)
+     * @param bracket Bracket label (W, L or GF)
+     * @param red Entrant playing as Red
+     * @param blue Entrant playing as Blue, or null for a bye
+     * @param slot Position of the match within its round
+     */
+    public Pairing(int matchId, int round, String bracket, Entrant red, Entrant blue, int slot) {
+        this.matchId = matchId;
+        this.round = round;
+        this.bracket = bracket;
+        this.red = red;
+        this.blue = blue;
+        this.slot = slot;
+    }
+
+    /**
+     * Records the result of the match.
+     *
+     * @param winner The winning entrant, or null for a draw
+     * @param redScore Rounds won by Red
+     * @param blueScore Rounds won by Blue
+     */
+    public void setResult(Entrant winner, int redScore, int blueScore) {
+        this.winner = winner;
+        this.redScore = redScore;
+        this.blueScore = blueScore;
+        this.finished = true;
+    }
+
+    /**
+     * Checks if this pairing is a bye.
+     * @return true if there is no Blue entrant
+     */
+    public boolean isBye() {
+        return this.blue == null;
+    }
+
+    /**
+     * Gets the losing entrant.
+     * @return The loser, or null if the match is a bye, a draw or unplayed
+     */
+    public Entrant getLoser() {
+        if (!finished || winner == null || blue == null) {
+            return null;
+        }
+        return winner == red ? blue : red;
+    }
+
+    /**
+     * Gets the match id.
+     * @return The unique match id
+     */
+    public int getMatchId() {
+        return this.matchId;
+    }
+
+    /**
+     * Gets the tournament round.
+     * @return The round number
+     */
+    public int getRound() {
+        return this.round;
+    }
+
+    /**
+     * Gets the bracket label.
+     * @return W, L or GF
+     */
+    public String getBracket() {
+        return this.bracket;
+    }
+
+    /**
+     * Gets the Red entrant.
+     * @return The entrant playing as Red
+     */
+    public Entrant getRed() {
+        return this.red;
+    }
+
+    /**
+     * Gets the Blue entrant.
+     * @return The entrant playing as Blue, or null for a bye
+     */
+    public Entrant getBlue() {
+        return this.blue;
+    }
+
+    /**
+     * Gets the slot within the round.
+     * @return The slot index
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Gets the winner.
+     * @return The winning entrant, or null if unplayed or drawn
+     */
+    public Entrant getWinner() {
+        return this.winner;
+    }
+
+    /**
+     * Gets the rounds won by Red.
+     * @return Red's score
+     */
+    public int getRedScore() {
+        return this.redScore;
+    }
+
+    /**
+     * Gets the rounds won by Blue.
+     * @return Blue's score
+     */
+    public int getBlueScore() {
+        return this.blueScore;
+    }
+
+    /**
+     * Checks if the match has a result.
+     * @return true if finished
+     */
+    public boolean isFinished() {
+        return this.finished;
+    }
+}
@@ -0,0 +1,26 @@
+package tournament;
+
+import model.GameModel;
+import model.GameModel.Choice;
+import model.GameModel.Player;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * RandomPlayer - A match player that picks uniformly at random.
+ * Used by simulations; uniform random play cannot be exploited by any strategy.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class RandomPlayer implements MatchPlayer {
+
+    /** The three choices, cached so choosing does not allocate */
+    private static final Choice[] CHOICES = Choice.values();
+
+    @Override
+    public Choice choose(GameModel model, Player side) {
+        return CHOICES[ThreadLocalRandom.current().nextInt(CHOICES.length)];
+    }
+}
@@ -0,0 +1,150 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RoundRobin - Every entrant plays every other entrant exactly once.
+ * Rounds are generated with the circle method: the first entrant stays fixed
+ * and the rest rotate one place each round, so each round is built in O(n)
+ * without any table of who has played whom.
+ *
+ * <p>With an odd field one entrant sits out each round (no points are given
+ * for sitting out). The total number of matches is n(n-1)/2 by definition of
+ * the format, but they are streamed round by round rather than built up front.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class RoundRobin implements BracketFormat {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Entrants in circle positions (null marks the sit-out spot for odd fields) */
+    private Entrant[] circle;
+
+    /** Standings looked up by entrant id */
+    private final Map<Integer, Standing> byId = new HashMap<>();
+
+    /** Round currently being played (0 before the first round) */
+    private int currentRound;
+
+    /** Total number of rounds */
+    private int totalRounds;
+
+    /** Matches of the current round still being played */
+    private int remainingInRound;
+
+    /** Next match id to hand out */
+    private int nextMatchId = 1;
+
+    // ========================
+    // BRACKET FORMAT METHODS
+    // ========================
+
+    @Override
+    public String getName() {
+        return "Round Robin";
+    }
+
+    @Override
+    public List<Pairing> start(List<Entrant> entrants) {
+        int size = entrants.size() + (entrants.size() % 2);
+        circle = new Entrant[size];
+        for (int i = 0; i < entrants.size(); i++) {
+            circle[i] = entrants.get(i);
+            byId.put(entrants.get(i).getId(), new Standing(entrants.get(i)));
+        }
+        totalRounds = entrants.size() < 2 ? 0 : size - 1;
+        return nextRound();
+    }
+
+    @Override
+    public List<Pairing> onResult(Pairing finished) {
+        Standing red = byId.get(finished.getRed().getId());
+        Standing blue = byId.get(finished.getBlue().getId());
+        Entrant winner = finished.getWinner();
+        if (winner == null) {
+            red.points += Standing.DRAW_POINTS;
+            blue.points += Standing.DRAW_POINTS;
+        } else if (winner == red.entrant) {
+            red.points += Standing.WIN_POINTS;
+        } else {
+            blue.points += Standing.WIN_POINTS;
+        }
+
+        remainingInRound--;
+        if (remainingInRound > 0) {
+            return new ArrayList<>();
+        }
+        return nextRound();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return currentRound >= totalRounds && remainingInRound == 0;
+    }
+
+    @Override
+    public List<Entrant> getStandings() {
+        List<Standing> sorted = new ArrayList<>(byId.values());
+        sorted.sort(Standing::compare);
+        List<Entrant> result = new ArrayList<>(sorted.size());
+        for (Standing standing : sorted) {
+            result.add(standing.entrant);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean requiresWinner() {
+        return false;
+    }
+
+    // ========================
+    // PAIRING METHODS
+    // ========================
+
+    /**
+     * Builds the next round with the circle method.
+     * @return The pairings for the new round (empty when all rounds are played)
+     */
+    private List<Pairing> nextRound() {
+        List<Pairing> ready = new ArrayList<>();
+        // Skip rounds that only contain the sit-out (can happen with 1 entrant)
+        while (ready.isEmpty() && currentRound < totalRounds) {
+            if (currentRound > 0) {
+                rotate();
+            }
+            currentRound++;
+            int size = circle.length;
+            for (int i = 0; i < size / 2; i++) {
+                Entrant a = circle[i];
+                Entrant b = circle[size - 1 - i];
+                if (a == null || b == null) {
+                    continue;
+                }
+                // Alternate colours by round so nobody is always Red
+                boolean swap = (currentRound + i) % 2 == 1;
+                ready.add(new Pairing(nextMatchId++, currentRound, Pairing.MAIN_BRACKET,
+                                      swap ? b : a, swap ? a : b, i));
+            }
+        }
+        remainingInRound = ready.size();
+        return ready;
+    }
+
+    /**
+     * Rotates every position except the first one place clockwise.
+     */
+    private void rotate() {
+        Entrant last = circle[circle.length - 1];
+        System.arraycopy(circle, 1, circle, 2, circle.length - 2);
+        circle[1] = last;
+    }
+}
@@ -0,0 +1,173 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * SingleElimination - A seeded knockout bracket.
+ * The field is padded to a power of two with byes for the top seeds, and seeds
+ * are placed so the strongest players can only meet in the latest rounds.
+ *
+ * <p>Each match has a fixed slot; the winner of slot s moves to slot s/2 of the
+ * next round. A match starts as soon as both of its feeder matches finish, so
+ * one slow match only delays its own half of the bracket. Every operation is
+ * O(1) after the O(n) set-up.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class SingleElimination implements BracketFormat {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Winners waiting for their next opponent, indexed by [round][feeder slot] */
+    private Entrant[][] arrivals;
+
+    /** Number of rounds in the bracket */
+    private int roundCount;
+
+    /** Next match id to hand out */
+    private int nextMatchId = 1;
+
+    /** Entrants in the order they were knocked out */
+    private final List<Entrant> eliminated = new ArrayList<>();
+
+    /** Tournament champion (null until the final is played) */
+    private Entrant champion;
+
+    // ========================
+    // BRACKET FORMAT METHODS
+    // ========================
+
+    @Override
+    public String getName() {
+        return "Single Elimination";
+    }
+
+    @Override
+    public List<Pairing> start(List<Entrant> entrants) {
+        List<Pairing> ready = new ArrayList<>();
+        if (entrants.size() < 2) {
+            // Nothing to play: a lone entrant is the champion
+            champion = entrants.isEmpty() ? null : entrants.get(0);
+            return ready;
+        }
+
+        // Pad the field to the next power of two
+        int size = Integer.highestOneBit(entrants.size() - 1) << 1;
+        roundCount = Integer.numberOfTrailingZeros(size);
+
+        // Arrivals for round r hold the winners of round r-1 (round 1 is filled directly)
+        arrivals = new Entrant[roundCount + 2][];
+        for (int round = 1; round <= roundCount + 1; round++) {
+            arrivals[round] = new Entrant[Math.max(1, size >> (round - 1))];
+        }
+
+        // Place seeds so 1 and 2 can only meet in the final
+        int[] order = seedOrder(size);
+        for (int slot = 0; slot < size / 2; slot++) {
+            Entrant red = seedAt(entrants, order[slot * 2]);
+            Entrant blue = seedAt(entrants, order[slot * 2 + 1]);
+            ready.add(new Pairing(nextMatchId++, 1, Pairing.MAIN_BRACKET, red, blue, slot));
+        }
+        return ready;
+    }
+
+    @Override
+    public List<Pairing> onResult(Pairing finished) {
+        Entrant winner = finished.getWinner();
+        Entrant loser = finished.getLoser();
+        if (loser != null) {
+            eliminated.add(loser);
+        }
+
+        // The final has no next round
+        int round = finished.getRound();
+        if (round == roundCount) {
+            champion = winner;
+            return Collections.emptyList();
+        }
+
+        // Park the winner in its feeder position for the next round
+        int slot = finished.getSlot();
+        Entrant[] next = arrivals[round + 1];
+        next[slot] = winner;
+
+        // Start the next match once both feeder matches have reported
+        int partner = slot ^ 1;
+        if (next[partner] == null) {
+            return Collections.emptyList();
+        }
+        int lower = Math.min(slot, partner);
+        Pairing pairing = new Pairing(nextMatchId++, round + 1, Pairing.MAIN_BRACKET,
+                                      next[lower], next[lower + 1], lower / 2);
+        // Release the parked entrants so the arrays do not hold them
+        next[slot] = null;
+        next[partner] = null;
+        return Collections.singletonList(pairing);
+    }
+
+    @Override
+    public boolean isComplete() {
+        return champion != null || arrivals == null;
+    }
+
+    @Override
+    public List<Entrant> getStandings() {
+        List<Entrant> standings = new ArrayList<>();
+        if (champion != null) {
+            standings.add(champion);
+        }
+        // Later eliminations rank higher
+        for (int i = eliminated.size() - 1; i >= 0; i--) {
+            standings.add(eliminated.get(i));
+        }
+        return standings;
+    }
+
+    @Override
+    public boolean requiresWinner() {
+        return true;
+    }
+
+    // ========================
+    // SEEDING HELPERS
+    // ========================
+
+    /**
+     * Builds the standard bracket order of seeds for a power-of-two field.
+     * For 8 players this is 1,8,4,5,2,7,3,6.
+     *
+     * @param size The bracket size (a power of two)
+     * @return The seed number for each bracket position
+     */
+    static int[] seedOrder(int size) {
+        int[] order = {1};
+        while (order.length < size) {
+            int doubled = order.length * 2;
+            int[] next = new int[doubled];
+            for (int i = 0; i < order.length; i++) {
+                // Each seed is paired with the seed that sums to doubled + 1
+                next[i * 2] = order[i];
+                next[i * 2 + 1] = doubled + 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+
+    /**
+     * Gets the entrant holding a seed number, or null if that seed is a bye.
+     *
+     * @param entrants The entrants in seed order
+     * @param seed The 1-based seed number
+     * @return The entrant, or null for a bye
+     */
+    private static Entrant seedAt(List<Entrant> entrants, int seed) {
+        return seed <= entrants.size() ? entrants.get(seed - 1) : null;
+    }
+}
@@ -0,0 +1,62 @@
+package tournament;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Standing - Points and history of one entrant in a points-based format.
+ * Points are kept in half-points so a drawn match (half a win) stays an int:
+ * a win is worth 2, a draw 1 and a loss 0.
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+class Standing {
+
+    /** Half-points awarded for a win */
+    static final int WIN_POINTS = 2;
+
+    /** Half-points awarded for a draw */
+    static final int DRAW_POINTS = 1;
+
+    /** The entrant this standing belongs to */
+    final Entrant entrant;
+
+    /** Points earned so far, in half-points */
+    int points;
+
+    /** Sum of opponents' points, used as the tie-break (Buchholz score) */
+    int tieBreak;
+
+    /** Flag indicating if the entrant has already received a bye */
+    boolean hadBye;
+
+    /** Ids of entrants already played, so Swiss pairing can avoid rematches */
+    final Set<Integer> opponents = new HashSet<>();
+
+    /**
+     * Constructor for Standing.
+     * @param entrant The entrant this standing belongs to
+     */
+    Standing(Entrant entrant) {
+        this.entrant = entrant;
+    }
+
+    /**
+     * Compares two standings for ranking: more points first, then tie-break, then seed.
+     *
+     * @param a The first standing
+     * @param b The second standing
+     * @return Negative if a ranks above b
+     */
+    static int compare(Standing a, Standing b) {
+        if (a.points != b.points) {
+            return Integer.compare(b.points, a.points);
+        }
+        if (a.tieBreak != b.tieBreak) {
+            return Integer.compare(b.tieBreak, a.tieBreak);
+        }
+        return Integer.compare(a.entrant.getSeed(), b.entrant.getSeed());
+    }
+}
@@ -0,0 +1,244 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SwissSystem - A fixed number of rounds where entrants meet others on the same score.
+ * Nobody is knocked out; each round the field is sorted by points and neighbours
+ * are paired, skipping rematches where possible. The default number of rounds is
+ * ceil(log2(n)), enough to separate a single undefeated winner.
+ *
+ * <p>Pairing sorts once per round (O(n log n)) and then searches only a small
+ * window ahead for a player not met before, so a round never needs the
+ * quadratic all-pairs search that exact Swiss pairing uses.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class SwissSystem implements BracketFormat {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** How far ahead to look for an opponent that is not a rematch */
+    private static final int REMATCH_WINDOW = 16;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Standings for every entrant, in the order of the last sort */
+    private final List<Standing> standings = new ArrayList<>();
+
+    /** Standings looked up by entrant id */
+    private final Map<Integer, Standing> byId = new HashMap<>();
+
+    /** Number of rounds to play (0 means ceil(log2(n))) */
+    private int totalRounds;
+
+    /** Round currently being played */
+    private int currentRound;
+
+    /** Matches of the current round still being played */
+    private int remainingInRound;
+
+    /** Next match id to hand out */
+    private int nextMatchId = 1;
+
+    // ========================
+    // CONSTRUCTORS
+    // ========================
+
+    /**
+     * Constructor for SwissSystem using ceil(log2(n)) rounds.
+     */
+    public SwissSystem() {
+        this(0);
+    }
+
+    /**
+     * Constructor for SwissSystem with a fixed number of rounds.
+     * @param rounds The number of rounds to play (0 for ceil(log2(n)))
+     */
+    public SwissSystem(int rounds) {
+        this.totalRounds = rounds;
+    }
+
+    // ========================
+    // BRACKET FORMAT METHODS
+    // ========================
+
+    @Override
+    public String getName() {
+        return "Swiss";
+    }
+
+    @Override
+    public List<Pairing> start(List<Entrant> entrants) {
+        for (Entrant entrant : entrants) {
+            Standing standing = new Standing(entrant);
+            standings.add(standing);
+            byId.put(entrant.getId(), standing);
+        }
+        if (totalRounds <= 0) {
+            // Enough rounds for a single undefeated player to remain
+            totalRounds = entrants.size() < 2 ? 0 : 32 - Integer.numberOfLeadingZeros(entrants.size() - 1);
+        }
+        return nextRound();
+    }
+
+    @Override
+    public List<Pairing> onResult(Pairing finished) {
+        Standing red = byId.get(finished.getRed().getId());
+        if (finished.isBye()) {
+            red.points += Standing.WIN_POINTS;
+            red.hadBye = true;
+        } else {
+            Standing blue = byId.get(finished.getBlue().getId());
+            red.opponents.add(blue.entrant.getId());
+            blue.opponents.add(red.entrant.getId());
+            Entrant winner = finished.getWinner();
+            if (winner == null) {
+                red.points += Standing.DRAW_POINTS;
+                blue.points += Standing.DRAW_POINTS;
+            } else if (winner == red.entrant) {
+                red.points += Standing.WIN_POINTS;
+            } else {
+                blue.points += Standing.WIN_POINTS;
+            }
+        }
+
+        // Pair the next round only when every match of this round is in
+        remainingInRound--;
+        if (remainingInRound > 0) {
+            return new ArrayList<>();
+        }
+        return nextRound();
+    }
+
+    @Override
+    public boolean isComplete() {
+        return currentRound >= totalRounds && remainingInRound == 0;
+    }
+
+    @Override
+    public List<Entrant> getStandings() {
+        updateTieBreaks();
+        standings.sort(Standing::compare);
+        List<Entrant> result = new ArrayList<>(standings.size());
+        for (Standing standing : standings) {
+            result.add(standing.entrant);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean requiresWinner() {
+        return false;
+    }
+
+    // ========================
+    // PAIRING METHODS
+    // ========================
+
+    /**
+     * Pairs the next round, or returns nothing if all rounds are played.
+     * @return The pairings for the new round
+     */
+    private List<Pairing> nextRound() {
+        List<Pairing> ready = new ArrayList<>();
+        if (currentRound >= totalRounds) {
+            return ready;
+        }
+        currentRound++;
+
+        // Sort by score so neighbours have similar records
+        updateTieBreaks();
+        standings.sort(Standing::compare);
+
+        int count = standings.size();
+        boolean[] paired = new boolean[count];
+
+        // With an odd field, the lowest-ranked entrant without a bye sits out
+        if (count % 2 == 1) {
+            for (int i = count - 1; i >= 0; i--) {
+                if (!standings.get(i).hadBye) {
+                    paired[i] = true;
+                    ready.add(new Pairing(nextMatchId++, currentRound, Pairing.MAIN_BRACKET,
+                                          standings.get(i).entrant, null, ready.size()));
+                    break;
+                }
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (paired[i]) {
+                continue;
+            }
+            Standing red = standings.get(i);
+            int opponent = findOpponent(red, i, paired);
+            if (opponent < 0) {
+                // Only happens if everyone else already has a bye; give this entrant one too
+                paired[i] = true;
+                ready.add(new Pairing(nextMatchId++, currentRound, Pairing.MAIN_BRACKET,
+                                      red.entrant, null, ready.size()));
+                continue;
+            }
+            paired[i] = true;
+            paired[opponent] = true;
+            ready.add(new Pairing(nextMatchId++, currentRound, Pairing.MAIN_BRACKET,
+                                  red.entrant, standings.get(opponent).entrant, ready.size()));
+        }
+
+        remainingInRound = ready.size();
+        return ready;
+    }
+
+    /**
+     * Finds the closest-ranked unpaired opponent that has not been played yet.
+     * Looks at no more than REMATCH_WINDOW unpaired entrants ahead; falls back to
+     * the nearest of them (allowing a rematch) if all have been played. The scan
+     * only stops early after finding an unpaired entrant, so -1 means nobody
+     * after index is left.
+     *
+     * @param red The standing needing an opponent
+     * @param index The position of that standing
+     * @param paired Which positions are already paired
+     * @return The opponent position, or -1 if nobody is left
+     */
+    private int findOpponent(Standing red, int index, boolean[] paired) {
+        int nearest = -1;
+        int checked = 0;
+        for (int j = index + 1; j < paired.length && checked < REMATCH_WINDOW; j++) {
+            if (paired[j]) {
+                continue;
+            }
+            if (nearest < 0) {
+                nearest = j;
+            }
+            if (!red.opponents.contains(standings.get(j).entrant.getId())) {
+                return j;
+            }
+            checked++;
+        }
+        return nearest;
+    }
+
+    /**
+     * Recomputes each entrant's tie-break as the sum of its opponents' points.
+     */
+    private void updateTieBreaks() {
+        for (Standing standing : standings) {
+            int sum = 0;
+            for (Integer opponentId : standing.opponents) {
+                sum += byId.get(opponentId).points;
+            }
+            standing.tieBreak = sum;
+        }
+    }
+}
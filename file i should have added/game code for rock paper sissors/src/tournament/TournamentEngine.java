@@ -0,0 +1,210 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * TournamentEngine - Runs a tournament by playing ready matches on a worker pool.
+ * The bracket format decides who plays whom; the engine submits every ready
+ * match to the pool, feeds each result back to the format, and immediately
+ * schedules whatever matches that result unlocks. Listeners receive every
+ * scheduled and finished match so clients can follow the bracket live.
+ *
+ * <p>The format is only touched while holding the engine lock, and those calls
+ * are cheap, so worker threads spend almost all their time playing matches.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class TournamentEngine {
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The pairing rules of the tournament */
+    private final BracketFormat format;
+
+    /** Plays individual matches */
+    private final MatchRunner runner;
+
+    /** Worker pool the matches run on */
+    private final ExecutorService pool;
+
+    /** Listeners receiving bracket updates */
+    private final List<BracketListener> listeners = new CopyOnWriteArrayList<>();
+
+    /** Lock guarding the format and the in-flight count */
+    private final Object lock = new Object();
+
+    /** Released when the tournament finishes */
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    /** Matches submitted but not yet reported back to the format */
+    private int inFlight;
+
+    /** Total number of matches played (byes included) */
+    private int matchesPlayed;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for TournamentEngine.
+     *
+     * @param format The pairing rules of the tournament
+     * @param runner Plays individual matches
+     * @param pool Worker pool the matches run on (not shut down by the engine)
+     */
+    public TournamentEngine(BracketFormat format, MatchRunner runner, ExecutorService pool) {
+        this.format = format;
+        this.runner = runner;
+        this.pool = pool;
+    }
+
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+
+    /**
+     * Adds a listener for bracket updates.
+     * @param listener The listener to add
+     */
+    public void addListener(BracketListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Starts the tournament and returns immediately.
+     * @param entrants All entrants, in seed order
+     */
+    public void start(List<Entrant> entrants) {
+        List<Pairing> ready;
+        boolean done;
+        synchronized (lock) {
+            ready = format.start(entrants);
+            inFlight += ready.size();
+            done = inFlight == 0;
+        }
+        schedule(ready);
+        if (done) {
+            finish();
+        }
+    }
+
+    /**
+     * Runs the whole tournament and waits for it to finish.
+     *
+     * @param entrants All entrants, in seed order
+     * @return The final standings, best first
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public List<Entrant> run(List<Entrant> entrants) throws InterruptedException {
+        start(entrants);
+        awaitFinish();
+        return getStandings();
+    }
+
+    /**
+     * Waits until the tournament has finished.
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public void awaitFinish() throws InterruptedException {
+        finished.await();
+    }
+
+    /**
+     * Gets the current standings.
+     * @return The standings, best first
+     */
+    public List<Entrant> getStandings() {
+        synchronized (lock) {
+            return new ArrayList<>(format.getStandings());
+        }
+    }
+
+    /**
+     * Gets the number of matches played so far.
+     * @return The match count (byes included)
+     */
+    public int getMatchesPlayed() {
+        synchronized (lock) {
+            return matchesPlayed;
+        }
+    }
+
+    // ========================
+    // SCHEDULING METHODS
+    // ========================
+
+    /**
+     * Announces and submits matches to the worker pool.
+     * @param ready The matches that are ready to play
+     */
+    private void schedule(List<Pairing> ready) {
+        for (final Pairing pairing : ready) {
+            for (BracketListener listener : listeners) {
+                listener.matchScheduled(pairing);
+            }
+            pool.execute(new Runnable() {
+                @Override
+                public void run() {
+                    playAndAdvance(pairing);
+                }
+            });
+        }
+    }
+
+    /**
+     * Plays a match on a worker thread, then reports it and schedules what it unlocks.
+     * @param pairing The match to play
+     */
+    private void playAndAdvance(Pairing pairing) {
+        try {
+            runner.play(pairing, format.requiresWinner());
+        } catch (RuntimeException e) {
+            // A broken match must not stall the bracket; award it to the better seed
+            System.err.println("Match " + pairing.getMatchId() + " failed: " + e.getMessage());
+            Entrant red = pairing.getRed();
+            Entrant blue = pairing.getBlue();
+            pairing.setResult(blue == null || red.getSeed() <= blue.getSeed() ? red : blue, 0, 0);
+        }
+
+        for (BracketListener listener : listeners) {
+            listener.matchFinished(pairing);
+        }
+
+        List<Pairing> ready;
+        boolean done;
+        synchronized (lock) {
+            matchesPlayed++;
+            ready = format.onResult(pairing);
+            inFlight += ready.size() - 1;
+            done = inFlight == 0;
+            if (done && !format.isComplete()) {
+                System.err.println("Tournament stalled: no matches left but " + format.getName()
+                                   + " is not complete");
+            }
+        }
+        schedule(ready);
+        if (done) {
+            finish();
+        }
+    }
+
+    /**
+     * Announces the final standings and releases anyone waiting.
+     */
+    private void finish() {
+        List<Entrant> standings = getStandings();
+        for (BracketListener listener : listeners) {
+            listener.tournamentFinished(standings);
+        }
+        finished.countDown();
+    }
+}
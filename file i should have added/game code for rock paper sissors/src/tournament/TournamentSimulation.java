@@ -0,0 +1,85 @@
+package tournament;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * TournamentSimulation - Command-line runner for headless tournaments.
+ * Fills a tournament with random players and reports how long it took, which
+ * is useful for checking that large fields scale.
+ *
+ * <p>Usage: java tournament.TournamentSimulation [format] [entrants] [threads]</p>
+ * <ul>
+ *   <li>format: single, double, swiss or roundrobin (default single)</li>
+ *   <li>entrants: number of players (default 1024)</li>
+ *   <li>threads: worker threads (default number of CPUs)</li>
+ * </ul>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class TournamentSimulation {
+
+    /**
+     * Runs a simulated tournament.
+     *
+     * @param args Optional format, entrant count and thread count
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static void main(String[] args) throws InterruptedException {
+        String formatName = args.length > 0 ? args[0] : "single";
+        int entrantCount = args.length > 1 ? Integer.parseInt(args[1]) : 1024;
+        int threads = args.length > 2 ? Integer.parseInt(args[2])
+                                       : Runtime.getRuntime().availableProcessors();
+
+        BracketFormat format = createFormat(formatName);
+        List<Entrant> entrants = new ArrayList<>(entrantCount);
+        for (int i = 1; i <= entrantCount; i++) {
+            entrants.add(new Entrant(i, "player" + i, i));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        MatchRunner runner = new MatchRunner(new Function<Entrant, MatchPlayer>() {
+            @Override
+            public MatchPlayer apply(Entrant entrant) {
+                return new RandomPlayer();
+            }
+        });
+        TournamentEngine engine = new TournamentEngine(format, runner, pool);
+
+        long start = System.nanoTime();
+        List<Entrant> standings = engine.run(entrants);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        pool.shutdown();
+
+        System.out.println(format.getName() + " with " + entrantCount + " entrants on "
+                           + threads + " threads");
+        System.out.println("Matches played: " + engine.getMatchesPlayed());
+        System.out.println("Time: " + elapsedMillis + " ms");
+        System.out.println("Champion: " + (standings.isEmpty() ? "None" : standings.get(0)));
+    }
+
+    /**
+     * Creates a bracket format from its command-line name.
+     * @param name single, double, swiss or roundrobin
+     * @return The bracket format
+     */
+    private static BracketFormat createFormat(String name) {
+        switch (name) {
+            case "double":
+                return new DoubleElimination();
+            case "swiss":
+                return new SwissSystem();
+            case "roundrobin":
+                return new RoundRobin();
+            case "single":
+                return new SingleElimination();
+            default:
+                throw new IllegalArgumentException("Unknown format: " + name);
+        }
+    }
+}
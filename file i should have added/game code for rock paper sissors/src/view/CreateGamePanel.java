@@ -16,6 +16,7 @@ import java.awt.event.ActionListener;
  *   <li>"YOU ARE: RED" player identification</li>
  *   <li>Game code for sharing with Blue player</li>
  *   <li>Status message indicating waiting for Blue player to join</li>
+ *   <li>"Play vs Computer" button for a single-player game against the bot</li>
  * </ul>
  * 
  * @author ICS4U1 Student
@@ -31,6 +32,9 @@ public class CreateGamePanel extends JPanel {
     /** The game model containing all game state */
     private GameModel gameModel;
     
+    /** Button for playing against the computer instead of waiting */
+    private JButton btnPlayComputer;
+    
     // ========================
     // CONSTANTS
     // ========================
@@ -50,6 +54,9 @@ public class CreateGamePanel extends JPanel {
     /** Waiting status text */
     private static final String WAITING_TEXT = "Waiting for Blue player to join...";
     
+    /** Text for the play vs computer button */
+    private static final String PLAY_COMPUTER_TEXT = "Play vs Computer";
+    
     /** Font size for the main title */
     private static final int TITLE_FONT_SIZE = 48;
     
@@ -62,6 +69,18 @@ public class CreateGamePanel extends JPanel {
     /** Font size for instructions */
     private static final int INSTRUCTION_FONT_SIZE = 28;
     
+    /** Font size for button text */
+    private static final int BUTTON_FONT_SIZE = 28;
+    
+    /** Width of the play vs computer button in pixels */
+    private static final int BUTTON_WIDTH = 400;
+    
+    /** Height of the play vs computer button in pixels */
+    private static final int BUTTON_HEIGHT = 70;
+    
+    /** Top of the play vs computer button (between the code and the waiting text) */
+    private static final int BUTTON_Y = 470;
+    
     /** Background color for the panel (dark gray) */
     private static final Color BACKGROUND_COLOR = new Color(44, 44, 44);
     
@@ -74,6 +93,9 @@ public class CreateGamePanel extends JPanel {
     /** Color for game code (yellow/gold) */
     private static final Color CODE_COLOR = new Color(255, 215, 0);
     
+    /** Color for the play vs computer button (gray, so it does not compete with the code) */
+    private static final Color COMPUTER_BUTTON_COLOR = new Color(100, 100, 100);
+    
     // ========================
     // CONSTRUCTOR
     // ========================
@@ -98,6 +120,18 @@ public class CreateGamePanel extends JPanel {
         // Set the preferred size of the panel
         this.setPreferredSize(new Dimension(1280, 720));
         
+        // Create the play vs computer button, centered below the game code
+        this.btnPlayComputer = new JButton(PLAY_COMPUTER_TEXT);
+        this.btnPlayComputer.setBounds((1280 - BUTTON_WIDTH) / 2, BUTTON_Y, BUTTON_WIDTH, BUTTON_HEIGHT);
+        this.btnPlayComputer.setFont(new Font("Arial", Font.BOLD, BUTTON_FONT_SIZE));
+        this.btnPlayComputer.setBackground(COMPUTER_BUTTON_COLOR);
+        this.btnPlayComputer.setForeground(Color.WHITE);
+        this.btnPlayComputer.setFocusPainted(false);
+        this.btnPlayComputer.setBorderPainted(false);
+        this.btnPlayComputer.addActionListener(controller);
+        this.btnPlayComputer.setActionCommand("play_computer");
+        this.add(this.btnPlayComputer);
+        
         // Print message to console for debugging
         System.out.println("CreateGamePanel initialized with game code: " + gameModel.getGameCode());
     }
@@ -114,6 +148,9 @@ public class CreateGamePanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        // Note the start time so the paint duration can be recorded
+        long paintStart = System.nanoTime();
+        
         // Call the parent class's paintComponent method
         super.paintComponent(g);
         
@@ -137,6 +174,9 @@ public class CreateGamePanel extends JPanel {
         
         // Draw the waiting status
         drawWaitingStatus(g2d);
+        
+        // Record how long this panel took to paint
+        RenderStats.getInstance().recordPaint("CreateGamePanel", System.nanoTime() - paintStart);
     }
     
     /**
@@ -286,6 +326,14 @@ public class CreateGamePanel extends JPanel {
     // GETTER METHODS
     // ========================
     
+    /**
+     * Gets the play vs computer button.
+     * @return The JButton for starting a game against the bot
+     */
+    public JButton getBtnPlayComputer() {
+        return this.btnPlayComputer;
+    }
+    
     /**
      * Gets the game model.
      * @return The GameModel instance
@@ -1,5 +1,6 @@
 package view;
 
+import model.GameConfig;
 import model.GameModel;
 import model.GameModel.Player;
 
@@ -40,6 +41,12 @@ public class FinalResultPanel extends JPanel {
     /** Button for continuing to play another game */
     private JButton btnKeepGoing;
     
+    /** Color for Red player elements (from red_player_color) */
+    private Color redColor;
+    
+    /** Color for Blue player elements (from blue_player_color) */
+    private Color blueColor;
+    
     // ========================
     // CONSTANTS
     // ========================
@@ -95,12 +102,6 @@ public class FinalResultPanel extends JPanel {
     /** Text color for labels (white) */
     private static final Color TEXT_COLOR = new Color(255, 255, 255);
     
-    /** Color for Red player elements (bright red) */
-    private static final Color RED_COLOR = new Color(255, 68, 68);
-    
-    /** Color for Blue player elements (bright blue) */
-    private static final Color BLUE_COLOR = new Color(68, 68, 255);
-    
     /** Color for tie message (yellow) */
     private static final Color TIE_COLOR = new Color(255, 215, 0);
     
@@ -131,11 +132,14 @@ public class FinalResultPanel extends JPanel {
         // Set the background color
         this.setBackground(BACKGROUND_COLOR);
         
+        // Player colors come from the configuration
+        updateColors();
+        
         // Initialize all buttons
         initializeButtons(controller);
         
         // Set the preferred size of the panel
-        this.setPreferredSize(new Dimension(1280, 720));
+        this.setPreferredSize(new Dimension(gameModel.getPanelWidth(), gameModel.getPanelHeight()));
         
         // Print message to console for debugging
         System.out.println("FinalResultPanel initialized");
@@ -153,8 +157,8 @@ public class FinalResultPanel extends JPanel {
      */
     private void initializeButtons(ActionListener controller) {
         // Calculate positions to center buttons
-        int panelWidth = 1280; // Panel width
-        int panelHeight = 720; // Panel height
+        int panelWidth = gameModel.getPanelWidth(); // Panel width
+        int panelHeight = gameModel.getPanelHeight(); // Panel height
         
         // Calculate horizontal center
         int centerX = panelWidth / 2;
@@ -234,6 +238,21 @@ public class FinalResultPanel extends JPanel {
         return button;
     }
     
+    // ========================
+    // PUBLIC METHODS
+    // ========================
+    
+    /**
+     * Reads the player colors from the model's current configuration snapshot.
+     * Called each time the panel is shown, so a reloaded color takes effect
+     * at the next match without rebuilding the panel.
+     */
+    public void updateColors() {
+        GameConfig config = gameModel.getConfig();
+        this.redColor = new Color(config.getRedPlayerColor());
+        this.blueColor = new Color(config.getBluePlayerColor());
+    }
+    
     // ========================
     // PAINT METHOD
     // ========================
@@ -246,6 +265,9 @@ public class FinalResultPanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        // Note the start time so the paint duration can be recorded
+        long paintStart = System.nanoTime();
+        
         // Call the parent class's paintComponent method
         super.paintComponent(g);
         
@@ -266,6 +288,9 @@ public class FinalResultPanel extends JPanel {
         
         // Draw the final scores
         drawFinalScores(g2d);
+        
+        // Record how long this panel took to paint
+        RenderStats.getInstance().recordPaint("FinalResultPanel", System.nanoTime() - paintStart);
     }
     
     /**
@@ -347,11 +372,11 @@ public class FinalResultPanel extends JPanel {
         } else if (winner == Player.RED) {
             // Red wins the game
             winnerText = RED_WINS_TEXT;
-            winnerColor = RED_COLOR;
+            winnerColor = redColor;
         } else if (winner == Player.BLUE) {
             // Blue wins the game
             winnerText = BLUE_WINS_TEXT;
-            winnerColor = BLUE_COLOR;
+            winnerColor = blueColor;
         } else {
             // Should not happen, but handle gracefully
             winnerText = "GAME COMPLETE";
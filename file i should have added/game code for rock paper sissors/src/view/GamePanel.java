@@ -1,6 +1,7 @@
 package view;
 
 import model.GameModel;
+import model.GameConfig;
 import model.GameModel.GamePhase;
 import model.GameModel.Player;
 import model.GameModel.Choice;
@@ -44,6 +45,36 @@ public class GamePanel extends JPanel {
     /** Button for Scissors choice (triangle shape) */
     private JButton btnScissors;
     
+    /** Font for the countdown timer (size from countdown_font_size, built once) */
+    private Font countdownFont;
+    
+    /** Font for score display (size from score_font_size, built once) */
+    private Font scoreFont;
+    
+    /** Font for the round indicator (built once) */
+    private Font roundFont;
+    
+    /** Font for choice button text (built once, shared by all buttons) */
+    private Font buttonFont;
+    
+    /** Width of choice buttons in pixels (from button_width) */
+    private int buttonWidth;
+    
+    /** Height of choice buttons in pixels (from button_height) */
+    private int buttonHeight;
+    
+    /** Width of the panel in pixels (from panel_width) */
+    private int panelWidth;
+    
+    /** Height of the panel in pixels (from panel_height) */
+    private int panelHeight;
+    
+    /** Color for Red player elements (from red_player_color) */
+    private Color redColor;
+    
+    /** Color for Blue player elements (from blue_player_color) */
+    private Color blueColor;
+    
     // ========================
     // CONSTANTS
     // ========================
@@ -57,24 +88,9 @@ public class GamePanel extends JPanel {
     /** Text for the Scissors button */
     private static final String SCISSORS_TEXT = "SCISSORS";
     
-    /** Font size for the countdown timer */
-    private static final int COUNTDOWN_FONT_SIZE = 200;
-    
-    /** Font size for score display */
-    private static final int SCORE_FONT_SIZE = 36;
-    
     /** Font size for round indicator */
     private static final int ROUND_FONT_SIZE = 28;
     
-    /** Font size for choice button text */
-    private static final int BUTTON_FONT_SIZE = 24;
-    
-    /** Width of choice buttons in pixels */
-    private static final int BUTTON_WIDTH = 200;
-    
-    /** Height of choice buttons in pixels */
-    private static final int BUTTON_HEIGHT = 150;
-    
     /** Size of shape icons in pixels */
     private static final int SHAPE_SIZE = 60;
     
@@ -87,12 +103,6 @@ public class GamePanel extends JPanel {
     /** Text color for labels (white) */
     private static final Color TEXT_COLOR = new Color(255, 255, 255);
     
-    /** Color for Red player elements (bright red) */
-    private static final Color RED_COLOR = new Color(255, 68, 68);
-    
-    /** Color for Blue player elements (bright blue) */
-    private static final Color BLUE_COLOR = new Color(68, 68, 255);
-    
     /** Color for Rock button (neutral gray) */
     private static final Color ROCK_BUTTON_COLOR = new Color(100, 100, 100);
     
@@ -126,16 +136,58 @@ public class GamePanel extends JPanel {
         // Set the background color
         this.setBackground(BACKGROUND_COLOR);
         
+        // Build fonts and sizes once from the typed configuration
+        initializeFromConfig(gameModel.getConfig());
+        
         // Initialize all choice buttons
         initializeButtons(controller);
         
         // Set the preferred size of the panel
-        this.setPreferredSize(new Dimension(1280, 720));
+        this.setPreferredSize(new Dimension(panelWidth, panelHeight));
         
         // Print message to console for debugging
         System.out.println("GamePanel initialized");
     }
     
+    // ========================
+    // CONFIGURATION SETUP
+    // ========================
+    
+    /**
+     * Builds the fonts, colors and sizes used while painting.
+     * Done here so paintComponent never creates fonts or reads configuration;
+     * only the colors are read again, by updateColors, when the panel is shown.
+     * 
+     * @param config The typed game configuration
+     */
+    private void initializeFromConfig(GameConfig config) {
+        // Create the fonts from the configured sizes
+        this.countdownFont = new Font("Arial", Font.BOLD, config.getCountdownFontSize());
+        this.scoreFont = new Font("Arial", Font.BOLD, config.getScoreFontSize());
+        this.roundFont = new Font("Arial", Font.PLAIN, ROUND_FONT_SIZE);
+        this.buttonFont = new Font("Arial", Font.BOLD, config.getButtonFontSize());
+        
+        // Read the button and panel dimensions
+        this.buttonWidth = config.getButtonWidth();
+        this.buttonHeight = config.getButtonHeight();
+        this.panelWidth = config.getPanelWidth();
+        this.panelHeight = config.getPanelHeight();
+        
+        // Turn the packed player colors into Color objects
+        updateColors();
+    }
+    
+    /**
+     * Reads the player colors from the model's current configuration snapshot.
+     * Called each time the panel is shown, so a reloaded color takes effect
+     * at the next match without rebuilding the panel.
+     */
+    public void updateColors() {
+        GameConfig config = gameModel.getConfig();
+        this.redColor = new Color(config.getRedPlayerColor());
+        this.blueColor = new Color(config.getBluePlayerColor());
+    }
+    
     // ========================
     // BUTTON INITIALIZATION
     // ========================
@@ -148,12 +200,10 @@ public class GamePanel extends JPanel {
      */
     private void initializeButtons(ActionListener controller) {
         // Calculate horizontal position to center buttons
-        int panelWidth = 1280; // Panel width
-        int totalButtonWidth = (BUTTON_WIDTH * 3) + (BUTTON_SPACING * 2);
+        int totalButtonWidth = (buttonWidth * 3) + (BUTTON_SPACING * 2);
         int startX = (panelWidth - totalButtonWidth) / 2;
         
         // Calculate vertical position (lower half of screen)
-        int panelHeight = 720;
         int startY = panelHeight / 2 + 50;
         
         // Create Rock button (circle shape)
@@ -163,8 +213,8 @@ public class GamePanel extends JPanel {
             Choice.ROCK,
             startX, // x position
             startY, // y position
-            BUTTON_WIDTH,
-            BUTTON_HEIGHT,
+            buttonWidth,
+            buttonHeight,
             controller,
             "choose_rock" // Action command
         );
@@ -174,10 +224,10 @@ public class GamePanel extends JPanel {
             PAPER_TEXT,
             PAPER_BUTTON_COLOR,
             Choice.PAPER,
-            startX + BUTTON_WIDTH + BUTTON_SPACING, // x position
+            startX + buttonWidth + BUTTON_SPACING, // x position
             startY, // y position
-            BUTTON_WIDTH,
-            BUTTON_HEIGHT,
+            buttonWidth,
+            buttonHeight,
             controller,
             "choose_paper" // Action command
         );
@@ -187,10 +237,10 @@ public class GamePanel extends JPanel {
             SCISSORS_TEXT,
             SCISSORS_BUTTON_COLOR,
             Choice.SCISSORS,
-            startX + (BUTTON_WIDTH + BUTTON_SPACING) * 2, // x position
+            startX + (buttonWidth + BUTTON_SPACING) * 2, // x position
             startY, // y position
-            BUTTON_WIDTH,
-            BUTTON_HEIGHT,
+            buttonWidth,
+            buttonHeight,
             controller,
             "choose_scissors" // Action command
         );
@@ -245,6 +295,9 @@ public class GamePanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        // Note the start time so the paint duration can be recorded
+        long paintStart = System.nanoTime();
+        
         // Call the parent class's paintComponent method
         super.paintComponent(g);
         
@@ -271,6 +324,9 @@ public class GamePanel extends JPanel {
             // Draw player's current choice if made
             drawPlayerChoice(g2d);
         }
+        
+        // Record how long this panel took to paint
+        RenderStats.getInstance().recordPaint("GamePanel", System.nanoTime() - paintStart);
     }
     
     /**
@@ -281,16 +337,15 @@ public class GamePanel extends JPanel {
      */
     private void drawScores(Graphics2D g2d) {
         // Set the font for scores
-        Font scoreFont = new Font("Arial", Font.BOLD, SCORE_FONT_SIZE);
         g2d.setFont(scoreFont);
         
         // Draw Red score in top-left corner
-        g2d.setColor(RED_COLOR);
+        g2d.setColor(redColor);
         String redScoreText = "RED SCORE: " + gameModel.getRedScore();
         g2d.drawString(redScoreText, 20, 50);
         
         // Draw Blue score in top-right corner
-        g2d.setColor(BLUE_COLOR);
+        g2d.setColor(blueColor);
         String blueScoreText = "BLUE SCORE: " + gameModel.getBlueScore();
         // Calculate x position to align text to right
         FontMetrics fm = g2d.getFontMetrics();
@@ -306,7 +361,6 @@ public class GamePanel extends JPanel {
      */
     private void drawRoundIndicator(Graphics2D g2d) {
         // Set the font for round indicator
-        Font roundFont = new Font("Arial", Font.PLAIN, ROUND_FONT_SIZE);
         g2d.setFont(roundFont);
         
         // Set the text color
@@ -340,7 +394,6 @@ public class GamePanel extends JPanel {
         // Only draw if countdown is greater than 0
         if (countdown > 0) {
             // Set the font for countdown
-            Font countdownFont = new Font("Arial", Font.BOLD, COUNTDOWN_FONT_SIZE);
             g2d.setFont(countdownFont);
             
             // Set the text color
@@ -378,11 +431,11 @@ public class GamePanel extends JPanel {
         if (myPlayer == Player.RED) {
             // Get Red player's choice
             choice = gameModel.getRedChoice();
-            color = RED_COLOR;
+            color = redColor;
         } else if (myPlayer == Player.BLUE) {
             // Get Blue player's choice
             choice = gameModel.getBlueChoice();
-            color = BLUE_COLOR;
+            color = blueColor;
         }
         
         // Only draw if the player has made a choice
@@ -426,6 +479,9 @@ public class GamePanel extends JPanel {
         /** The background color of the button */
         private Color buttonColor;
         
+        /** The lighter color shown while hovering (computed once) */
+        private Color hoverColor;
+        
         /** The game choice associated with this button */
         private Choice choice;
         
@@ -443,6 +499,9 @@ public class GamePanel extends JPanel {
             this.buttonColor = buttonColor;
             this.choice = choice;
             
+            // Work out the hover color once instead of on every paint
+            this.hoverColor = lightenColor(buttonColor, 30);
+            
             // Set up button properties
             this.setContentAreaFilled(false); // Don't fill background automatically
             this.setFocusPainted(false); // Remove focus border
@@ -467,8 +526,7 @@ public class GamePanel extends JPanel {
             // Check if mouse is hovering over the button
             if (this.getModel().isRollover()) {
                 // Lighten the color when hovering
-                Color lighterColor = lightenColor(buttonColor, 30);
-                g2d.setColor(lighterColor);
+                g2d.setColor(hoverColor);
             } else {
                 // Use the normal color when not hovering
                 g2d.setColor(buttonColor);
@@ -482,7 +540,7 @@ public class GamePanel extends JPanel {
             
             // Draw the button text below the shape
             g2d.setColor(Color.WHITE);
-            g2d.setFont(new Font("Arial", Font.BOLD, BUTTON_FONT_SIZE));
+            g2d.setFont(buttonFont);
             FontMetrics fm = g2d.getFontMetrics();
             int textWidth = fm.stringWidth(buttonText);
             int textX = (getWidth() - textWidth) / 2;
@@ -301,6 +301,9 @@ public class HelpPanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        // Note the start time so the paint duration can be recorded
+        long paintStart = System.nanoTime();
+        
         // Call the parent class's paintComponent method
         super.paintComponent(g);
         
@@ -321,6 +324,9 @@ public class HelpPanel extends JPanel {
         
         // Draw the interactive demo section label
         drawDemoLabel(g2d);
+        
+        // Record how long this panel took to paint
+        RenderStats.getInstance().recordPaint("HelpPanel", System.nanoTime() - paintStart);
     }
     
     /**
@@ -1,10 +1,16 @@
 package view;
 
+import discovery.HostedGame;
 import model.GameModel;
 
 import javax.swing.*;
+import javax.swing.event.ListSelectionEvent;
+import javax.swing.event.ListSelectionListener;
 import java.awt.*;
 import java.awt.event.ActionListener;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
 
 /**
  * JoinGamePanel - The panel for the join game screen (Blue player).
@@ -17,6 +23,8 @@ import java.awt.event.ActionListener;
  *   <li>Text field for entering the 5-digit game code</li>
  *   <li>"Connect to Game" button to submit the code</li>
  *   <li>Error message area for invalid codes</li>
+ *   <li>Games announced on the LAN - picking one fills in its code,
+ *       double-clicking one connects</li>
  * </ul>
  * 
  * @author ICS4U1 Student
@@ -41,6 +49,15 @@ public class JoinGamePanel extends JPanel {
     /** Label for displaying error messages */
     private JLabel lblError;
     
+    /** Label above the list of LAN games */
+    private JLabel lblLanGames;
+    
+    /** Games announced on the LAN */
+    private DefaultListModel<HostedGame> lanGames;
+    
+    /** List showing the LAN games */
+    private JList<HostedGame> lstLanGames;
+    
     // ========================
     // CONSTANTS
     // ========================
@@ -66,6 +83,21 @@ public class JoinGamePanel extends JPanel {
     /** Error message for connection failure */
     private static final String CONNECTION_ERROR = "Could not connect to game. Please check the code.";
     
+    /** Heading above the LAN games list when it is empty */
+    private static final String LAN_SEARCHING = "LOOKING FOR GAMES ON YOUR NETWORK...";
+    
+    /** Heading above the LAN games list when it has games */
+    private static final String LAN_FOUND = "GAMES ON YOUR NETWORK";
+    
+    /** Font size for the LAN games list and its heading */
+    private static final int LAN_FONT_SIZE = 20;
+    
+    /** Width of the LAN games list in pixels */
+    private static final int LAN_LIST_WIDTH = 600;
+    
+    /** Height of the LAN games list in pixels */
+    private static final int LAN_LIST_HEIGHT = 140;
+    
     /** Font size for the main title */
     private static final int TITLE_FONT_SIZE = 64;
     
@@ -205,6 +237,47 @@ public class JoinGamePanel extends JPanel {
         this.lblError.setForeground(ERROR_COLOR);
         this.lblError.setVisible(false); // Hide initially
         this.add(this.lblError);
+        
+        // Create the heading and list of games announced on the LAN
+        int lanY = startY + TEXT_FIELD_HEIGHT + COMPONENT_SPACING + BUTTON_HEIGHT + 70;
+        this.lblLanGames = new JLabel(LAN_SEARCHING, SwingConstants.CENTER);
+        this.lblLanGames.setBounds(0, lanY, panelWidth, 30);
+        this.lblLanGames.setFont(new Font("Arial", Font.PLAIN, LAN_FONT_SIZE));
+        this.lblLanGames.setForeground(TEXT_COLOR);
+        this.add(this.lblLanGames);
+        
+        this.lanGames = new DefaultListModel<>();
+        this.lstLanGames = new JList<>(lanGames);
+        this.lstLanGames.setFont(new Font("Courier New", Font.PLAIN, LAN_FONT_SIZE));
+        this.lstLanGames.setBackground(TEXT_FIELD_BG);
+        this.lstLanGames.setForeground(TEXT_FIELD_TEXT);
+        this.lstLanGames.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        
+        // Picking a game fills in its code
+        this.lstLanGames.addListSelectionListener(new ListSelectionListener() {
+            @Override
+            public void valueChanged(ListSelectionEvent e) {
+                HostedGame game = lstLanGames.getSelectedValue();
+                if (game != null) {
+                    txtGameCode.setText(game.getCode());
+                }
+            }
+        });
+        
+        // Double-clicking a game connects to it
+        this.lstLanGames.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2 && lstLanGames.getSelectedValue() != null) {
+                    btnConnect.doClick();
+                }
+            }
+        });
+        
+        JScrollPane scrollLanGames = new JScrollPane(this.lstLanGames);
+        scrollLanGames.setBounds(centerX - LAN_LIST_WIDTH / 2, lanY + 35, LAN_LIST_WIDTH, LAN_LIST_HEIGHT);
+        scrollLanGames.setBorder(BorderFactory.createEmptyBorder());
+        this.add(scrollLanGames);
     }
     
     // ========================
@@ -219,6 +292,9 @@ public class JoinGamePanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        // Note the start time so the paint duration can be recorded
+        long paintStart = System.nanoTime();
+        
         // Call the parent class's paintComponent method
         super.paintComponent(g);
         
@@ -230,6 +306,9 @@ public class JoinGamePanel extends JPanel {
         
         // Draw the main title
         drawTitle(g2d);
+        
+        // Record how long this panel took to paint
+        RenderStats.getInstance().recordPaint("JoinGamePanel", System.nanoTime() - paintStart);
     }
     
     /**
@@ -334,6 +413,29 @@ public class JoinGamePanel extends JPanel {
         showError(CONNECTION_ERROR);
     }
     
+    /**
+     * Replaces the list of LAN games, keeping the selected game selected.
+     * Must be called on the Event Dispatch Thread.
+     * 
+     * @param games The games heard, already sorted
+     */
+    public void showLanGames(List<HostedGame> games) {
+        // Remember which game was picked, by its host
+        HostedGame selected = this.lstLanGames.getSelectedValue();
+        
+        // Refill the list
+        this.lanGames.clear();
+        for (HostedGame game : games) {
+            this.lanGames.addElement(game);
+            if (selected != null && game.getInstance() == selected.getInstance()) {
+                this.lstLanGames.setSelectedIndex(this.lanGames.size() - 1);
+            }
+        }
+        
+        // Update the heading
+        this.lblLanGames.setText(games.isEmpty() ? LAN_SEARCHING : LAN_FOUND + " (" + games.size() + ")");
+    }
+    
     // ========================
     // GETTER METHODS
     // ========================
@@ -362,6 +464,14 @@ public class JoinGamePanel extends JPanel {
         return this.lblError;
     }
     
+    /**
+     * Gets the LAN games list.
+     * @return The JList showing games announced on the LAN
+     */
+    public JList<HostedGame> getLstLanGames() {
+        return this.lstLanGames;
+    }
+    
     /**
      * Gets the game model.
      * @return The GameModel instance
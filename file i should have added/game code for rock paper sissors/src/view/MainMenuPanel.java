@@ -226,6 +226,9 @@ public class MainMenuPanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        // Note the start time so the paint duration can be recorded
+        long paintStart = System.nanoTime();
+        
         // Call the parent class's paintComponent method
         super.paintComponent(g);
         
@@ -235,6 +238,9 @@ public class MainMenuPanel extends JPanel {
         
         // Draw the main title
         drawTitle(g2d);
+        
+        // Record how long this panel took to paint
+        RenderStats.getInstance().recordPaint("MainMenuPanel", System.nanoTime() - paintStart);
     }
     
     /**
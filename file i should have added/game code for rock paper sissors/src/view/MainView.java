@@ -1,5 +1,9 @@
 package view;
 
+import controller.GameView;
+import discovery.HostedGame;
+import metrics.MetricsRegistry;
+import metrics.StartupReport;
 import model.GameModel;
 import model.GameModel.GamePhase;
 import model.GameModel.Player;
@@ -9,6 +13,7 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
+import java.util.List;
 
 /**
  * MainView - The main view class for the Rock-Paper-Scissors game.
@@ -20,17 +25,27 @@ import java.awt.event.ActionListener;
  * <ul>
  *   <li>Creating and managing the main game frame</li>
  *   <li>Managing panel swapping for different game states</li>
- *   <li>Creating all game panels (menu, game, results, etc.)</li>
- *   <li>Handling 60fps animation timer</li>
+ *   <li>Creating each game panel (menu, game, results, etc.) the first time it is shown</li>
+ *   <li>Handling the animation timer at the configured refresh rate</li>
+ *   <li>Showing the render statistics overlay (F3) and dumping it (F4)</li>
  *   <li>Drawing game elements (shapes, scores, countdown)</li>
  *   <li>Managing user interface components (buttons, text fields)</li>
  * </ul>
  * 
+ * <p>The GameController only talks to this window through the GameView
+ * interface, so it can also run with no window at all.</p>
+ * 
+ * <p>Only the main menu is built before the first frame. The other panels
+ * are built by their getters the first time they are needed, so startup does
+ * not pay for screens the player may never open. When the first frame has
+ * painted, the time since JVM start is printed and recorded as
+ * startup,first_frame in data/metrics.csv.</p>
+ * 
  * @author ICS4U1 Student
  * @version 1.0
  * @since 2024
  */
-public class MainView extends JFrame implements ActionListener {
+public class MainView extends JFrame implements ActionListener, GameView {
     
     // ========================
     // INSTANCE VARIABLES
@@ -66,23 +81,45 @@ public class MainView extends JFrame implements ActionListener {
     /** Action listener to handle button clicks and events */
     private ActionListener controller;
     
+    /** Render statistics shared by all panels */
+    private RenderStats renderStats;
+    
+    /** Glass pane overlay showing live render statistics (toggled with F3) */
+    private RenderOverlay renderOverlay;
+    
+    /** Flag indicating if the time to first frame has been reported */
+    private boolean firstFrameReported;
+    
     // ========================
     // CONSTANTS
     // ========================
     
-    /** Animation refresh rate in milliseconds (1000/60 = ~16.67ms for 60fps) */
+    /** Fallback animation delay in milliseconds (1000/60 = ~16.67ms for 60fps) */
     private static final int ANIMATION_DELAY = 16;
     
+    /** Key binding name for toggling the render statistics overlay */
+    private static final String TOGGLE_OVERLAY = "toggle_render_overlay";
+    
+    /** Key binding name for writing the render statistics dump */
+    private static final String DUMP_STATS = "dump_render_stats";
+    
     /** Default window title */
     private static final String WINDOW_TITLE = "Rock Paper Scissors - Multiplayer";
     
+    /**
+     * System property that makes the window build every panel and exit after
+     * the first frame. run.ps1 sets it for the run that records the class data
+     * sharing archive, so the archive holds the classes of every screen.
+     */
+    public static final String TRAINING_PROPERTY = "rps.startup.training";
+    
     // ========================
     // CONSTRUCTOR
     // ========================
     
     /**
      * Constructor for MainView.
-     * Initializes the main game window, all panels, and the animation timer.
+     * Initializes the main game window, the main menu, and the animation timer.
      * 
      * @param gameModel The game model containing game state
      * @param controller The action listener for handling UI events
@@ -96,13 +133,13 @@ public class MainView extends JFrame implements ActionListener {
         // Set up the main window properties
         setupWindow();
         
-        // Initialize all game panels
-        initializePanels();
-        
-        // Create and start the animation timer for 60fps updates
+        // Create and start the animation timer at the configured refresh rate
         setupAnimationTimer();
         
-        // Display the main menu panel initially
+        // Set up the render statistics overlay and its key bindings
+        setupRenderOverlay();
+        
+        // Display the main menu panel initially (the only panel built before the first frame)
         showMainMenu();
         
         // Print message to console for debugging
@@ -143,55 +180,70 @@ public class MainView extends JFrame implements ActionListener {
     }
     
     // ========================
-    // PANEL INITIALIZATION
+    // ANIMATION TIMER SETUP
     // ========================
     
     /**
-     * Initializes all game panels.
-     * Creates instances of each panel type with appropriate parameters.
+     * Sets up the animation timer at the refresh rate from the game model.
+     * The timer triggers repaints to ensure smooth animations.
      */
-    private void initializePanels() {
-        // Create main menu panel with controller reference
-        this.mainMenuPanel = new MainMenuPanel(controller);
-        
-        // Create game panel with game model and controller
-        this.gamePanel = new GamePanel(gameModel, controller);
-        
-        // Create result panel with game model and controller
-        this.resultPanel = new ResultPanel(gameModel, controller);
-        
-        // Create final result panel with game model and controller
-        this.finalResultPanel = new FinalResultPanel(gameModel, controller);
-        
-        // Create create game panel with controller
-        this.createGamePanel = new CreateGamePanel(gameModel, controller);
-        
-        // Create join game panel with controller
-        this.joinGamePanel = new JoinGamePanel(gameModel, controller);
+    private void setupAnimationTimer() {
+        // Work out the delay from the configured refresh rate (e.g. 60fps = 16ms)
+        int refreshRate = gameModel.getRefreshRate();
+        int delay = refreshRate > 0 ? Math.max(1, 1000 / refreshRate) : ANIMATION_DELAY;
         
-        // Create help panel with controller
-        this.helpPanel = new HelpPanel(controller);
+        // Create a timer that fires once per frame
+        this.animationTimer = new Timer(delay, this);
+        // Start the animation timer
+        this.animationTimer.start();
         
         // Print message to console
-        System.out.println("All panels initialized");
+        System.out.println("Animation timer started at " + refreshRate + "fps");
     }
     
     // ========================
-    // ANIMATION TIMER SETUP
+    // RENDER OVERLAY SETUP
     // ========================
     
     /**
-     * Sets up the animation timer for 60fps updates.
-     * The timer triggers repaints to ensure smooth animations.
+     * Sets up render statistics collection and the overlay glass pane.
+     * F3 toggles the overlay and F4 writes the statistics to a CSV file.
      */
-    private void setupAnimationTimer() {
-        // Create a timer that fires every 16ms (~60fps)
-        this.animationTimer = new Timer(ANIMATION_DELAY, this);
-        // Start the animation timer
-        this.animationTimer.start();
+    private void setupRenderOverlay() {
+        // Compare achieved FPS against the configured refresh rate
+        this.renderStats = RenderStats.getInstance();
+        this.renderStats.setTargetFps(gameModel.getRefreshRate());
+        this.renderStats.startEdtProbe();
         
-        // Print message to console
-        System.out.println("Animation timer started at 60fps");
+        // Install the overlay as the glass pane (hidden until toggled)
+        this.renderOverlay = new RenderOverlay(renderStats);
+        this.setGlassPane(renderOverlay);
+        this.renderOverlay.setVisible(false);
+        
+        // Bind F3 and F4 for the whole window
+        InputMap inputMap = this.getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW);
+        ActionMap actionMap = this.getRootPane().getActionMap();
+        inputMap.put(KeyStroke.getKeyStroke("F3"), TOGGLE_OVERLAY);
+        inputMap.put(KeyStroke.getKeyStroke("F4"), DUMP_STATS);
+        actionMap.put(TOGGLE_OVERLAY, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                toggleRenderOverlay();
+            }
+        });
+        actionMap.put(DUMP_STATS, new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                renderStats.dumpToFile();
+            }
+        });
+    }
+    
+    /**
+     * Shows or hides the render statistics overlay.
+     */
+    public void toggleRenderOverlay() {
+        this.renderOverlay.setVisible(!this.renderOverlay.isVisible());
     }
     
     // ========================
@@ -208,8 +260,42 @@ public class MainView extends JFrame implements ActionListener {
     public void actionPerformed(ActionEvent e) {
         // Check if the event is from the animation timer
         if (e.getSource() == animationTimer) {
+            // Record the frame for the FPS and timer lateness statistics
+            renderStats.recordFrame(System.nanoTime());
             // Repaint the current panel to update animations
             this.getContentPane().repaint();
+            // Keep the overlay numbers live while it is showing
+            if (renderOverlay.isVisible()) {
+                renderOverlay.repaint();
+            }
+            // Report startup once the first panel has painted
+            if (!firstFrameReported && renderStats.getFirstPaintMillis() >= 0) {
+                reportFirstFrame();
+            }
+        }
+    }
+    
+    /**
+     * Reports the time from JVM start to the first painted frame.
+     * In a training run, every panel is then built and the program exits, so
+     * the class data sharing archive written at exit covers every screen.
+     */
+    private void reportFirstFrame() {
+        firstFrameReported = true;
+        long millis = renderStats.getFirstPaintMillis();
+        MetricsRegistry.getDefault().histogram("startup", "first_frame").record(millis * 1_000_000L);
+        StartupReport.print("First frame");
+        
+        if (Boolean.getBoolean(TRAINING_PROPERTY)) {
+            // Build the panels the player has not opened yet so their classes load
+            getCreateGamePanel();
+            getJoinGamePanel();
+            getGamePanel();
+            getResultPanel();
+            getFinalResultPanel();
+            getHelpPanel();
+            System.out.println("Training run finished - exiting");
+            System.exit(0);
         }
     }
     
@@ -221,11 +307,12 @@ public class MainView extends JFrame implements ActionListener {
      * Displays the main menu panel.
      * Shows the initial screen with game options.
      */
+    @Override
     public void showMainMenu() {
         // Remove any existing panel
         this.getContentPane().removeAll();
         // Add the main menu panel
-        this.getContentPane().add(mainMenuPanel);
+        this.getContentPane().add(getMainMenuPanel());
         // Revalidate and repaint to update the display
         this.getContentPane().revalidate();
         this.getContentPane().repaint();
@@ -238,11 +325,12 @@ public class MainView extends JFrame implements ActionListener {
      * Displays the create game panel (Red player).
      * Shows the waiting screen with game code.
      */
+    @Override
     public void showCreateGame() {
         // Remove any existing panel
         this.getContentPane().removeAll();
         // Add the create game panel
-        this.getContentPane().add(createGamePanel);
+        this.getContentPane().add(getCreateGamePanel());
         // Revalidate and repaint to update the display
         this.getContentPane().revalidate();
         this.getContentPane().repaint();
@@ -255,11 +343,12 @@ public class MainView extends JFrame implements ActionListener {
      * Displays the join game panel (Blue player).
      * Shows the code entry screen.
      */
+    @Override
     public void showJoinGame() {
         // Remove any existing panel
         this.getContentPane().removeAll();
         // Add the join game panel
-        this.getContentPane().add(joinGamePanel);
+        this.getContentPane().add(getJoinGamePanel());
         // Revalidate and repaint to update the display
         this.getContentPane().revalidate();
         this.getContentPane().repaint();
@@ -272,11 +361,13 @@ public class MainView extends JFrame implements ActionListener {
      * Displays the game panel.
      * Shows the main gameplay interface with countdown and choices.
      */
+    @Override
     public void showGame() {
         // Remove any existing panel
         this.getContentPane().removeAll();
         // Add the game panel
-        this.getContentPane().add(gamePanel);
+        getGamePanel().updateColors();
+        this.getContentPane().add(getGamePanel());
         // Revalidate and repaint to update the display
         this.getContentPane().revalidate();
         this.getContentPane().repaint();
@@ -289,11 +380,13 @@ public class MainView extends JFrame implements ActionListener {
      * Displays the result panel.
      * Shows round results and opponent's choice.
      */
+    @Override
     public void showResult() {
         // Remove any existing panel
         this.getContentPane().removeAll();
         // Add the result panel
-        this.getContentPane().add(resultPanel);
+        getResultPanel().updateColors();
+        this.getContentPane().add(getResultPanel());
         // Revalidate and repaint to update the display
         this.getContentPane().revalidate();
         this.getContentPane().repaint();
@@ -306,11 +399,13 @@ public class MainView extends JFrame implements ActionListener {
      * Displays the final result panel.
      * Shows game winner and finish/continue options.
      */
+    @Override
     public void showFinalResult() {
         // Remove any existing panel
         this.getContentPane().removeAll();
         // Add the final result panel
-        this.getContentPane().add(finalResultPanel);
+        getFinalResultPanel().updateColors();
+        this.getContentPane().add(getFinalResultPanel());
         // Revalidate and repaint to update the display
         this.getContentPane().revalidate();
         this.getContentPane().repaint();
@@ -323,11 +418,12 @@ public class MainView extends JFrame implements ActionListener {
      * Displays the help panel.
      * Shows interactive demo and game instructions.
      */
+    @Override
     public void showHelp() {
         // Remove any existing panel
         this.getContentPane().removeAll();
         // Add the help panel
-        this.getContentPane().add(helpPanel);
+        this.getContentPane().add(getHelpPanel());
         // Revalidate and repaint to update the display
         this.getContentPane().revalidate();
         this.getContentPane().repaint();
@@ -336,63 +432,201 @@ public class MainView extends JFrame implements ActionListener {
         System.out.println("Showing help panel");
     }
     
+    // ========================
+    // GAME VIEW METHODS
+    // ========================
+    
+    /**
+     * Nothing to do when choosing opens - the game panel shows it on the next frame.
+     */
+    @Override
+    public void choosingOpened() {
+    }
+    
+    /**
+     * Starts the result panel's timer to advance to the next round.
+     */
+    @Override
+    public void startResultTimer() {
+        getResultPanel().startTransitionTimer();
+    }
+    
+    /**
+     * Stops the result panel's timer, if the panel has been built.
+     */
+    @Override
+    public void stopResultTimer() {
+        // Nothing to stop if no round result has been shown yet
+        if (this.resultPanel != null) {
+            this.resultPanel.stopTransitionTimer();
+        }
+    }
+    
+    /**
+     * Gets the game code typed into the join panel.
+     * @return The entered code
+     */
+    @Override
+    public String getEnteredCode() {
+        return getJoinGamePanel().getEnteredCode();
+    }
+    
+    /**
+     * Shows the invalid code error on the join panel.
+     */
+    @Override
+    public void showInvalidCodeError() {
+        getJoinGamePanel().showInvalidCodeError();
+    }
+    
+    /**
+     * Shows the connection error on the join panel.
+     */
+    @Override
+    public void showConnectionError() {
+        getJoinGamePanel().showConnectionError();
+    }
+    
+    /**
+     * Hides any error on the join panel.
+     */
+    @Override
+    public void hideJoinError() {
+        getJoinGamePanel().hideError();
+    }
+    
+    /**
+     * Shows the LAN games on the join panel.
+     * Called on the discovery thread, so the update is passed to the Event
+     * Dispatch Thread; nothing is done until the join panel has been built.
+     * 
+     * @param games The games heard, already sorted
+     */
+    @Override
+    public void showLanGames(final List<HostedGame> games) {
+        SwingUtilities.invokeLater(new Runnable() {
+            @Override
+            public void run() {
+                if (joinGamePanel != null) {
+                    joinGamePanel.showLanGames(games);
+                }
+            }
+        });
+    }
+    
+    /**
+     * Shows a demo result on the help panel.
+     * @param result The text to show
+     */
+    @Override
+    public void showDemoResult(String result) {
+        getHelpPanel().updateDemoResult(result);
+    }
+    
+    /**
+     * Tells the player the opponent has disconnected, in a dialog.
+     */
+    @Override
+    public void showOpponentLeft() {
+        JOptionPane.showMessageDialog(this, 
+                                      "Opponent has disconnected.", 
+                                      "Game Ended", 
+                                      JOptionPane.INFORMATION_MESSAGE);
+    }
+    
     // ========================
     // GETTER METHODS
     // ========================
     
+    /**
+     * Gets the render statistics collected for this window.
+     * @return The RenderStats instance
+     */
+    public RenderStats getRenderStats() {
+        return this.renderStats;
+    }
+    
     /**
      * Gets the main menu panel.
+     * The panel is built the first time it is asked for.
      * @return The MainMenuPanel instance
      */
     public MainMenuPanel getMainMenuPanel() {
+        if (this.mainMenuPanel == null) {
+            this.mainMenuPanel = new MainMenuPanel(controller);
+        }
         return this.mainMenuPanel;
     }
     
     /**
      * Gets the create game panel.
+     * The panel is built the first time it is asked for.
      * @return The CreateGamePanel instance
      */
     public CreateGamePanel getCreateGamePanel() {
+        if (this.createGamePanel == null) {
+            this.createGamePanel = new CreateGamePanel(gameModel, controller);
+        }
         return this.createGamePanel;
     }
     
     /**
      * Gets the join game panel.
+     * The panel is built the first time it is asked for.
      * @return The JoinGamePanel instance
      */
     public JoinGamePanel getJoinGamePanel() {
+        if (this.joinGamePanel == null) {
+            this.joinGamePanel = new JoinGamePanel(gameModel, controller);
+        }
         return this.joinGamePanel;
     }
     
     /**
      * Gets the game panel.
+     * The panel is built the first time it is asked for.
      * @return The GamePanel instance
      */
     public GamePanel getGamePanel() {
+        if (this.gamePanel == null) {
+            this.gamePanel = new GamePanel(gameModel, controller);
+        }
         return this.gamePanel;
     }
     
     /**
      * Gets the result panel.
+     * The panel is built the first time it is asked for.
      * @return The ResultPanel instance
      */
     public ResultPanel getResultPanel() {
+        if (this.resultPanel == null) {
+            this.resultPanel = new ResultPanel(gameModel, controller);
+        }
         return this.resultPanel;
     }
     
     /**
      * Gets the final result panel.
+     * The panel is built the first time it is asked for.
      * @return The FinalResultPanel instance
      */
     public FinalResultPanel getFinalResultPanel() {
+        if (this.finalResultPanel == null) {
+            this.finalResultPanel = new FinalResultPanel(gameModel, controller);
+        }
         return this.finalResultPanel;
     }
     
     /**
      * Gets the help panel.
+     * The panel is built the first time it is asked for.
      * @return The HelpPanel instance
      */
     public HelpPanel getHelpPanel() {
+        if (this.helpPanel == null) {
+            this.helpPanel = new HelpPanel(controller);
+        }
         return this.helpPanel;
     }
     
@@ -413,7 +647,8 @@ public class MainView extends JFrame implements ActionListener {
     public void setController(ActionListener controller) {
         this.controller = controller;
 
-        // Propagate the controller to existing panels so their buttons work
+        // Propagate the controller to panels already built so their buttons work
+        // (panels built after this get the controller in their constructor)
         if (this.mainMenuPanel != null && controller != null) {
             try {
                 this.mainMenuPanel.getBtnCreateGame().addActionListener(controller);
@@ -429,6 +664,12 @@ public class MainView extends JFrame implements ActionListener {
             } catch (Exception ignored) {}
         }
 
+        if (this.createGamePanel != null && controller != null) {
+            try {
+                this.createGamePanel.getBtnPlayComputer().addActionListener(controller);
+            } catch (Exception ignored) {}
+        }
+
         if (this.gamePanel != null && controller != null) {
             try {
                 this.gamePanel.getBtnRock().addActionListener(controller);
@@ -437,6 +678,10 @@ public class MainView extends JFrame implements ActionListener {
             } catch (Exception ignored) {}
         }
 
+        if (this.resultPanel != null && controller != null) {
+            this.resultPanel.getTransitionTimer().addActionListener(controller);
+        }
+
         if (this.finalResultPanel != null && controller != null) {
             try {
                 this.finalResultPanel.getBtnFinish().addActionListener(controller);
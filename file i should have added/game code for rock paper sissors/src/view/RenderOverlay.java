@@ -0,0 +1,136 @@
+package view;
+
+import metrics.Histogram;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.Map;
+
+/**
+ * RenderOverlay - A transparent glass pane that shows live render statistics.
+ * Draws achieved FPS against the target refresh rate, animation timer lateness,
+ * EDT queue latency and per-panel paint times in the top-left corner.
+ *
+ * <p>The overlay is hidden by default and toggled with F3 from MainView.
+ * Its own paint time is not recorded so it does not skew the numbers it shows.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class RenderOverlay extends JComponent {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Font used for the overlay text */
+    private static final Font OVERLAY_FONT = new Font("Monospaced", Font.PLAIN, 14);
+
+    /** Background color behind the overlay text (translucent black) */
+    private static final Color BACKGROUND_COLOR = new Color(0, 0, 0, 180);
+
+    /** Text color when the measured value meets the target (green) */
+    private static final Color GOOD_COLOR = new Color(68, 255, 68);
+
+    /** Text color when the measured value misses the target (yellow) */
+    private static final Color WARN_COLOR = new Color(255, 215, 0);
+
+    /** Text color for ordinary lines (white) */
+    private static final Color TEXT_COLOR = new Color(255, 255, 255);
+
+    /** Padding around the overlay text in pixels */
+    private static final int PADDING = 8;
+
+    /** Achieved FPS below this fraction of the target is shown as a warning */
+    private static final double FPS_WARN_RATIO = 0.9;
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** The statistics being displayed */
+    private RenderStats stats;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Constructor for RenderOverlay.
+     * @param stats The render statistics to display
+     */
+    public RenderOverlay(RenderStats stats) {
+        this.stats = stats;
+        // Transparent so the panels underneath stay visible
+        this.setOpaque(false);
+    }
+
+    // ========================
+    // PAINT METHOD
+    // ========================
+
+    /**
+     * Paints the statistics box.
+     *
+     * @param g The graphics context for painting
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setFont(OVERLAY_FONT);
+        FontMetrics fm = g2d.getFontMetrics();
+        int lineHeight = fm.getHeight();
+
+        // Size the box to fit the fixed lines plus one line per panel
+        Map<String, Histogram> paints = stats.getPaintHistograms();
+        int lineCount = 3 + paints.size();
+        int boxHeight = lineCount * lineHeight + PADDING * 2;
+        int boxWidth = 460;
+
+        // Draw the translucent background box
+        g2d.setColor(BACKGROUND_COLOR);
+        g2d.fillRect(0, 0, boxWidth, boxHeight);
+
+        int x = PADDING;
+        int y = PADDING + fm.getAscent();
+
+        // FPS line, coloured by whether the target is met
+        double achieved = stats.getAchievedFps();
+        int target = stats.getTargetFps();
+        g2d.setColor(achieved >= target * FPS_WARN_RATIO ? GOOD_COLOR : WARN_COLOR);
+        g2d.drawString(String.format("FPS %5.1f / %d target", achieved, target), x, y);
+        y += lineHeight;
+
+        // Timer lateness and EDT latency lines
+        g2d.setColor(TEXT_COLOR);
+        g2d.drawString(formatLine("timer late", stats.getFrameLateness()), x, y);
+        y += lineHeight;
+        g2d.drawString(formatLine("edt queue", stats.getEdtLatency()), x, y);
+        y += lineHeight;
+
+        // One line per panel, warning colour if p99 misses the frame budget
+        long budgetMicros = 1_000_000L / Math.max(1, target);
+        for (Map.Entry<String, Histogram> entry : paints.entrySet()) {
+            Histogram histogram = entry.getValue();
+            g2d.setColor(histogram.getPercentileMicros(99) > budgetMicros ? WARN_COLOR : TEXT_COLOR);
+            g2d.drawString(formatLine(entry.getKey(), histogram), x, y);
+            y += lineHeight;
+        }
+    }
+
+    /**
+     * Formats a histogram summary line.
+     *
+     * @param name The label for the line
+     * @param histogram The histogram to summarize
+     * @return The formatted line with p50, p99 and max in microseconds
+     */
+    private String formatLine(String name, Histogram histogram) {
+        return String.format("%-16s p50 %6dus p99 %6dus max %7dus",
+                             name,
+                             histogram.getPercentileMicros(50),
+                             histogram.getPercentileMicros(99),
+                             histogram.getMaxMicros());
+    }
+}
@@ -0,0 +1,338 @@
+package view;
+
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+import profiling.PaintEvent;
+
+import javax.swing.SwingUtilities;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RenderStats - Collects frame-time and render instrumentation for the Swing views.
+ * Every panel reports how long its paintComponent took, the MainView animation
+ * timer reports each frame, and a background probe measures how long work waits
+ * in the Event Dispatch Thread queue before it runs.
+ *
+ * <p>This class is responsible for:</p>
+ * <ul>
+ *   <li>Keeping a paint duration histogram per panel</li>
+ *   <li>Measuring the achieved frames per second against the target refresh rate</li>
+ *   <li>Measuring how late the animation timer fires compared to its target interval</li>
+ *   <li>Measuring EDT queue latency with a periodic probe</li>
+ *   <li>Writing a machine-readable CSV dump of all collected values</li>
+ * </ul>
+ *
+ * <p>All recording methods are expected to be called on the Event Dispatch Thread,
+ * which is where Swing paints and fires its timers, so no locking is needed.</p>
+ *
+ * <p>The histograms are the shared metrics.Histogram, taken from the default
+ * MetricsRegistry under the same metric and name as the CSV rows, so the
+ * metrics endpoint and render_stats.csv report the same values.</p>
+ *
+ * @author ICS4U1 Student
+ * @version 1.0
+ * @since 2024
+ */
+public class RenderStats {
+
+    // ========================
+    // CONSTANTS
+    // ========================
+
+    /** Path of the machine-readable dump file */
+    public static final String DUMP_FILE = "data/render_stats.csv";
+
+    /** How often the EDT latency probe posts a task (in milliseconds) */
+    private static final int PROBE_INTERVAL = 250;
+
+    /** Length of the window used to compute achieved FPS (in nanoseconds) */
+    private static final long FPS_WINDOW_NANOS = 1_000_000_000L;
+
+    /** Shared instance used by all panels */
+    private static final RenderStats INSTANCE = new RenderStats();
+
+    // ========================
+    // INSTANCE VARIABLES
+    // ========================
+
+    /** Paint histograms keyed by panel name, in the order panels first painted */
+    private final Map<String, Histogram> paintHistograms = new LinkedHashMap<>();
+
+    /** Histogram of how late each animation frame fired compared to the target interval */
+    private final Histogram frameLateness = MetricsRegistry.getDefault().histogram("frame_lateness", "animation_timer");
+
+    /** Histogram of EDT queue latency measured by the probe */
+    private final Histogram edtLatency = MetricsRegistry.getDefault().histogram("edt_latency", "event_queue");
+
+    /** Target refresh rate in frames per second (from refresh_rate in gameconfig.csv) */
+    private int targetFps = 60;
+
+    /** Time the previous animation frame fired (0 if no frame yet) */
+    private long lastFrameNanos;
+
+    /** Start time of the current FPS window */
+    private long fpsWindowStart;
+
+    /** Number of frames counted in the current FPS window */
+    private int fpsWindowFrames;
+
+    /** Achieved FPS measured over the last complete window */
+    private double achievedFps;
+
+    /** Number of frames in the last complete window (the count behind achievedFps) */
+    private int achievedFrames;
+
+    /** Flag indicating if the EDT probe thread has been started */
+    private boolean probeStarted;
+
+    /** Time from JVM start to the first panel paint (in milliseconds, -1 until then) */
+    private long firstPaintMillis = -1;
+
+    // ========================
+    // CONSTRUCTOR
+    // ========================
+
+    /**
+     * Private constructor - use getInstance() to get the shared instance.
+     */
+    private RenderStats() {
+    }
+
+    /**
+     * Gets the shared render statistics instance.
+     * @return The RenderStats instance used by all views
+     */
+    public static RenderStats getInstance() {
+        return INSTANCE;
+    }
+
+    // ========================
+    // RECORDING METHODS
+    // ========================
+
+    /**
+     * Sets the target refresh rate that achieved FPS is compared against.
+     * @param fps The target frames per second (values below 1 are ignored)
+     */
+    public void setTargetFps(int fps) {
+        if (fps > 0) {
+            this.targetFps = fps;
+        }
+    }
+
+    /**
+     * Records how long a panel took to paint.
+     *
+     * @param panelName The name of the panel that painted
+     * @param nanos The paint duration in nanoseconds
+     */
+    public void recordPaint(String panelName, long nanos) {
+        // Find the histogram for this panel, looking it up in the registry only once
+        Histogram histogram = paintHistograms.get(panelName);
+        if (histogram == null) {
+            histogram = MetricsRegistry.getDefault().histogram("paint", panelName);
+            paintHistograms.put(panelName, histogram);
+        }
+        // Record the duration
+        histogram.record(nanos);
+
+        // Remember when the very first frame appeared
+        if (firstPaintMillis < 0) {
+            firstPaintMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        }
+
+        // Pass the paint on to a Flight Recorder recording, if one is running
+        PaintEvent event = new PaintEvent();
+        if (event.shouldCommit()) {
+            event.setPaint(panelName, nanos);
+            event.commit();
+        }
+    }
+
+    /**
+     * Records one animation timer frame.
+     * Updates the achieved FPS and how late the frame fired.
+     *
+     * @param nowNanos The time the frame fired (from System.nanoTime)
+     */
+    public void recordFrame(long nowNanos) {
+        // Measure lateness against the target interval
+        if (lastFrameNanos != 0) {
+            long targetInterval = 1_000_000_000L / targetFps;
+            long lateness = (nowNanos - lastFrameNanos) - targetInterval;
+            frameLateness.record(Math.max(0, lateness));
+        }
+        lastFrameNanos = nowNanos;
+
+        // The first frame only opens the window, like the frame that closes
+        // each later one - counting it too would report one frame too many
+        if (fpsWindowStart == 0) {
+            fpsWindowStart = nowNanos;
+            return;
+        }
+        fpsWindowFrames++;
+
+        // Close the window once it is long enough
+        long windowLength = nowNanos - fpsWindowStart;
+        if (windowLength >= FPS_WINDOW_NANOS) {
+            achievedFps = fpsWindowFrames * 1_000_000_000.0 / windowLength;
+            achievedFrames = fpsWindowFrames;
+            fpsWindowStart = nowNanos;
+            fpsWindowFrames = 0;
+        }
+    }
+
+    /**
+     * Starts the background probe that measures EDT queue latency.
+     * The probe thread posts a task to the EDT and records how long it waited.
+     * Calling this more than once has no effect.
+     */
+    public synchronized void startEdtProbe() {
+        if (probeStarted) {
+            return;
+        }
+        probeStarted = true;
+
+        Thread probe = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                while (true) {
+                    // Post a task stamped with the current time
+                    final long posted = System.nanoTime();
+                    SwingUtilities.invokeLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            edtLatency.record(System.nanoTime() - posted);
+                        }
+                    });
+                    try {
+                        Thread.sleep(PROBE_INTERVAL);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }
+        }, "RenderStats-EDT-Probe");
+        probe.setDaemon(true);
+        probe.start();
+    }
+
+    // ========================
+    // GETTER METHODS
+    // ========================
+
+    /**
+     * Gets the target refresh rate.
+     * @return The target frames per second
+     */
+    public int getTargetFps() {
+        return this.targetFps;
+    }
+
+    /**
+     * Gets the achieved FPS over the last complete one-second window.
+     * @return The achieved frames per second (0 until the first window completes)
+     */
+    public double getAchievedFps() {
+        return this.achievedFps;
+    }
+
+    /**
+     * Gets the time from JVM start to the first panel paint.
+     * @return The time in milliseconds, or -1 if nothing has painted yet
+     */
+    public long getFirstPaintMillis() {
+        return this.firstPaintMillis;
+    }
+
+    /**
+     * Gets the paint histograms keyed by panel name.
+     * @return The map of panel name to paint histogram
+     */
+    public Map<String, Histogram> getPaintHistograms() {
+        return this.paintHistograms;
+    }
+
+    /**
+     * Gets the animation frame lateness histogram.
+     * @return The frame lateness histogram
+     */
+    public Histogram getFrameLateness() {
+        return this.frameLateness;
+    }
+
+    /**
+     * Gets the EDT queue latency histogram.
+     * @return The EDT latency histogram
+     */
+    public Histogram getEdtLatency() {
+        return this.edtLatency;
+    }
+
+    // ========================
+    // DUMP METHODS
+    // ========================
+
+    /**
+     * Writes all statistics as CSV to the given writer.
+     * Columns: metric,name,count,mean_us,p50_us,p99_us,max_us
+     * The first data row holds the FPS values instead of a histogram, and the
+     * second the time to first frame (as a single value in mean_us).
+     *
+     * @param writer The writer to send the CSV text to
+     */
+    public void dump(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        out.println("metric,name,count,mean_us,p50_us,p99_us,max_us");
+        // Count and FPS both come from the last complete window
+        out.println("fps,target=" + targetFps + "," + achievedFrames + ","
+                    + String.format(Locale.ROOT, "%.1f", achievedFps) + ",,,");
+        if (firstPaintMillis >= 0) {
+            out.println("startup,first_frame,1," + firstPaintMillis * 1000 + ",,,");
+        }
+        dumpRow(out, "frame_lateness", "animation_timer", frameLateness);
+        dumpRow(out, "edt_latency", "event_queue", edtLatency);
+        for (Map.Entry<String, Histogram> entry : paintHistograms.entrySet()) {
+            dumpRow(out, "paint", entry.getKey(), entry.getValue());
+        }
+        out.flush();
+    }
+
+    /**
+     * Writes all statistics as CSV to the dump file.
+     * @return true if the file was written, false otherwise
+     */
+    public boolean dumpToFile() {
+        try (FileWriter writer = new FileWriter(DUMP_FILE)) {
+            dump(writer);
+            System.out.println("Render statistics written to " + DUMP_FILE);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing render statistics: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes a single histogram row in CSV format.
+     *
+     * @param out The writer to send the row to
+     * @param metric The metric column value
+     * @param name The name column value
+     * @param histogram The histogram to summarize
+     */
+    private void dumpRow(PrintWriter out, String metric, String name, Histogram histogram) {
+        out.println(metric + "," + name + "," + histogram.getCount() + ","
+                    + histogram.getMeanMicros() + ","
+                    + histogram.getPercentileMicros(50) + ","
+                    + histogram.getPercentileMicros(99) + ","
+                    + histogram.getMaxMicros());
+    }
+}
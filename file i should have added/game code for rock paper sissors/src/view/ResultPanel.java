@@ -1,5 +1,6 @@
 package view;
 
+import model.GameConfig;
 import model.GameModel;
 import model.GameModel.Player;
 import model.GameModel.Choice;
@@ -37,6 +38,12 @@ public class ResultPanel extends JPanel {
     /** Timer for auto-transitioning to next round */
     private Timer transitionTimer;
     
+    /** Color for Red player elements (from red_player_color) */
+    private Color redColor;
+    
+    /** Color for Blue player elements (from blue_player_color) */
+    private Color blueColor;
+    
     // ========================
     // CONSTANTS
     // ========================
@@ -65,12 +72,6 @@ public class ResultPanel extends JPanel {
     /** Text color for labels (white) */
     private static final Color TEXT_COLOR = new Color(255, 255, 255);
     
-    /** Color for Red player elements (bright red) */
-    private static final Color RED_COLOR = new Color(255, 68, 68);
-    
-    /** Color for Blue player elements (bright blue) */
-    private static final Color BLUE_COLOR = new Color(68, 68, 255);
-    
     /** Color for tie message (yellow) */
     private static final Color TIE_COLOR = new Color(255, 215, 0);
     
@@ -98,11 +99,14 @@ public class ResultPanel extends JPanel {
         // Set the background color
         this.setBackground(BACKGROUND_COLOR);
         
+        // Player colors come from the configuration
+        updateColors();
+        
         // Initialize the transition timer
         initializeTransitionTimer(controller);
         
         // Set the preferred size of the panel
-        this.setPreferredSize(new Dimension(1280, 720));
+        this.setPreferredSize(new Dimension(gameModel.getPanelWidth(), gameModel.getPanelHeight()));
         
         // Print message to console for debugging
         System.out.println("ResultPanel initialized");
@@ -131,6 +135,17 @@ public class ResultPanel extends JPanel {
     // PUBLIC METHODS
     // ========================
     
+    /**
+     * Reads the player colors from the model's current configuration snapshot.
+     * Called each time the panel is shown, so a reloaded color takes effect
+     * at the next match without rebuilding the panel.
+     */
+    public void updateColors() {
+        GameConfig config = gameModel.getConfig();
+        this.redColor = new Color(config.getRedPlayerColor());
+        this.blueColor = new Color(config.getBluePlayerColor());
+    }
+    
     /**
      * Starts the transition timer to auto-advance to next round.
      * Called when the panel is displayed.
@@ -168,6 +183,9 @@ public class ResultPanel extends JPanel {
      */
     @Override
     protected void paintComponent(Graphics g) {
+        // Note the start time so the paint duration can be recorded
+        long paintStart = System.nanoTime();
+        
         // Call the parent class's paintComponent method
         super.paintComponent(g);
         
@@ -188,6 +206,9 @@ public class ResultPanel extends JPanel {
         
         // Draw the scores in the corners
         drawScores(g2d);
+        
+        // Record how long this panel took to paint
+        RenderStats.getInstance().recordPaint("ResultPanel", System.nanoTime() - paintStart);
     }
     
     /**
@@ -239,11 +260,11 @@ public class ResultPanel extends JPanel {
         if (winner == Player.RED) {
             // Red wins
             winnerText = "RED WINS THIS ROUND!";
-            winnerColor = RED_COLOR;
+            winnerColor = redColor;
         } else if (winner == Player.BLUE) {
             // Blue wins
             winnerText = "BLUE WINS THIS ROUND!";
-            winnerColor = BLUE_COLOR;
+            winnerColor = blueColor;
         } else {
             // It's a tie
             winnerText = "IT'S A TIE!";
@@ -289,13 +310,13 @@ public class ResultPanel extends JPanel {
         
         // Draw Red player's choice on the left
         if (redChoice != null) {
-            drawChoice(g2d, redChoice, "Your Choice", RED_COLOR, 
+            drawChoice(g2d, redChoice, "Your Choice", redColor, 
                       centerX - spacing, centerY);
         }
         
         // Draw Blue player's choice on the right
         if (blueChoice != null) {
-            drawChoice(g2d, blueChoice, "Opponent's Choice", BLUE_COLOR, 
+            drawChoice(g2d, blueChoice, "Opponent's Choice", blueColor, 
                       centerX + spacing - SHAPE_SIZE, centerY);
         }
     }
@@ -355,12 +376,12 @@ public class ResultPanel extends JPanel {
         g2d.setFont(scoreFont);
         
         // Draw Red score in top-left corner
-        g2d.setColor(RED_COLOR);
+        g2d.setColor(redColor);
         String redScoreText = "RED SCORE: " + gameModel.getRedScore();
         g2d.drawString(redScoreText, 20, 50);
         
         // Draw Blue score in top-right corner
-        g2d.setColor(BLUE_COLOR);
+        g2d.setColor(blueColor);
         String blueScoreText = "BLUE SCORE: " + gameModel.getBlueScore();
         // Calculate x position to align text to right
         FontMetrics fm = g2d.getFontMetrics();